@@ -9,11 +9,109 @@ repositories {
     mavenCentral()
 }
 
+// JMH benchmarks live in their own source set (src/jmh/java) so they never end up in the library jar
+// and `./gradlew build` does not need the JMH dependencies.
+sourceSets {
+    create("jmh") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+}
+
+val jmhVersion = "1.37"
+
 dependencies {
     testImplementation(platform("org.junit:junit-bom:5.10.0"))
     testImplementation("org.junit.jupiter:junit-jupiter")
+
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:$jmhVersion")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:$jmhVersion")
 }
 
 tasks.test {
     useJUnitPlatform()
-}
\ No newline at end of file
+}
+
+// ./gradlew jmh                                   - all benchmarks, GC profiler, JSON report
+// ./gradlew jmh -Pjmh.include=SchedulerHop        - only benchmarks matching the regex
+// ./gradlew jmh -Pjmh.args="-f 1 -wi 2 -i 3"      - any extra JMH command line options
+// ./gradlew jmhBaseline                           - copy the last report to src/jmh/baselines/<version>.json
+// ./gradlew jmhCompare                            - fail if the last report is slower than that baseline
+// ./gradlew jmhCompare -Pjmh.tolerance=5          - allowed slowdown in percent (default 10)
+val jmhResults = layout.buildDirectory.file("reports/jmh/results.json")
+val jmhBaselineFile = layout.projectDirectory.file("src/jmh/baselines/$version.json")
+
+tasks.register<JavaExec>("jmh") {
+    group = "benchmark"
+    description = "Runs the JMH benchmarks and writes build/reports/jmh/results.json."
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    outputs.file(jmhResults)
+    outputs.upToDateWhen { false }
+    doFirst {
+        jmhResults.get().asFile.parentFile.mkdirs()
+    }
+    args("-rf", "json", "-rff", jmhResults.get().asFile.absolutePath, "-prof", "gc")
+    (findProperty("jmh.args") as String?)?.let { args(it.split(" ").filter(String::isNotBlank)) }
+    (findProperty("jmh.include") as String?)?.let { args(it) }
+}
+
+tasks.register<Copy>("jmhBaseline") {
+    group = "benchmark"
+    description = "Stores the last JMH report as the baseline of the current version."
+    from(jmhResults)
+    into(layout.projectDirectory.dir("src/jmh/baselines"))
+    rename { "$version.json" }
+    onlyIf {
+        val report = jmhResults.get().asFile
+        if (!report.exists()) {
+            logger.lifecycle("No JMH report at $report, nothing to store: run ./gradlew jmh first.")
+        }
+        report.exists()
+    }
+}
+
+// Benchmarks are matched by name and parameters; throughput may not drop, and time per operation may
+// not grow, by more than jmh.tolerance percent. Without a baseline for this version the task is skipped:
+// baselines come from a dedicated benchmark machine and are not committed for every version.
+tasks.register("jmhCompare") {
+    group = "benchmark"
+    description = "Compares the last JMH report with src/jmh/baselines/<version>.json."
+    doLast {
+        val baseline = jmhBaselineFile.asFile
+        val report = jmhResults.get().asFile
+        if (!baseline.exists()) {
+            logger.lifecycle("No JMH baseline at $baseline, skipping the comparison: store one with ./gradlew jmh jmhBaseline.")
+            return@doLast
+        }
+        if (!report.exists()) {
+            logger.lifecycle("No JMH report at $report, skipping the comparison: run ./gradlew jmh first.")
+            return@doLast
+        }
+        val tolerance = (findProperty("jmh.tolerance") as String?)?.toDouble() ?: 10.0
+
+        fun scores(file: File): Map<String, Pair<String, Double>> {
+            @Suppress("UNCHECKED_CAST")
+            val runs = groovy.json.JsonSlurper().parse(file) as List<Map<String, Any?>>
+            return runs.associate { run ->
+                val params = (run["params"] as Map<*, *>?)?.entries?.sortedBy { it.key.toString() }?.joinToString(",")
+                val metric = run["primaryMetric"] as Map<*, *>
+                val key = run["benchmark"].toString() + (params?.let { "($it)" } ?: "")
+                key to (run["mode"].toString() to (metric["score"] as Number).toDouble())
+            }
+        }
+
+        val before = scores(baseline)
+        val regressions = scores(report).mapNotNull { (key, result) ->
+            val (mode, score) = result
+            val old = before[key]?.second ?: return@mapNotNull null
+            val slowdown = if (mode == "thrpt") (old - score) / old * 100 else (score - old) / old * 100
+            if (slowdown > tolerance) "%s: %.3f -> %.3f (%.1f%% slower)".format(key, old, score, slowdown) else null
+        }
+        if (regressions.isNotEmpty()) {
+            throw GradleException("Benchmarks slower than the $version baseline by more than $tolerance%:\n" +
+                    regressions.joinToString("\n"))
+        }
+        logger.lifecycle("No benchmark is more than $tolerance% slower than the $version baseline.")
+    }
+}
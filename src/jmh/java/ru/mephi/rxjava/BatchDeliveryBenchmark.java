@@ -0,0 +1,76 @@
+package ru.mephi.rxjava;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The same items through map + filter + observeOn(computation()), pushed one by one with onNext
+// and in lists of `batch` items with onNextBatch, into a sink that consumes whole batches.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchDeliveryBenchmark {
+
+    private static final int TOTAL = 1_000_000;
+
+    @Param({"16", "1000"})
+    int batch;
+
+    private List<List<Integer>> batches;
+
+    @Setup
+    public void setup() {
+        batches = new ArrayList<>();
+        for (int start = 0; start < TOTAL; start += batch) {
+            List<Integer> items = new ArrayList<>(batch);
+            for (int i = start; i < Math.min(start + batch, TOTAL); i++) {
+                items.add(i);
+            }
+            batches.add(items);
+        }
+    }
+
+    @Benchmark
+    public void perItem(Blackhole blackhole) throws InterruptedException {
+        run(Observable.create(emitter -> {
+            for (List<Integer> items : batches) {
+                for (Integer item : items) {
+                    emitter.onNext(item);
+                }
+            }
+            emitter.onComplete();
+        }), blackhole);
+    }
+
+    @Benchmark
+    public void batched(Blackhole blackhole) throws InterruptedException {
+        run(Observable.create(emitter -> {
+            for (List<Integer> items : batches) {
+                emitter.onNextBatch(items);
+            }
+            emitter.onComplete();
+        }), blackhole);
+    }
+
+    private static void run(Observable<Integer> source, Blackhole blackhole) throws InterruptedException {
+        BlackholeObserver<Integer> observer = new BlackholeObserver<>(blackhole);
+        source.map(i -> i + 1).filter(i -> (i & 1) == 0).observeOn(Schedulers.computation()).subscribe(observer);
+        observer.await();
+    }
+}
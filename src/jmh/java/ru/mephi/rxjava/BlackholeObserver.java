@@ -0,0 +1,43 @@
+package ru.mephi.rxjava;
+
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+// Consumes every signal into the Blackhole, a batch as one value like a bulk-writing sink;
+// await() lets asynchronous benchmarks wait for the terminal event.
+final class BlackholeObserver<T> implements Observer<T> {
+
+    private final Blackhole blackhole;
+    private final CountDownLatch done = new CountDownLatch(1);
+
+    BlackholeObserver(Blackhole blackhole) {
+        this.blackhole = blackhole;
+    }
+
+    @Override
+    public void onNext(T item) {
+        blackhole.consume(item);
+    }
+
+    @Override
+    public void onNextBatch(List<T> items) {
+        blackhole.consume(items);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        blackhole.consume(t);
+        done.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+        done.countDown();
+    }
+
+    void await() throws InterruptedException {
+        done.await();
+    }
+}
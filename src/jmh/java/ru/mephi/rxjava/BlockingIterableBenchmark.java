@@ -0,0 +1,81 @@
+package ru.mephi.rxjava;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// A source on computation() read by the benchmark thread: blockingIterable against the hand-rolled
+// bridge it replaces, an ArrayBlockingQueue of the same capacity with a lock handoff per item.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BlockingIterableBenchmark {
+
+    private static final int COUNT = 1_000_000;
+    private static final Integer DONE = -1;
+
+    @Param({"16", "128", "1024"})
+    int prefetch;
+
+    private Observable<Integer> source;
+
+    @Setup
+    public void setup() {
+        source = Observable.range(0, COUNT).subscribeOn(Schedulers.computation());
+    }
+
+    @Benchmark
+    public void blockingIterable(Blackhole blackhole) {
+        for (Integer item : source.blockingIterable(prefetch)) {
+            blackhole.consume(item);
+        }
+    }
+
+    @Benchmark
+    public void blockingQueue(Blackhole blackhole) throws InterruptedException {
+        BlockingQueue<Integer> queue = new ArrayBlockingQueue<>(prefetch);
+        source.subscribe(new Observer<>() {
+            @Override
+            public void onNext(Integer item) {
+                put(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                put(DONE);
+            }
+
+            @Override
+            public void onComplete() {
+                put(DONE);
+            }
+
+            private void put(Integer item) {
+                try {
+                    queue.put(item);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        for (Integer item = queue.take(); item != DONE; item = queue.take()) {
+            blackhole.consume(item);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package ru.mephi.rxjava;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// 10 000 lookups over `keys` distinct keys, each lookup an inner source that burns some CPU like a
+// remote call would: plain flatMap against flatMapCached with a cache sized for every key.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CachedFlatMapBenchmark {
+
+    private static final int LOOKUPS = 10_000;
+
+    @Param({"10", "1000", "10000"})
+    int keys;
+
+    private Observable<Integer> requests;
+
+    @Setup
+    public void setup() {
+        requests = Observable.range(0, LOOKUPS).map(i -> (i * 31) % keys);
+    }
+
+    @Benchmark
+    public void flatMap(Blackhole blackhole) {
+        requests.flatMap(CachedFlatMapBenchmark::load).subscribe(new BlackholeObserver<>(blackhole));
+    }
+
+    @Benchmark
+    public void flatMapCached(Blackhole blackhole) {
+        AsyncCache<Integer, Long> cache = AsyncCache.create(keys, 1, TimeUnit.MINUTES);
+        requests.flatMapCached(i -> i, CachedFlatMapBenchmark::load, cache).subscribe(new BlackholeObserver<>(blackhole));
+    }
+
+    private static Observable<Long> load(int key) {
+        return Observable.fromCallable(() -> {
+            long hash = key;
+            for (int i = 0; i < 1_000; i++) {
+                hash = hash * 6364136223846793005L + 1442695040888963407L;
+            }
+            return hash;
+        });
+    }
+}
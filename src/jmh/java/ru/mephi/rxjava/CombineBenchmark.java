@@ -0,0 +1,74 @@
+package ru.mephi.rxjava;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// merge / zip / combineLatest of sources that each emit on their own computation() thread:
+// the same total number of items is split across 1..16 sources to show how the drains scale.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CombineBenchmark {
+
+    private static final int TOTAL = 1_000_000;
+
+    @Param({"1", "2", "4", "16"})
+    int sources;
+
+    private List<Observable<Integer>> inputs;
+
+    @Setup
+    public void setup() {
+        inputs = new ArrayList<>();
+        for (int i = 0; i < sources; i++) {
+            inputs.add(range(TOTAL / sources).subscribeOn(Schedulers.computation()));
+        }
+    }
+
+    @Benchmark
+    public void merge(Blackhole blackhole) throws InterruptedException {
+        BlackholeObserver<Integer> observer = new BlackholeObserver<>(blackhole);
+        Observable.merge(inputs).subscribe(observer);
+        observer.await();
+    }
+
+    @Benchmark
+    public void zip(Blackhole blackhole) throws InterruptedException {
+        BlackholeObserver<Integer> observer = new BlackholeObserver<>(blackhole);
+        Observable.zip(inputs, List::size).subscribe(observer);
+        observer.await();
+    }
+
+    @Benchmark
+    public void combineLatest(Blackhole blackhole) throws InterruptedException {
+        BlackholeObserver<Integer> observer = new BlackholeObserver<>(blackhole);
+        Observable.combineLatest(inputs, List::size).subscribe(observer);
+        observer.await();
+    }
+
+    private static Observable<Integer> range(int count) {
+        return Observable.create(emitter -> {
+            for (int i = 0; i < count && !emitter.isDisposed(); i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        });
+    }
+}
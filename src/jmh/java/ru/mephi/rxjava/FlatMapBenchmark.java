@@ -0,0 +1,55 @@
+package ru.mephi.rxjava;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// The same number of items is emitted for every fan-out: few large inner sources vs. many tiny ones.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FlatMapBenchmark {
+
+    private static final int TOTAL = 100_000;
+
+    @Param({"1", "100", "100000"})
+    int fanOut;
+
+    private Observable<Integer> flatMap;
+
+    @Setup
+    public void setup() {
+        int outer = TOTAL / fanOut;
+        int inner = fanOut;
+        Observable<Integer> innerSource = range(inner);
+        flatMap = range(outer).flatMap(i -> innerSource);
+    }
+
+    @Benchmark
+    public void flatMapFanOut(Blackhole blackhole) {
+        flatMap.subscribe(new BlackholeObserver<>(blackhole));
+    }
+
+    private static Observable<Integer> range(int count) {
+        return Observable.create(emitter -> {
+            for (int i = 0; i < count && !emitter.isDisposed(); i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        });
+    }
+}
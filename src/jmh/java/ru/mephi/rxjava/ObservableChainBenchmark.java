@@ -0,0 +1,55 @@
+package ru.mephi.rxjava;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// Synchronous create + map + filter chains; one operation is a full subscription over `count` items.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ObservableChainBenchmark {
+
+    @Param({"1", "1000", "1000000"})
+    int count;
+
+    // Number of map + filter pairs after the source.
+    @Param({"1", "4", "16"})
+    int chainLength;
+
+    private Observable<Integer> chain;
+
+    @Setup
+    public void setup() {
+        int n = count;
+        Observable<Integer> observable = Observable.create(emitter -> {
+            for (int i = 0; i < n && !emitter.isDisposed(); i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        });
+        for (int i = 0; i < chainLength; i++) {
+            observable = observable.map(v -> v + 1).filter(v -> (v & 1) == 0 || v > 0);
+        }
+        chain = observable;
+    }
+
+    @Benchmark
+    public void mapFilterChain(Blackhole blackhole) {
+        chain.subscribe(new BlackholeObserver<>(blackhole));
+    }
+}
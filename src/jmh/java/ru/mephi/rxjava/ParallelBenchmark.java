@@ -0,0 +1,70 @@
+package ru.mephi.rxjava;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// A CPU-bound map on one thread vs. the same map spread over parallel rails.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ParallelBenchmark {
+
+    private static final int COUNT = 10_000;
+
+    // Blackhole.consumeCPU tokens per item.
+    @Param({"100", "10000"})
+    int work;
+
+    private Observable<Integer> source;
+
+    @Setup
+    public void setup() {
+        source = Observable.create(emitter -> {
+            for (int i = 0; i < COUNT && !emitter.isDisposed(); i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        });
+    }
+
+    @Benchmark
+    public void singleThreadMap(Blackhole blackhole) throws InterruptedException {
+        BlackholeObserver<Integer> observer = new BlackholeObserver<>(blackhole);
+        source.map(this::cpuWork).observeOn(Schedulers.computation()).subscribe(observer);
+        observer.await();
+    }
+
+    @Benchmark
+    public void parallelSequential(Blackhole blackhole) throws InterruptedException {
+        BlackholeObserver<Integer> observer = new BlackholeObserver<>(blackhole);
+        source.parallel().runOn(Schedulers.computation()).map(this::cpuWork).sequential().subscribe(observer);
+        observer.await();
+    }
+
+    @Benchmark
+    public void parallelSorted(Blackhole blackhole) throws InterruptedException {
+        BlackholeObserver<Integer> observer = new BlackholeObserver<>(blackhole);
+        source.parallel().runOn(Schedulers.computation()).map(this::cpuWork).sorted().subscribe(observer);
+        observer.await();
+    }
+
+    private Integer cpuWork(Integer value) {
+        Blackhole.consumeCPU(work);
+        return value;
+    }
+}
@@ -0,0 +1,56 @@
+package ru.mephi.rxjava;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// One value lifted into a stream: just() against the same value from create(), subscribed through
+// map and through flatMap over a second one-value source. Run with -prof gc to compare allocations.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScalarSourceBenchmark {
+
+    private int value;
+
+    @Benchmark
+    public void createMap(Blackhole blackhole) {
+        int v = value++;
+        single(v).map(i -> i + 1).subscribe(new BlackholeObserver<>(blackhole));
+    }
+
+    @Benchmark
+    public void justMap(Blackhole blackhole) {
+        Observable.just(value++).map(i -> i + 1).subscribe(new BlackholeObserver<>(blackhole));
+    }
+
+    @Benchmark
+    public void createFlatMap(Blackhole blackhole) {
+        int v = value++;
+        single(v).flatMap(i -> single(i + 1)).subscribe(new BlackholeObserver<>(blackhole));
+    }
+
+    @Benchmark
+    public void justFlatMap(Blackhole blackhole) {
+        Observable.just(value++).flatMap(i -> Observable.just(i + 1)).subscribe(new BlackholeObserver<>(blackhole));
+    }
+
+    private static Observable<Integer> single(int v) {
+        return Observable.create(emitter -> {
+            emitter.onNext(v);
+            emitter.onComplete();
+        });
+    }
+}
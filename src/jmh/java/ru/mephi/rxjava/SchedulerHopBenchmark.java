@@ -0,0 +1,82 @@
+package ru.mephi.rxjava;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// Latency of moving a one-item stream to another thread and back to the benchmark thread,
+// plus the per-item cost of observeOn on a long stream.
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SchedulerHopBenchmark {
+
+    private static final int STREAM_SIZE = 10_000;
+
+    @Param({"io", "computation", "single"})
+    String scheduler;
+
+    private Observable<Integer> observeOnSingleItem;
+    private Observable<Integer> subscribeOnSingleItem;
+    private Observable<Integer> observeOnStream;
+
+    @Setup
+    public void setup() {
+        Scheduler target = switch (scheduler) {
+            case "io" -> Schedulers.io();
+            case "computation" -> Schedulers.computation();
+            case "single" -> Schedulers.single();
+            default -> throw new IllegalArgumentException("Unknown scheduler " + scheduler);
+        };
+        Observable<Integer> singleItem = Observable.create(emitter -> {
+            emitter.onNext(1);
+            emitter.onComplete();
+        });
+        observeOnSingleItem = singleItem.observeOn(target);
+        subscribeOnSingleItem = singleItem.subscribeOn(target);
+        observeOnStream = Observable.<Integer>create(emitter -> {
+            for (int i = 0; i < STREAM_SIZE && !emitter.isDisposed(); i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        }).observeOn(target);
+    }
+
+    @Benchmark
+    public void observeOnHop(Blackhole blackhole) throws InterruptedException {
+        BlackholeObserver<Integer> observer = new BlackholeObserver<>(blackhole);
+        observeOnSingleItem.subscribe(observer);
+        observer.await();
+    }
+
+    @Benchmark
+    public void subscribeOnHop(Blackhole blackhole) throws InterruptedException {
+        BlackholeObserver<Integer> observer = new BlackholeObserver<>(blackhole);
+        subscribeOnSingleItem.subscribe(observer);
+        observer.await();
+    }
+
+    // Reported per item, so the fixed cost of the final hop is spread over the stream.
+    @Benchmark
+    @OperationsPerInvocation(STREAM_SIZE)
+    public void observeOnStream(Blackhole blackhole) throws InterruptedException {
+        BlackholeObserver<Integer> observer = new BlackholeObserver<>(blackhole);
+        observeOnStream.subscribe(observer);
+        observer.await();
+    }
+}
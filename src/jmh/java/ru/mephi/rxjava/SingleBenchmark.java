@@ -0,0 +1,62 @@
+package ru.mephi.rxjava;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// A one-value call modelled as Single against the same call as a one-item Observable:
+// create + two maps + subscribe, run with -prof gc to compare allocations per call.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SingleBenchmark {
+
+    private Single<Integer> single;
+    private Observable<Integer> observable;
+
+    @Setup
+    public void setup() {
+        single = Single.<Integer>create(emitter -> emitter.onSuccess(1))
+                .map(v -> v + 1)
+                .map(v -> v * 2);
+        observable = Observable.<Integer>create(emitter -> {
+                    emitter.onNext(1);
+                    emitter.onComplete();
+                })
+                .map(v -> v + 1)
+                .map(v -> v * 2);
+    }
+
+    @Benchmark
+    public void single(Blackhole blackhole) {
+        single.subscribe(new SingleObserver<>() {
+            @Override
+            public void onSuccess(Integer item) {
+                blackhole.consume(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                blackhole.consume(t);
+            }
+        });
+    }
+
+    @Benchmark
+    public void observable(Blackhole blackhole) {
+        observable.subscribe(new BlackholeObserver<>(blackhole));
+    }
+}
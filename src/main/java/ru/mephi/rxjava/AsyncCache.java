@@ -0,0 +1,252 @@
+package ru.mephi.rxjava;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Results of inner sources by key, for flatMapCached and mapAsyncCached. Shared by every subscription
+// that uses it. A key is loaded by one subscription to its inner source: lookups while it runs join it
+// through a ReplaySubject, and the completed items are kept for `ttl` and served without subscribing.
+// Errors are not cached. Lookups go to a ConcurrentHashMap without locks and only stamp the entry with
+// an access tick. Eviction is amortized: a write that finds more than maxSize entries, or that comes a
+// `ttl` after the last sweep, sweeps the map under a tryLock. The sweep drops every expired entry and
+// then the least recently used ones down to maxSize - maxSize / 8, so it runs once per several inserts.
+// Inner sources must be finite; a load keeps running when its subscribers are disposed so it can fill the cache.
+public final class AsyncCache<K, V> {
+
+    private final int maxSize;
+    private final int sweepTarget;
+    private final long ttlNanos;
+    private final Scheduler clock;
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong ticks = new AtomicLong();
+    private final ReentrantLock sweepLock = new ReentrantLock();
+    private volatile long lastSweep;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private AsyncCache(int maxSize, long ttlNanos, Scheduler clock) {
+        this.maxSize = maxSize;
+        this.sweepTarget = maxSize - maxSize / 8;
+        this.ttlNanos = ttlNanos;
+        this.clock = clock;
+        this.lastSweep = clock.now(TimeUnit.NANOSECONDS);
+    }
+
+    public static <K, V> AsyncCache<K, V> create(int maxSize, long ttl, TimeUnit unit) {
+        return create(maxSize, ttl, unit, Schedulers.computation());
+    }
+
+    // The scheduler only serves as the clock, e.g. a TestScheduler in tests.
+    public static <K, V> AsyncCache<K, V> create(int maxSize, long ttl, TimeUnit unit, Scheduler clock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize > 0 required but it was " + maxSize);
+        }
+        if (ttl <= 0L) {
+            throw new IllegalArgumentException("ttl > 0 required but it was " + ttl);
+        }
+        return new AsyncCache<>(maxSize, unit.toNanos(ttl), clock);
+    }
+
+    // Lookups answered from completed entries.
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    // Lookups that started a load.
+    public long missCount() {
+        return misses.sum();
+    }
+
+    // Lookups that joined a load already in flight.
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    // Entries dropped for maxSize or for an expired ttl.
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    Observable<V> lookup(K key, Function<K, Observable<V>> loader) {
+        long now = clock.now(TimeUnit.NANOSECONDS);
+        Entry<V> entry = entries.get(key);
+        if (entry != null && isExpired(entry, now)) {
+            if (entries.remove(key, entry)) {
+                evictions.increment();
+            }
+            entry = null;
+        }
+        boolean load = false;
+        if (entry == null) {
+            Entry<V> created = new Entry<>();
+            entry = entries.putIfAbsent(key, created);
+            if (entry == null) {
+                entry = created;
+                load = true;
+            }
+        }
+        entry.lastAccess = ticks.incrementAndGet();
+        if (load) {
+            misses.increment();
+            afterWrite(now);
+            return load(key, entry, loader);
+        }
+        // The subject is cleared only after the values are set, so one of the two is always there.
+        ReplaySubject<V> loading = entry.loading;
+        if (loading != null) {
+            coalesced.increment();
+            return loading;
+        }
+        hits.increment();
+        return completed(entry.values);
+    }
+
+    private boolean isExpired(Entry<V> entry, long now) {
+        return entry.values != null && now - entry.loadedAt >= ttlNanos;
+    }
+
+    private void afterWrite(long now) {
+        if (entries.size() <= maxSize && now - lastSweep < ttlNanos) {
+            return;
+        }
+        // A writer that finds the lock taken leaves its entry to the running sweep, which checks the size
+        // again after unlocking, so an entry added meanwhile is not left over the limit.
+        while (sweepLock.tryLock()) {
+            try {
+                sweep(now);
+            } finally {
+                sweepLock.unlock();
+            }
+            if (entries.size() <= maxSize) {
+                return;
+            }
+        }
+    }
+
+    private void sweep(long now) {
+        lastSweep = now;
+        List<Candidate<K, V>> live = new ArrayList<>();
+        for (Map.Entry<K, Entry<V>> e : entries.entrySet()) {
+            Entry<V> entry = e.getValue();
+            if (isExpired(entry, now)) {
+                if (entries.remove(e.getKey(), entry)) {
+                    evictions.increment();
+                }
+            } else {
+                live.add(new Candidate<>(e.getKey(), entry));
+            }
+        }
+        if (live.size() <= maxSize) {
+            return;
+        }
+        // The ticks are copied into the candidates, so lookups during the sort cannot reorder it.
+        live.sort((x, y) -> Long.compare(x.lastAccess, y.lastAccess));
+        for (int i = 0, excess = live.size() - sweepTarget; i < excess; i++) {
+            Candidate<K, V> candidate = live.get(i);
+            if (entries.remove(candidate.key, candidate.entry)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private Observable<V> load(K key, Entry<V> entry, Function<K, Observable<V>> loader) {
+        ReplaySubject<V> subject = entry.loading;
+        Observable<V> source;
+        try {
+            source = loader.apply(key);
+        } catch (Exception e) {
+            entries.remove(key, entry);
+            subject.onError(e);
+            return subject;
+        }
+        source.subscribe(new LoadObserver<>(this, key, entry));
+        List<V> values = entry.values;
+        return values != null ? completed(values) : subject;
+    }
+
+    // A one-item result goes through the just() fast path, which is the common case for mapAsyncCached.
+    private static <V> Observable<V> completed(List<V> values) {
+        if (values.size() == 1) {
+            return Observable.just(values.get(0));
+        }
+        return values.isEmpty() ? Observable.empty() : Observable.fromIterable(values);
+    }
+
+    static final class Entry<V> {
+
+        volatile ReplaySubject<V> loading = ReplaySubject.create();
+        volatile List<V> values;
+        volatile long loadedAt;
+        volatile long lastAccess;
+    }
+
+    static final class Candidate<K, V> {
+
+        final K key;
+        final Entry<V> entry;
+        final long lastAccess;
+
+        Candidate(K key, Entry<V> entry) {
+            this.key = key;
+            this.entry = entry;
+            this.lastAccess = entry.lastAccess;
+        }
+    }
+
+    static final class LoadObserver<K, V> implements Observer<V> {
+
+        private final AsyncCache<K, V> cache;
+        private final K key;
+        private final Entry<V> entry;
+        private final ReplaySubject<V> subject;
+        private final List<V> items = new ArrayList<>();
+
+        LoadObserver(AsyncCache<K, V> cache, K key, Entry<V> entry) {
+            this.cache = cache;
+            this.key = key;
+            this.entry = entry;
+            this.subject = entry.loading;
+        }
+
+        @Override
+        public void onNext(V item) {
+            items.add(item);
+            subject.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            cache.entries.remove(key, entry);
+            subject.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            entry.loadedAt = cache.clock.now(TimeUnit.NANOSECONDS);
+            entry.values = items;
+            entry.loading = null;
+            subject.onComplete();
+        }
+    }
+}
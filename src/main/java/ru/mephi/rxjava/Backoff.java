@@ -0,0 +1,89 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// How retryWhen() waits between attempts: initialDelay * multiplier^attempt, capped at maxDelay.
+// With jitter j the delay is picked uniformly from [delay * (1 - j), delay], so clients that failed
+// together do not all come back at the same moment. Instances are immutable; the with* methods
+// return a copy.
+public final class Backoff {
+
+    private final long initialNanos;
+    private final long maxNanos;
+    private final double multiplier;
+    private final double jitter;
+    private final long maxRetries;
+    private final Predicate<Throwable> retryIf;
+
+    private Backoff(long initialNanos, long maxNanos, double multiplier, double jitter, long maxRetries,
+                    Predicate<Throwable> retryIf) {
+        this.initialNanos = initialNanos;
+        this.maxNanos = maxNanos;
+        this.multiplier = multiplier;
+        this.jitter = jitter;
+        this.maxRetries = maxRetries;
+        this.retryIf = retryIf;
+    }
+
+    // Doubles the delay after every failed attempt.
+    public static Backoff exponential(long initialDelay, long maxDelay, TimeUnit unit) {
+        if (initialDelay < 0L) {
+            throw new IllegalArgumentException("initialDelay >= 0 required but it was " + initialDelay);
+        }
+        if (maxDelay < initialDelay) {
+            throw new IllegalArgumentException("maxDelay >= initialDelay required but it was " + maxDelay);
+        }
+        return new Backoff(unit.toNanos(initialDelay), unit.toNanos(maxDelay), 2.0, 0.0, Long.MAX_VALUE, null);
+    }
+
+    public static Backoff fixed(long delay, TimeUnit unit) {
+        return exponential(delay, delay, unit).withMultiplier(1.0);
+    }
+
+    public Backoff withMultiplier(double multiplier) {
+        if (!(multiplier >= 1.0)) {
+            throw new IllegalArgumentException("multiplier >= 1 required but it was " + multiplier);
+        }
+        return new Backoff(initialNanos, maxNanos, multiplier, jitter, maxRetries, retryIf);
+    }
+
+    public Backoff withJitter(double jitter) {
+        if (!(jitter >= 0.0 && jitter <= 1.0)) {
+            throw new IllegalArgumentException("0 <= jitter <= 1 required but it was " + jitter);
+        }
+        return new Backoff(initialNanos, maxNanos, multiplier, jitter, maxRetries, retryIf);
+    }
+
+    // Retries in a row; an item from the source starts the count and the delays over.
+    public Backoff withMaxRetries(long maxRetries) {
+        if (maxRetries < 0L) {
+            throw new IllegalArgumentException("maxRetries >= 0 required but it was " + maxRetries);
+        }
+        return new Backoff(initialNanos, maxNanos, multiplier, jitter, maxRetries, retryIf);
+    }
+
+    // Errors the predicate rejects are passed downstream without a retry.
+    public Backoff retryIf(Predicate<Throwable> retryIf) {
+        return new Backoff(initialNanos, maxNanos, multiplier, jitter, maxRetries, retryIf);
+    }
+
+    long maxRetries() {
+        return maxRetries;
+    }
+
+    Predicate<Throwable> predicate() {
+        return retryIf;
+    }
+
+    long delayNanos(int attempt) {
+        double delay = initialNanos * Math.pow(multiplier, attempt);
+        if (delay > maxNanos) {
+            delay = maxNanos;
+        }
+        if (jitter > 0.0) {
+            delay -= delay * jitter * ThreadLocalRandom.current().nextDouble();
+        }
+        return (long) delay;
+    }
+}
@@ -0,0 +1,30 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+final class BackpressureHelper {
+
+    private BackpressureHelper() {
+    }
+
+    static long addCap(long a, long b) {
+        long result = a + b;
+        return result < 0L ? Long.MAX_VALUE : result;
+    }
+
+    static long add(AtomicLong requested, long n) {
+        for (;;) {
+            long current = requested.get();
+            if (current == Long.MAX_VALUE) {
+                return Long.MAX_VALUE;
+            }
+            if (requested.compareAndSet(current, addCap(current, n))) {
+                return current;
+            }
+        }
+    }
+
+    static IllegalArgumentException invalidRequest(long n) {
+        return new IllegalArgumentException("n > 0 required but it was " + n);
+    }
+}
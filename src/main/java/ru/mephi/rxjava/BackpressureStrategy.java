@@ -0,0 +1,8 @@
+package ru.mephi.rxjava;
+
+public enum BackpressureStrategy {
+
+    BUFFER,
+    DROP,
+    LATEST
+}
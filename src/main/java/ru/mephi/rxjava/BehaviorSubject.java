@@ -0,0 +1,244 @@
+package ru.mephi.rxjava;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Emits the latest item (or the default) to every new subscriber, then everything that follows.
+public final class BehaviorSubject<T> extends Subject<T> {
+
+    private final State<T> state;
+
+    private BehaviorSubject(State<T> state) {
+        super(state);
+        this.state = state;
+    }
+
+    public static <T> BehaviorSubject<T> create() {
+        return new BehaviorSubject<>(new State<>(null));
+    }
+
+    public static <T> BehaviorSubject<T> createDefault(T defaultValue) {
+        if (defaultValue == null) {
+            throw new NullPointerException("defaultValue is null");
+        }
+        return new BehaviorSubject<>(new State<>(defaultValue));
+    }
+
+    public T getValue() {
+        Node<T> node = state.latest;
+        return node.kind == Node.NEXT ? node.value : null;
+    }
+
+    public boolean hasValue() {
+        return getValue() != null;
+    }
+
+    @Override
+    public void onNext(T item) {
+        state.onNext(item);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        state.onError(t);
+    }
+
+    @Override
+    public void onComplete() {
+        state.onComplete();
+    }
+
+    @Override
+    public boolean hasObservers() {
+        return state.subscribers.size() != 0;
+    }
+
+    @Override
+    public boolean hasComplete() {
+        return state.latest.kind == Node.COMPLETE;
+    }
+
+    @Override
+    public boolean hasThrowable() {
+        return state.latest.kind == Node.ERROR;
+    }
+
+    @Override
+    public Throwable getThrowable() {
+        Node<T> node = state.latest;
+        return node.kind == Node.ERROR ? node.error : null;
+    }
+
+    // One immutable node per signal: its index lets a new subscriber drop a concurrently emitted
+    // node it has already seen as the latest one.
+    static final class Node<T> {
+
+        static final int NEXT = 0;
+        static final int ERROR = 1;
+        static final int COMPLETE = 2;
+
+        final int kind;
+        final long index;
+        final T value;
+        final Throwable error;
+
+        Node(int kind, long index, T value, Throwable error) {
+            this.kind = kind;
+            this.index = index;
+            this.value = value;
+            this.error = error;
+        }
+    }
+
+    static final class State<T> implements ObservableOnSubscribe<T>, Observer<T> {
+
+        final SubscriberArray<BehaviorInner<T>> subscribers = new SubscriberArray<>();
+        volatile Node<T> latest;
+
+        State(T defaultValue) {
+            this.latest = new Node<>(Node.NEXT, 0L, defaultValue, null);
+        }
+
+        @Override
+        public void subscribe(ObservableEmitter<T> emitter) {
+            BehaviorInner<T> inner = new BehaviorInner<>(emitter, this);
+            if (subscribers.add(inner)) {
+                emitter.setCancellable(() -> subscribers.remove(inner));
+            }
+            // Also covers the terminated case: the latest node is then the terminal one.
+            inner.emitFirst();
+        }
+
+        @Override
+        public void onNext(T item) {
+            Node<T> current = latest;
+            if (current.kind != Node.NEXT) {
+                return;
+            }
+            Node<T> node = new Node<>(Node.NEXT, current.index + 1, item, null);
+            latest = node;
+            emitAll(subscribers.get(), node);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            terminate(new Node<>(Node.ERROR, latest.index + 1, null, t));
+        }
+
+        @Override
+        public void onComplete() {
+            terminate(new Node<>(Node.COMPLETE, latest.index + 1, null, null));
+        }
+
+        private void terminate(Node<T> node) {
+            if (latest.kind != Node.NEXT) {
+                return;
+            }
+            latest = node;
+            emitAll(subscribers.terminate(), node);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void emitAll(Object[] inners, Node<T> node) {
+            for (Object inner : inners) {
+                ((BehaviorInner<T>) inner).emit(node);
+            }
+        }
+    }
+
+    // Until its first node has been delivered, a subscriber briefly synchronizes on itself so the
+    // initial node and concurrently emitted ones come out in index order without duplicates; after
+    // that the emitting thread delivers without any lock.
+    static final class BehaviorInner<T> {
+
+        private final ObservableEmitter<T> downstream;
+        private final State<T> state;
+        private List<Node<T>> missed;
+        private boolean emitting;
+        private boolean started;
+        private long lastIndex = -1L;
+        private volatile boolean fastPath;
+        private boolean done;
+
+        BehaviorInner(ObservableEmitter<T> downstream, State<T> state) {
+            this.downstream = downstream;
+            this.state = state;
+        }
+
+        void emitFirst() {
+            Node<T> node;
+            synchronized (this) {
+                if (started) {
+                    return;
+                }
+                started = true;
+                emitting = true;
+                node = state.latest;
+                lastIndex = node.index;
+            }
+            deliver(node);
+            emitMissed();
+        }
+
+        void emit(Node<T> node) {
+            if (!fastPath) {
+                synchronized (this) {
+                    if (node.index <= lastIndex) {
+                        return;
+                    }
+                    if (emitting || !started) {
+                        if (missed == null) {
+                            missed = new ArrayList<>();
+                        }
+                        missed.add(node);
+                        return;
+                    }
+                    lastIndex = node.index;
+                }
+                fastPath = true;
+            }
+            deliver(node);
+        }
+
+        private void emitMissed() {
+            for (;;) {
+                List<Node<T>> nodes;
+                synchronized (this) {
+                    nodes = missed;
+                    if (nodes == null) {
+                        emitting = false;
+                        return;
+                    }
+                    missed = null;
+                }
+                for (Node<T> node : nodes) {
+                    if (node.index > lastIndex) {
+                        lastIndex = node.index;
+                        deliver(node);
+                    }
+                }
+            }
+        }
+
+        private void deliver(Node<T> node) {
+            if (done) {
+                return;
+            }
+            switch (node.kind) {
+                case Node.NEXT:
+                    if (node.value != null) {
+                        downstream.onNext(node.value);
+                    }
+                    break;
+                case Node.ERROR:
+                    done = true;
+                    downstream.onError(node.error);
+                    break;
+                default:
+                    done = true;
+                    downstream.onComplete();
+                    break;
+            }
+        }
+    }
+}
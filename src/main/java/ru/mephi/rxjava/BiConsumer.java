@@ -0,0 +1,6 @@
+package ru.mephi.rxjava;
+
+public interface BiConsumer<T1, T2> {
+
+    void accept(T1 t1, T2 t2) throws Exception;
+}
@@ -0,0 +1,154 @@
+package ru.mephi.rxjava;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+// Hands items from the producer to the thread that iterates through an SPSC queue, without locks.
+// The producer wakes the consumer only while it is parked, and the woken consumer drains everything
+// queued before it parks again, so a producer that keeps ahead costs one wakeup per batch, not per item.
+// The producer never waits: it may be a shared scheduler thread, and an Iterable abandoned by a break
+// has nobody left to wake it. The queue grows in `prefetch`-sized chunks instead, like observeOn's.
+final class BlockingObservableIterator<T> implements CloseableIterator<T>, Observer<T> {
+
+    private final SpscLinkedArrayQueue<T> queue;
+    final CompositeDisposable resources = new CompositeDisposable();
+
+    private final AtomicReference<Thread> parkedConsumer = new AtomicReference<>();
+
+    // Written by the producer only.
+    private volatile long produced;
+    // Written by the consumer only.
+    private long consumed;
+
+    private volatile boolean done;
+    private Throwable error;
+
+    // Consumer state.
+    private T next;
+    private boolean closed;
+
+    BlockingObservableIterator(int prefetch) {
+        this.queue = new SpscLinkedArrayQueue<>(prefetch);
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (done) {
+            return;
+        }
+        queue.offer(item);
+        produced = produced + 1;
+        wakeConsumer();
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        if (done) {
+            return;
+        }
+        error = t;
+        done = true;
+        wakeConsumer();
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        wakeConsumer();
+    }
+
+    @Override
+    public boolean hasNext() {
+        for (;;) {
+            if (next != null) {
+                return true;
+            }
+            if (closed) {
+                return false;
+            }
+            boolean isDone = done;
+            T item = queue.poll();
+            if (item != null) {
+                next = item;
+                consumed++;
+                return true;
+            }
+            if (isDone) {
+                Throwable t = error;
+                if (t != null) {
+                    error = null;
+                    closed = true;
+                    throw rethrow(t);
+                }
+                return false;
+            }
+            awaitItems();
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T item = next;
+        next = null;
+        return item;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        next = null;
+        resources.dispose();
+        queue.clear();
+    }
+
+    private void awaitItems() {
+        Thread current = Thread.currentThread();
+        for (;;) {
+            // `produced` is read after parkedConsumer is set, and the producer reads parkedConsumer after
+            // writing `produced`, so an item offered meanwhile is either seen here or unparks us.
+            parkedConsumer.set(current);
+            if (produced != consumed || done) {
+                break;
+            }
+            LockSupport.park(this);
+            if (Thread.interrupted()) {
+                parkedConsumer.compareAndSet(current, null);
+                close();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the next item",
+                        new InterruptedException());
+            }
+        }
+        parkedConsumer.compareAndSet(current, null);
+    }
+
+    private void wakeConsumer() {
+        if (parkedConsumer.get() != null) {
+            Thread thread = parkedConsumer.getAndSet(null);
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+
+    // Runtime errors are rethrown as they are and checked ones wrapped, like blockingGet does.
+    private static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException) {
+            return (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return new RuntimeException(t);
+    }
+}
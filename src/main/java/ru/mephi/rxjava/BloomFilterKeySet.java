@@ -0,0 +1,65 @@
+package ru.mephi.rxjava;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+// Sized from the expected number of keys and the false positive rate: bits = -n ln p / (ln 2)^2,
+// hashes = bits / n * ln 2. The bit indexes are derived from one 64-bit mix of hashCode() by double
+// hashing, so adding a key allocates nothing.
+final class BloomFilterKeySet<K> implements DistinctKeySet<K> {
+
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    BloomFilterKeySet(int expectedKeys, double falsePositiveRate) {
+        if (expectedKeys <= 0) {
+            throw new IllegalArgumentException("expectedKeys > 0 required but it was " + expectedKeys);
+        }
+        if (!(falsePositiveRate > 0.0 && falsePositiveRate < 1.0)) {
+            throw new IllegalArgumentException("0 < falsePositiveRate < 1 required but it was " + falsePositiveRate);
+        }
+        double ln2 = Math.log(2);
+        long size = Math.max(64L, (long) Math.ceil(-expectedKeys * Math.log(falsePositiveRate) / (ln2 * ln2)));
+        this.bits = new long[(int) ((size + 63) >>> 6)];
+        this.bitCount = bits.length * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedKeys * ln2));
+    }
+
+    @Override
+    public boolean add(K key) {
+        long hash = mix(Objects.hashCode(key));
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        boolean added = false;
+        for (int i = 1; i <= hashCount; i++) {
+            int combined = h1 + i * h2;
+            if (combined < 0) {
+                combined = ~combined;
+            }
+            long index = combined % bitCount;
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            if ((bits[word] & mask) == 0) {
+                bits[word] |= mask;
+                added = true;
+            }
+        }
+        return added;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(bits, 0L);
+    }
+
+    // The MurmurHash3 finalizer, so that keys with close hash codes spread over the whole filter.
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
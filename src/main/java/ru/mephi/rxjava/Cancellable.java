@@ -0,0 +1,6 @@
+package ru.mephi.rxjava;
+
+public interface Cancellable {
+
+    void cancel() throws Exception;
+}
@@ -0,0 +1,28 @@
+package ru.mephi.rxjava;
+
+final class CancellableDisposable implements Disposable {
+
+    private final Cancellable cancellable;
+    private volatile boolean cancelled;
+
+    CancellableDisposable(Cancellable cancellable) {
+        this.cancellable = cancellable;
+    }
+
+    @Override
+    public void dispose() {
+        if (!cancelled) {
+            cancelled = true;
+            try {
+                cancellable.cancel();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return cancelled;
+    }
+}
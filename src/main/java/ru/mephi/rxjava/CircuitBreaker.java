@@ -0,0 +1,99 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Shared by every subscription that guards the same dependency. After failureThreshold failures in a row
+// the breaker opens and subscriptions fail at once with CircuitBreakerOpenException, without touching the
+// source. Once openDuration has passed, one trial subscription is let through (HALF_OPEN): its success
+// closes the breaker, its failure opens it for another openDuration. The state changes are plain CASes.
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final Scheduler clock;
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger failures = new AtomicInteger();
+    private volatile long openedAt;
+
+    private CircuitBreaker(int failureThreshold, long openNanos, Scheduler clock) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openNanos;
+        this.clock = clock;
+    }
+
+    public static CircuitBreaker create(int failureThreshold, long openDuration, TimeUnit unit) {
+        return create(failureThreshold, openDuration, unit, Schedulers.computation());
+    }
+
+    // The scheduler only serves as the clock, e.g. a TestScheduler in tests.
+    public static CircuitBreaker create(int failureThreshold, long openDuration, TimeUnit unit, Scheduler clock) {
+        if (failureThreshold <= 0) {
+            throw new IllegalArgumentException("failureThreshold > 0 required but it was " + failureThreshold);
+        }
+        if (openDuration <= 0L) {
+            throw new IllegalArgumentException("openDuration > 0 required but it was " + openDuration);
+        }
+        return new CircuitBreaker(failureThreshold, unit.toNanos(openDuration), clock);
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    // REJECTED while open, TRIAL for the one subscription let through after openDuration, ADMITTED otherwise.
+    // Only the trial decides the HALF_OPEN outcome; the others can only count toward opening a closed breaker.
+    enum Permit {
+        REJECTED, ADMITTED, TRIAL
+    }
+
+    Permit tryAcquire() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return Permit.ADMITTED;
+        }
+        if (current == State.OPEN
+                && clock.now(TimeUnit.NANOSECONDS) - openedAt >= openNanos
+                && state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+            return Permit.TRIAL;
+        }
+        return Permit.REJECTED;
+    }
+
+    void onSuccess(Permit permit) {
+        if (permit == Permit.TRIAL) {
+            if (state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+                failures.set(0);
+            }
+        } else if (state.get() == State.CLOSED) {
+            failures.set(0);
+        }
+    }
+
+    void onFailure(Permit permit) {
+        if (permit == Permit.TRIAL) {
+            open(State.HALF_OPEN);
+        } else if (state.get() == State.CLOSED && failures.incrementAndGet() >= failureThreshold) {
+            open(State.CLOSED);
+        }
+    }
+
+    // A trial disposed before its outcome lets the next subscription try right away.
+    void onCancel(Permit permit) {
+        if (permit == Permit.TRIAL) {
+            state.compareAndSet(State.HALF_OPEN, State.OPEN);
+        }
+    }
+
+    private void open(State expected) {
+        openedAt = clock.now(TimeUnit.NANOSECONDS);
+        if (state.compareAndSet(expected, State.OPEN)) {
+            failures.set(0);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package ru.mephi.rxjava;
+
+public class CircuitBreakerOpenException extends RuntimeException {
+
+    public CircuitBreakerOpenException(String message) {
+        super(message);
+    }
+}
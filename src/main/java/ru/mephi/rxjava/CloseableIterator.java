@@ -0,0 +1,10 @@
+package ru.mephi.rxjava;
+
+import java.util.Iterator;
+
+// An iterator over a live subscription: close() disposes it when the caller stops before the end.
+public interface CloseableIterator<T> extends Iterator<T>, AutoCloseable {
+
+    @Override
+    void close();
+}
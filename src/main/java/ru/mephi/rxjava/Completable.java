@@ -0,0 +1,134 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+// Completion or an error, without a value.
+public final class Completable {
+
+    private final OneShotSource<Object> source;
+
+    Completable(OneShotSource<Object> source) {
+        this.source = source;
+    }
+
+    public static Completable create(CompletableOnSubscribe source) {
+        return new Completable(OneShotEmitter.source(source::subscribe));
+    }
+
+    public static Completable complete() {
+        return new Completable((observer, parent) -> observer.onComplete());
+    }
+
+    public static Completable error(Throwable error) {
+        return new Completable((observer, parent) -> observer.onError(error));
+    }
+
+    // The result of the callable is ignored.
+    public static Completable fromCallable(Callable<?> callable) {
+        return create(emitter -> {
+            callable.call();
+            emitter.onComplete();
+        });
+    }
+
+    public static Completable fromFuture(CompletionStage<?> future) {
+        return new Completable(new OneShotIgnore<>(new OneShotFromFuture<>(future)));
+    }
+
+    // Completes when all sources have completed; the first error disposes the others.
+    public static Completable merge(Completable... sources) {
+        OneShotSource<?>[] array = new OneShotSource<?>[sources.length];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = sources[i].source;
+        }
+        return new Completable(new OneShotZip<>(array, null));
+    }
+
+    public Disposable subscribe(CompletableObserver observer) {
+        CompletableSubscriber subscriber = new CompletableSubscriber(observer);
+        source.subscribe(subscriber, subscriber);
+        return subscriber;
+    }
+
+    public Completable andThen(Completable next) {
+        return new Completable(new OneShotFlatMap<>(source, item -> next.source, next.source));
+    }
+
+    public <T> Single<T> andThen(Single<T> next) {
+        return new Single<>(new OneShotFlatMap<>(source, item -> next.source(), next.source()));
+    }
+
+    public <T> Maybe<T> andThen(Maybe<T> next) {
+        return new Maybe<>(new OneShotFlatMap<>(source, item -> next.source(), next.source()));
+    }
+
+    public Completable timeout(long timeout, TimeUnit unit) {
+        return timeout(timeout, unit, Schedulers.computation());
+    }
+
+    public Completable timeout(long timeout, TimeUnit unit, Scheduler scheduler) {
+        return new Completable(new OneShotTimeout<>(source, timeout, unit, scheduler));
+    }
+
+    public Completable retry() {
+        return retry(Long.MAX_VALUE);
+    }
+
+    public Completable retry(long times) {
+        if (times < 0L) {
+            throw new IllegalArgumentException("times >= 0 required but it was " + times);
+        }
+        return new Completable(new OneShotRetry<>(source, times));
+    }
+
+    public Completable subscribeOn(Scheduler scheduler) {
+        return new Completable(new OneShotSubscribeOn<>(source, scheduler));
+    }
+
+    public Completable observeOn(Scheduler scheduler) {
+        return new Completable(new OneShotObserveOn<>(source, scheduler));
+    }
+
+    // An Observable that emits no items and completes or fails with this Completable.
+    @SuppressWarnings("unchecked")
+    public <T> Observable<T> toObservable() {
+        return Observable.create(new OneShotToObservable<>((OneShotSource<T>) (OneShotSource<?>) source));
+    }
+
+    // Completes the future with null; cancelling it disposes the subscription.
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<Void> toCompletableFuture() {
+        return OneShotFutures.toFuture((OneShotSource<Void>) (OneShotSource<?>) source);
+    }
+
+    public void blockingAwait() {
+        OneShotFutures.blockingGet(source);
+    }
+
+    static final class CompletableSubscriber extends SerialDisposable implements MaybeObserver<Object> {
+
+        private final CompletableObserver downstream;
+
+        CompletableSubscriber(CompletableObserver downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSuccess(Object item) {
+            downstream.onComplete();
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            downstream.onError(t);
+        }
+    }
+}
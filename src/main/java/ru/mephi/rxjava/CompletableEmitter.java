@@ -0,0 +1,10 @@
+package ru.mephi.rxjava;
+
+public interface CompletableEmitter extends CompletableObserver {
+
+    boolean isDisposed();
+
+    void setDisposable(Disposable disposable);
+
+    void setCancellable(Cancellable cancellable);
+}
@@ -0,0 +1,8 @@
+package ru.mephi.rxjava;
+
+public interface CompletableObserver {
+
+    void onComplete();
+
+    void onError(Throwable t);
+}
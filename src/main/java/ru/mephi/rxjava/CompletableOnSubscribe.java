@@ -0,0 +1,6 @@
+package ru.mephi.rxjava;
+
+public interface CompletableOnSubscribe {
+
+    void subscribe(CompletableEmitter emitter) throws Exception;
+}
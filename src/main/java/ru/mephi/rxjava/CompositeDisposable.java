@@ -0,0 +1,122 @@
+package ru.mephi.rxjava;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class CompositeDisposable implements Disposable {
+
+    private Set<Disposable> disposables;
+    private volatile boolean disposed;
+
+    public CompositeDisposable() {
+    }
+
+    public CompositeDisposable(Disposable... disposables) {
+        this.disposables = new HashSet<>(List.of(disposables));
+    }
+
+    public boolean add(Disposable disposable) {
+        if (!disposed) {
+            synchronized (this) {
+                if (!disposed) {
+                    if (disposables == null) {
+                        disposables = new HashSet<>();
+                    }
+                    disposables.add(disposable);
+                    return true;
+                }
+            }
+        }
+        disposable.dispose();
+        return false;
+    }
+
+    public boolean remove(Disposable disposable) {
+        if (delete(disposable)) {
+            disposable.dispose();
+            return true;
+        }
+        return false;
+    }
+
+    public boolean delete(Disposable disposable) {
+        if (disposed) {
+            return false;
+        }
+        synchronized (this) {
+            return !disposed && disposables != null && disposables.remove(disposable);
+        }
+    }
+
+    public int size() {
+        if (disposed) {
+            return 0;
+        }
+        synchronized (this) {
+            return disposed || disposables == null ? 0 : disposables.size();
+        }
+    }
+
+    public void clear() {
+        if (disposed) {
+            return;
+        }
+        Set<Disposable> current;
+        synchronized (this) {
+            if (disposed) {
+                return;
+            }
+            current = disposables;
+            disposables = null;
+        }
+        disposeAll(current);
+    }
+
+    @Override
+    public void dispose() {
+        if (disposed) {
+            return;
+        }
+        Set<Disposable> current;
+        synchronized (this) {
+            if (disposed) {
+                return;
+            }
+            disposed = true;
+            current = disposables;
+            disposables = null;
+        }
+        disposeAll(current);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    private static void disposeAll(Set<Disposable> disposables) {
+        if (disposables == null) {
+            return;
+        }
+        List<Throwable> errors = null;
+        for (Disposable disposable : disposables) {
+            try {
+                disposable.dispose();
+            } catch (Throwable t) {
+                if (errors == null) {
+                    errors = new ArrayList<>();
+                }
+                errors.add(t);
+            }
+        }
+        if (errors != null) {
+            RuntimeException exception = new RuntimeException("Failed to dispose " + errors.size() + " resource(s)", errors.get(0));
+            for (int i = 1; i < errors.size(); i++) {
+                exception.addSuppressed(errors.get(i));
+            }
+            throw exception;
+        }
+    }
+}
@@ -1,15 +1,278 @@
 package ru.mephi.rxjava;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
 public class ComputationScheduler implements Scheduler {
 
     private final static int NUMBER_OF_THREADS = Runtime.getRuntime().availableProcessors();
-    private final ExecutorService executor = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+    private final static AtomicInteger SCHEDULER_COUNTER = new AtomicInteger();
+    // The loop running on the current thread, so that work submitted from a loop can stay on it.
+    private final static ThreadLocal<EventLoop> CURRENT = new ThreadLocal<>();
+
+    private final int numberOfThreads;
+    private final ThreadFactory threadFactory;
+    private final AtomicInteger nextEventLoop = new AtomicInteger();
+    // Created on the first task or worker; null again after shutdown().
+    private volatile EventLoop[] eventLoops;
+    private volatile boolean shutdown;
+
+    public ComputationScheduler() {
+        this(NUMBER_OF_THREADS);
+    }
+
+    public ComputationScheduler(int numberOfThreads) {
+        this(numberOfThreads, new RxThreadFactory("rx-computation-pool-" + SCHEDULER_COUNTER.incrementAndGet()));
+    }
+
+    public ComputationScheduler(int numberOfThreads, ThreadFactory threadFactory) {
+        if (numberOfThreads <= 0) {
+            throw new IllegalArgumentException("numberOfThreads > 0 required but it was " + numberOfThreads);
+        }
+        this.numberOfThreads = numberOfThreads;
+        this.threadFactory = threadFactory;
+    }
 
     @Override
     public void execute(Runnable task) {
-        executor.execute(task);
+        EventLoop[] loops = eventLoops();
+        if (loops == null) {
+            return;
+        }
+        // Work submitted from one of our own loops stays there for cache locality; idle loops may steal it.
+        EventLoop current = CURRENT.get();
+        EventLoop target = current != null && current.owner == this ? current : nextEventLoop(loops);
+
+        target.shared.offer(RxPlugins.onSchedule(this, task));
+        if (!target.wakeUp()) {
+            wakeUpIdleLoop(loops, target);
+        }
+    }
+
+    @Override
+    public Worker createWorker() {
+        EventLoop[] loops = eventLoops();
+        return new EventLoopWorker(loops == null ? null : nextEventLoop(loops));
+    }
+
+    @Override
+    public void start() {
+        shutdown = false;
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        shutdown = true;
+        EventLoop[] loops = eventLoops;
+        eventLoops = null;
+        if (loops != null) {
+            for (EventLoop eventLoop : loops) {
+                eventLoop.stop();
+            }
+        }
+    }
+
+    private EventLoop[] eventLoops() {
+        EventLoop[] loops = eventLoops;
+        if (loops != null || shutdown) {
+            return loops;
+        }
+        return startEventLoops();
+    }
+
+    private synchronized EventLoop[] startEventLoops() {
+        EventLoop[] loops = eventLoops;
+        if (loops != null || shutdown) {
+            return loops;
+        }
+        loops = new EventLoop[numberOfThreads];
+        for (int i = 0; i < numberOfThreads; i++) {
+            loops[i] = new EventLoop(this, loops, i);
+        }
+        for (EventLoop eventLoop : loops) {
+            eventLoop.thread = threadFactory.newThread(eventLoop);
+        }
+        eventLoops = loops;
+        for (EventLoop eventLoop : loops) {
+            eventLoop.thread.start();
+        }
+        return loops;
+    }
+
+    private EventLoop nextEventLoop(EventLoop[] loops) {
+        return loops[Math.floorMod(nextEventLoop.getAndIncrement(), loops.length)];
+    }
+
+    private static void wakeUpIdleLoop(EventLoop[] loops, EventLoop busy) {
+        for (EventLoop eventLoop : loops) {
+            if (eventLoop != busy && eventLoop.wakeUp()) {
+                return;
+            }
+        }
+    }
+
+    static final class EventLoop implements Runnable {
+
+        private final ComputationScheduler owner;
+        // The loops started together with this one; the only ones it steals from.
+        private final EventLoop[] siblings;
+        private final int index;
+        // Tasks of workers pinned to this loop; they are never stolen so their order is kept.
+        private final ConcurrentLinkedQueue<Runnable> pinned = new ConcurrentLinkedQueue<>();
+        // Tasks submitted through execute(); any idle loop may take them.
+        private final ConcurrentLinkedQueue<Runnable> shared = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean parked = new AtomicBoolean();
+        private volatile boolean stopped;
+        Thread thread;
+
+        EventLoop(ComputationScheduler owner, EventLoop[] siblings, int index) {
+            this.owner = owner;
+            this.siblings = siblings;
+            this.index = index;
+        }
+
+        void submitPinned(Runnable task) {
+            if (stopped) {
+                return;
+            }
+            pinned.offer(task);
+            wakeUp();
+        }
+
+        boolean wakeUp() {
+            // Only one submitter may claim a parked loop, so that concurrent submissions wake different loops.
+            if (parked.compareAndSet(true, false)) {
+                LockSupport.unpark(thread);
+                return true;
+            }
+            return false;
+        }
+
+        void stop() {
+            stopped = true;
+            LockSupport.unpark(thread);
+        }
+
+        @Override
+        public void run() {
+            CURRENT.set(this);
+            boolean preferShared = false;
+            while (!stopped) {
+                Runnable task;
+                if (preferShared) {
+                    task = shared.poll();
+                    if (task == null) {
+                        task = pinned.poll();
+                    }
+                } else {
+                    task = pinned.poll();
+                    if (task == null) {
+                        task = shared.poll();
+                    }
+                }
+                if (task == null) {
+                    task = steal();
+                }
+
+                if (task != null) {
+                    preferShared = !preferShared;
+                    runSafely(task);
+                    continue;
+                }
+
+                parked.set(true);
+                if (pinned.isEmpty() && shared.isEmpty() && !hasStealableWork() && !stopped) {
+                    LockSupport.park(this);
+                }
+                parked.set(false);
+            }
+            CURRENT.remove();
+            pinned.clear();
+            shared.clear();
+        }
+
+        private Runnable steal() {
+            int length = siblings.length;
+            for (int i = 1; i < length; i++) {
+                Runnable task = siblings[(index + i) % length].shared.poll();
+                if (task != null) {
+                    return task;
+                }
+            }
+            return null;
+        }
+
+        private boolean hasStealableWork() {
+            for (EventLoop eventLoop : siblings) {
+                if (eventLoop != this && !eventLoop.shared.isEmpty()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void runSafely(Runnable task) {
+            try {
+                task.run();
+            } catch (Throwable t) {
+                Thread current = Thread.currentThread();
+                current.getUncaughtExceptionHandler().uncaughtException(current, t);
+            }
+            // A disposed task may have interrupted us; a stale flag would make park() return immediately.
+            Thread.interrupted();
+        }
+    }
+
+    static final class EventLoopWorker implements Worker {
+
+        private final EventLoop eventLoop;
+        private final CompositeDisposable timers = new CompositeDisposable();
+        private volatile boolean disposed;
+
+        // A null loop means the scheduler was shut down: the worker is born disposed.
+        EventLoopWorker(EventLoop eventLoop) {
+            this.eventLoop = eventLoop;
+            this.disposed = eventLoop == null;
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            if (disposed) {
+                return;
+            }
+            Runnable pinned = () -> {
+                if (!disposed) {
+                    task.run();
+                }
+            };
+            eventLoop.submitPinned(RxPlugins.onSchedule(eventLoop.owner, pinned));
+        }
+
+        @Override
+        public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+            if (disposed) {
+                return DisposableHelper.DISPOSED;
+            }
+            SerialWorker.DelayedTask delayedTask = new SerialWorker.DelayedTask(this, timers, task);
+            if (timers.add(delayedTask)) {
+                delayedTask.setTimer(SchedulerTimer.schedule(Runnable::run, delayedTask, delay, unit));
+            }
+            return delayedTask;
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+            timers.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
     }
 }
@@ -0,0 +1,103 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+// A hot Observable: subscribers attach to a shared subject, and the upstream runs once per connect().
+public final class ConnectableObservable<T> extends Observable<T> {
+
+    private final State<T> state;
+
+    private ConnectableObservable(State<T> state) {
+        super(state);
+        this.state = state;
+    }
+
+    static <T> ConnectableObservable<T> create(Observable<T> source, Supplier<Subject<T>> subjectFactory) {
+        return new ConnectableObservable<>(new State<>(source, subjectFactory));
+    }
+
+    // Subscribes the shared subject to the upstream; disposing the result disconnects it.
+    // A connect() after the previous connection finished or was disposed starts a fresh one.
+    public Disposable connect() {
+        return state.connect();
+    }
+
+    // Connects when the first subscriber arrives and disconnects when the last one leaves.
+    public Observable<T> refCount() {
+        return Observable.create(new ObservableRefCount<>(this));
+    }
+
+    static final class State<T> implements ObservableOnSubscribe<T> {
+
+        private final Observable<T> source;
+        private final Supplier<Subject<T>> subjectFactory;
+        private final AtomicReference<Connection<T>> current = new AtomicReference<>();
+
+        State(Observable<T> source, Supplier<Subject<T>> subjectFactory) {
+            this.source = source;
+            this.subjectFactory = subjectFactory;
+        }
+
+        @Override
+        public void subscribe(ObservableEmitter<T> emitter) {
+            CompositeDisposable resources = new CompositeDisposable();
+            emitter.setDisposable(resources);
+            connection(false).subject.subscribe(emitter, resources);
+        }
+
+        Disposable connect() {
+            Connection<T> connection = connection(true);
+            if (connection.connected.compareAndSet(false, true)) {
+                source.subscribe(connection.subject, connection.upstream);
+            }
+            return connection;
+        }
+
+        private Connection<T> connection(boolean forConnect) {
+            for (;;) {
+                Connection<T> connection = current.get();
+                if (connection != null && !(forConnect && connection.isFinished())) {
+                    return connection;
+                }
+                Connection<T> fresh = new Connection<>(this, subjectFactory.get());
+                if (current.compareAndSet(connection, fresh)) {
+                    return fresh;
+                }
+            }
+        }
+
+        void disconnect(Connection<T> connection) {
+            current.compareAndSet(connection, null);
+        }
+    }
+
+    static final class Connection<T> implements Disposable {
+
+        private final State<T> state;
+        final Subject<T> subject;
+        final CompositeDisposable upstream = new CompositeDisposable();
+        final AtomicBoolean connected = new AtomicBoolean();
+
+        Connection(State<T> state, Subject<T> subject) {
+            this.state = state;
+            this.subject = subject;
+        }
+
+        boolean isFinished() {
+            return upstream.isDisposed() || subject.hasComplete() || subject.hasThrowable();
+        }
+
+        @Override
+        public void dispose() {
+            state.disconnect(this);
+            upstream.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return upstream.isDisposed();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package ru.mephi.rxjava;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+final class CreateEmitter<T> implements ObservableEmitter<T>, Disposable {
+
+    private final Observer<T> observer;
+    private final AtomicReference<Disposable> resource = new AtomicReference<>();
+    private final AtomicReference<Disposable> subscribeTask = new AtomicReference<>();
+
+    CreateEmitter(Observer<T> observer) {
+        this.observer = observer;
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (!isDisposed()) {
+            observer.onNext(item);
+        }
+    }
+
+    @Override
+    public void onNextBatch(List<T> items) {
+        if (!isDisposed() && !items.isEmpty()) {
+            observer.onNextBatch(items);
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        if (!isDisposed()) {
+            try {
+                observer.onError(t);
+            } finally {
+                dispose();
+            }
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        if (!isDisposed()) {
+            try {
+                observer.onComplete();
+            } finally {
+                dispose();
+            }
+        }
+    }
+
+    @Override
+    public void setDisposable(Disposable disposable) {
+        DisposableHelper.set(resource, disposable);
+    }
+
+    @Override
+    public void setCancellable(Cancellable cancellable) {
+        setDisposable(new CancellableDisposable(cancellable));
+    }
+
+    void setSubscribeTask(Disposable task) {
+        DisposableHelper.set(subscribeTask, task);
+    }
+
+    @Override
+    public void dispose() {
+        DisposableHelper.dispose(subscribeTask);
+        DisposableHelper.dispose(resource);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return resource.get() == DisposableHelper.DISPOSED;
+    }
+}
@@ -0,0 +1,52 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+final class DisposableHelper {
+
+    static final Disposable DISPOSED = new Disposable() {
+        @Override
+        public void dispose() {
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return true;
+        }
+    };
+
+    private DisposableHelper() {
+    }
+
+    static boolean set(AtomicReference<Disposable> field, Disposable disposable) {
+        for (;;) {
+            Disposable current = field.get();
+            if (current == DISPOSED) {
+                if (disposable != null) {
+                    disposable.dispose();
+                }
+                return false;
+            }
+            if (field.compareAndSet(current, disposable)) {
+                if (current != null) {
+                    current.dispose();
+                }
+                return true;
+            }
+        }
+    }
+
+    static boolean dispose(AtomicReference<Disposable> field) {
+        Disposable current = field.get();
+        if (current != DISPOSED) {
+            current = field.getAndSet(DISPOSED);
+            if (current != DISPOSED) {
+                if (current != null) {
+                    current.dispose();
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,27 @@
+package ru.mephi.rxjava;
+
+// The keys distinct() has already seen. Each subscription gets its own set, so an implementation
+// needs no synchronization; a bounded one trades exactness for memory on long-running streams.
+public interface DistinctKeySet<K> {
+
+    // True if the key was not seen yet; the key is remembered either way.
+    boolean add(K key);
+
+    void clear();
+
+    // Remembers every key: exact, but grows with the number of distinct keys.
+    static <K> DistinctKeySet<K> unbounded() {
+        return new HashKeySet<>();
+    }
+
+    // Remembers the maxSize most recently seen keys; a key forgotten since its last occurrence passes again.
+    static <K> DistinctKeySet<K> lru(int maxSize) {
+        return new LruKeySet<>(maxSize);
+    }
+
+    // A fixed-size Bloom filter: a key is never passed twice, but about falsePositiveRate of the new keys
+    // are taken for seen ones and dropped once expectedKeys keys have been added.
+    static <K> DistinctKeySet<K> bloomFilter(int expectedKeys, double falsePositiveRate) {
+        return new BloomFilterKeySet<>(expectedKeys, falsePositiveRate);
+    }
+}
@@ -0,0 +1,6 @@
+package ru.mephi.rxjava;
+
+public interface DoubleBinaryOperator {
+
+    double apply(double left, double right) throws Exception;
+}
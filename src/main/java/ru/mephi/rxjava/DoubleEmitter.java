@@ -0,0 +1,8 @@
+package ru.mephi.rxjava;
+
+public interface DoubleEmitter extends DoubleObserver {
+
+    boolean isDisposed();
+
+    void setDisposable(Disposable disposable);
+}
@@ -0,0 +1,6 @@
+package ru.mephi.rxjava;
+
+public interface DoubleFunction<R> {
+
+    R apply(double value) throws Exception;
+}
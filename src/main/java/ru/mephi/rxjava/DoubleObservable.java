@@ -0,0 +1,342 @@
+package ru.mephi.rxjava;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class DoubleObservable {
+
+    private final DoubleObservableOnSubscribe source;
+
+    private DoubleObservable(DoubleObservableOnSubscribe source) {
+        this.source = source;
+    }
+
+    public static DoubleObservable create(DoubleObservableOnSubscribe source) {
+        return new DoubleObservable(source);
+    }
+
+    public static DoubleObservable fromArray(double... items) {
+        return create(observer -> {
+            for (int i = 0; i < items.length && !observer.isDisposed(); i++) {
+                observer.onNext(items[i]);
+            }
+            observer.onComplete();
+        });
+    }
+
+    public Disposable subscribe(DoubleObserver observer) {
+        return subscribe(observer, null);
+    }
+
+    // Operators pass their own resources as the parent so the upstream link exists before the first item:
+    // a synchronous source then sees isDisposed() flip as soon as anything downstream is disposed.
+    Disposable subscribe(DoubleObserver observer, CompositeDisposable parent) {
+        Emitter emitter = new Emitter(observer);
+        if (parent != null) {
+            parent.add(emitter);
+        }
+        try {
+            source.subscribe(emitter);
+        } catch (Exception e) {
+            emitter.onError(e);
+        }
+        return emitter;
+    }
+
+    public DoubleObservable map(DoubleUnaryOperator mapper) {
+        return create(observer -> subscribe(new DoubleObserver() {
+            private boolean done;
+
+            @Override
+            public void onNext(double item) {
+                if (done) {
+                    return;
+                }
+                double result;
+                try {
+                    result = mapper.apply(item);
+                } catch (Exception e) {
+                    onError(e);
+                    return;
+                }
+                observer.onNext(result);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (!done) {
+                    done = true;
+                    observer.onError(t);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    observer.onComplete();
+                }
+            }
+        }, linkTo(observer)));
+    }
+
+    public DoubleObservable filter(DoublePredicate predicate) {
+        return create(observer -> subscribe(new DoubleObserver() {
+            private boolean done;
+
+            @Override
+            public void onNext(double item) {
+                if (done) {
+                    return;
+                }
+                boolean passed;
+                try {
+                    passed = predicate.test(item);
+                } catch (Exception e) {
+                    onError(e);
+                    return;
+                }
+                if (passed) {
+                    observer.onNext(item);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (!done) {
+                    done = true;
+                    observer.onError(t);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    observer.onComplete();
+                }
+            }
+        }, linkTo(observer)));
+    }
+
+    public DoubleObservable reduce(double identity, DoubleBinaryOperator reducer) {
+        return create(observer -> subscribe(new DoubleObserver() {
+            private double accumulator = identity;
+            private boolean done;
+
+            @Override
+            public void onNext(double item) {
+                if (done) {
+                    return;
+                }
+                try {
+                    accumulator = reducer.apply(accumulator, item);
+                } catch (Exception e) {
+                    onError(e);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (!done) {
+                    done = true;
+                    observer.onError(t);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    observer.onNext(accumulator);
+                    observer.onComplete();
+                }
+            }
+        }, linkTo(observer)));
+    }
+
+    public DoubleObservable sum() {
+        return DoubleObservable.create(observer -> subscribe(new DoubleObserver() {
+            private double sum;
+            private boolean done;
+
+            @Override
+            public void onNext(double item) {
+                if (!done) {
+                    sum += item;
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (!done) {
+                    done = true;
+                    observer.onError(t);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    observer.onNext(sum);
+                    observer.onComplete();
+                }
+            }
+        }, linkTo(observer)));
+    }
+
+    public Observable<double[]> window(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count > 0 required but it was " + count);
+        }
+        return Observable.create(observer -> subscribe(new DoubleObserver() {
+            private double[] window = new double[count];
+            private int size;
+            private boolean done;
+
+            @Override
+            public void onNext(double item) {
+                if (done) {
+                    return;
+                }
+                window[size++] = item;
+                if (size == count) {
+                    double[] full = window;
+                    window = new double[count];
+                    size = 0;
+                    observer.onNext(full);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (!done) {
+                    done = true;
+                    window = null;
+                    observer.onError(t);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    if (size != 0) {
+                        observer.onNext(Arrays.copyOf(window, size));
+                    }
+                    window = null;
+                    observer.onComplete();
+                }
+            }
+        }, linkTo(observer)));
+    }
+
+    public Observable<Double> boxed() {
+        return mapToObj(Double::valueOf);
+    }
+
+    public <R> Observable<R> mapToObj(DoubleFunction<R> mapper) {
+        return Observable.create(observer -> subscribe(new DoubleObserver() {
+            private boolean done;
+
+            @Override
+            public void onNext(double item) {
+                if (done) {
+                    return;
+                }
+                R result;
+                try {
+                    result = mapper.apply(item);
+                } catch (Exception e) {
+                    onError(e);
+                    return;
+                }
+                observer.onNext(result);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (!done) {
+                    done = true;
+                    observer.onError(t);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    observer.onComplete();
+                }
+            }
+        }, linkTo(observer)));
+    }
+
+    // The downstream emitter owns the upstream subscription, so disposing it stops the source.
+    private static CompositeDisposable linkTo(DoubleEmitter downstream) {
+        CompositeDisposable resources = new CompositeDisposable();
+        downstream.setDisposable(resources);
+        return resources;
+    }
+
+    private static CompositeDisposable linkTo(ObservableEmitter<?> downstream) {
+        CompositeDisposable resources = new CompositeDisposable();
+        downstream.setDisposable(resources);
+        return resources;
+    }
+
+    private static final class Emitter implements DoubleEmitter, Disposable {
+
+        private final DoubleObserver observer;
+        private final AtomicReference<Disposable> resource = new AtomicReference<>();
+
+        Emitter(DoubleObserver observer) {
+            this.observer = observer;
+        }
+
+        @Override
+        public void onNext(double item) {
+            if (!isDisposed()) {
+                observer.onNext(item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!isDisposed()) {
+                try {
+                    observer.onError(t);
+                } finally {
+                    dispose();
+                }
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!isDisposed()) {
+                try {
+                    observer.onComplete();
+                } finally {
+                    dispose();
+                }
+            }
+        }
+
+        @Override
+        public void setDisposable(Disposable disposable) {
+            DisposableHelper.set(resource, disposable);
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(resource);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return resource.get() == DisposableHelper.DISPOSED;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package ru.mephi.rxjava;
+
+public interface DoubleObservableOnSubscribe {
+
+    void subscribe(DoubleEmitter emitter) throws Exception;
+}
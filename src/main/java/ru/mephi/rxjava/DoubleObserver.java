@@ -0,0 +1,10 @@
+package ru.mephi.rxjava;
+
+public interface DoubleObserver {
+
+    void onNext(double item);
+
+    void onError(Throwable t);
+
+    void onComplete();
+}
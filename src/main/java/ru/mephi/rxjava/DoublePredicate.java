@@ -0,0 +1,6 @@
+package ru.mephi.rxjava;
+
+public interface DoublePredicate {
+
+    boolean test(double value) throws Exception;
+}
@@ -0,0 +1,6 @@
+package ru.mephi.rxjava;
+
+public interface DoubleUnaryOperator {
+
+    double apply(double value) throws Exception;
+}
@@ -0,0 +1,21 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.Executor;
+
+// Wraps an executor owned by the caller: start() and shutdown() leave it alone.
+final class ExecutorScheduler implements Scheduler {
+
+    private final Executor executor;
+
+    ExecutorScheduler(Executor executor) {
+        if (executor == null) {
+            throw new NullPointerException("executor is null");
+        }
+        this.executor = executor;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        executor.execute(RxPlugins.onSchedule(this, task));
+    }
+}
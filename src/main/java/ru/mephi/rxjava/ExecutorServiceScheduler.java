@@ -0,0 +1,59 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Base of the schedulers that own an ExecutorService: the pool is created on the first task, torn
+// down by shutdown() and created again on the first task after start().
+abstract class ExecutorServiceScheduler implements Scheduler {
+
+    private final AtomicReference<ExecutorService> executor = new AtomicReference<>();
+    private volatile boolean shutdown;
+
+    abstract ExecutorService createExecutor();
+
+    @Override
+    public void execute(Runnable task) {
+        ExecutorService current = executor();
+        if (current == null) {
+            return;
+        }
+        try {
+            current.execute(RxPlugins.onSchedule(this, task));
+        } catch (RejectedExecutionException e) {
+            // Raced with shutdown(): dropped like any task submitted after it.
+        }
+    }
+
+    @Override
+    public void start() {
+        shutdown = false;
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        ExecutorService current = executor.getAndSet(null);
+        if (current != null) {
+            current.shutdownNow();
+        }
+    }
+
+    private ExecutorService executor() {
+        ExecutorService current = executor.get();
+        if (current != null || shutdown) {
+            return current;
+        }
+        ExecutorService created = createExecutor();
+        if (!executor.compareAndSet(null, created)) {
+            created.shutdownNow();
+            return executor.get();
+        }
+        if (shutdown && executor.compareAndSet(created, null)) {
+            created.shutdownNow();
+            return null;
+        }
+        return created;
+    }
+}
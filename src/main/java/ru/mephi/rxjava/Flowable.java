@@ -0,0 +1,144 @@
+package ru.mephi.rxjava;
+
+public class Flowable<T> {
+
+    static final int DEFAULT_PREFETCH = 128;
+
+    private static final Subscription EMPTY_SUBSCRIPTION = new Subscription() {
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    };
+
+    private final FlowableOnSubscribe<T> source;
+
+    private Flowable(FlowableOnSubscribe<T> source) {
+        this.source = source;
+    }
+
+    public static <T> Flowable<T> create(FlowableOnSubscribe<T> source) {
+        return new Flowable<>(source);
+    }
+
+    public static Flowable<Integer> range(int start, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count >= 0 required but it was " + count);
+        }
+        return create(new FlowableRange(start, count));
+    }
+
+    public static <T> Flowable<T> fromIterable(Iterable<? extends T> iterable) {
+        return create(new FlowableFromIterable<>(iterable));
+    }
+
+    public static <T> Flowable<T> fromObservable(Observable<T> observable, BackpressureStrategy strategy) {
+        Flowable<T> flowable = create(new FlowableFromObservable<>(observable));
+        switch (strategy) {
+            case DROP:
+                return flowable.onBackpressureDrop();
+            case LATEST:
+                return flowable.onBackpressureLatest();
+            default:
+                return flowable.onBackpressureBuffer();
+        }
+    }
+
+    public void subscribe(Subscriber<T> subscriber) {
+        try {
+            source.subscribe(subscriber);
+        } catch (Exception e) {
+            // The source failed before it could hand out a subscription; onError may not come first.
+            subscriber.onSubscribe(EMPTY_SUBSCRIPTION);
+            subscriber.onError(e);
+        }
+    }
+
+    public <R> Flowable<R> map(Function<T, R> mapper) {
+        return create(new FlowableMap<>(this, mapper));
+    }
+
+    public Flowable<T> filter(Predicate<T> predicate) {
+        return create(new FlowableFilter<>(this, predicate));
+    }
+
+    public <R> Flowable<R> flatMap(Function<T, Flowable<R>> mapper) {
+        return flatMap(mapper, DEFAULT_PREFETCH);
+    }
+
+    public <R> Flowable<R> flatMap(Function<T, Flowable<R>> mapper, int maxConcurrency) {
+        return flatMap(mapper, maxConcurrency, DEFAULT_PREFETCH);
+    }
+
+    public <R> Flowable<R> flatMap(Function<T, Flowable<R>> mapper, int maxConcurrency, int prefetch) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency > 0 required but it was " + maxConcurrency);
+        }
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+        }
+        return create(new FlowableFlatMap<>(this, mapper, maxConcurrency, prefetch));
+    }
+
+    public Flowable<T> subscribeOn(Scheduler scheduler) {
+        return create(new FlowableSubscribeOn<>(this, scheduler));
+    }
+
+    public Flowable<T> observeOn(Scheduler scheduler) {
+        return observeOn(scheduler, DEFAULT_PREFETCH);
+    }
+
+    public Flowable<T> observeOn(Scheduler scheduler, int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+        }
+        return create(new FlowableObserveOn<>(this, scheduler, prefetch));
+    }
+
+    public Flowable<T> onBackpressureBuffer() {
+        return create(new FlowableOnBackpressureBuffer<>(this, FlowableOnBackpressureBuffer.UNBOUNDED));
+    }
+
+    public Flowable<T> onBackpressureBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity > 0 required but it was " + capacity);
+        }
+        return create(new FlowableOnBackpressureBuffer<>(this, capacity));
+    }
+
+    public Flowable<T> onBackpressureDrop() {
+        return create(new FlowableOnBackpressureDrop<>(this));
+    }
+
+    public Flowable<T> onBackpressureLatest() {
+        return create(new FlowableOnBackpressureLatest<>(this));
+    }
+
+    public Observable<T> toObservable() {
+        return Observable.create(observer -> subscribe(new Subscriber<>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                observer.setCancellable(subscription::cancel);
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(T item) {
+                observer.onNext(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                observer.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                observer.onComplete();
+            }
+        }));
+    }
+}
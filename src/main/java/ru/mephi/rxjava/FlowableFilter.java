@@ -0,0 +1,75 @@
+package ru.mephi.rxjava;
+
+final class FlowableFilter<T> implements FlowableOnSubscribe<T> {
+
+    private final Flowable<T> upstream;
+    private final Predicate<T> predicate;
+
+    FlowableFilter(Flowable<T> upstream, Predicate<T> predicate) {
+        this.upstream = upstream;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> subscriber) {
+        upstream.subscribe(new FilterSubscriber<>(subscriber, predicate));
+    }
+
+    static final class FilterSubscriber<T> implements Subscriber<T> {
+
+        private final Subscriber<T> downstream;
+        private final Predicate<T> predicate;
+        private Subscription upstream;
+        private boolean done;
+
+        FilterSubscriber(Subscriber<T> downstream, Predicate<T> predicate) {
+            this.downstream = downstream;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            upstream = subscription;
+            downstream.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            boolean passed;
+            try {
+                passed = predicate.test(item);
+            } catch (Exception e) {
+                upstream.cancel();
+                onError(e);
+                return;
+            }
+            if (passed) {
+                downstream.onNext(item);
+            } else {
+                // The rejected item used up one unit of the downstream demand.
+                upstream.request(1);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            downstream.onComplete();
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+final class FlowableFlatMap<T, R> implements FlowableOnSubscribe<R> {
+
+    private final Flowable<T> upstream;
+    private final Function<T, Flowable<R>> mapper;
+    private final int maxConcurrency;
+    private final int prefetch;
+
+    FlowableFlatMap(Flowable<T> upstream, Function<T, Flowable<R>> mapper, int maxConcurrency, int prefetch) {
+        this.upstream = upstream;
+        this.mapper = mapper;
+        this.maxConcurrency = maxConcurrency;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public void subscribe(Subscriber<R> subscriber) {
+        upstream.subscribe(new MergeSubscriber<>(subscriber, mapper, maxConcurrency, prefetch));
+    }
+
+    static final class MergeSubscriber<T, R> extends AtomicInteger implements Subscriber<T>, Subscription {
+
+        private static final InnerSubscriber<?>[] EMPTY = new InnerSubscriber<?>[0];
+        private static final InnerSubscriber<?>[] TERMINATED = new InnerSubscriber<?>[0];
+
+        private final Subscriber<R> downstream;
+        private final Function<T, Flowable<R>> mapper;
+        private final int maxConcurrency;
+        private final int prefetch;
+        private final AtomicReference<InnerSubscriber<?>[]> inners = new AtomicReference<>(EMPTY);
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private final AtomicLong requested = new AtomicLong();
+
+        private Subscription upstream;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+        private long emitted;
+        private int lastIndex;
+
+        MergeSubscriber(Subscriber<R> downstream, Function<T, Flowable<R>> mapper, int maxConcurrency, int prefetch) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+            this.maxConcurrency = maxConcurrency;
+            this.prefetch = prefetch;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            upstream = subscription;
+            downstream.onSubscribe(this);
+            subscription.request(maxConcurrency == Integer.MAX_VALUE ? Long.MAX_VALUE : maxConcurrency);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            Flowable<R> inner;
+            try {
+                inner = mapper.apply(item);
+            } catch (Exception e) {
+                upstream.cancel();
+                onError(e);
+                return;
+            }
+
+            InnerSubscriber<R> innerSubscriber = new InnerSubscriber<>(this, prefetch);
+            if (add(innerSubscriber)) {
+                inner.subscribe(innerSubscriber);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            error.compareAndSet(null, t);
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0L) {
+                upstream.cancel();
+                error.compareAndSet(null, BackpressureHelper.invalidRequest(n));
+                drain();
+                return;
+            }
+            BackpressureHelper.add(requested, n);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            upstream.cancel();
+            cancelInners();
+        }
+
+        void innerError(Throwable t) {
+            error.compareAndSet(null, t);
+            drain();
+        }
+
+        private boolean add(InnerSubscriber<R> inner) {
+            for (;;) {
+                InnerSubscriber<?>[] current = inners.get();
+                if (current == TERMINATED) {
+                    inner.cancel();
+                    return false;
+                }
+                InnerSubscriber<?>[] next = new InnerSubscriber<?>[current.length + 1];
+                System.arraycopy(current, 0, next, 0, current.length);
+                next[current.length] = inner;
+                if (inners.compareAndSet(current, next)) {
+                    return true;
+                }
+            }
+        }
+
+        private void remove(InnerSubscriber<?> inner) {
+            for (;;) {
+                InnerSubscriber<?>[] current = inners.get();
+                int index = -1;
+                for (int i = 0; i < current.length; i++) {
+                    if (current[i] == inner) {
+                        index = i;
+                        break;
+                    }
+                }
+                if (index < 0) {
+                    return;
+                }
+                InnerSubscriber<?>[] next;
+                if (current.length == 1) {
+                    next = EMPTY;
+                } else {
+                    next = new InnerSubscriber<?>[current.length - 1];
+                    System.arraycopy(current, 0, next, 0, index);
+                    System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+                }
+                if (inners.compareAndSet(current, next)) {
+                    return;
+                }
+            }
+        }
+
+        private void cancelInners() {
+            for (InnerSubscriber<?> inner : inners.getAndSet(TERMINATED)) {
+                inner.cancel();
+            }
+        }
+
+        void drain() {
+            if (getAndIncrement() == 0) {
+                drainLoop();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void drainLoop() {
+            int missed = 1;
+            long e = emitted;
+
+            for (;;) {
+                if (checkTerminated()) {
+                    return;
+                }
+
+                boolean isDone = done;
+                InnerSubscriber<?>[] current = inners.get();
+                int n = current.length;
+
+                if (isDone && n == 0) {
+                    cancelled = true;
+                    downstream.onComplete();
+                    return;
+                }
+
+                long r = requested.get();
+                int finished = 0;
+
+                if (n != 0) {
+                    int index = lastIndex < n ? lastIndex : 0;
+
+                    for (int i = 0; i < n; i++) {
+                        InnerSubscriber<R> inner = (InnerSubscriber<R>) current[index];
+
+                        while (e != r) {
+                            if (checkTerminated()) {
+                                return;
+                            }
+                            R item = inner.queue.poll();
+                            if (item == null) {
+                                break;
+                            }
+                            downstream.onNext(item);
+                            e++;
+                            inner.consumed();
+                        }
+
+                        if (inner.done && inner.queue.isEmpty()) {
+                            remove(inner);
+                            finished++;
+                        }
+
+                        if (++index == n) {
+                            index = 0;
+                        }
+                    }
+                    lastIndex = index;
+                }
+
+                if (finished != 0) {
+                    if (maxConcurrency != Integer.MAX_VALUE && !cancelled) {
+                        upstream.request(finished);
+                    }
+                    continue;
+                }
+
+                emitted = e;
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        private boolean checkTerminated() {
+            if (cancelled) {
+                return true;
+            }
+            Throwable t = error.get();
+            if (t != null) {
+                cancelled = true;
+                upstream.cancel();
+                cancelInners();
+                downstream.onError(t);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    static final class InnerSubscriber<R> extends AtomicReference<Subscription> implements Subscriber<R> {
+
+        private static final Subscription CANCELLED = new Subscription() {
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+            }
+        };
+
+        private final MergeSubscriber<?, R> parent;
+        private final int prefetch;
+        private final int limit;
+        final SpscArrayQueue<R> queue;
+        volatile boolean done;
+        private int produced;
+
+        InnerSubscriber(MergeSubscriber<?, R> parent, int prefetch) {
+            this.parent = parent;
+            this.prefetch = prefetch;
+            this.limit = prefetch - (prefetch >> 2);
+            this.queue = new SpscArrayQueue<>(prefetch);
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            if (!compareAndSet(null, subscription)) {
+                subscription.cancel();
+                return;
+            }
+            subscription.request(prefetch);
+        }
+
+        @Override
+        public void onNext(R item) {
+            if (!queue.offer(item)) {
+                cancel();
+                parent.innerError(new MissingBackpressureException("Inner queue is full, the inner source ignored request(n)"));
+                return;
+            }
+            parent.drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            parent.innerError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            parent.drain();
+        }
+
+        void consumed() {
+            if (++produced == limit) {
+                produced = 0;
+                get().request(limit);
+            }
+        }
+
+        void cancel() {
+            Subscription subscription = getAndSet(CANCELLED);
+            if (subscription != null && subscription != CANCELLED) {
+                subscription.cancel();
+            }
+        }
+    }
+}
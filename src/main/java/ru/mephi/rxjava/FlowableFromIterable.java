@@ -0,0 +1,88 @@
+package ru.mephi.rxjava;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class FlowableFromIterable<T> implements FlowableOnSubscribe<T> {
+
+    private final Iterable<? extends T> source;
+
+    FlowableFromIterable(Iterable<? extends T> source) {
+        this.source = source;
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> subscriber) {
+        Iterator<? extends T> iterator = source.iterator();
+        subscriber.onSubscribe(new IteratorSubscription<>(subscriber, iterator));
+    }
+
+    static final class IteratorSubscription<T> extends AtomicLong implements Subscription {
+
+        private final Subscriber<T> downstream;
+        private final Iterator<? extends T> iterator;
+        private volatile boolean cancelled;
+
+        IteratorSubscription(Subscriber<T> downstream, Iterator<? extends T> iterator) {
+            this.downstream = downstream;
+            this.iterator = iterator;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0L) {
+                cancel();
+                downstream.onError(BackpressureHelper.invalidRequest(n));
+                return;
+            }
+            if (BackpressureHelper.add(this, n) == 0L) {
+                emit(n);
+            }
+        }
+
+        private void emit(long requested) {
+            long emitted = 0L;
+
+            for (;;) {
+                while (emitted != requested) {
+                    if (cancelled) {
+                        return;
+                    }
+
+                    T item;
+                    try {
+                        if (!iterator.hasNext()) {
+                            downstream.onComplete();
+                            return;
+                        }
+                        item = iterator.next();
+                    } catch (Exception e) {
+                        downstream.onError(e);
+                        return;
+                    }
+
+                    if (item == null) {
+                        downstream.onError(new NullPointerException("Iterator returned a null item"));
+                        return;
+                    }
+                    downstream.onNext(item);
+                    emitted++;
+                }
+
+                requested = get();
+                if (emitted == requested) {
+                    requested = addAndGet(-emitted);
+                    if (requested == 0L) {
+                        return;
+                    }
+                    emitted = 0L;
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
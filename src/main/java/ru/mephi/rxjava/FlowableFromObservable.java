@@ -0,0 +1,61 @@
+package ru.mephi.rxjava;
+
+final class FlowableFromObservable<T> implements FlowableOnSubscribe<T> {
+
+    private final Observable<T> source;
+
+    FlowableFromObservable(Observable<T> source) {
+        this.source = source;
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> subscriber) {
+        ObservableSubscription<T> subscription = new ObservableSubscription<>(subscriber);
+        subscriber.onSubscribe(subscription);
+        source.subscribe(subscription, subscription.upstream);
+    }
+
+    // Observable ignores demand, so this is always followed by one of the onBackpressureXxx operators.
+    static final class ObservableSubscription<T> implements Subscription, Observer<T> {
+
+        private final Subscriber<T> downstream;
+        // Linked before the first item, so cancel() also stops a synchronous source mid-stream.
+        final CompositeDisposable upstream = new CompositeDisposable();
+        private volatile boolean cancelled;
+
+        ObservableSubscription(Subscriber<T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (!cancelled) {
+                downstream.onNext(item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!cancelled) {
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!cancelled) {
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            upstream.dispose();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package ru.mephi.rxjava;
+
+final class FlowableMap<T, R> implements FlowableOnSubscribe<R> {
+
+    private final Flowable<T> upstream;
+    private final Function<T, R> mapper;
+
+    FlowableMap(Flowable<T> upstream, Function<T, R> mapper) {
+        this.upstream = upstream;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public void subscribe(Subscriber<R> subscriber) {
+        upstream.subscribe(new MapSubscriber<>(subscriber, mapper));
+    }
+
+    static final class MapSubscriber<T, R> implements Subscriber<T> {
+
+        private final Subscriber<R> downstream;
+        private final Function<T, R> mapper;
+        private Subscription upstream;
+        private boolean done;
+
+        MapSubscriber(Subscriber<R> downstream, Function<T, R> mapper) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            upstream = subscription;
+            downstream.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            R result;
+            try {
+                result = mapper.apply(item);
+            } catch (Exception e) {
+                upstream.cancel();
+                onError(e);
+                return;
+            }
+            downstream.onNext(result);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            downstream.onComplete();
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class FlowableObserveOn<T> implements FlowableOnSubscribe<T> {
+
+    private final Flowable<T> upstream;
+    private final Scheduler scheduler;
+    private final int prefetch;
+
+    FlowableObserveOn(Flowable<T> upstream, Scheduler scheduler, int prefetch) {
+        this.upstream = upstream;
+        this.scheduler = scheduler;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> subscriber) {
+        upstream.subscribe(new ObserveOnSubscriber<>(subscriber, scheduler, prefetch));
+    }
+
+    static final class ObserveOnSubscriber<T> extends AtomicInteger implements Subscriber<T>, Subscription, Runnable {
+
+        private final Subscriber<T> downstream;
+        private final Scheduler.Worker worker;
+        private final int prefetch;
+        private final int limit;
+        private final SpscArrayQueue<T> queue;
+        private final AtomicLong requested = new AtomicLong();
+
+        private Subscription upstream;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+        private Throwable error;
+        private boolean fatal;
+
+        private long emitted;
+        private int consumed;
+
+        ObserveOnSubscriber(Subscriber<T> downstream, Scheduler scheduler, int prefetch) {
+            this.downstream = downstream;
+            this.worker = scheduler.createWorker();
+            this.prefetch = prefetch;
+            this.limit = prefetch - (prefetch >> 2);
+            this.queue = new SpscArrayQueue<>(prefetch);
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            upstream = subscription;
+            downstream.onSubscribe(this);
+            subscription.request(prefetch);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            if (!queue.offer(item)) {
+                upstream.cancel();
+                fail(new MissingBackpressureException("Queue is full, the upstream ignored request(n)"));
+                return;
+            }
+            schedule();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            error = t;
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0L) {
+                if (!done) {
+                    upstream.cancel();
+                    fail(BackpressureHelper.invalidRequest(n));
+                }
+                return;
+            }
+            BackpressureHelper.add(requested, n);
+            schedule();
+        }
+
+        private void fail(Throwable t) {
+            // Protocol violations skip the queued items instead of waiting for demand that never comes.
+            error = t;
+            fatal = true;
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            upstream.cancel();
+            worker.dispose();
+            if (getAndIncrement() == 0) {
+                queue.clear();
+            }
+        }
+
+        private void schedule() {
+            if (getAndIncrement() == 0) {
+                worker.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            long e = emitted;
+
+            for (;;) {
+                long r = requested.get();
+
+                while (e != r) {
+                    boolean isDone = done;
+                    T item = queue.poll();
+                    boolean empty = item == null;
+
+                    if (checkTerminated(isDone, empty)) {
+                        return;
+                    }
+                    if (empty) {
+                        break;
+                    }
+
+                    downstream.onNext(item);
+                    e++;
+
+                    if (++consumed == limit) {
+                        consumed = 0;
+                        upstream.request(limit);
+                    }
+                }
+
+                if (e == r && checkTerminated(done, queue.isEmpty())) {
+                    return;
+                }
+
+                emitted = e;
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        private boolean checkTerminated(boolean isDone, boolean empty) {
+            if (cancelled) {
+                queue.clear();
+                return true;
+            }
+            if (isDone) {
+                Throwable t = error;
+                if (fatal) {
+                    cancelled = true;
+                    worker.dispose();
+                    queue.clear();
+                    downstream.onError(t);
+                    return true;
+                }
+                if (empty) {
+                    cancelled = true;
+                    worker.dispose();
+                    if (t != null) {
+                        downstream.onError(t);
+                    } else {
+                        downstream.onComplete();
+                    }
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class FlowableOnBackpressureBuffer<T> implements FlowableOnSubscribe<T> {
+
+    static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    private final Flowable<T> upstream;
+    private final int capacity;
+
+    FlowableOnBackpressureBuffer(Flowable<T> upstream, int capacity) {
+        this.upstream = upstream;
+        this.capacity = capacity;
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> subscriber) {
+        upstream.subscribe(new BufferSubscriber<>(subscriber, capacity));
+    }
+
+    static final class BufferSubscriber<T> extends AtomicInteger implements Subscriber<T>, Subscription {
+
+        private final Subscriber<T> downstream;
+        private final SpscArrayQueue<T> boundedQueue;
+        private final SpscLinkedArrayQueue<T> unboundedQueue;
+        private final AtomicLong requested = new AtomicLong();
+
+        private Subscription upstream;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+        private Throwable error;
+        private long emitted;
+
+        BufferSubscriber(Subscriber<T> downstream, int capacity) {
+            this.downstream = downstream;
+            if (capacity == UNBOUNDED) {
+                this.boundedQueue = null;
+                this.unboundedQueue = new SpscLinkedArrayQueue<>(Observable.DEFAULT_BATCH_SIZE);
+            } else {
+                this.boundedQueue = new SpscArrayQueue<>(capacity);
+                this.unboundedQueue = null;
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            upstream = subscription;
+            downstream.onSubscribe(this);
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            if (unboundedQueue != null) {
+                unboundedQueue.offer(item);
+            } else if (!boundedQueue.offer(item)) {
+                upstream.cancel();
+                onError(new MissingBackpressureException("Buffer is full"));
+                return;
+            }
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            error = t;
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0L) {
+                cancel();
+                downstream.onError(BackpressureHelper.invalidRequest(n));
+                return;
+            }
+            BackpressureHelper.add(requested, n);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            upstream.cancel();
+            if (getAndIncrement() == 0) {
+                clear();
+            }
+        }
+
+        private T poll() {
+            return unboundedQueue != null ? unboundedQueue.poll() : boundedQueue.poll();
+        }
+
+        private boolean isEmpty() {
+            return unboundedQueue != null ? unboundedQueue.isEmpty() : boundedQueue.isEmpty();
+        }
+
+        private void clear() {
+            if (unboundedQueue != null) {
+                unboundedQueue.clear();
+            } else {
+                boundedQueue.clear();
+            }
+        }
+
+        private void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            long e = emitted;
+
+            for (;;) {
+                long r = requested.get();
+
+                while (e != r) {
+                    boolean isDone = done;
+                    T item = poll();
+                    boolean empty = item == null;
+
+                    if (checkTerminated(isDone, empty)) {
+                        return;
+                    }
+                    if (empty) {
+                        break;
+                    }
+
+                    downstream.onNext(item);
+                    e++;
+                }
+
+                if (e == r && checkTerminated(done, isEmpty())) {
+                    return;
+                }
+
+                emitted = e;
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        private boolean checkTerminated(boolean isDone, boolean empty) {
+            if (cancelled) {
+                clear();
+                return true;
+            }
+            if (isDone) {
+                // An error does not wait for the buffered items: the buffer may be full precisely
+                // because the downstream stopped requesting.
+                Throwable t = error;
+                if (t != null) {
+                    cancelled = true;
+                    clear();
+                    downstream.onError(t);
+                    return true;
+                }
+                if (empty) {
+                    cancelled = true;
+                    downstream.onComplete();
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
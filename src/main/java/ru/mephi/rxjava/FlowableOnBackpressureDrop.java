@@ -0,0 +1,86 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+final class FlowableOnBackpressureDrop<T> implements FlowableOnSubscribe<T> {
+
+    private final Flowable<T> upstream;
+
+    FlowableOnBackpressureDrop(Flowable<T> upstream) {
+        this.upstream = upstream;
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> subscriber) {
+        upstream.subscribe(new DropSubscriber<>(subscriber));
+    }
+
+    static final class DropSubscriber<T> extends AtomicLong implements Subscriber<T>, Subscription {
+
+        private final Subscriber<T> downstream;
+        private Subscription upstream;
+        private boolean done;
+
+        DropSubscriber(Subscriber<T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            upstream = subscription;
+            downstream.onSubscribe(this);
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            for (;;) {
+                long r = get();
+                if (r == 0L) {
+                    RxPlugins.onDropped("onBackpressureDrop");
+                    return;
+                }
+                if (r == Long.MAX_VALUE || compareAndSet(r, r - 1)) {
+                    downstream.onNext(item);
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            downstream.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0L) {
+                cancel();
+                downstream.onError(BackpressureHelper.invalidRequest(n));
+                return;
+            }
+            BackpressureHelper.add(this, n);
+        }
+
+        @Override
+        public void cancel() {
+            upstream.cancel();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+final class FlowableOnBackpressureLatest<T> implements FlowableOnSubscribe<T> {
+
+    private final Flowable<T> upstream;
+
+    FlowableOnBackpressureLatest(Flowable<T> upstream) {
+        this.upstream = upstream;
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> subscriber) {
+        upstream.subscribe(new LatestSubscriber<>(subscriber));
+    }
+
+    static final class LatestSubscriber<T> extends AtomicInteger implements Subscriber<T>, Subscription {
+
+        private final Subscriber<T> downstream;
+        private final AtomicReference<T> latest = new AtomicReference<>();
+        private final AtomicLong requested = new AtomicLong();
+
+        private Subscription upstream;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+        private Throwable error;
+        private long emitted;
+
+        LatestSubscriber(Subscriber<T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            upstream = subscription;
+            downstream.onSubscribe(this);
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            if (latest.getAndSet(item) != null) {
+                RxPlugins.onDropped("onBackpressureLatest");
+            }
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            error = t;
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0L) {
+                cancel();
+                downstream.onError(BackpressureHelper.invalidRequest(n));
+                return;
+            }
+            BackpressureHelper.add(requested, n);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            upstream.cancel();
+            if (getAndIncrement() == 0) {
+                latest.lazySet(null);
+            }
+        }
+
+        private void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            long e = emitted;
+
+            for (;;) {
+                long r = requested.get();
+
+                while (e != r) {
+                    boolean isDone = done;
+                    T item = latest.getAndSet(null);
+                    boolean empty = item == null;
+
+                    if (checkTerminated(isDone, empty)) {
+                        return;
+                    }
+                    if (empty) {
+                        break;
+                    }
+
+                    downstream.onNext(item);
+                    e++;
+                }
+
+                if (e == r && checkTerminated(done, latest.get() == null)) {
+                    return;
+                }
+
+                emitted = e;
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        private boolean checkTerminated(boolean isDone, boolean empty) {
+            if (cancelled) {
+                latest.lazySet(null);
+                return true;
+            }
+            if (isDone) {
+                Throwable t = error;
+                if (t != null) {
+                    cancelled = true;
+                    latest.lazySet(null);
+                    downstream.onError(t);
+                    return true;
+                }
+                if (empty) {
+                    cancelled = true;
+                    downstream.onComplete();
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package ru.mephi.rxjava;
+
+public interface FlowableOnSubscribe<T> {
+
+    void subscribe(Subscriber<T> subscriber) throws Exception;
+}
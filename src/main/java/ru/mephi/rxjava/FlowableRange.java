@@ -0,0 +1,83 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+final class FlowableRange implements FlowableOnSubscribe<Integer> {
+
+    private final int start;
+    private final int count;
+
+    FlowableRange(int start, int count) {
+        this.start = start;
+        this.count = count;
+    }
+
+    @Override
+    public void subscribe(Subscriber<Integer> subscriber) {
+        subscriber.onSubscribe(new RangeSubscription(subscriber, start, (long) start + count));
+    }
+
+    static final class RangeSubscription extends AtomicLong implements Subscription {
+
+        private final Subscriber<Integer> downstream;
+        private final long end;
+        private long index;
+        private volatile boolean cancelled;
+
+        RangeSubscription(Subscriber<Integer> downstream, long start, long end) {
+            this.downstream = downstream;
+            this.index = start;
+            this.end = end;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0L) {
+                cancel();
+                downstream.onError(BackpressureHelper.invalidRequest(n));
+                return;
+            }
+            if (BackpressureHelper.add(this, n) == 0L) {
+                emit(n);
+            }
+        }
+
+        private void emit(long requested) {
+            long emitted = 0L;
+            long i = index;
+
+            for (;;) {
+                while (emitted != requested && i != end) {
+                    if (cancelled) {
+                        return;
+                    }
+                    downstream.onNext((int) i);
+                    i++;
+                    emitted++;
+                }
+
+                if (i == end) {
+                    if (!cancelled) {
+                        downstream.onComplete();
+                    }
+                    return;
+                }
+
+                requested = get();
+                if (emitted == requested) {
+                    index = i;
+                    requested = addAndGet(-emitted);
+                    if (requested == 0L) {
+                        return;
+                    }
+                    emitted = 0L;
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Subscribes to the upstream on a worker and routes every later request(n) through the same worker,
+// so the upstream keeps emitting on the scheduler after the first batch instead of on the requester's
+// thread. Requests made before the upstream subscription exists are collected and sent when it arrives.
+final class FlowableSubscribeOn<T> implements FlowableOnSubscribe<T> {
+
+    private final Flowable<T> upstream;
+    private final Scheduler scheduler;
+
+    FlowableSubscribeOn(Flowable<T> upstream, Scheduler scheduler) {
+        this.upstream = upstream;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> subscriber) {
+        SubscribeOnSubscriber<T> parent = new SubscribeOnSubscriber<>(subscriber, scheduler.createWorker(), upstream);
+        subscriber.onSubscribe(parent);
+        parent.worker.execute(parent);
+    }
+
+    static final class SubscribeOnSubscriber<T> implements Subscriber<T>, Subscription, Runnable {
+
+        private static final Subscription CANCELLED = new Subscription() {
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+            }
+        };
+
+        private final Subscriber<T> downstream;
+        final Scheduler.Worker worker;
+        private final Flowable<T> source;
+        private final AtomicReference<Subscription> upstream = new AtomicReference<>();
+        private final AtomicLong requested = new AtomicLong();
+        private volatile Thread workerThread;
+
+        SubscribeOnSubscriber(Subscriber<T> downstream, Scheduler.Worker worker, Flowable<T> source) {
+            this.downstream = downstream;
+            this.worker = worker;
+            this.source = source;
+        }
+
+        @Override
+        public void run() {
+            workerThread = Thread.currentThread();
+            if (upstream.get() != CANCELLED) {
+                source.subscribe(this);
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            if (!upstream.compareAndSet(null, subscription)) {
+                subscription.cancel();
+                return;
+            }
+            long r = requested.getAndSet(0L);
+            if (r != 0L) {
+                requestUpstream(r, subscription);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            worker.dispose();
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            worker.dispose();
+            downstream.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0L) {
+                cancel();
+                downstream.onError(BackpressureHelper.invalidRequest(n));
+                return;
+            }
+            Subscription subscription = upstream.get();
+            if (subscription != null) {
+                requestUpstream(n, subscription);
+                return;
+            }
+            BackpressureHelper.add(requested, n);
+            // The upstream may have arrived meanwhile and missed this amount.
+            subscription = upstream.get();
+            if (subscription != null) {
+                long r = requested.getAndSet(0L);
+                if (r != 0L) {
+                    requestUpstream(r, subscription);
+                }
+            }
+        }
+
+        private void requestUpstream(long n, Subscription subscription) {
+            if (Thread.currentThread() == workerThread) {
+                subscription.request(n);
+            } else {
+                worker.execute(() -> subscription.request(n));
+            }
+        }
+
+        @Override
+        public void cancel() {
+            Subscription subscription = upstream.getAndSet(CANCELLED);
+            if (subscription != null && subscription != CANCELLED) {
+                subscription.cancel();
+            }
+            worker.dispose();
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package ru.mephi.rxjava;
+
+interface FuseableOnSubscribe<T> extends ObservableOnSubscribe<T> {
+
+    <R> ObservableOnSubscribe<R> withMap(Function<T, R> mapper);
+
+    ObservableOnSubscribe<T> withFilter(Predicate<T> predicate);
+}
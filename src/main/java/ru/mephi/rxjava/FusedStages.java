@@ -0,0 +1,68 @@
+package ru.mephi.rxjava;
+
+import java.util.List;
+
+final class FusedStages {
+
+    static final Object SKIP = new Object();
+    static final FusedStages EMPTY = new FusedStages(new Object[0], new boolean[0]);
+
+    // Plain arrays instead of one wrapper object per stage keep the per-item loop allocation-free.
+    private final Object[] operators;
+    private final boolean[] filters;
+
+    private FusedStages(Object[] operators, boolean[] filters) {
+        this.operators = operators;
+        this.filters = filters;
+    }
+
+    FusedStages withMap(Function<?, ?> mapper) {
+        return append(mapper, false);
+    }
+
+    FusedStages withFilter(Predicate<?> predicate) {
+        return append(predicate, true);
+    }
+
+    boolean isEmpty() {
+        return operators.length == 0;
+    }
+
+    private FusedStages append(Object operator, boolean filter) {
+        int length = operators.length;
+        Object[] nextOperators = new Object[length + 1];
+        boolean[] nextFilters = new boolean[length + 1];
+        System.arraycopy(operators, 0, nextOperators, 0, length);
+        System.arraycopy(filters, 0, nextFilters, 0, length);
+        nextOperators[length] = operator;
+        nextFilters[length] = filter;
+        return new FusedStages(nextOperators, nextFilters);
+    }
+
+    @SuppressWarnings("unchecked")
+    Object apply(Object value) throws Exception {
+        Object[] ops = operators;
+        boolean[] isFilter = filters;
+        for (int i = 0; i < ops.length; i++) {
+            if (isFilter[i]) {
+                if (!((Predicate<Object>) ops[i]).test(value)) {
+                    return SKIP;
+                }
+            } else {
+                value = ((Function<Object, Object>) ops[i]).apply(value);
+            }
+        }
+        return value;
+    }
+
+    // Results of the items that pass go to `results`; if a stage throws, the results of the
+    // earlier items are already there, so they can be delivered before the error.
+    void applyAll(List<?> items, List<Object> results) throws Exception {
+        for (Object item : items) {
+            Object result = apply(item);
+            if (result != SKIP) {
+                results.add(result);
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package ru.mephi.rxjava;
+
+// The items of one group of groupBy(); it allows a single observer, and items that arrive before
+// the observer subscribes wait in the group's queue.
+public final class GroupedObservable<K, T> extends Observable<T> {
+
+    private final K key;
+
+    GroupedObservable(K key, ObservableOnSubscribe<T> source) {
+        super(source);
+        this.key = key;
+    }
+
+    public K getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,19 @@
+package ru.mephi.rxjava;
+
+import java.util.HashSet;
+import java.util.Set;
+
+final class HashKeySet<K> implements DistinctKeySet<K> {
+
+    private final Set<K> keys = new HashSet<>();
+
+    @Override
+    public boolean add(K key) {
+        return keys.add(key);
+    }
+
+    @Override
+    public void clear() {
+        keys.clear();
+    }
+}
@@ -1,14 +1,34 @@
 package ru.mephi.rxjava;
 
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
-public class IOThreadScheduler implements Scheduler {
+public class IOThreadScheduler extends ExecutorServiceScheduler {
 
-    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private static final long DEFAULT_KEEP_ALIVE_SECONDS = 60L;
 
+    private final ThreadFactory threadFactory;
+    private final long keepAliveSeconds;
+
+    public IOThreadScheduler() {
+        this(new RxThreadFactory("rx-io-pool"), DEFAULT_KEEP_ALIVE_SECONDS);
+    }
+
+    public IOThreadScheduler(ThreadFactory threadFactory, long keepAliveSeconds) {
+        if (keepAliveSeconds < 0L) {
+            throw new IllegalArgumentException("keepAliveSeconds >= 0 required but it was " + keepAliveSeconds);
+        }
+        this.threadFactory = threadFactory;
+        this.keepAliveSeconds = keepAliveSeconds;
+    }
+
+    // A cached pool: threads are created on demand and retire after keepAliveSeconds of idleness.
     @Override
-    public void execute(Runnable task) {
-        executor.execute(task);
+    ExecutorService createExecutor() {
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE, keepAliveSeconds, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), threadFactory);
     }
 }
@@ -0,0 +1,18 @@
+package ru.mephi.rxjava;
+
+// Runs every task right away on the calling thread, nested calls included. Delayed tasks wait on the
+// shared timer and run on its thread.
+final class ImmediateScheduler implements Scheduler {
+
+    @Override
+    public void execute(Runnable task) {
+        RxPlugins.onSchedule(this, task).run();
+    }
+
+    // The task has finished by the time it returns, so there is nothing left to dispose.
+    @Override
+    public Disposable schedule(Runnable task) {
+        execute(task);
+        return DisposableHelper.DISPOSED;
+    }
+}
@@ -0,0 +1,26 @@
+package ru.mephi.rxjava;
+
+// Hooks the library calls once an implementation is installed with RxPlugins.setInstrumentation().
+// Every method has a pass-through default, so an implementation overrides only what it needs.
+// The operator name is derived from the operator class: "mapFilter", "observeOn", "flatMap", "create", ...
+public interface Instrumentation {
+
+    // Called for every task handed to a scheduler; may return a wrapper that runs the task.
+    default Runnable onSchedule(Scheduler scheduler, Runnable task) {
+        return task;
+    }
+
+    // Called when an operator creates a new Observable; may return a replacement.
+    default <T> Observable<T> onAssembly(String operator, Observable<T> observable) {
+        return observable;
+    }
+
+    // Called for every subscription, including the ones operators make upstream; may wrap the observer.
+    default <T> Observer<T> onSubscribe(String operator, Observable<T> observable, Observer<T> observer) {
+        return observer;
+    }
+
+    // Called when an operator discards an item by design: throttling, sampling, debouncing, drop/latest backpressure.
+    default void onDropped(String operator) {
+    }
+}
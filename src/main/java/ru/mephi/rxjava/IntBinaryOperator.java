@@ -0,0 +1,6 @@
+package ru.mephi.rxjava;
+
+public interface IntBinaryOperator {
+
+    int apply(int left, int right) throws Exception;
+}
@@ -0,0 +1,8 @@
+package ru.mephi.rxjava;
+
+public interface IntEmitter extends IntObserver {
+
+    boolean isDisposed();
+
+    void setDisposable(Disposable disposable);
+}
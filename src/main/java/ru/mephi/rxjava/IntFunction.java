@@ -0,0 +1,6 @@
+package ru.mephi.rxjava;
+
+public interface IntFunction<R> {
+
+    R apply(int value) throws Exception;
+}
@@ -0,0 +1,364 @@
+package ru.mephi.rxjava;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class IntObservable {
+
+    private final IntObservableOnSubscribe source;
+
+    private IntObservable(IntObservableOnSubscribe source) {
+        this.source = source;
+    }
+
+    public static IntObservable create(IntObservableOnSubscribe source) {
+        return new IntObservable(source);
+    }
+
+    public static IntObservable fromArray(int... items) {
+        return create(observer -> {
+            for (int i = 0; i < items.length && !observer.isDisposed(); i++) {
+                observer.onNext(items[i]);
+            }
+            observer.onComplete();
+        });
+    }
+
+    public static IntObservable range(int start, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count >= 0 required but it was " + count);
+        }
+        if ((long) start + count - 1 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("start + count can not exceed Integer.MAX_VALUE");
+        }
+        return create(observer -> {
+            for (int i = 0; i < count && !observer.isDisposed(); i++) {
+                observer.onNext(start + i);
+            }
+            observer.onComplete();
+        });
+    }
+
+    public Disposable subscribe(IntObserver observer) {
+        return subscribe(observer, null);
+    }
+
+    // Operators pass their own resources as the parent so the upstream link exists before the first item:
+    // a synchronous source then sees isDisposed() flip as soon as anything downstream is disposed.
+    Disposable subscribe(IntObserver observer, CompositeDisposable parent) {
+        Emitter emitter = new Emitter(observer);
+        if (parent != null) {
+            parent.add(emitter);
+        }
+        try {
+            source.subscribe(emitter);
+        } catch (Exception e) {
+            emitter.onError(e);
+        }
+        return emitter;
+    }
+
+    public IntObservable map(IntUnaryOperator mapper) {
+        return create(observer -> subscribe(new IntObserver() {
+            private boolean done;
+
+            @Override
+            public void onNext(int item) {
+                if (done) {
+                    return;
+                }
+                int result;
+                try {
+                    result = mapper.apply(item);
+                } catch (Exception e) {
+                    onError(e);
+                    return;
+                }
+                observer.onNext(result);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (!done) {
+                    done = true;
+                    observer.onError(t);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    observer.onComplete();
+                }
+            }
+        }, linkTo(observer)));
+    }
+
+    public IntObservable filter(IntPredicate predicate) {
+        return create(observer -> subscribe(new IntObserver() {
+            private boolean done;
+
+            @Override
+            public void onNext(int item) {
+                if (done) {
+                    return;
+                }
+                boolean passed;
+                try {
+                    passed = predicate.test(item);
+                } catch (Exception e) {
+                    onError(e);
+                    return;
+                }
+                if (passed) {
+                    observer.onNext(item);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (!done) {
+                    done = true;
+                    observer.onError(t);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    observer.onComplete();
+                }
+            }
+        }, linkTo(observer)));
+    }
+
+    public IntObservable reduce(int identity, IntBinaryOperator reducer) {
+        return create(observer -> subscribe(new IntObserver() {
+            private int accumulator = identity;
+            private boolean done;
+
+            @Override
+            public void onNext(int item) {
+                if (done) {
+                    return;
+                }
+                try {
+                    accumulator = reducer.apply(accumulator, item);
+                } catch (Exception e) {
+                    onError(e);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (!done) {
+                    done = true;
+                    observer.onError(t);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    observer.onNext(accumulator);
+                    observer.onComplete();
+                }
+            }
+        }, linkTo(observer)));
+    }
+
+    // The running total is a long so that summing many ints does not overflow.
+    public LongObservable sum() {
+        return LongObservable.create(observer -> subscribe(new IntObserver() {
+            private long sum;
+            private boolean done;
+
+            @Override
+            public void onNext(int item) {
+                if (!done) {
+                    sum += item;
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (!done) {
+                    done = true;
+                    observer.onError(t);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    observer.onNext(sum);
+                    observer.onComplete();
+                }
+            }
+        }, linkTo(observer)));
+    }
+
+    public Observable<int[]> window(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count > 0 required but it was " + count);
+        }
+        return Observable.create(observer -> subscribe(new IntObserver() {
+            private int[] window = new int[count];
+            private int size;
+            private boolean done;
+
+            @Override
+            public void onNext(int item) {
+                if (done) {
+                    return;
+                }
+                window[size++] = item;
+                if (size == count) {
+                    int[] full = window;
+                    window = new int[count];
+                    size = 0;
+                    observer.onNext(full);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (!done) {
+                    done = true;
+                    window = null;
+                    observer.onError(t);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    if (size != 0) {
+                        observer.onNext(Arrays.copyOf(window, size));
+                    }
+                    window = null;
+                    observer.onComplete();
+                }
+            }
+        }, linkTo(observer)));
+    }
+
+    public Observable<Integer> boxed() {
+        return mapToObj(Integer::valueOf);
+    }
+
+    public <R> Observable<R> mapToObj(IntFunction<R> mapper) {
+        return Observable.create(observer -> subscribe(new IntObserver() {
+            private boolean done;
+
+            @Override
+            public void onNext(int item) {
+                if (done) {
+                    return;
+                }
+                R result;
+                try {
+                    result = mapper.apply(item);
+                } catch (Exception e) {
+                    onError(e);
+                    return;
+                }
+                observer.onNext(result);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (!done) {
+                    done = true;
+                    observer.onError(t);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    observer.onComplete();
+                }
+            }
+        }, linkTo(observer)));
+    }
+
+    // The downstream emitter owns the upstream subscription, so disposing it stops the source.
+    private static CompositeDisposable linkTo(IntEmitter downstream) {
+        CompositeDisposable resources = new CompositeDisposable();
+        downstream.setDisposable(resources);
+        return resources;
+    }
+
+    private static CompositeDisposable linkTo(LongEmitter downstream) {
+        CompositeDisposable resources = new CompositeDisposable();
+        downstream.setDisposable(resources);
+        return resources;
+    }
+
+    private static CompositeDisposable linkTo(ObservableEmitter<?> downstream) {
+        CompositeDisposable resources = new CompositeDisposable();
+        downstream.setDisposable(resources);
+        return resources;
+    }
+
+    private static final class Emitter implements IntEmitter, Disposable {
+
+        private final IntObserver observer;
+        private final AtomicReference<Disposable> resource = new AtomicReference<>();
+
+        Emitter(IntObserver observer) {
+            this.observer = observer;
+        }
+
+        @Override
+        public void onNext(int item) {
+            if (!isDisposed()) {
+                observer.onNext(item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!isDisposed()) {
+                try {
+                    observer.onError(t);
+                } finally {
+                    dispose();
+                }
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!isDisposed()) {
+                try {
+                    observer.onComplete();
+                } finally {
+                    dispose();
+                }
+            }
+        }
+
+        @Override
+        public void setDisposable(Disposable disposable) {
+            DisposableHelper.set(resource, disposable);
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(resource);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return resource.get() == DisposableHelper.DISPOSED;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package ru.mephi.rxjava;
+
+public interface IntObservableOnSubscribe {
+
+    void subscribe(IntEmitter emitter) throws Exception;
+}
@@ -0,0 +1,10 @@
+package ru.mephi.rxjava;
+
+public interface IntObserver {
+
+    void onNext(int item);
+
+    void onError(Throwable t);
+
+    void onComplete();
+}
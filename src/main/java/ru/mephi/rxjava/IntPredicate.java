@@ -0,0 +1,6 @@
+package ru.mephi.rxjava;
+
+public interface IntPredicate {
+
+    boolean test(int value) throws Exception;
+}
@@ -0,0 +1,6 @@
+package ru.mephi.rxjava;
+
+public interface IntUnaryOperator {
+
+    int apply(int value) throws Exception;
+}
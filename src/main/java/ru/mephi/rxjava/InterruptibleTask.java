@@ -0,0 +1,57 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class InterruptibleTask extends AtomicInteger implements Runnable, Disposable {
+
+    private static final int READY = 0;
+    private static final int RUNNING = 1;
+    private static final int FINISHED = 2;
+    private static final int DISPOSED = 3;
+
+    private final Runnable task;
+    private Thread runner;
+
+    InterruptibleTask(Runnable task) {
+        this.task = task;
+    }
+
+    @Override
+    public void run() {
+        if (!compareAndSet(READY, RUNNING)) {
+            return;
+        }
+        synchronized (this) {
+            runner = Thread.currentThread();
+        }
+        try {
+            task.run();
+        } finally {
+            synchronized (this) {
+                runner = null;
+            }
+            if (!compareAndSet(RUNNING, FINISHED)) {
+                // Disposed while running: do not leak the interrupt into the next task of this thread.
+                Thread.interrupted();
+            }
+        }
+    }
+
+    @Override
+    public void dispose() {
+        int state = getAndUpdate(current -> current == FINISHED ? FINISHED : DISPOSED);
+        if (state == RUNNING) {
+            synchronized (this) {
+                if (runner != null && runner != Thread.currentThread()) {
+                    runner.interrupt();
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        int state = get();
+        return state == DISPOSED || state == FINISHED;
+    }
+}
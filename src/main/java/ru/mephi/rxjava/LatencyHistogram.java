@@ -0,0 +1,80 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// A lock-free log-linear histogram in the spirit of HdrHistogram: values below 32 get a bucket
+// each, every power of two above that is split into 16 sub-buckets, so any recorded value is
+// reported with less than 6.25% relative error. 960 counters cover the whole long range.
+final class LatencyHistogram {
+
+    private static final int LINEAR = 32;
+    private static final int SUB_BUCKETS = 16;
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SIZE = LINEAR + (62 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(SIZE);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    void record(long value) {
+        if (value < 0L) {
+            value = 0L;
+        }
+        counts.getAndIncrement(index(value));
+        total.increment();
+        sum.add(value);
+        long current;
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+            // retry
+        }
+    }
+
+    RxMetrics.LatencyStats snapshot() {
+        long[] copy = new long[SIZE];
+        long count = 0L;
+        for (int i = 0; i < SIZE; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        long recorded = total.sum();
+        long mean = recorded == 0L ? 0L : sum.sum() / recorded;
+        return new RxMetrics.LatencyStats(count, mean,
+                percentile(copy, count, 0.50), percentile(copy, count, 0.90),
+                percentile(copy, count, 0.99), percentile(copy, count, 0.999), max.get());
+    }
+
+    private static long percentile(long[] copy, long count, double quantile) {
+        if (count == 0L) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(count * quantile));
+        long seen = 0L;
+        for (int i = 0; i < copy.length; i++) {
+            seen += copy[i];
+            if (seen >= rank) {
+                return highestEquivalentValue(i);
+            }
+        }
+        return highestEquivalentValue(copy.length - 1);
+    }
+
+    static int index(long value) {
+        if (value < LINEAR) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return LINEAR + (exponent - 1) * SUB_BUCKETS + (int) ((value >>> exponent) - SUB_BUCKETS);
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < LINEAR) {
+            return index;
+        }
+        int exponent = (index - LINEAR) / SUB_BUCKETS + 1;
+        long mantissa = (index - LINEAR) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((mantissa + 1) << exponent) - 1;
+    }
+}
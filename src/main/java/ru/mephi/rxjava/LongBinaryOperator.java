@@ -0,0 +1,6 @@
+package ru.mephi.rxjava;
+
+public interface LongBinaryOperator {
+
+    long apply(long left, long right) throws Exception;
+}
@@ -0,0 +1,8 @@
+package ru.mephi.rxjava;
+
+public interface LongEmitter extends LongObserver {
+
+    boolean isDisposed();
+
+    void setDisposable(Disposable disposable);
+}
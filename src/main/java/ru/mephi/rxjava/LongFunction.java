@@ -0,0 +1,6 @@
+package ru.mephi.rxjava;
+
+public interface LongFunction<R> {
+
+    R apply(long value) throws Exception;
+}
@@ -0,0 +1,357 @@
+package ru.mephi.rxjava;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class LongObservable {
+
+    private final LongObservableOnSubscribe source;
+
+    private LongObservable(LongObservableOnSubscribe source) {
+        this.source = source;
+    }
+
+    public static LongObservable create(LongObservableOnSubscribe source) {
+        return new LongObservable(source);
+    }
+
+    public static LongObservable fromArray(long... items) {
+        return create(observer -> {
+            for (int i = 0; i < items.length && !observer.isDisposed(); i++) {
+                observer.onNext(items[i]);
+            }
+            observer.onComplete();
+        });
+    }
+
+    public static LongObservable range(long start, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count >= 0 required but it was " + count);
+        }
+        if (start > 0 && start - 1 > Long.MAX_VALUE - count) {
+            throw new IllegalArgumentException("start + count can not exceed Long.MAX_VALUE");
+        }
+        return create(observer -> {
+            for (long i = 0; i < count && !observer.isDisposed(); i++) {
+                observer.onNext(start + i);
+            }
+            observer.onComplete();
+        });
+    }
+
+    public Disposable subscribe(LongObserver observer) {
+        return subscribe(observer, null);
+    }
+
+    // Operators pass their own resources as the parent so the upstream link exists before the first item:
+    // a synchronous source then sees isDisposed() flip as soon as anything downstream is disposed.
+    Disposable subscribe(LongObserver observer, CompositeDisposable parent) {
+        Emitter emitter = new Emitter(observer);
+        if (parent != null) {
+            parent.add(emitter);
+        }
+        try {
+            source.subscribe(emitter);
+        } catch (Exception e) {
+            emitter.onError(e);
+        }
+        return emitter;
+    }
+
+    public LongObservable map(LongUnaryOperator mapper) {
+        return create(observer -> subscribe(new LongObserver() {
+            private boolean done;
+
+            @Override
+            public void onNext(long item) {
+                if (done) {
+                    return;
+                }
+                long result;
+                try {
+                    result = mapper.apply(item);
+                } catch (Exception e) {
+                    onError(e);
+                    return;
+                }
+                observer.onNext(result);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (!done) {
+                    done = true;
+                    observer.onError(t);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    observer.onComplete();
+                }
+            }
+        }, linkTo(observer)));
+    }
+
+    public LongObservable filter(LongPredicate predicate) {
+        return create(observer -> subscribe(new LongObserver() {
+            private boolean done;
+
+            @Override
+            public void onNext(long item) {
+                if (done) {
+                    return;
+                }
+                boolean passed;
+                try {
+                    passed = predicate.test(item);
+                } catch (Exception e) {
+                    onError(e);
+                    return;
+                }
+                if (passed) {
+                    observer.onNext(item);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (!done) {
+                    done = true;
+                    observer.onError(t);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    observer.onComplete();
+                }
+            }
+        }, linkTo(observer)));
+    }
+
+    public LongObservable reduce(long identity, LongBinaryOperator reducer) {
+        return create(observer -> subscribe(new LongObserver() {
+            private long accumulator = identity;
+            private boolean done;
+
+            @Override
+            public void onNext(long item) {
+                if (done) {
+                    return;
+                }
+                try {
+                    accumulator = reducer.apply(accumulator, item);
+                } catch (Exception e) {
+                    onError(e);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (!done) {
+                    done = true;
+                    observer.onError(t);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    observer.onNext(accumulator);
+                    observer.onComplete();
+                }
+            }
+        }, linkTo(observer)));
+    }
+
+    public LongObservable sum() {
+        return LongObservable.create(observer -> subscribe(new LongObserver() {
+            private long sum;
+            private boolean done;
+
+            @Override
+            public void onNext(long item) {
+                if (!done) {
+                    sum += item;
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (!done) {
+                    done = true;
+                    observer.onError(t);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    observer.onNext(sum);
+                    observer.onComplete();
+                }
+            }
+        }, linkTo(observer)));
+    }
+
+    public Observable<long[]> window(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count > 0 required but it was " + count);
+        }
+        return Observable.create(observer -> subscribe(new LongObserver() {
+            private long[] window = new long[count];
+            private int size;
+            private boolean done;
+
+            @Override
+            public void onNext(long item) {
+                if (done) {
+                    return;
+                }
+                window[size++] = item;
+                if (size == count) {
+                    long[] full = window;
+                    window = new long[count];
+                    size = 0;
+                    observer.onNext(full);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (!done) {
+                    done = true;
+                    window = null;
+                    observer.onError(t);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    if (size != 0) {
+                        observer.onNext(Arrays.copyOf(window, size));
+                    }
+                    window = null;
+                    observer.onComplete();
+                }
+            }
+        }, linkTo(observer)));
+    }
+
+    public Observable<Long> boxed() {
+        return mapToObj(Long::valueOf);
+    }
+
+    public <R> Observable<R> mapToObj(LongFunction<R> mapper) {
+        return Observable.create(observer -> subscribe(new LongObserver() {
+            private boolean done;
+
+            @Override
+            public void onNext(long item) {
+                if (done) {
+                    return;
+                }
+                R result;
+                try {
+                    result = mapper.apply(item);
+                } catch (Exception e) {
+                    onError(e);
+                    return;
+                }
+                observer.onNext(result);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (!done) {
+                    done = true;
+                    observer.onError(t);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    observer.onComplete();
+                }
+            }
+        }, linkTo(observer)));
+    }
+
+    // The downstream emitter owns the upstream subscription, so disposing it stops the source.
+    private static CompositeDisposable linkTo(LongEmitter downstream) {
+        CompositeDisposable resources = new CompositeDisposable();
+        downstream.setDisposable(resources);
+        return resources;
+    }
+
+    private static CompositeDisposable linkTo(ObservableEmitter<?> downstream) {
+        CompositeDisposable resources = new CompositeDisposable();
+        downstream.setDisposable(resources);
+        return resources;
+    }
+
+    private static final class Emitter implements LongEmitter, Disposable {
+
+        private final LongObserver observer;
+        private final AtomicReference<Disposable> resource = new AtomicReference<>();
+
+        Emitter(LongObserver observer) {
+            this.observer = observer;
+        }
+
+        @Override
+        public void onNext(long item) {
+            if (!isDisposed()) {
+                observer.onNext(item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!isDisposed()) {
+                try {
+                    observer.onError(t);
+                } finally {
+                    dispose();
+                }
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!isDisposed()) {
+                try {
+                    observer.onComplete();
+                } finally {
+                    dispose();
+                }
+            }
+        }
+
+        @Override
+        public void setDisposable(Disposable disposable) {
+            DisposableHelper.set(resource, disposable);
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(resource);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return resource.get() == DisposableHelper.DISPOSED;
+        }
+    }
+}
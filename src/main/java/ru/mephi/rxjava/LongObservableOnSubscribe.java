@@ -0,0 +1,6 @@
+package ru.mephi.rxjava;
+
+public interface LongObservableOnSubscribe {
+
+    void subscribe(LongEmitter emitter) throws Exception;
+}
@@ -0,0 +1,10 @@
+package ru.mephi.rxjava;
+
+public interface LongObserver {
+
+    void onNext(long item);
+
+    void onError(Throwable t);
+
+    void onComplete();
+}
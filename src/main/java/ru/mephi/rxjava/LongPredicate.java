@@ -0,0 +1,6 @@
+package ru.mephi.rxjava;
+
+public interface LongPredicate {
+
+    boolean test(long value) throws Exception;
+}
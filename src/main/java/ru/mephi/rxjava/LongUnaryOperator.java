@@ -0,0 +1,6 @@
+package ru.mephi.rxjava;
+
+public interface LongUnaryOperator {
+
+    long apply(long value) throws Exception;
+}
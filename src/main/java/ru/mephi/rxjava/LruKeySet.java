@@ -0,0 +1,33 @@
+package ru.mephi.rxjava;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// A LinkedHashMap in access order: every occurrence of a key moves it to the tail, and the
+// least recently seen key is dropped once the map outgrows maxSize.
+final class LruKeySet<K> implements DistinctKeySet<K> {
+
+    private final Map<K, Boolean> keys;
+
+    LruKeySet(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize > 0 required but it was " + maxSize);
+        }
+        this.keys = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Boolean> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @Override
+    public boolean add(K key) {
+        return keys.put(key, Boolean.TRUE) == null;
+    }
+
+    @Override
+    public void clear() {
+        keys.clear();
+    }
+}
@@ -0,0 +1,162 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+// One value, no value or an error.
+public final class Maybe<T> {
+
+    private final OneShotSource<T> source;
+
+    Maybe(OneShotSource<T> source) {
+        this.source = source;
+    }
+
+    public static <T> Maybe<T> create(MaybeOnSubscribe<T> source) {
+        return new Maybe<>(OneShotEmitter.source(source::subscribe));
+    }
+
+    public static <T> Maybe<T> just(T item) {
+        if (item == null) {
+            throw new NullPointerException("item is null");
+        }
+        return new Maybe<>((observer, parent) -> observer.onSuccess(item));
+    }
+
+    public static <T> Maybe<T> empty() {
+        return new Maybe<>((observer, parent) -> observer.onComplete());
+    }
+
+    public static <T> Maybe<T> error(Throwable error) {
+        return new Maybe<>((observer, parent) -> observer.onError(error));
+    }
+
+    // A null result completes empty.
+    public static <T> Maybe<T> fromCallable(Callable<T> callable) {
+        return create(emitter -> {
+            T result = callable.call();
+            if (result == null) {
+                emitter.onComplete();
+            } else {
+                emitter.onSuccess(result);
+            }
+        });
+    }
+
+    // A future completed with null completes empty.
+    public static <T> Maybe<T> fromFuture(CompletionStage<T> future) {
+        return new Maybe<>(new OneShotFromFuture<>(future));
+    }
+
+    // Completes empty as soon as either source is empty.
+    @SuppressWarnings("unchecked")
+    public static <T1, T2, R> Maybe<R> zip(Maybe<T1> first, Maybe<T2> second, BiFunction<T1, T2, R> zipper) {
+        return new Maybe<>(new OneShotZip<>(new OneShotSource<?>[]{first.source, second.source},
+                values -> zipper.apply((T1) values[0], (T2) values[1])));
+    }
+
+    public Disposable subscribe(MaybeObserver<T> observer) {
+        MaybeSubscriber<T> subscriber = new MaybeSubscriber<>(observer);
+        source.subscribe(subscriber, subscriber);
+        return subscriber;
+    }
+
+    OneShotSource<T> source() {
+        return source;
+    }
+
+    public <R> Maybe<R> map(Function<T, R> mapper) {
+        return new Maybe<>(new OneShotMap<>(source, mapper));
+    }
+
+    public Maybe<T> filter(Predicate<T> predicate) {
+        return new Maybe<>(new OneShotFilter<>(source, predicate));
+    }
+
+    public <R> Maybe<R> flatMap(Function<T, Maybe<R>> mapper) {
+        return new Maybe<>(new OneShotFlatMap<>(source, item -> mapper.apply(item).source, null));
+    }
+
+    public Single<T> defaultIfEmpty(T defaultValue) {
+        if (defaultValue == null) {
+            throw new NullPointerException("defaultValue is null");
+        }
+        return new Single<>(new OneShotDefaultIfEmpty<>(source, defaultValue));
+    }
+
+    // Fails with NoSuchElementException when empty.
+    public Single<T> toSingle() {
+        return new Single<>(new OneShotDefaultIfEmpty<>(source, null));
+    }
+
+    public Maybe<T> timeout(long timeout, TimeUnit unit) {
+        return timeout(timeout, unit, Schedulers.computation());
+    }
+
+    public Maybe<T> timeout(long timeout, TimeUnit unit, Scheduler scheduler) {
+        return new Maybe<>(new OneShotTimeout<>(source, timeout, unit, scheduler));
+    }
+
+    public Maybe<T> retry() {
+        return retry(Long.MAX_VALUE);
+    }
+
+    public Maybe<T> retry(long times) {
+        if (times < 0L) {
+            throw new IllegalArgumentException("times >= 0 required but it was " + times);
+        }
+        return new Maybe<>(new OneShotRetry<>(source, times));
+    }
+
+    public Maybe<T> subscribeOn(Scheduler scheduler) {
+        return new Maybe<>(new OneShotSubscribeOn<>(source, scheduler));
+    }
+
+    public Maybe<T> observeOn(Scheduler scheduler) {
+        return new Maybe<>(new OneShotObserveOn<>(source, scheduler));
+    }
+
+    public Observable<T> toObservable() {
+        return Observable.create(new OneShotToObservable<>(source));
+    }
+
+    public Completable ignoreElement() {
+        return new Completable(new OneShotIgnore<>(source));
+    }
+
+    // Completes the future with null when empty; cancelling it disposes the subscription.
+    public CompletableFuture<T> toCompletableFuture() {
+        return OneShotFutures.toFuture(source);
+    }
+
+    // Returns null when empty.
+    public T blockingGet() {
+        return OneShotFutures.blockingGet(source);
+    }
+
+    static final class MaybeSubscriber<T> extends SerialDisposable implements MaybeObserver<T> {
+
+        private final MaybeObserver<T> downstream;
+
+        MaybeSubscriber(MaybeObserver<T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSuccess(T item) {
+            downstream.onSuccess(item);
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            downstream.onError(t);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package ru.mephi.rxjava;
+
+public interface MaybeEmitter<T> extends MaybeObserver<T> {
+
+    boolean isDisposed();
+
+    void setDisposable(Disposable disposable);
+
+    void setCancellable(Cancellable cancellable);
+}
@@ -0,0 +1,10 @@
+package ru.mephi.rxjava;
+
+public interface MaybeObserver<T> {
+
+    void onSuccess(T item);
+
+    void onComplete();
+
+    void onError(Throwable t);
+}
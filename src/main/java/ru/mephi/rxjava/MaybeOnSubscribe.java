@@ -0,0 +1,6 @@
+package ru.mephi.rxjava;
+
+public interface MaybeOnSubscribe<T> {
+
+    void subscribe(MaybeEmitter<T> emitter) throws Exception;
+}
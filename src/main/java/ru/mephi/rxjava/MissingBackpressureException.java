@@ -0,0 +1,8 @@
+package ru.mephi.rxjava;
+
+public class MissingBackpressureException extends RuntimeException {
+
+    public MissingBackpressureException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,54 @@
+package ru.mephi.rxjava;
+
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Sources that read files and sockets without a blocked thread per stream. The memory-mapped ones
+// (lines, records) run on the subscribing thread - use subscribeOn to move them - and only touch the
+// pages they read. The asynchronous ones (chunks, connect) emit from the channel's completion threads
+// into buffers of a ByteBufferPool, which the observer hands back with release(). All of them stop
+// reading as soon as the observer disposes.
+public final class NioSources {
+
+    static final int DEFAULT_REGION_SIZE = 64 << 20;
+
+    private NioSources() {
+    }
+
+    public static Observable<String> lines(Path path) {
+        return lines(path, StandardCharsets.UTF_8);
+    }
+
+    // The charset must encode '\n' as a single byte, as UTF-8 and ISO-8859-1 do; "\r\n" ends a line too.
+    public static Observable<String> lines(Path path, Charset charset) {
+        return Observable.create(new ObservableMappedLines(path, charset, DEFAULT_REGION_SIZE));
+    }
+
+    // Read-only views of recordSize bytes each, backed by the mapped file without copying.
+    public static Observable<ByteBuffer> records(Path path, int recordSize) {
+        return Observable.create(new ObservableMappedRecords(path, recordSize, DEFAULT_REGION_SIZE));
+    }
+
+    // The file read through an AsynchronousFileChannel, one pooled buffer per chunk.
+    public static Observable<ByteBuffer> chunks(Path path, ByteBufferPool pool) {
+        return Observable.create(new ObservableAsyncRead(
+                () -> AsynchronousFileChannel.open(path, StandardOpenOption.READ), null, pool));
+    }
+
+    // Reads a connected channel until the peer closes it. The channel can be read by one subscription
+    // only, and disposing or the end of the stream closes it.
+    public static Observable<ByteBuffer> chunks(AsynchronousSocketChannel channel, ByteBufferPool pool) {
+        return Observable.create(new ObservableAsyncRead(() -> channel, null, pool));
+    }
+
+    // Opens a new connection per subscription and reads it until the peer closes it.
+    public static Observable<ByteBuffer> connect(SocketAddress remote, ByteBufferPool pool) {
+        return Observable.create(new ObservableAsyncRead(AsynchronousSocketChannel::open, remote, pool));
+    }
+}
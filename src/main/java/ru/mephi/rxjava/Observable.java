@@ -1,203 +1,707 @@
 package ru.mephi.rxjava;
 
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class Observable<T> {
 
+    static final int DEFAULT_BATCH_SIZE = 128;
+
     private final ObservableOnSubscribe<T> source;
     private Scheduler subscribeOnScheduler;
-    private Scheduler observeOnScheduler;
 
-    private Observable(ObservableOnSubscribe<T> source) {
+    Observable(ObservableOnSubscribe<T> source) {
         this.source = source;
     }
 
     public static <T> Observable<T> create(ObservableOnSubscribe<T> source) {
-        return new Observable<>(source);
+        return RxPlugins.onAssembly(new Observable<>(source), source);
     }
 
-    public Disposable subscribe(Observer<T> observer) {
-        AtomicBoolean isDisposed = new AtomicBoolean(false);
-        Disposable disposable = new Disposable() {
-            @Override
-            public void dispose() {
-                isDisposed.set(true);
-            }
+    public static <T> Observable<T> just(T item) {
+        if (item == null) {
+            throw new NullPointerException("item is null");
+        }
+        return create(new ObservableJust<>(item));
+    }
 
-            @Override
-            public boolean isDisposed() {
-                return isDisposed.get();
-            }
-        };
+    // The array is kept without a copy, as RxJava does, to spare large arrays a second allocation.
+    // ObservableFromArray only reads elements out of it as T and never exposes it, so the heap
+    // pollution the varargs lint warns about can not happen.
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <T> Observable<T> fromArray(T... items) {
+        if (items.length == 0) {
+            return empty();
+        }
+        // A null element fails on subscribe, whatever the length, so only a non-null single goes to just().
+        if (items.length == 1 && items[0] != null) {
+            return just(items[0]);
+        }
+        return create(new ObservableFromArray<>(items));
+    }
 
-        Observer<T> wrappedObserver = new Observer<>() {
-            @Override
-            public void onNext(T item) {
-                if (!isDisposed.get()) {
-                    if (observeOnScheduler != null) {
-                        observeOnScheduler.execute(() -> observer.onNext(item));
-                    } else {
-                        observer.onNext(item);
-                    }
-                }
-            }
+    public static <T> Observable<T> fromIterable(Iterable<? extends T> iterable) {
+        if (iterable == null) {
+            throw new NullPointerException("iterable is null");
+        }
+        return create(new ObservableFromIterable<>(iterable));
+    }
 
-            @Override
-            public void onError(Throwable t) {
-                if (!isDisposed.get()) {
-                    if (observeOnScheduler != null) {
-                        observeOnScheduler.execute(() -> observer.onError(t));
-                    } else {
-                        observer.onError(t);
-                    }
-                }
-            }
+    public static Observable<Integer> range(int start, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count >= 0 required but it was " + count);
+        }
+        if ((long) start + count - 1 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("start + count can not exceed Integer.MAX_VALUE");
+        }
+        if (count == 0) {
+            return empty();
+        }
+        if (count == 1) {
+            return just(start);
+        }
+        return create(new ObservableRange(start, count));
+    }
+
+    public static Observable<Long> rangeLong(long start, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count >= 0 required but it was " + count);
+        }
+        if (start > 0 && start - 1 > Long.MAX_VALUE - count) {
+            throw new IllegalArgumentException("start + count can not exceed Long.MAX_VALUE");
+        }
+        if (count == 0) {
+            return empty();
+        }
+        if (count == 1) {
+            return just(start);
+        }
+        return create(new ObservableRangeLong(start, count));
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> Observable<T> empty() {
+        return create((ObservableOnSubscribe<T>) (ObservableOnSubscribe<?>) ObservableEmpty.INSTANCE);
+    }
+
+    public static <T> Observable<T> error(Throwable error) {
+        if (error == null) {
+            throw new NullPointerException("error is null");
+        }
+        return create(new ObservableError<>(error));
+    }
+
+    public static <T> Observable<T> fromCallable(Callable<? extends T> callable) {
+        if (callable == null) {
+            throw new NullPointerException("callable is null");
+        }
+        return create(new ObservableFromCallable<>(callable));
+    }
 
-            @Override
-            public void onComplete() {
-                if (!isDisposed.get()) {
-                    if (observeOnScheduler != null) {
-                        observeOnScheduler.execute(observer::onComplete);
-                    } else {
-                        observer.onComplete();
-                    }
+    @SafeVarargs
+    public static <T> Observable<T> merge(Observable<T>... sources) {
+        // Copied element by element: the varargs array is not kept, so reusing it after assembly changes nothing.
+        List<Observable<T>> list = new ArrayList<>(sources.length);
+        for (Observable<T> source : sources) {
+            list.add(source);
+        }
+        return merge(list);
+    }
+
+    // Items of all sources as they arrive; each source gets its own queue, drained without locks.
+    public static <T> Observable<T> merge(List<Observable<T>> sources) {
+        return fromSources(sources).flatMap(source -> source);
+    }
+
+    @SafeVarargs
+    public static <T> Observable<T> concat(Observable<T>... sources) {
+        // Copied for the same reason as in merge(Observable...).
+        List<Observable<T>> list = new ArrayList<>(sources.length);
+        for (Observable<T> source : sources) {
+            list.add(source);
+        }
+        return concat(list);
+    }
+
+    // All items of the first source, then of the second, and so on.
+    public static <T> Observable<T> concat(List<Observable<T>> sources) {
+        return fromSources(sources).concatMap(source -> source);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T1, T2, R> Observable<R> zip(Observable<T1> first, Observable<T2> second, BiFunction<T1, T2, R> zipper) {
+        return create(new ObservableZip<>(new Observable<?>[]{first, second},
+                values -> zipper.apply((T1) values[0], (T2) values[1]), DEFAULT_BATCH_SIZE));
+    }
+
+    // Combines the n-th items of all sources; completes as soon as one source has run out.
+    public static <T, R> Observable<R> zip(List<Observable<T>> sources, Function<List<T>, R> zipper) {
+        return create(new ObservableZip<>(sources.toArray(new Observable<?>[0]), listZipper(zipper), DEFAULT_BATCH_SIZE));
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T1, T2, R> Observable<R> combineLatest(Observable<T1> first, Observable<T2> second,
+                                                          BiFunction<T1, T2, R> combiner) {
+        return create(new ObservableCombineLatest<>(new Observable<?>[]{first, second},
+                values -> combiner.apply((T1) values[0], (T2) values[1]), DEFAULT_BATCH_SIZE));
+    }
+
+    // Combines the latest items of all sources each time one of them emits, once all have emitted.
+    public static <T, R> Observable<R> combineLatest(List<Observable<T>> sources, Function<List<T>, R> combiner) {
+        return create(new ObservableCombineLatest<>(sources.toArray(new Observable<?>[0]), listZipper(combiner),
+                DEFAULT_BATCH_SIZE));
+    }
+
+    private static <T> Observable<Observable<T>> fromSources(List<Observable<T>> sources) {
+        return create(emitter -> {
+            for (Observable<T> source : sources) {
+                if (emitter.isDisposed()) {
+                    return;
                 }
+                emitter.onNext(source);
             }
-        };
+            emitter.onComplete();
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T, R> Function<Object[], R> listZipper(Function<List<T>, R> zipper) {
+        return values -> zipper.apply((List<T>) Arrays.asList(values));
+    }
+
+    public Disposable subscribe(Observer<T> observer) {
+        return subscribe(observer, null);
+    }
+
+    // Operators pass their own resources as the parent so the upstream link exists before the first item:
+    // a synchronous source then sees isDisposed() flip as soon as anything downstream is disposed.
+    Disposable subscribe(Observer<T> observer, CompositeDisposable parent) {
+        ObservableJust<T> scalar = scalarSource();
+        if (scalar != null) {
+            return subscribeScalar(scalar.value, RxPlugins.onSubscribe(this, source, observer), parent);
+        }
+        CreateEmitter<T> emitter = new CreateEmitter<>(RxPlugins.onSubscribe(this, source, observer));
+        if (parent != null) {
+            parent.add(emitter);
+        }
 
         Runnable subscribeTask = () -> {
             try {
-                source.subscribe(wrappedObserver);
+                source.subscribe(emitter);
             } catch (Exception e) {
-                wrappedObserver.onError(e);
+                emitter.onError(e);
             }
         };
 
         if (subscribeOnScheduler != null) {
-            subscribeOnScheduler.execute(subscribeTask);
+            emitter.setSubscribeTask(subscribeOnScheduler.schedule(subscribeTask));
         } else {
             subscribeTask.run();
         }
 
-        return disposable;
+        return emitter;
     }
 
-    public <R> Observable<R> map(Function<T, R> mapper) {
-        return create(observer -> {
-            subscribe(new Observer<>() {
-                @Override
-                public void onNext(T item) {
-                    try {
-                        R result = mapper.apply(item);
-                        observer.onNext(result);
-                    } catch (Exception e) {
-                        onError(e);
-                    }
-                }
+    // A just() delivered straight to the observer: there is nothing to cancel once onNext returns,
+    // so neither an emitter nor a subscribe task is needed. Only the parent can stop the completion.
+    private static <T> Disposable subscribeScalar(T value, Observer<T> observer, CompositeDisposable parent) {
+        try {
+            observer.onNext(value);
+        } catch (Exception e) {
+            if (parent == null || !parent.isDisposed()) {
+                observer.onError(e);
+            }
+            return DisposableHelper.DISPOSED;
+        }
+        if (parent == null || !parent.isDisposed()) {
+            observer.onComplete();
+        }
+        return DisposableHelper.DISPOSED;
+    }
 
-                @Override
-                public void onError(Throwable t) {
-                    observer.onError(t);
-                }
+    // The source of a just() that is subscribed on the calling thread, or null.
+    @SuppressWarnings("unchecked")
+    ObservableJust<T> scalarSource() {
+        return subscribeOnScheduler == null && source instanceof ObservableJust ? (ObservableJust<T>) source : null;
+    }
 
-                @Override
-                public void onComplete() {
-                    observer.onComplete();
-                }
-            });
-        });
+    @SuppressWarnings("unchecked")
+    public <R> Observable<R> map(Function<T, R> mapper) {
+        ObservableJust<T> scalar = scalarSource();
+        if (scalar != null) {
+            return create(new ObservableScalarMapFilter<T, R>(scalar.value, FusedStages.EMPTY.withMap(mapper)));
+        }
+        if (subscribeOnScheduler == null && source instanceof FuseableOnSubscribe) {
+            return create(((FuseableOnSubscribe<T>) source).withMap(mapper));
+        }
+        return create(new ObservableMapFilter<T, R>(this, FusedStages.EMPTY.withMap(mapper)));
     }
 
+    @SuppressWarnings("unchecked")
     public Observable<T> filter(Predicate<T> predicate) {
-        return create(observer -> {
-            subscribe(new Observer<>() {
-                @Override
-                public void onNext(T item) {
-                    try {
-                        if (predicate.test(item)) {
-                            observer.onNext(item);
-                        }
-                    } catch (Exception e) {
-                        onError(e);
-                    }
-                }
+        ObservableJust<T> scalar = scalarSource();
+        if (scalar != null) {
+            return create(new ObservableScalarMapFilter<T, T>(scalar.value, FusedStages.EMPTY.withFilter(predicate)));
+        }
+        if (subscribeOnScheduler == null && source instanceof FuseableOnSubscribe) {
+            return create(((FuseableOnSubscribe<T>) source).withFilter(predicate));
+        }
+        return create(new ObservableMapFilter<T, T>(this, FusedStages.EMPTY.withFilter(predicate)));
+    }
 
-                @Override
-                public void onError(Throwable t) {
-                    observer.onError(t);
-                }
+    public <R> Observable<R> flatMap(Function<T, Observable<R>> mapper) {
+        return flatMap(mapper, Integer.MAX_VALUE);
+    }
 
-                @Override
-                public void onComplete() {
-                    observer.onComplete();
-                }
-            });
-        });
+    public <R> Observable<R> flatMap(Function<T, Observable<R>> mapper, int maxConcurrency) {
+        return flatMap(mapper, maxConcurrency, DEFAULT_BATCH_SIZE);
     }
 
-    public <R> Observable<R> flatMap(Function<T, Observable<R>> mapper) {
-        return create(observer -> {
-            AtomicBoolean completed = new AtomicBoolean(false);
-            AtomicBoolean hasError = new AtomicBoolean(false);
-
-            subscribe(new Observer<>() {
-                @Override
-                public void onNext(T item) {
-                    try {
-                        Observable<R> innerObservable = mapper.apply(item);
-                        innerObservable.subscribe(new Observer<>() {
-                            @Override
-                            public void onNext(R innerItem) {
-                                observer.onNext(innerItem);
-                            }
-
-                            @Override
-                            public void onError(Throwable t) {
-                                if (!hasError.getAndSet(true)) {
-                                    observer.onError(t);
-                                }
-                            }
-
-                            @Override
-                            public void onComplete() {
-                            }
-                        });
-                    } catch (Exception e) {
-                        onError(e);
-                    }
-                }
+    public <R> Observable<R> flatMap(Function<T, Observable<R>> mapper, int maxConcurrency, int prefetch) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency > 0 required but it was " + maxConcurrency);
+        }
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+        }
+        ObservableJust<T> scalar = scalarSource();
+        if (scalar != null) {
+            return create(new ObservableScalarFlatMap<>(scalar.value, mapper));
+        }
+        return create(new ObservableFlatMap<>(this, mapper, maxConcurrency, prefetch));
+    }
 
-                @Override
-                public void onError(Throwable t) {
-                    if (!hasError.getAndSet(true)) {
-                        observer.onError(t);
-                    }
-                }
+    public <R> Observable<R> concatMap(Function<T, Observable<R>> mapper) {
+        return flatMap(mapper, 1, DEFAULT_BATCH_SIZE);
+    }
 
-                @Override
-                public void onComplete() {
-                    if (!hasError.get()) {
-                        completed.set(true);
-                        observer.onComplete();
-                    }
-                }
-            });
-        });
+    // Items with equal keys share one subscription to the inner source while it runs, and its items are
+    // served from the cache afterwards. Results arrive as their sources complete, like with flatMap.
+    public <K, R> Observable<R> flatMapCached(Function<T, K> keySelector, Function<K, Observable<R>> mapper,
+                                              AsyncCache<K, R> cache) {
+        return flatMap(item -> cache.lookup(keySelector.apply(item), mapper));
+    }
+
+    public <K, R> Observable<R> mapAsyncCached(Function<T, K> keySelector, Function<K, Single<R>> mapper,
+                                               AsyncCache<K, R> cache) {
+        return flatMapCached(keySelector, key -> mapper.apply(key).toObservable(), cache);
+    }
+
+    public <R> Observable<R> switchMap(Function<T, Observable<R>> mapper) {
+        return create(new ObservableSwitchMap<>(this, mapper, DEFAULT_BATCH_SIZE));
+    }
+
+    public Observable<T> mergeWith(Observable<T> other) {
+        return merge(List.of(this, other));
+    }
+
+    public Observable<T> concatWith(Observable<T> other) {
+        return concat(List.of(this, other));
+    }
+
+    public <U, R> Observable<R> zipWith(Observable<U> other, BiFunction<T, U, R> zipper) {
+        return zip(this, other, zipper);
+    }
+
+    // Combines each item with the latest item of the other source; items before its first one are dropped.
+    public <U, R> Observable<R> withLatestFrom(Observable<U> other, BiFunction<T, U, R> combiner) {
+        return create(new ObservableWithLatestFrom<>(this, other, combiner));
+    }
+
+    public Observable<T> startWith(T item) {
+        return startWith(create(emitter -> {
+            emitter.onNext(item);
+            emitter.onComplete();
+        }));
+    }
+
+    public Observable<T> startWith(Observable<T> other) {
+        return concat(List.of(other, this));
+    }
+
+    // Every intermediate accumulation; the first item is emitted as is and starts the accumulation.
+    public Observable<T> scan(BiFunction<T, T, T> accumulator) {
+        return create(new ObservableScan<>(this, null, accumulator));
+    }
+
+    // The seed first, then every intermediate accumulation.
+    public <R> Observable<R> scan(R seed, BiFunction<R, T, R> accumulator) {
+        return create(new ObservableScan<>(this, () -> seed, accumulator));
+    }
+
+    public Observable<T> distinct() {
+        return distinct(item -> item);
+    }
+
+    public <K> Observable<T> distinct(Function<T, K> keySelector) {
+        return distinct(keySelector, DistinctKeySet::unbounded);
+    }
+
+    // The supplier is called once per subscription, e.g. () -> DistinctKeySet.lru(10_000).
+    public <K> Observable<T> distinct(Function<T, K> keySelector, Supplier<? extends DistinctKeySet<K>> keySetSupplier) {
+        return create(new ObservableDistinct<>(this, keySelector, keySetSupplier));
+    }
+
+    public Observable<T> distinctUntilChanged() {
+        return distinctUntilChanged(item -> item);
+    }
+
+    public <K> Observable<T> distinctUntilChanged(Function<T, K> keySelector) {
+        return create(new ObservableDistinctUntilChanged<>(this, keySelector));
+    }
+
+    public <K> Observable<GroupedObservable<K, T>> groupBy(Function<T, K> keySelector) {
+        return groupBy(keySelector, Integer.MAX_VALUE);
+    }
+
+    // Once maxGroups groups are open, a new key completes the least recently active group.
+    public <K> Observable<GroupedObservable<K, T>> groupBy(Function<T, K> keySelector, int maxGroups) {
+        if (maxGroups <= 0) {
+            throw new IllegalArgumentException("maxGroups > 0 required but it was " + maxGroups);
+        }
+        return create(new ObservableGroupBy<>(this, keySelector, maxGroups, 0L, null, DEFAULT_BATCH_SIZE));
+    }
+
+    public <K> Observable<GroupedObservable<K, T>> groupBy(Function<T, K> keySelector, int maxGroups,
+                                                           long idleTimeout, TimeUnit unit) {
+        return groupBy(keySelector, maxGroups, idleTimeout, unit, Schedulers.computation());
+    }
+
+    // A group without items for idleTimeout is completed; the check runs every idleTimeout on the scheduler.
+    public <K> Observable<GroupedObservable<K, T>> groupBy(Function<T, K> keySelector, int maxGroups,
+                                                           long idleTimeout, TimeUnit unit, Scheduler scheduler) {
+        if (maxGroups <= 0) {
+            throw new IllegalArgumentException("maxGroups > 0 required but it was " + maxGroups);
+        }
+        if (idleTimeout <= 0L) {
+            throw new IllegalArgumentException("idleTimeout > 0 required but it was " + idleTimeout);
+        }
+        return create(new ObservableGroupBy<>(this, keySelector, maxGroups, unit.toNanos(idleTimeout), scheduler,
+                DEFAULT_BATCH_SIZE));
+    }
+
+    public ParallelObservable<T> parallel() {
+        return parallel(Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelObservable<T> parallel(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism > 0 required but it was " + parallelism);
+        }
+        return new ParallelObservable<>(this, parallelism, null, DEFAULT_BATCH_SIZE, FusedStages.EMPTY);
     }
 
     public Observable<T> subscribeOn(Scheduler scheduler) {
         Observable<T> observable = new Observable<>(source);
         observable.subscribeOnScheduler = scheduler;
-        observable.observeOnScheduler = observeOnScheduler;
 
         return observable;
     }
 
     public Observable<T> observeOn(Scheduler scheduler) {
-        Observable<T> observable = new Observable<>(source);
-        observable.subscribeOnScheduler = subscribeOnScheduler;
-        observable.observeOnScheduler = scheduler;
+        return observeOn(scheduler, DEFAULT_BATCH_SIZE);
+    }
 
-        return observable;
+    public Observable<T> observeOn(Scheduler scheduler, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize > 0 required but it was " + batchSize);
+        }
+        return create(new ObservableObserveOn<T, T>(this, scheduler, batchSize, FusedStages.EMPTY));
+    }
+
+    public Observable<List<T>> buffer(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count > 0 required but it was " + count);
+        }
+        return create(new ObservableBuffer<>(this, 0L, null, count, null));
+    }
+
+    public Observable<List<T>> buffer(long timespan, TimeUnit unit) {
+        return buffer(timespan, unit, Integer.MAX_VALUE, Schedulers.computation());
+    }
+
+    public Observable<List<T>> buffer(long timespan, TimeUnit unit, int count) {
+        return buffer(timespan, unit, count, Schedulers.computation());
+    }
+
+    public Observable<List<T>> buffer(long timespan, TimeUnit unit, int count, Scheduler scheduler) {
+        if (timespan <= 0L) {
+            throw new IllegalArgumentException("timespan > 0 required but it was " + timespan);
+        }
+        if (count <= 0) {
+            throw new IllegalArgumentException("count > 0 required but it was " + count);
+        }
+        return create(new ObservableBuffer<>(this, timespan, unit, count, scheduler));
+    }
+
+    public Observable<Observable<T>> window(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count > 0 required but it was " + count);
+        }
+        return create(new ObservableWindow<>(this, 0L, null, count, null));
+    }
+
+    public Observable<Observable<T>> window(long timespan, TimeUnit unit) {
+        return window(timespan, unit, Schedulers.computation());
+    }
+
+    public Observable<Observable<T>> window(long timespan, TimeUnit unit, Scheduler scheduler) {
+        if (timespan <= 0L) {
+            throw new IllegalArgumentException("timespan > 0 required but it was " + timespan);
+        }
+        return create(new ObservableWindow<>(this, timespan, unit, Integer.MAX_VALUE, scheduler));
+    }
+
+    public Observable<T> debounce(long timeout, TimeUnit unit) {
+        return debounce(timeout, unit, Schedulers.computation());
+    }
+
+    public Observable<T> debounce(long timeout, TimeUnit unit, Scheduler scheduler) {
+        return create(new ObservableDebounce<>(this, timeout, unit, scheduler));
+    }
+
+    public Observable<T> throttleFirst(long windowDuration, TimeUnit unit) {
+        return throttleFirst(windowDuration, unit, Schedulers.computation());
+    }
+
+    public Observable<T> throttleFirst(long windowDuration, TimeUnit unit, Scheduler scheduler) {
+        return create(new ObservableThrottleFirst<>(this, windowDuration, unit, scheduler));
+    }
+
+    public Observable<T> throttleLast(long interval, TimeUnit unit) {
+        return sample(interval, unit, Schedulers.computation());
+    }
+
+    public Observable<T> throttleLast(long interval, TimeUnit unit, Scheduler scheduler) {
+        return sample(interval, unit, scheduler);
+    }
+
+    public Observable<T> sample(long period, TimeUnit unit) {
+        return sample(period, unit, Schedulers.computation());
+    }
+
+    public Observable<T> sample(long period, TimeUnit unit, Scheduler scheduler) {
+        if (period <= 0L) {
+            throw new IllegalArgumentException("period > 0 required but it was " + period);
+        }
+        return create(new ObservableSample<>(this, period, unit, scheduler));
+    }
+
+    public Observable<T> timeout(long timeout, TimeUnit unit) {
+        return timeout(timeout, unit, Schedulers.computation());
+    }
+
+    public Observable<T> timeout(long timeout, TimeUnit unit, Scheduler scheduler) {
+        return create(new ObservableTimeout<>(this, timeout, unit, scheduler));
+    }
+
+    public Observable<T> retry() {
+        return retry(Long.MAX_VALUE);
+    }
+
+    // Resubscribes right away after an error, at most `times` times.
+    public Observable<T> retry(long times) {
+        return retry(times, null);
+    }
+
+    public Observable<T> retry(long times, Predicate<Throwable> predicate) {
+        if (times < 0L) {
+            throw new IllegalArgumentException("times >= 0 required but it was " + times);
+        }
+        return create(new ObservableRetry<>(this, times, predicate, null, null));
+    }
+
+    public Observable<T> retryWhen(Backoff backoff) {
+        return retryWhen(backoff, Schedulers.computation());
+    }
+
+    // Resubscribes after the backoff delay, scheduled on the scheduler's timer instead of a sleeping thread.
+    public Observable<T> retryWhen(Backoff backoff, Scheduler scheduler) {
+        return create(new ObservableRetry<>(this, backoff.maxRetries(), backoff.predicate(), backoff, scheduler));
+    }
+
+    public Observable<T> onErrorReturn(Function<Throwable, T> valueSupplier) {
+        return onErrorResumeNext(error -> {
+            T value = valueSupplier.apply(error);
+            return create(emitter -> {
+                emitter.onNext(value);
+                emitter.onComplete();
+            });
+        });
+    }
+
+    public Observable<T> onErrorReturnItem(T item) {
+        return onErrorReturn(error -> item);
+    }
+
+    public Observable<T> onErrorResumeNext(Function<Throwable, Observable<T>> fallback) {
+        return create(new ObservableOnErrorNext<>(this, fallback));
+    }
+
+    public Observable<T> repeat() {
+        return repeat(Long.MAX_VALUE);
+    }
+
+    // Runs the source `times` times in a row.
+    public Observable<T> repeat(long times) {
+        if (times <= 0L) {
+            throw new IllegalArgumentException("times > 0 required but it was " + times);
+        }
+        return create(new ObservableRepeat<>(this, times));
+    }
+
+    // Fails fast with CircuitBreakerOpenException while the breaker is open.
+    public Observable<T> circuitBreaker(CircuitBreaker breaker) {
+        return create(new ObservableCircuitBreaker<>(this, breaker));
+    }
+
+    public ConnectableObservable<T> publish() {
+        return ConnectableObservable.create(this, PublishSubject::create);
+    }
+
+    public ConnectableObservable<T> replay() {
+        return ConnectableObservable.create(this, ReplaySubject::create);
+    }
+
+    public ConnectableObservable<T> replay(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize > 0 required but it was " + bufferSize);
+        }
+        return ConnectableObservable.create(this, () -> ReplaySubject.createWithSize(bufferSize));
+    }
+
+    public Observable<T> share() {
+        return publish().refCount();
+    }
+
+    // Empty if the source completes without items.
+    public Maybe<T> reduce(BiFunction<T, T, T> reducer) {
+        return new Maybe<>(new ObservableReduce<>(this, null, reducer));
+    }
+
+    // The seed is shared by all subscriptions; use reduceWith or collect for a mutable one.
+    public <R> Single<R> reduce(R seed, BiFunction<R, T, R> reducer) {
+        return reduceWith(() -> seed, reducer);
+    }
+
+    public <R> Single<R> reduceWith(Supplier<R> seedSupplier, BiFunction<R, T, R> reducer) {
+        return new Single<>(new ObservableReduce<>(this, seedSupplier, reducer));
+    }
+
+    public Single<Long> count() {
+        return new Single<>(new ObservableCount<>(this));
+    }
+
+    // Adds every item to a container created per subscription.
+    public <C> Single<C> collect(Supplier<C> containerSupplier, BiConsumer<C, T> collector) {
+        return reduceWith(containerSupplier, (container, item) -> {
+            collector.accept(container, item);
+            return container;
+        });
+    }
+
+    public Single<List<T>> toList() {
+        return collect(ArrayList::new, List::add);
+    }
+
+    // The first item, or NoSuchElementException if the source completes without one.
+    public Single<T> firstOrError() {
+        return new Single<>(new OneShotDefaultIfEmpty<>(new OneShotFromObservable<>(this, false), null));
+    }
+
+    public Maybe<T> firstElement() {
+        return new Maybe<>(new OneShotFromObservable<>(this, false));
+    }
+
+    public Maybe<T> lastElement() {
+        return reduce((previous, item) -> item);
+    }
+
+    public T blockingFirst() {
+        return firstOrError().blockingGet();
+    }
+
+    public T blockingFirst(T defaultItem) {
+        return firstElement().defaultIfEmpty(defaultItem).blockingGet();
+    }
+
+    public T blockingLast() {
+        return lastElement().toSingle().blockingGet();
+    }
+
+    public T blockingLast(T defaultItem) {
+        return lastElement().defaultIfEmpty(defaultItem).blockingGet();
+    }
+
+    // Completes with the last item, or with null if the source completes empty; cancelling disposes the subscription.
+    public CompletableFuture<T> toCompletableFuture() {
+        return lastElement().toCompletableFuture();
+    }
+
+    public Iterable<T> blockingIterable() {
+        return blockingIterable(DEFAULT_BATCH_SIZE);
+    }
+
+    // Every iterator() is a separate subscription. One left by a break keeps buffering until the source ends;
+    // use blockingIterator or blockingStream to dispose it early.
+    public Iterable<T> blockingIterable(int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+        }
+        return () -> blockingIterator(prefetch);
+    }
+
+    public CloseableIterator<T> blockingIterator() {
+        return blockingIterator(DEFAULT_BATCH_SIZE);
+    }
+
+    // Subscribes right away. The producer never waits for the consumer; `prefetch` is the chunk size of the queue.
+    public CloseableIterator<T> blockingIterator(int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+        }
+        BlockingObservableIterator<T> iterator = new BlockingObservableIterator<>(prefetch);
+        subscribe(iterator, iterator.resources);
+        return iterator;
+    }
+
+    public Stream<T> blockingStream() {
+        return blockingStream(DEFAULT_BATCH_SIZE);
+    }
+
+    // Closing the stream disposes the subscription; use it in try-with-resources when it may stop early.
+    public Stream<T> blockingStream(int prefetch) {
+        CloseableIterator<T> iterator = blockingIterator(prefetch);
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(iterator::close);
+    }
+
+    // Runs the action on the calling thread; an exception from it disposes the subscription and is rethrown.
+    public void blockingForEach(Consumer<? super T> action) {
+        try (CloseableIterator<T> iterator = blockingIterator()) {
+            while (iterator.hasNext()) {
+                action.accept(iterator.next());
+            }
+        }
+    }
+
+    public Completable ignoreElements() {
+        return new Completable(new OneShotIgnore<>(new OneShotFromObservable<>(this, true)));
+    }
+
+    public Flowable<T> toFlowable(BackpressureStrategy strategy) {
+        return Flowable.fromObservable(this, strategy);
     }
 }
@@ -0,0 +1,134 @@
+package ru.mephi.rxjava;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousByteChannel;
+import java.nio.channels.AsynchronousChannel;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.CompletionHandler;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Reads an asynchronous channel chunk by chunk into pooled buffers and emits each filled buffer,
+// flipped. One read is in flight at a time and the next one is started from the completion handler,
+// so no thread waits for the disk or the network. Disposing closes the channel, which is the only way
+// to cancel a pending read; the channel is closed at the end of the stream as well.
+final class ObservableAsyncRead implements ObservableOnSubscribe<ByteBuffer> {
+
+    private final Callable<? extends AsynchronousChannel> channelSupplier;
+    private final SocketAddress remote;
+    private final ByteBufferPool pool;
+
+    // With a remote address the channel must be an unconnected AsynchronousSocketChannel.
+    ObservableAsyncRead(Callable<? extends AsynchronousChannel> channelSupplier, SocketAddress remote, ByteBufferPool pool) {
+        this.channelSupplier = channelSupplier;
+        this.remote = remote;
+        this.pool = pool;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<ByteBuffer> emitter) throws Exception {
+        AsynchronousChannel channel = channelSupplier.call();
+        ReadLoop loop = new ReadLoop(emitter, channel, pool);
+        emitter.setCancellable(loop::close);
+        if (remote != null) {
+            ((AsynchronousSocketChannel) channel).connect(remote, null, new CompletionHandler<Void, Void>() {
+                @Override
+                public void completed(Void result, Void attachment) {
+                    loop.readNext();
+                }
+
+                @Override
+                public void failed(Throwable t, Void attachment) {
+                    loop.fail(t);
+                }
+            });
+        } else {
+            loop.readNext();
+        }
+    }
+
+    static final class ReadLoop extends AtomicInteger implements CompletionHandler<Integer, ByteBuffer> {
+
+        private final ObservableEmitter<ByteBuffer> downstream;
+        private final AsynchronousChannel channel;
+        private final ByteBufferPool pool;
+        // File position of the next read; handed from one completion to the next read.
+        private long position;
+
+        ReadLoop(ObservableEmitter<ByteBuffer> downstream, AsynchronousChannel channel, ByteBufferPool pool) {
+            this.downstream = downstream;
+            this.channel = channel;
+            this.pool = pool;
+        }
+
+        // A channel may complete a read on the calling thread; the wip counter turns that into a loop.
+        void readNext() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                if (downstream.isDisposed()) {
+                    return;
+                }
+                ByteBuffer buffer = pool.acquire();
+                try {
+                    if (channel instanceof AsynchronousFileChannel) {
+                        ((AsynchronousFileChannel) channel).read(buffer, position, buffer, this);
+                    } else {
+                        ((AsynchronousByteChannel) channel).read(buffer, buffer, this);
+                    }
+                } catch (RuntimeException e) {
+                    pool.release(buffer);
+                    fail(e);
+                    return;
+                }
+            } while (decrementAndGet() != 0);
+        }
+
+        @Override
+        public void completed(Integer read, ByteBuffer buffer) {
+            if (downstream.isDisposed()) {
+                // Disposed while the read was in flight: nobody will release this buffer downstream.
+                pool.release(buffer);
+                close();
+                return;
+            }
+            if (read < 0) {
+                pool.release(buffer);
+                close();
+                downstream.onComplete();
+                return;
+            }
+            position += read;
+            buffer.flip();
+            downstream.onNext(buffer);
+            readNext();
+        }
+
+        @Override
+        public void failed(Throwable t, ByteBuffer buffer) {
+            pool.release(buffer);
+            fail(t);
+        }
+
+        void fail(Throwable t) {
+            if (downstream.isDisposed()) {
+                // AsynchronousCloseException of a read cancelled by dispose().
+                return;
+            }
+            close();
+            downstream.onError(t);
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // Nothing left to read from it either way.
+            }
+        }
+    }
+}
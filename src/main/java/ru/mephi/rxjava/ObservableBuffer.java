@@ -0,0 +1,178 @@
+package ru.mephi.rxjava;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+final class ObservableBuffer<T> implements ObservableOnSubscribe<List<T>> {
+
+    private final Observable<T> upstream;
+    private final long timespan;
+    private final TimeUnit unit;
+    private final int count;
+    private final Scheduler scheduler;
+
+    ObservableBuffer(Observable<T> upstream, long timespan, TimeUnit unit, int count, Scheduler scheduler) {
+        this.upstream = upstream;
+        this.timespan = timespan;
+        this.unit = unit;
+        this.count = count;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<List<T>> emitter) {
+        CompositeDisposable resources = new CompositeDisposable();
+        emitter.setDisposable(resources);
+        if (scheduler == null) {
+            upstream.subscribe(new ExactObserver<>(emitter, count), resources);
+        } else {
+            TimedObserver<T> timedObserver = new TimedObserver<>(emitter, count, scheduler, timespan, unit);
+            resources.add(timedObserver.start());
+            upstream.subscribe(timedObserver, resources);
+        }
+    }
+
+    static final class ExactObserver<T> implements Observer<T> {
+
+        private final Observer<List<T>> downstream;
+        private final int count;
+        private List<T> buffer;
+
+        ExactObserver(Observer<List<T>> downstream, int count) {
+            this.downstream = downstream;
+            this.count = count;
+            this.buffer = new ArrayList<>(count);
+        }
+
+        @Override
+        public void onNext(T item) {
+            List<T> current = buffer;
+            if (current == null) {
+                return;
+            }
+            current.add(item);
+            if (current.size() == count) {
+                buffer = new ArrayList<>(count);
+                downstream.onNext(current);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (buffer == null) {
+                return;
+            }
+            buffer = null;
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            List<T> current = buffer;
+            if (current == null) {
+                return;
+            }
+            buffer = null;
+            if (!current.isEmpty()) {
+                downstream.onNext(current);
+            }
+            downstream.onComplete();
+        }
+    }
+
+    // A buffer filled to count is emitted at once and the timespan starts over from there, as in
+    // RxJava's buffer(time, count): the next timed buffer covers a full timespan, not what was left of
+    // the old one. Each timer carries its window number, so a tick from a replaced timer that is
+    // already running finds the number moved on and does nothing.
+    static final class TimedObserver<T> implements Observer<T> {
+
+        private final Observer<List<T>> downstream;
+        private final int count;
+        private final Scheduler scheduler;
+        private final long timespan;
+        private final TimeUnit unit;
+        private final SerialDisposable timer = new SerialDisposable();
+        private List<T> buffer;
+        private long window;
+        private boolean done;
+
+        TimedObserver(Observer<List<T>> downstream, int count, Scheduler scheduler, long timespan, TimeUnit unit) {
+            this.downstream = downstream;
+            this.count = count;
+            this.scheduler = scheduler;
+            this.timespan = timespan;
+            this.unit = unit;
+            this.buffer = new ArrayList<>();
+        }
+
+        synchronized Disposable start() {
+            startTimer();
+            return timer;
+        }
+
+        private void startTimer() {
+            long current = window;
+            timer.setDisposable(scheduler.schedulePeriodically(() -> onTimer(current), timespan, timespan, unit));
+        }
+
+        private synchronized void onTimer(long timerWindow) {
+            // An empty buffer stays in place, so quiet periods allocate nothing.
+            if (done || timerWindow != window || buffer.isEmpty()) {
+                return;
+            }
+            emit();
+        }
+
+        private void emit() {
+            List<T> current = buffer;
+            buffer = new ArrayList<>(Math.min(current.size(), count));
+            downstream.onNext(current);
+        }
+
+        @Override
+        public synchronized void onNext(T item) {
+            if (done) {
+                return;
+            }
+            buffer.add(item);
+            if (buffer.size() >= count) {
+                window++;
+                emit();
+                if (!done) {
+                    startTimer();
+                }
+            }
+        }
+
+        @Override
+        public synchronized void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            buffer = null;
+            cancelTimer();
+            downstream.onError(t);
+        }
+
+        @Override
+        public synchronized void onComplete() {
+            if (done) {
+                return;
+            }
+            List<T> current = buffer;
+            done = true;
+            buffer = null;
+            cancelTimer();
+            if (!current.isEmpty()) {
+                downstream.onNext(current);
+            }
+            downstream.onComplete();
+        }
+
+        private void cancelTimer() {
+            timer.dispose();
+        }
+    }
+}
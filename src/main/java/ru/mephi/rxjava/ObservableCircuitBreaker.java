@@ -0,0 +1,72 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Asks the breaker before subscribing; the first item or the completion counts as a success, an error as a failure.
+final class ObservableCircuitBreaker<T> implements ObservableOnSubscribe<T> {
+
+    private final Observable<T> upstream;
+    private final CircuitBreaker breaker;
+
+    ObservableCircuitBreaker(Observable<T> upstream, CircuitBreaker breaker) {
+        this.upstream = upstream;
+        this.breaker = breaker;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<T> emitter) {
+        CircuitBreaker.Permit permit = breaker.tryAcquire();
+        if (permit == CircuitBreaker.Permit.REJECTED) {
+            emitter.onError(new CircuitBreakerOpenException("The circuit breaker is open"));
+            return;
+        }
+        CompositeDisposable resources = new CompositeDisposable();
+        emitter.setDisposable(resources);
+        BreakerObserver<T> observer = new BreakerObserver<>(emitter, breaker, permit);
+        resources.add(new CancellableDisposable(observer::cancel));
+        upstream.subscribe(observer, resources);
+    }
+
+    static final class BreakerObserver<T> extends AtomicBoolean implements Observer<T> {
+
+        private final Observer<T> downstream;
+        private final CircuitBreaker breaker;
+        private final CircuitBreaker.Permit permit;
+
+        BreakerObserver(Observer<T> downstream, CircuitBreaker breaker, CircuitBreaker.Permit permit) {
+            this.downstream = downstream;
+            this.breaker = breaker;
+            this.permit = permit;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (!get() && compareAndSet(false, true)) {
+                breaker.onSuccess(permit);
+            }
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (compareAndSet(false, true)) {
+                breaker.onFailure(permit);
+            }
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (compareAndSet(false, true)) {
+                breaker.onSuccess(permit);
+            }
+            downstream.onComplete();
+        }
+
+        void cancel() {
+            if (compareAndSet(false, true)) {
+                breaker.onCancel(permit);
+            }
+        }
+    }
+}
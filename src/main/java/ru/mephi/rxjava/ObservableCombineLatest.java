@@ -0,0 +1,210 @@
+package ru.mephi.rxjava;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Each source queues its items in its own SPSC queue; the drain applies them to the array of
+// latest values one at a time, taking turns between the sources, and emits a combination after
+// each update once every source has produced something.
+final class ObservableCombineLatest<R> implements ObservableOnSubscribe<R> {
+
+    private final Observable<?>[] sources;
+    private final Function<Object[], R> combiner;
+    private final int prefetch;
+
+    ObservableCombineLatest(Observable<?>[] sources, Function<Object[], R> combiner, int prefetch) {
+        this.sources = sources;
+        this.combiner = combiner;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void subscribe(ObservableEmitter<R> emitter) {
+        int n = sources.length;
+        if (n == 0) {
+            emitter.onComplete();
+            return;
+        }
+        CompositeDisposable resources = new CompositeDisposable();
+        emitter.setDisposable(resources);
+        LatestCoordinator<R> coordinator = new LatestCoordinator<>(emitter, resources, combiner, n, prefetch);
+        for (int i = 0; i < n; i++) {
+            if (coordinator.cancelled) {
+                return;
+            }
+            ((Observable<Object>) sources[i]).subscribe(coordinator.inners[i], resources);
+        }
+    }
+
+    static final class LatestCoordinator<R> extends AtomicInteger {
+
+        private final ObservableEmitter<R> downstream;
+        private final CompositeDisposable resources;
+        private final Function<Object[], R> combiner;
+        final LatestInner[] inners;
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        // Only the drain touches these.
+        private final Object[] latest;
+        private int filled;
+        private int nextIndex;
+        volatile boolean cancelled;
+
+        LatestCoordinator(ObservableEmitter<R> downstream, CompositeDisposable resources,
+                          Function<Object[], R> combiner, int n, int prefetch) {
+            this.downstream = downstream;
+            this.resources = resources;
+            this.combiner = combiner;
+            this.latest = new Object[n];
+            this.inners = new LatestInner[n];
+            for (int i = 0; i < n; i++) {
+                inners[i] = new LatestInner(this, prefetch);
+            }
+        }
+
+        void innerError(Throwable t) {
+            error.compareAndSet(null, t);
+            drain();
+        }
+
+        void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            int n = latest.length;
+
+            for (;;) {
+                for (;;) {
+                    if (checkTerminated()) {
+                        return;
+                    }
+
+                    boolean progress = false;
+                    int finished = 0;
+                    for (int j = 0; j < n; j++) {
+                        int i = nextIndex;
+                        if (++nextIndex == n) {
+                            nextIndex = 0;
+                        }
+                        LatestInner inner = inners[i];
+                        boolean innerDone = inner.done;
+                        Object item = inner.queue.poll();
+                        if (item == null) {
+                            if (innerDone) {
+                                if (latest[i] == null) {
+                                    // A source that ended without an item leaves nothing to combine.
+                                    cancel();
+                                    downstream.onComplete();
+                                    return;
+                                }
+                                finished++;
+                            }
+                            continue;
+                        }
+                        progress = true;
+                        if (latest[i] == null) {
+                            filled++;
+                        }
+                        latest[i] = item;
+                        if (filled == n && !emit()) {
+                            return;
+                        }
+                    }
+
+                    if (finished == n) {
+                        cancel();
+                        downstream.onComplete();
+                        return;
+                    }
+                    if (!progress) {
+                        break;
+                    }
+                }
+
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        private boolean emit() {
+            R result;
+            try {
+                result = combiner.apply(latest.clone());
+            } catch (Exception e) {
+                cancel();
+                downstream.onError(e);
+                return false;
+            }
+            downstream.onNext(result);
+            return !checkTerminated();
+        }
+
+        private boolean checkTerminated() {
+            if (cancelled) {
+                return true;
+            }
+            if (downstream.isDisposed()) {
+                cancel();
+                return true;
+            }
+            Throwable t = error.get();
+            if (t != null) {
+                cancel();
+                downstream.onError(t);
+                return true;
+            }
+            return false;
+        }
+
+        private void cancel() {
+            cancelled = true;
+            resources.dispose();
+            Arrays.fill(latest, null);
+            for (LatestInner inner : inners) {
+                inner.queue.clear();
+            }
+        }
+    }
+
+    static final class LatestInner implements Observer<Object> {
+
+        private final LatestCoordinator<?> parent;
+        final SpscLinkedArrayQueue<Object> queue;
+        volatile boolean done;
+
+        LatestInner(LatestCoordinator<?> parent, int prefetch) {
+            this.parent = parent;
+            this.queue = new SpscLinkedArrayQueue<>(prefetch);
+        }
+
+        @Override
+        public void onNext(Object item) {
+            if (!done) {
+                queue.offer(item);
+                parent.drain();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            parent.innerError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            parent.drain();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package ru.mephi.rxjava;
+
+// Counts in a primitive field and boxes once, on completion.
+final class ObservableCount<T> implements OneShotSource<Long> {
+
+    private final Observable<T> upstream;
+
+    ObservableCount(Observable<T> upstream) {
+        this.upstream = upstream;
+    }
+
+    @Override
+    public void subscribe(MaybeObserver<Long> observer, SerialDisposable parent) {
+        CompositeDisposable resources = new CompositeDisposable();
+        parent.setDisposable(resources);
+        upstream.subscribe(new CountObserver<>(observer), resources);
+    }
+
+    static final class CountObserver<T> implements Observer<T> {
+
+        private final MaybeObserver<Long> downstream;
+        private long count;
+
+        CountObserver(MaybeObserver<Long> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onNext(T item) {
+            count++;
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onSuccess(count);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.TimeUnit;
+
+final class ObservableDebounce<T> implements ObservableOnSubscribe<T> {
+
+    private final Observable<T> upstream;
+    private final long timeout;
+    private final TimeUnit unit;
+    private final Scheduler scheduler;
+
+    ObservableDebounce(Observable<T> upstream, long timeout, TimeUnit unit, Scheduler scheduler) {
+        this.upstream = upstream;
+        this.timeout = timeout;
+        this.unit = unit;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<T> emitter) {
+        CompositeDisposable resources = new CompositeDisposable();
+        emitter.setDisposable(resources);
+        DebounceObserver<T> debounceObserver = new DebounceObserver<>(emitter, unit.toNanos(timeout), scheduler);
+        resources.add(debounceObserver.worker);
+        upstream.subscribe(debounceObserver, resources);
+    }
+
+    static final class DebounceObserver<T> implements Observer<T> {
+
+        private final Observer<T> downstream;
+        private final long timeoutNanos;
+        private final Scheduler scheduler;
+        final Scheduler.Worker worker;
+        private T pending;
+        private long lastItemTime;
+        private boolean timerArmed;
+        private boolean done;
+
+        DebounceObserver(Observer<T> downstream, long timeoutNanos, Scheduler scheduler) {
+            this.downstream = downstream;
+            this.timeoutNanos = timeoutNanos;
+            this.scheduler = scheduler;
+            this.worker = scheduler.createWorker();
+        }
+
+        @Override
+        public synchronized void onNext(T item) {
+            if (done) {
+                return;
+            }
+            if (pending != null) {
+                RxPlugins.onDropped("debounce");
+            }
+            pending = item;
+            lastItemTime = scheduler.now(TimeUnit.NANOSECONDS);
+            // One armed timer per quiet period instead of a new timer per item: when it fires
+            // early it re-arms itself for the time that is still left.
+            if (!timerArmed) {
+                timerArmed = true;
+                worker.schedule(this::onTimer, timeoutNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private synchronized void onTimer() {
+            if (done) {
+                return;
+            }
+            long remaining = timeoutNanos - (scheduler.now(TimeUnit.NANOSECONDS) - lastItemTime);
+            if (remaining > 0L) {
+                worker.schedule(this::onTimer, remaining, TimeUnit.NANOSECONDS);
+                return;
+            }
+            timerArmed = false;
+            T item = pending;
+            pending = null;
+            if (item != null) {
+                downstream.onNext(item);
+            }
+        }
+
+        @Override
+        public synchronized void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            pending = null;
+            worker.dispose();
+            downstream.onError(t);
+        }
+
+        @Override
+        public synchronized void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            worker.dispose();
+            T item = pending;
+            pending = null;
+            if (item != null) {
+                downstream.onNext(item);
+            }
+            downstream.onComplete();
+        }
+    }
+}
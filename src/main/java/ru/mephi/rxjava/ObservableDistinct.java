@@ -0,0 +1,84 @@
+package ru.mephi.rxjava;
+
+import java.util.function.Supplier;
+
+// Passes an item only if its key is new to the subscription's key set.
+final class ObservableDistinct<T, K> implements ObservableOnSubscribe<T> {
+
+    private final Observable<T> upstream;
+    private final Function<T, K> keySelector;
+    private final Supplier<? extends DistinctKeySet<K>> keySetSupplier;
+
+    ObservableDistinct(Observable<T> upstream, Function<T, K> keySelector,
+                       Supplier<? extends DistinctKeySet<K>> keySetSupplier) {
+        this.upstream = upstream;
+        this.keySelector = keySelector;
+        this.keySetSupplier = keySetSupplier;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<T> emitter) {
+        DistinctKeySet<K> keys = keySetSupplier.get();
+        if (keys == null) {
+            throw new NullPointerException("The key set supplier returned null");
+        }
+        CompositeDisposable resources = new CompositeDisposable();
+        emitter.setDisposable(resources);
+        upstream.subscribe(new DistinctObserver<>(emitter, resources, keySelector, keys), resources);
+    }
+
+    static final class DistinctObserver<T, K> implements Observer<T> {
+
+        private final Observer<T> downstream;
+        private final CompositeDisposable resources;
+        private final Function<T, K> keySelector;
+        private final DistinctKeySet<K> keys;
+        private boolean done;
+
+        DistinctObserver(Observer<T> downstream, CompositeDisposable resources, Function<T, K> keySelector,
+                         DistinctKeySet<K> keys) {
+            this.downstream = downstream;
+            this.resources = resources;
+            this.keySelector = keySelector;
+            this.keys = keys;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            boolean added;
+            try {
+                added = keys.add(keySelector.apply(item));
+            } catch (Exception e) {
+                resources.dispose();
+                onError(e);
+                return;
+            }
+            if (added) {
+                downstream.onNext(item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            keys.clear();
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            keys.clear();
+            downstream.onComplete();
+        }
+    }
+}
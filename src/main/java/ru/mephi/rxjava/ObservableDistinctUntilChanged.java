@@ -0,0 +1,80 @@
+package ru.mephi.rxjava;
+
+import java.util.Objects;
+
+// Drops an item whose key equals the key of the previous item; only that one key is kept.
+final class ObservableDistinctUntilChanged<T, K> implements ObservableOnSubscribe<T> {
+
+    private final Observable<T> upstream;
+    private final Function<T, K> keySelector;
+
+    ObservableDistinctUntilChanged(Observable<T> upstream, Function<T, K> keySelector) {
+        this.upstream = upstream;
+        this.keySelector = keySelector;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<T> emitter) {
+        CompositeDisposable resources = new CompositeDisposable();
+        emitter.setDisposable(resources);
+        upstream.subscribe(new DistinctUntilChangedObserver<>(emitter, resources, keySelector), resources);
+    }
+
+    static final class DistinctUntilChangedObserver<T, K> implements Observer<T> {
+
+        private final Observer<T> downstream;
+        private final CompositeDisposable resources;
+        private final Function<T, K> keySelector;
+        private K last;
+        private boolean hasLast;
+        private boolean done;
+
+        DistinctUntilChangedObserver(Observer<T> downstream, CompositeDisposable resources, Function<T, K> keySelector) {
+            this.downstream = downstream;
+            this.resources = resources;
+            this.keySelector = keySelector;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            K key;
+            try {
+                key = keySelector.apply(item);
+            } catch (Exception e) {
+                resources.dispose();
+                onError(e);
+                return;
+            }
+            if (hasLast && Objects.equals(last, key)) {
+                last = key;
+                return;
+            }
+            hasLast = true;
+            last = key;
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            last = null;
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            last = null;
+            downstream.onComplete();
+        }
+    }
+}
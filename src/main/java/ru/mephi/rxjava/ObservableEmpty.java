@@ -0,0 +1,15 @@
+package ru.mephi.rxjava;
+
+// Stateless, so one instance serves every empty().
+final class ObservableEmpty implements ObservableOnSubscribe<Object> {
+
+    static final ObservableEmpty INSTANCE = new ObservableEmpty();
+
+    private ObservableEmpty() {
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<Object> emitter) {
+        emitter.onComplete();
+    }
+}
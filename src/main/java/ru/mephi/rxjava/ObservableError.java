@@ -0,0 +1,15 @@
+package ru.mephi.rxjava;
+
+final class ObservableError<T> implements ObservableOnSubscribe<T> {
+
+    private final Throwable error;
+
+    ObservableError(Throwable error) {
+        this.error = error;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<T> emitter) {
+        emitter.onError(error);
+    }
+}
@@ -0,0 +1,351 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+final class ObservableFlatMap<T, R> implements ObservableOnSubscribe<R> {
+
+    private final Observable<T> upstream;
+    private final Function<T, Observable<R>> mapper;
+    private final int maxConcurrency;
+    private final int prefetch;
+
+    ObservableFlatMap(Observable<T> upstream, Function<T, Observable<R>> mapper, int maxConcurrency, int prefetch) {
+        this.upstream = upstream;
+        this.mapper = mapper;
+        this.maxConcurrency = maxConcurrency;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<R> emitter) {
+        CompositeDisposable resources = new CompositeDisposable();
+        emitter.setDisposable(resources);
+        upstream.subscribe(new MergeObserver<>(emitter, resources, mapper, maxConcurrency, prefetch), resources);
+    }
+
+    static final class MergeObserver<T, R> extends AtomicInteger implements Observer<T> {
+
+        private static final InnerObserver<?>[] EMPTY = new InnerObserver<?>[0];
+        private static final InnerObserver<?>[] TERMINATED = new InnerObserver<?>[0];
+
+        private final ObservableEmitter<R> downstream;
+        private final CompositeDisposable resources;
+        private final Function<T, Observable<R>> mapper;
+        private final int maxConcurrency;
+        private final int prefetch;
+        private final AtomicReference<InnerObserver<?>[]> inners = new AtomicReference<>(EMPTY);
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        // Inner sources waiting for a free slot; only used when maxConcurrency is bounded.
+        private final ConcurrentLinkedQueue<Observable<R>> pending;
+        // Inners that took a slot and have not been removed by the drain yet.
+        private final AtomicInteger active = new AtomicInteger();
+
+        private volatile boolean done;
+        private boolean terminated;
+        private int lastIndex;
+
+        MergeObserver(ObservableEmitter<R> downstream, CompositeDisposable resources,
+                      Function<T, Observable<R>> mapper, int maxConcurrency, int prefetch) {
+            this.downstream = downstream;
+            this.resources = resources;
+            this.mapper = mapper;
+            this.maxConcurrency = maxConcurrency;
+            this.prefetch = prefetch;
+            this.pending = maxConcurrency == Integer.MAX_VALUE ? null : new ConcurrentLinkedQueue<>();
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            Observable<R> inner;
+            try {
+                inner = mapper.apply(item);
+            } catch (Exception e) {
+                onError(e);
+                return;
+            }
+
+            if (pending == null) {
+                active.getAndIncrement();
+                subscribeInner(inner);
+            } else {
+                pending.offer(inner);
+                subscribePending();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            error.compareAndSet(null, t);
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        // Lock-free admission: a slot is claimed by CAS before polling, and given back if another
+        // thread took the source first. Offer-then-check here and release-then-check on completion
+        // guarantee that a waiting source is never stranded.
+        private void subscribePending() {
+            for (;;) {
+                int current = active.get();
+                if (current >= maxConcurrency || pending.isEmpty()) {
+                    return;
+                }
+                if (active.compareAndSet(current, current + 1)) {
+                    Observable<R> inner = pending.poll();
+                    if (inner == null) {
+                        active.decrementAndGet();
+                    } else {
+                        subscribeInner(inner);
+                    }
+                }
+            }
+        }
+
+        private void subscribeInner(Observable<R> source) {
+            InnerObserver<R> inner = new InnerObserver<>(this, prefetch);
+            if (add(inner) && resources.add(inner.upstream)) {
+                source.subscribe(inner, inner.upstream);
+            }
+        }
+
+        // Emits straight to the downstream when nobody is draining; otherwise queues and lets the
+        // current drainer pick the item up, so the downstream is never called concurrently.
+        void tryEmit(InnerObserver<R> inner, R item) {
+            if (get() == 0 && compareAndSet(0, 1)) {
+                if (!terminated) {
+                    downstream.onNext(item);
+                }
+                if (decrementAndGet() == 0) {
+                    return;
+                }
+            } else {
+                inner.queue().offer(item);
+                if (getAndIncrement() != 0) {
+                    return;
+                }
+            }
+            drainLoop();
+        }
+
+        void innerError(Throwable t) {
+            error.compareAndSet(null, t);
+            drain();
+        }
+
+        private boolean add(InnerObserver<R> inner) {
+            for (;;) {
+                InnerObserver<?>[] current = inners.get();
+                if (current == TERMINATED) {
+                    return false;
+                }
+                InnerObserver<?>[] next = new InnerObserver<?>[current.length + 1];
+                System.arraycopy(current, 0, next, 0, current.length);
+                next[current.length] = inner;
+                if (inners.compareAndSet(current, next)) {
+                    return true;
+                }
+            }
+        }
+
+        private void remove(InnerObserver<?> inner) {
+            for (;;) {
+                InnerObserver<?>[] current = inners.get();
+                int index = -1;
+                for (int i = 0; i < current.length; i++) {
+                    if (current[i] == inner) {
+                        index = i;
+                        break;
+                    }
+                }
+                if (index < 0) {
+                    return;
+                }
+                InnerObserver<?>[] next;
+                if (current.length == 1) {
+                    next = EMPTY;
+                } else {
+                    next = new InnerObserver<?>[current.length - 1];
+                    System.arraycopy(current, 0, next, 0, index);
+                    System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+                }
+                if (inners.compareAndSet(current, next)) {
+                    resources.delete(inner.upstream);
+                    return;
+                }
+            }
+        }
+
+        void drain() {
+            if (getAndIncrement() == 0) {
+                drainLoop();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void drainLoop() {
+            int missed = 1;
+
+            for (;;) {
+                if (checkTerminated()) {
+                    return;
+                }
+
+                boolean isDone = done;
+                InnerObserver<?>[] current = inners.get();
+                int n = current.length;
+
+                if (isDone && active.get() == 0 && (pending == null || pending.isEmpty())) {
+                    terminated = true;
+                    downstream.onComplete();
+                    return;
+                }
+
+                int finished = 0;
+                // An inner still holding items after its share of the pass needs another pass.
+                boolean again = false;
+
+                if (n != 0) {
+                    int index = lastIndex < n ? lastIndex : 0;
+
+                    for (int i = 0; i < n; i++) {
+                        InnerObserver<R> inner = (InnerObserver<R>) current[index];
+                        boolean innerDone = inner.done;
+                        SpscLinkedArrayQueue<R> queue = inner.queue;
+
+                        // At most one prefetch worth of items per inner and pass keeps a chatty inner
+                        // from starving the others.
+                        if (queue != null) {
+                            for (int j = 0; j < prefetch; j++) {
+                                if (checkTerminated()) {
+                                    return;
+                                }
+                                R item = queue.poll();
+                                if (item == null) {
+                                    break;
+                                }
+                                downstream.onNext(item);
+                            }
+                        }
+
+                        boolean empty = queue == null || queue.isEmpty();
+                        if (innerDone && empty) {
+                            remove(inner);
+                            active.decrementAndGet();
+                            finished++;
+                        } else if (!empty) {
+                            again = true;
+                        }
+
+                        if (++index == n) {
+                            index = 0;
+                        }
+                    }
+                    lastIndex = index;
+                }
+
+                if (finished != 0 || again) {
+                    if (finished != 0 && pending != null) {
+                        subscribePending();
+                    }
+                    continue;
+                }
+
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        private boolean checkTerminated() {
+            if (terminated) {
+                return true;
+            }
+            if (downstream.isDisposed()) {
+                terminate();
+                return true;
+            }
+            Throwable t = error.get();
+            if (t != null) {
+                terminate();
+                downstream.onError(t);
+                return true;
+            }
+            return false;
+        }
+
+        private void terminate() {
+            terminated = true;
+            resources.dispose();
+            inners.getAndSet(TERMINATED);
+            if (pending != null) {
+                pending.clear();
+            }
+        }
+    }
+
+    static final class InnerObserver<R> implements Observer<R> {
+
+        private final MergeObserver<?, R> parent;
+        private final int prefetch;
+        final CompositeDisposable upstream = new CompositeDisposable();
+        // Created on the first item that could not be emitted directly.
+        volatile SpscLinkedArrayQueue<R> queue;
+        volatile boolean done;
+
+        InnerObserver(MergeObserver<?, R> parent, int prefetch) {
+            this.parent = parent;
+            this.prefetch = prefetch;
+        }
+
+        SpscLinkedArrayQueue<R> queue() {
+            SpscLinkedArrayQueue<R> q = queue;
+            if (q == null) {
+                q = new SpscLinkedArrayQueue<>(prefetch);
+                queue = q;
+            }
+            return q;
+        }
+
+        @Override
+        public void onNext(R item) {
+            if (!done) {
+                parent.tryEmit(this, item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            parent.innerError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            parent.drain();
+        }
+    }
+}
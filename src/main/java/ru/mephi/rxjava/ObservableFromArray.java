@@ -0,0 +1,24 @@
+package ru.mephi.rxjava;
+
+final class ObservableFromArray<T> implements ObservableOnSubscribe<T> {
+
+    private final T[] items;
+
+    ObservableFromArray(T[] items) {
+        this.items = items;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<T> emitter) {
+        T[] a = items;
+        for (int i = 0; i < a.length && !emitter.isDisposed(); i++) {
+            T item = a[i];
+            if (item == null) {
+                emitter.onError(new NullPointerException("The element at index " + i + " is null"));
+                return;
+            }
+            emitter.onNext(item);
+        }
+        emitter.onComplete();
+    }
+}
@@ -0,0 +1,25 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.Callable;
+
+// Calls the callable once per subscription; its exception becomes onError.
+final class ObservableFromCallable<T> implements ObservableOnSubscribe<T> {
+
+    private final Callable<? extends T> callable;
+
+    ObservableFromCallable(Callable<? extends T> callable) {
+        this.callable = callable;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<T> emitter) throws Exception {
+        T value = callable.call();
+        if (value == null) {
+            throw new NullPointerException("The callable returned null");
+        }
+        if (!emitter.isDisposed()) {
+            emitter.onNext(value);
+            emitter.onComplete();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package ru.mephi.rxjava;
+
+import java.util.Iterator;
+
+// A new iterator per subscription; errors of the iterable itself end the stream with onError.
+final class ObservableFromIterable<T> implements ObservableOnSubscribe<T> {
+
+    private final Iterable<? extends T> iterable;
+
+    ObservableFromIterable(Iterable<? extends T> iterable) {
+        this.iterable = iterable;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<T> emitter) {
+        Iterator<? extends T> it = iterable.iterator();
+        while (!emitter.isDisposed() && it.hasNext()) {
+            T item = it.next();
+            if (item == null) {
+                emitter.onError(new NullPointerException("The iterator returned a null element"));
+                return;
+            }
+            emitter.onNext(item);
+        }
+        emitter.onComplete();
+    }
+}
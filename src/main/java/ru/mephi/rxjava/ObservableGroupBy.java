@@ -0,0 +1,237 @@
+package ru.mephi.rxjava;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Routes each item to the group of its key. The groups live in a LinkedHashMap in access order, so
+// the least recently active group is the eldest entry: it is completed to make room once maxGroups
+// groups are open, and the idle sweep stops at the first group that is still active. A completed
+// group is opened again by the next item with its key. Every group queues its items in its own SPSC
+// queue and drains it to its observer, so a slow group does not hold up the upstream.
+final class ObservableGroupBy<T, K> implements ObservableOnSubscribe<GroupedObservable<K, T>> {
+
+    private final Observable<T> upstream;
+    private final Function<T, K> keySelector;
+    private final int maxGroups;
+    private final long idleNanos;
+    private final Scheduler scheduler;
+    private final int prefetch;
+
+    ObservableGroupBy(Observable<T> upstream, Function<T, K> keySelector, int maxGroups, long idleNanos,
+                      Scheduler scheduler, int prefetch) {
+        this.upstream = upstream;
+        this.keySelector = keySelector;
+        this.maxGroups = maxGroups;
+        this.idleNanos = idleNanos;
+        this.scheduler = scheduler;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<GroupedObservable<K, T>> emitter) {
+        CompositeDisposable resources = new CompositeDisposable();
+        emitter.setDisposable(resources);
+        GroupByObserver<T, K> parent = new GroupByObserver<>(emitter, resources, keySelector, maxGroups,
+                idleNanos, scheduler, prefetch);
+        if (idleNanos > 0L) {
+            resources.add(scheduler.schedulePeriodically(parent::evictIdle, idleNanos, idleNanos, TimeUnit.NANOSECONDS));
+        }
+        upstream.subscribe(parent, resources);
+    }
+
+    static final class GroupByObserver<T, K> implements Observer<T> {
+
+        private final Observer<GroupedObservable<K, T>> downstream;
+        private final CompositeDisposable resources;
+        private final Function<T, K> keySelector;
+        private final int maxGroups;
+        private final long idleNanos;
+        private final Scheduler scheduler;
+        private final int prefetch;
+        private final Map<K, Group<K, T>> groups = new LinkedHashMap<>(16, 0.75f, true);
+        private boolean done;
+
+        GroupByObserver(Observer<GroupedObservable<K, T>> downstream, CompositeDisposable resources,
+                        Function<T, K> keySelector, int maxGroups, long idleNanos, Scheduler scheduler, int prefetch) {
+            this.downstream = downstream;
+            this.resources = resources;
+            this.keySelector = keySelector;
+            this.maxGroups = maxGroups;
+            this.idleNanos = idleNanos;
+            this.scheduler = scheduler;
+            this.prefetch = prefetch;
+        }
+
+        @Override
+        public synchronized void onNext(T item) {
+            if (done) {
+                return;
+            }
+            K key;
+            try {
+                key = keySelector.apply(item);
+            } catch (Exception e) {
+                resources.dispose();
+                onError(e);
+                return;
+            }
+            Group<K, T> group = groups.get(key);
+            if (group == null) {
+                if (groups.size() >= maxGroups) {
+                    Iterator<Group<K, T>> eldest = groups.values().iterator();
+                    Group<K, T> evicted = eldest.next();
+                    eldest.remove();
+                    evicted.onComplete();
+                }
+                group = new Group<>(this, key, prefetch);
+                groups.put(key, group);
+                downstream.onNext(new GroupedObservable<>(key, group));
+            }
+            if (idleNanos > 0L) {
+                group.lastSeen = scheduler.now(TimeUnit.NANOSECONDS);
+            }
+            group.onNext(item);
+        }
+
+        @Override
+        public synchronized void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            for (Group<K, T> group : closeGroups()) {
+                group.onError(t);
+            }
+            downstream.onError(t);
+        }
+
+        @Override
+        public synchronized void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            for (Group<K, T> group : closeGroups()) {
+                group.onComplete();
+            }
+            downstream.onComplete();
+        }
+
+        synchronized void evictIdle() {
+            if (done) {
+                return;
+            }
+            long limit = scheduler.now(TimeUnit.NANOSECONDS) - idleNanos;
+            Iterator<Group<K, T>> it = groups.values().iterator();
+            while (it.hasNext()) {
+                Group<K, T> group = it.next();
+                if (group.lastSeen > limit) {
+                    return;
+                }
+                it.remove();
+                group.onComplete();
+            }
+        }
+
+        // Called when a group's observer disposes: the next item with its key opens a new group.
+        synchronized void remove(Group<K, T> group) {
+            groups.remove(group.key, group);
+        }
+
+        private List<Group<K, T>> closeGroups() {
+            List<Group<K, T>> open = new ArrayList<>(groups.values());
+            groups.clear();
+            return open;
+        }
+    }
+
+    static final class Group<K, T> extends AtomicInteger implements ObservableOnSubscribe<T> {
+
+        private final GroupByObserver<T, K> parent;
+        final K key;
+        private final SpscLinkedArrayQueue<T> queue;
+        private final AtomicBoolean subscribed = new AtomicBoolean();
+        private volatile ObservableEmitter<T> observer;
+        private volatile boolean done;
+        private Throwable error;
+        // Guarded by the parent's monitor.
+        long lastSeen;
+
+        Group(GroupByObserver<T, K> parent, K key, int prefetch) {
+            this.parent = parent;
+            this.key = key;
+            this.queue = new SpscLinkedArrayQueue<>(prefetch);
+        }
+
+        @Override
+        public void subscribe(ObservableEmitter<T> emitter) {
+            if (!subscribed.compareAndSet(false, true)) {
+                emitter.onError(new IllegalStateException("A group allows only one observer"));
+                return;
+            }
+            emitter.setCancellable(() -> parent.remove(this));
+            observer = emitter;
+            drain();
+        }
+
+        // The parent calls onNext, onError and onComplete under its monitor, so the queue has one producer at a time.
+        void onNext(T item) {
+            queue.offer(item);
+            drain();
+        }
+
+        void onError(Throwable t) {
+            error = t;
+            done = true;
+            drain();
+        }
+
+        void onComplete() {
+            done = true;
+            drain();
+        }
+
+        private void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                ObservableEmitter<T> a = observer;
+                if (a != null) {
+                    for (;;) {
+                        if (a.isDisposed()) {
+                            queue.clear();
+                            return;
+                        }
+                        boolean isDone = done;
+                        T item = queue.poll();
+                        if (item == null) {
+                            if (isDone) {
+                                Throwable t = error;
+                                if (t != null) {
+                                    a.onError(t);
+                                } else {
+                                    a.onComplete();
+                                }
+                                return;
+                            }
+                            break;
+                        }
+                        a.onNext(item);
+                    }
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+    }
+}
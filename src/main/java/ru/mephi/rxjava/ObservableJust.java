@@ -0,0 +1,19 @@
+package ru.mephi.rxjava;
+
+// A single constant. Observable recognizes it: subscribe() delivers the value without an emitter,
+// map/filter fold into an ObservableScalarMapFilter and flatMap calls its mapper once at subscription
+// instead of setting up a merge.
+final class ObservableJust<T> implements ObservableOnSubscribe<T> {
+
+    final T value;
+
+    ObservableJust(T value) {
+        this.value = value;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<T> emitter) {
+        emitter.onNext(value);
+        emitter.onComplete();
+    }
+}
@@ -0,0 +1,101 @@
+package ru.mephi.rxjava;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class ObservableMapFilter<T, R> implements FuseableOnSubscribe<R> {
+
+    private final Observable<T> upstream;
+    private final FusedStages stages;
+
+    ObservableMapFilter(Observable<T> upstream, FusedStages stages) {
+        this.upstream = upstream;
+        this.stages = stages;
+    }
+
+    @Override
+    public <V> ObservableOnSubscribe<V> withMap(Function<R, V> mapper) {
+        return new ObservableMapFilter<>(upstream, stages.withMap(mapper));
+    }
+
+    @Override
+    public ObservableOnSubscribe<R> withFilter(Predicate<R> predicate) {
+        return new ObservableMapFilter<>(upstream, stages.withFilter(predicate));
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<R> emitter) {
+        CompositeDisposable resources = new CompositeDisposable();
+        emitter.setDisposable(resources);
+        upstream.subscribe(new MapFilterObserver<>(emitter, stages), resources);
+    }
+
+    static final class MapFilterObserver<T, R> implements Observer<T> {
+
+        private final Observer<R> downstream;
+        private final FusedStages stages;
+        private boolean done;
+
+        MapFilterObserver(Observer<R> downstream, FusedStages stages) {
+            this.downstream = downstream;
+            this.stages = stages;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            Object result;
+            try {
+                result = stages.apply(item);
+            } catch (Exception e) {
+                onError(e);
+                return;
+            }
+            if (result != FusedStages.SKIP) {
+                downstream.onNext((R) result);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onNextBatch(List<T> items) {
+            if (done) {
+                return;
+            }
+            List<Object> results = new ArrayList<>(items.size());
+            Exception error = null;
+            try {
+                stages.applyAll(items, results);
+            } catch (Exception e) {
+                error = e;
+            }
+            if (!results.isEmpty()) {
+                downstream.onNextBatch((List<R>) results);
+            }
+            if (error != null) {
+                onError(error);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            downstream.onComplete();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package ru.mephi.rxjava;
+
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Maps the file region by region and splits it on '\n' bytes, so the charset must encode '\n' as that
+// single byte (UTF-8, ISO-8859-1, US-ASCII...). A line is copied once, into a scratch array reused
+// for the whole file, and decoded from there. A region ends at the last complete line and the next one
+// starts right after it; a line longer than a region doubles the region. Reading stops as soon as the
+// observer disposes.
+final class ObservableMappedLines implements ObservableOnSubscribe<String> {
+
+    private final Path path;
+    private final Charset charset;
+    private final int regionSize;
+
+    ObservableMappedLines(Path path, Charset charset, int regionSize) {
+        byte[] newline = "\n".getBytes(charset);
+        if (newline.length != 1 || newline[0] != '\n') {
+            throw new IllegalArgumentException("The charset must encode '\\n' as a single byte: " + charset);
+        }
+        this.path = path;
+        this.charset = charset;
+        this.regionSize = regionSize;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<String> emitter) throws Exception {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0L;
+            int window = regionSize;
+            byte[] scratch = new byte[256];
+
+            while (position < size) {
+                int length = (int) Math.min(window, size - position);
+                boolean last = position + length == size;
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+
+                int lineStart = 0;
+                for (int i = 0; i < length; i++) {
+                    if (region.get(i) == '\n') {
+                        scratch = emitLine(emitter, region, lineStart, i, scratch);
+                        lineStart = i + 1;
+                        if (emitter.isDisposed()) {
+                            return;
+                        }
+                    }
+                }
+
+                if (last) {
+                    if (lineStart < length) {
+                        emitLine(emitter, region, lineStart, length, scratch);
+                    }
+                    position = size;
+                } else if (lineStart == 0) {
+                    window = (int) Math.min((long) window * 2, Integer.MAX_VALUE - 8);
+                } else {
+                    position += lineStart;
+                }
+            }
+        }
+        emitter.onComplete();
+    }
+
+    private byte[] emitLine(ObservableEmitter<String> emitter, MappedByteBuffer region, int start, int end, byte[] scratch) {
+        if (end > start && region.get(end - 1) == '\r') {
+            end--;
+        }
+        int length = end - start;
+        if (length > scratch.length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        region.get(start, scratch, 0, length);
+        emitter.onNext(new String(scratch, 0, length, charset));
+        return scratch;
+    }
+}
@@ -0,0 +1,44 @@
+package ru.mephi.rxjava;
+
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Emits the file as read-only slices of recordSize bytes over the mapped regions: nothing is copied,
+// and a slice stays valid for as long as the observer keeps it. Regions hold a whole number of records;
+// a shorter tail at the end of the file is emitted as a shorter last record.
+final class ObservableMappedRecords implements ObservableOnSubscribe<ByteBuffer> {
+
+    private final Path path;
+    private final int recordSize;
+    private final int regionSize;
+
+    ObservableMappedRecords(Path path, int recordSize, int regionSize) {
+        if (recordSize <= 0) {
+            throw new IllegalArgumentException("recordSize > 0 required but it was " + recordSize);
+        }
+        this.path = path;
+        this.recordSize = recordSize;
+        this.regionSize = Math.max(recordSize, regionSize / recordSize * recordSize);
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<ByteBuffer> emitter) throws Exception {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0L; position < size; position += regionSize) {
+                int length = (int) Math.min(regionSize, size - position);
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                for (int offset = 0; offset < length; offset += recordSize) {
+                    if (emitter.isDisposed()) {
+                        return;
+                    }
+                    emitter.onNext(region.slice(offset, Math.min(recordSize, length - offset)));
+                }
+            }
+        }
+        emitter.onComplete();
+    }
+}
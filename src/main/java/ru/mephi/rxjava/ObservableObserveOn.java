@@ -0,0 +1,210 @@
+package ru.mephi.rxjava;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class ObservableObserveOn<T, R> implements FuseableOnSubscribe<R> {
+
+    private final Observable<T> upstream;
+    private final Scheduler scheduler;
+    private final int batchSize;
+    private final FusedStages stages;
+
+    ObservableObserveOn(Observable<T> upstream, Scheduler scheduler, int batchSize, FusedStages stages) {
+        this.upstream = upstream;
+        this.scheduler = scheduler;
+        this.batchSize = batchSize;
+        this.stages = stages;
+    }
+
+    // map/filter placed right after observeOn run inside the drain loop instead of as separate observers.
+    @Override
+    public <V> ObservableOnSubscribe<V> withMap(Function<R, V> mapper) {
+        return new ObservableObserveOn<>(upstream, scheduler, batchSize, stages.withMap(mapper));
+    }
+
+    @Override
+    public ObservableOnSubscribe<R> withFilter(Predicate<R> predicate) {
+        return new ObservableObserveOn<>(upstream, scheduler, batchSize, stages.withFilter(predicate));
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<R> emitter) {
+        CompositeDisposable resources = new CompositeDisposable();
+        emitter.setDisposable(resources);
+        ObserveOnObserver<T, R> observeOnObserver = new ObserveOnObserver<>(emitter, scheduler, batchSize, stages);
+        resources.add(observeOnObserver.worker);
+        upstream.subscribe(observeOnObserver, resources);
+    }
+
+    static final class ObserveOnObserver<T, R> extends AtomicInteger implements Observer<T>, Runnable {
+
+        private final ObservableEmitter<R> downstream;
+        final Scheduler.Worker worker;
+        private final int batchSize;
+        private final FusedStages stages;
+        // Holds single items and whole batches; a batch is wrapped so a List item is not taken for one.
+        private final SpscLinkedArrayQueue<Object> queue;
+
+        private volatile boolean done;
+        private Throwable error;
+        private volatile boolean terminated;
+
+        ObserveOnObserver(ObservableEmitter<R> downstream, Scheduler scheduler, int batchSize, FusedStages stages) {
+            this.downstream = downstream;
+            this.worker = scheduler.createWorker();
+            this.batchSize = batchSize;
+            this.stages = stages.isEmpty() ? null : stages;
+            this.queue = new SpscLinkedArrayQueue<>(batchSize);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done || terminated) {
+                return;
+            }
+            queue.offer(item);
+            schedule();
+        }
+
+        @Override
+        public void onNextBatch(List<T> items) {
+            if (done || terminated || items.isEmpty()) {
+                return;
+            }
+            queue.offer(new Batch<>(items));
+            schedule();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            error = t;
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (getAndIncrement() == 0) {
+                worker.execute(this);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void run() {
+            if (terminated) {
+                return;
+            }
+            int missed = 1;
+            int emitted = 0;
+
+            for (;;) {
+                for (;;) {
+                    if (downstream.isDisposed()) {
+                        terminated = true;
+                        queue.clear();
+                        return;
+                    }
+                    boolean isDone = done;
+                    Object item = queue.poll();
+                    boolean empty = item == null;
+
+                    if (isDone && empty) {
+                        terminated = true;
+                        worker.dispose();
+                        Throwable t = error;
+                        if (t != null) {
+                            downstream.onError(t);
+                        } else {
+                            downstream.onComplete();
+                        }
+                        return;
+                    }
+
+                    if (empty) {
+                        break;
+                    }
+
+                    if (item instanceof Batch) {
+                        List<T> items = ((Batch<T>) item).items;
+                        emitted += items.size();
+                        if (stages == null) {
+                            downstream.onNextBatch((List<R>) items);
+                        } else {
+                            List<Object> results = new ArrayList<>(items.size());
+                            try {
+                                stages.applyAll(items, results);
+                            } catch (Exception e) {
+                                if (!results.isEmpty()) {
+                                    downstream.onNextBatch((List<R>) results);
+                                }
+                                fail(e);
+                                return;
+                            }
+                            if (!results.isEmpty()) {
+                                downstream.onNextBatch((List<R>) results);
+                            }
+                        }
+                    } else {
+                        emitted++;
+                        if (stages == null) {
+                            downstream.onNext((R) item);
+                        } else {
+                            Object result;
+                            try {
+                                result = stages.apply(item);
+                            } catch (Exception e) {
+                                fail(e);
+                                return;
+                            }
+                            if (result != FusedStages.SKIP) {
+                                downstream.onNext((R) result);
+                            }
+                        }
+                    }
+
+                    // Give other tasks of the scheduler a chance after every full batch; the
+                    // work-in-progress counter stays above zero so no second drain can start.
+                    if (emitted >= batchSize) {
+                        worker.execute(this);
+                        return;
+                    }
+                }
+
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        private void fail(Exception e) {
+            terminated = true;
+            worker.dispose();
+            queue.clear();
+            downstream.onError(e);
+        }
+    }
+
+    static final class Batch<T> {
+
+        final List<T> items;
+
+        Batch(List<T> items) {
+            this.items = items;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package ru.mephi.rxjava;
+
+// Switches to the fallback the function returns for the error; an error of the fallback itself is passed on.
+final class ObservableOnErrorNext<T> implements ObservableOnSubscribe<T> {
+
+    private final Observable<T> upstream;
+    private final Function<Throwable, Observable<T>> fallback;
+
+    ObservableOnErrorNext(Observable<T> upstream, Function<Throwable, Observable<T>> fallback) {
+        this.upstream = upstream;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<T> emitter) {
+        SerialDisposable serial = new SerialDisposable();
+        emitter.setDisposable(serial);
+        CompositeDisposable resources = new CompositeDisposable();
+        serial.setDisposable(resources);
+        upstream.subscribe(new OnErrorNextObserver<>(emitter, serial, fallback), resources);
+    }
+
+    static final class OnErrorNextObserver<T> implements Observer<T> {
+
+        private final Observer<T> downstream;
+        private final SerialDisposable serial;
+        private final Function<Throwable, Observable<T>> fallback;
+        private boolean resumed;
+
+        OnErrorNextObserver(Observer<T> downstream, SerialDisposable serial, Function<Throwable, Observable<T>> fallback) {
+            this.downstream = downstream;
+            this.serial = serial;
+            this.fallback = fallback;
+        }
+
+        @Override
+        public void onNext(T item) {
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (resumed) {
+                downstream.onError(t);
+                return;
+            }
+            resumed = true;
+            Observable<T> next;
+            try {
+                next = fallback.apply(t);
+            } catch (Exception e) {
+                e.addSuppressed(t);
+                downstream.onError(e);
+                return;
+            }
+            if (next == null) {
+                downstream.onError(new NullPointerException("The fallback Observable is null"));
+                return;
+            }
+            CompositeDisposable resources = new CompositeDisposable();
+            if (serial.setDisposable(resources)) {
+                next.subscribe(this, resources);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+    }
+}
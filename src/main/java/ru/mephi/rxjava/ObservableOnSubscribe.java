@@ -2,5 +2,5 @@ package ru.mephi.rxjava;
 
 public interface ObservableOnSubscribe<T> {
 
-    void subscribe(Observer<T> observer) throws Exception;
+    void subscribe(ObservableEmitter<T> emitter) throws Exception;
 }
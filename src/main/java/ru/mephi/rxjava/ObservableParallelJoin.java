@@ -0,0 +1,359 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+final class ObservableParallelJoin<T> implements ObservableOnSubscribe<T> {
+
+    enum Mode {
+        SEQUENTIAL,
+        SORTED,
+        REDUCE
+    }
+
+    private final ParallelObservable<T> parallel;
+    private final Mode mode;
+    private final BiFunction<T, T, T> reducer;
+
+    ObservableParallelJoin(ParallelObservable<T> parallel, Mode mode, BiFunction<T, T, T> reducer) {
+        this.parallel = parallel;
+        this.mode = mode;
+        this.reducer = reducer;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void subscribe(ObservableEmitter<T> emitter) {
+        CompositeDisposable resources = new CompositeDisposable();
+        emitter.setDisposable(resources);
+        JoinObserver<T> join = new JoinObserver<>(emitter, resources, parallel, mode, reducer);
+        ((Observable<Object>) parallel.source()).subscribe(join, resources);
+    }
+
+    // Deals the upstream items to the rails and merges their results with a work-in-progress drain.
+    static final class JoinObserver<T> extends AtomicInteger implements Observer<Object> {
+
+        private final ObservableEmitter<T> downstream;
+        private final CompositeDisposable resources;
+        private final Mode mode;
+        private final BiFunction<T, T, T> reducer;
+        private final Rail[] rails;
+        private final int batchSize;
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        volatile boolean done;
+        volatile boolean cancelled;
+        private int dealIndex;
+        private int joinIndex;
+
+        JoinObserver(ObservableEmitter<T> downstream, CompositeDisposable resources, ParallelObservable<T> parallel,
+                     Mode mode, BiFunction<T, T, T> reducer) {
+            this.downstream = downstream;
+            this.resources = resources;
+            this.mode = mode;
+            this.reducer = reducer;
+            this.batchSize = parallel.prefetch();
+            this.rails = new Rail[parallel.parallelism()];
+            Scheduler scheduler = parallel.scheduler();
+            FusedStages stages = parallel.stages();
+            for (int i = 0; i < rails.length; i++) {
+                Scheduler.Worker worker = scheduler == null ? null : scheduler.createWorker();
+                if (worker != null) {
+                    resources.add(worker);
+                }
+                rails[i] = new Rail(this, worker, batchSize, stages);
+            }
+        }
+
+        @Override
+        public void onNext(Object item) {
+            if (done || cancelled) {
+                return;
+            }
+            Rail rail = rails[dealIndex];
+            if (++dealIndex == rails.length) {
+                dealIndex = 0;
+            }
+            rail.input.offer(item);
+            rail.schedule();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            error.compareAndSet(null, t);
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            for (Rail rail : rails) {
+                rail.schedule();
+            }
+        }
+
+        void railError(Throwable t) {
+            error.compareAndSet(null, t);
+            drain();
+        }
+
+        @SuppressWarnings("unchecked")
+        Object reduce(Object accumulator, Object value) throws Exception {
+            return accumulator == null ? value : reducer.apply((T) accumulator, (T) value);
+        }
+
+        boolean isReduce() {
+            return mode == Mode.REDUCE;
+        }
+
+        boolean isSorted() {
+            return mode == Mode.SORTED;
+        }
+
+        void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+
+            for (;;) {
+                if (checkTerminated()) {
+                    return;
+                }
+
+                boolean allDone = true;
+                for (Rail rail : rails) {
+                    if (!rail.done) {
+                        allDone = false;
+                        break;
+                    }
+                }
+
+                if (mode == Mode.REDUCE) {
+                    if (allDone) {
+                        completeReduce();
+                        return;
+                    }
+                } else {
+                    if (mode == Mode.SORTED) {
+                        drainSorted();
+                    } else {
+                        drainSequential();
+                    }
+                    if (cancelled) {
+                        return;
+                    }
+                    if (allDone && outputsEmpty()) {
+                        cancelled = true;
+                        downstream.onComplete();
+                        return;
+                    }
+                }
+
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void drainSequential() {
+            int n = rails.length;
+            boolean emittedAny;
+            do {
+                emittedAny = false;
+                for (int i = 0; i < n; i++) {
+                    Rail rail = rails[joinIndex];
+                    if (++joinIndex == n) {
+                        joinIndex = 0;
+                    }
+                    for (int j = 0; j < batchSize; j++) {
+                        if (checkTerminated()) {
+                            return;
+                        }
+                        Object item = rail.output.poll();
+                        if (item == null) {
+                            break;
+                        }
+                        downstream.onNext((T) item);
+                        emittedAny = true;
+                    }
+                }
+            } while (emittedAny);
+        }
+
+        // Items were dealt strictly round-robin and every rail keeps its order (filtered items leave
+        // a SKIP marker), so reading the rails in turn restores the source order without indexes.
+        @SuppressWarnings("unchecked")
+        private void drainSorted() {
+            int n = rails.length;
+            for (;;) {
+                if (checkTerminated()) {
+                    return;
+                }
+                Object item = rails[joinIndex].output.poll();
+                if (item == null) {
+                    return;
+                }
+                if (++joinIndex == n) {
+                    joinIndex = 0;
+                }
+                if (item != FusedStages.SKIP) {
+                    downstream.onNext((T) item);
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void completeReduce() {
+            cancelled = true;
+            Object result = null;
+            try {
+                for (Rail rail : rails) {
+                    if (rail.partial != null) {
+                        result = reduce(result, rail.partial);
+                    }
+                }
+            } catch (Exception e) {
+                resources.dispose();
+                downstream.onError(e);
+                return;
+            }
+            if (result != null) {
+                downstream.onNext((T) result);
+            }
+            downstream.onComplete();
+        }
+
+        private boolean outputsEmpty() {
+            for (Rail rail : rails) {
+                if (!rail.output.isEmpty()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean checkTerminated() {
+            if (cancelled) {
+                return true;
+            }
+            if (downstream.isDisposed()) {
+                cancel();
+                return true;
+            }
+            Throwable t = error.get();
+            if (t != null) {
+                cancel();
+                downstream.onError(t);
+                return true;
+            }
+            return false;
+        }
+
+        private void cancel() {
+            cancelled = true;
+            resources.dispose();
+            for (Rail rail : rails) {
+                rail.output.clear();
+            }
+        }
+    }
+
+    static final class Rail extends AtomicInteger implements Runnable {
+
+        private final JoinObserver<?> parent;
+        private final Scheduler.Worker worker;
+        private final int batchSize;
+        private final FusedStages stages;
+        final SpscLinkedArrayQueue<Object> input;
+        final SpscLinkedArrayQueue<Object> output;
+        // Written by the rail before it sets done, read by the join after it sees done.
+        Object partial;
+        volatile boolean done;
+
+        Rail(JoinObserver<?> parent, Scheduler.Worker worker, int batchSize, FusedStages stages) {
+            this.parent = parent;
+            this.worker = worker;
+            this.batchSize = batchSize;
+            this.stages = stages.isEmpty() ? null : stages;
+            this.input = new SpscLinkedArrayQueue<>(batchSize);
+            this.output = new SpscLinkedArrayQueue<>(batchSize);
+        }
+
+        void schedule() {
+            if (getAndIncrement() == 0) {
+                if (worker == null) {
+                    run();
+                } else {
+                    worker.execute(this);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            int processed = 0;
+            boolean reduce = parent.isReduce();
+            boolean sorted = parent.isSorted();
+
+            for (;;) {
+                for (;;) {
+                    if (parent.cancelled) {
+                        input.clear();
+                        return;
+                    }
+                    boolean upstreamDone = parent.done;
+                    Object item = input.poll();
+                    if (item == null) {
+                        if (upstreamDone && !done) {
+                            done = true;
+                        }
+                        break;
+                    }
+
+                    Object result;
+                    try {
+                        result = stages == null ? item : stages.apply(item);
+                        if (reduce && result != FusedStages.SKIP) {
+                            partial = parent.reduce(partial, result);
+                        }
+                    } catch (Exception e) {
+                        input.clear();
+                        parent.railError(e);
+                        return;
+                    }
+                    if (!reduce && (sorted || result != FusedStages.SKIP)) {
+                        output.offer(result);
+                    }
+
+                    // Hand the batch to the join and give the worker's other tasks a turn; the
+                    // work-in-progress counter stays above zero, so no second drain can start.
+                    if (++processed == batchSize) {
+                        processed = 0;
+                        parent.drain();
+                        if (worker != null) {
+                            worker.execute(this);
+                            return;
+                        }
+                    }
+                }
+
+                parent.drain();
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package ru.mephi.rxjava;
+
+final class ObservableRange implements ObservableOnSubscribe<Integer> {
+
+    private final int start;
+    private final int count;
+
+    ObservableRange(int start, int count) {
+        this.start = start;
+        this.count = count;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<Integer> emitter) {
+        long end = (long) start + count;
+        for (long i = start; i != end && !emitter.isDisposed(); i++) {
+            emitter.onNext((int) i);
+        }
+        emitter.onComplete();
+    }
+}
@@ -0,0 +1,21 @@
+package ru.mephi.rxjava;
+
+final class ObservableRangeLong implements ObservableOnSubscribe<Long> {
+
+    private final long start;
+    private final long count;
+
+    ObservableRangeLong(long start, long count) {
+        this.start = start;
+        this.count = count;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<Long> emitter) {
+        long end = start + count;
+        for (long i = start; i != end && !emitter.isDisposed(); i++) {
+            emitter.onNext(i);
+        }
+        emitter.onComplete();
+    }
+}
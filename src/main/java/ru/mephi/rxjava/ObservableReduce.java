@@ -0,0 +1,104 @@
+package ru.mephi.rxjava;
+
+import java.util.function.Supplier;
+
+// Folds the items into one value as they arrive. The accumulator is the only state, so nothing is
+// allocated per item beyond what the reducer returns. Without a seed the first item starts the
+// accumulation and an empty source completes empty.
+final class ObservableReduce<T, R> implements OneShotSource<R> {
+
+    private final Observable<T> upstream;
+    private final Supplier<R> seed;
+    private final BiFunction<R, T, R> reducer;
+
+    ObservableReduce(Observable<T> upstream, Supplier<R> seed, BiFunction<R, T, R> reducer) {
+        this.upstream = upstream;
+        this.seed = seed;
+        this.reducer = reducer;
+    }
+
+    @Override
+    public void subscribe(MaybeObserver<R> observer, SerialDisposable parent) {
+        R initial = null;
+        if (seed != null) {
+            try {
+                initial = seed.get();
+            } catch (RuntimeException e) {
+                observer.onError(e);
+                return;
+            }
+            if (initial == null) {
+                observer.onError(new NullPointerException("The seed is null"));
+                return;
+            }
+        }
+        CompositeDisposable resources = new CompositeDisposable();
+        parent.setDisposable(resources);
+        upstream.subscribe(new ReduceObserver<>(observer, resources, reducer, initial), resources);
+    }
+
+    static final class ReduceObserver<T, R> implements Observer<T> {
+
+        private final MaybeObserver<R> downstream;
+        private final CompositeDisposable resources;
+        private final BiFunction<R, T, R> reducer;
+        private R value;
+        private boolean done;
+
+        ReduceObserver(MaybeObserver<R> downstream, CompositeDisposable resources, BiFunction<R, T, R> reducer, R seed) {
+            this.downstream = downstream;
+            this.resources = resources;
+            this.reducer = reducer;
+            this.value = seed;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            R current = value;
+            if (current == null) {
+                value = (R) item;
+                return;
+            }
+            try {
+                value = reducer.apply(current, item);
+            } catch (Exception e) {
+                resources.dispose();
+                onError(e);
+                return;
+            }
+            if (value == null) {
+                resources.dispose();
+                onError(new NullPointerException("The reducer returned null"));
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            value = null;
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            R result = value;
+            value = null;
+            if (result != null) {
+                downstream.onSuccess(result);
+            } else {
+                downstream.onComplete();
+            }
+        }
+    }
+}
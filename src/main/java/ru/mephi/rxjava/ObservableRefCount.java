@@ -0,0 +1,94 @@
+package ru.mephi.rxjava;
+
+final class ObservableRefCount<T> implements ObservableOnSubscribe<T> {
+
+    private final ConnectableObservable<T> source;
+    private RefConnection connection;
+
+    ObservableRefCount(ConnectableObservable<T> source) {
+        this.source = source;
+    }
+
+    // Only subscribe and dispose synchronize here; items flow through the subject without a lock.
+    @Override
+    public void subscribe(ObservableEmitter<T> emitter) {
+        RefConnection rc;
+        boolean connect = false;
+        synchronized (this) {
+            rc = connection;
+            if (rc == null) {
+                rc = new RefConnection();
+                connection = rc;
+            }
+            rc.count++;
+            if (!rc.connected) {
+                rc.connected = true;
+                connect = true;
+            }
+        }
+
+        CompositeDisposable resources = new CompositeDisposable();
+        emitter.setDisposable(resources);
+        RefConnection subscribed = rc;
+        resources.add(new Disposable() {
+            private boolean released;
+
+            @Override
+            public void dispose() {
+                synchronized (ObservableRefCount.this) {
+                    if (released) {
+                        return;
+                    }
+                    released = true;
+                }
+                release(subscribed);
+            }
+
+            @Override
+            public boolean isDisposed() {
+                synchronized (ObservableRefCount.this) {
+                    return released;
+                }
+            }
+        });
+        // Subscribe before connecting so the first subscriber sees a synchronous upstream from its start.
+        source.subscribe(emitter, resources);
+
+        if (connect) {
+            Disposable upstream = source.connect();
+            boolean disconnect;
+            synchronized (this) {
+                rc.upstream = upstream;
+                disconnect = rc.disconnected;
+            }
+            if (disconnect) {
+                upstream.dispose();
+            }
+        }
+    }
+
+    private void release(RefConnection rc) {
+        Disposable upstream;
+        synchronized (this) {
+            if (--rc.count != 0) {
+                return;
+            }
+            if (connection == rc) {
+                connection = null;
+            }
+            rc.disconnected = true;
+            upstream = rc.upstream;
+        }
+        if (upstream != null) {
+            upstream.dispose();
+        }
+    }
+
+    static final class RefConnection {
+
+        int count;
+        boolean connected;
+        boolean disconnected;
+        Disposable upstream;
+    }
+}
@@ -0,0 +1,73 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Resubscribes when the source completes, until it has run `times` times; an error ends the repetition.
+final class ObservableRepeat<T> implements ObservableOnSubscribe<T> {
+
+    private final Observable<T> upstream;
+    private final long times;
+
+    ObservableRepeat(Observable<T> upstream, long times) {
+        this.upstream = upstream;
+        this.times = times;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<T> emitter) {
+        SerialDisposable serial = new SerialDisposable();
+        emitter.setDisposable(serial);
+        new RepeatObserver<>(emitter, serial, upstream, times == Long.MAX_VALUE ? times : times - 1).subscribeNext();
+    }
+
+    static final class RepeatObserver<T> extends AtomicInteger implements Observer<T> {
+
+        private final Observer<T> downstream;
+        private final SerialDisposable serial;
+        private final Observable<T> upstream;
+        private long remaining;
+
+        RepeatObserver(Observer<T> downstream, SerialDisposable serial, Observable<T> upstream, long remaining) {
+            this.downstream = downstream;
+            this.serial = serial;
+            this.upstream = upstream;
+            this.remaining = remaining;
+        }
+
+        void subscribeNext() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                CompositeDisposable resources = new CompositeDisposable();
+                if (!serial.setDisposable(resources)) {
+                    return;
+                }
+                upstream.subscribe(this, resources);
+            } while (decrementAndGet() != 0);
+        }
+
+        @Override
+        public void onNext(T item) {
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            long r = remaining;
+            if (r == 0L) {
+                downstream.onComplete();
+                return;
+            }
+            if (r != Long.MAX_VALUE) {
+                remaining = r - 1;
+            }
+            subscribeNext();
+        }
+    }
+}
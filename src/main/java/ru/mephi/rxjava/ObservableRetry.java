@@ -0,0 +1,118 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Resubscribes after an error. Without a backoff the next attempt starts right away, in a loop rather
+// than recursively, so a source that keeps failing synchronously does not grow the stack. With a backoff
+// the attempt is scheduled on the scheduler's timer, and no thread is held while waiting.
+final class ObservableRetry<T> implements ObservableOnSubscribe<T> {
+
+    private final Observable<T> upstream;
+    private final long times;
+    private final Predicate<Throwable> predicate;
+    private final Backoff backoff;
+    private final Scheduler scheduler;
+
+    ObservableRetry(Observable<T> upstream, long times, Predicate<Throwable> predicate, Backoff backoff,
+                    Scheduler scheduler) {
+        this.upstream = upstream;
+        this.times = times;
+        this.predicate = predicate;
+        this.backoff = backoff;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<T> emitter) {
+        SerialDisposable serial = new SerialDisposable();
+        emitter.setDisposable(serial);
+        new RetryObserver<>(emitter, serial, upstream, times, predicate, backoff, scheduler).subscribeNext();
+    }
+
+    static final class RetryObserver<T> extends AtomicInteger implements Observer<T> {
+
+        private final Observer<T> downstream;
+        private final SerialDisposable serial;
+        private final Observable<T> upstream;
+        private final long times;
+        private final Predicate<Throwable> predicate;
+        private final Backoff backoff;
+        private final Scheduler scheduler;
+        // Only touched between two subscriptions, which the wip counter or the timer orders.
+        private long remaining;
+        private int attempt;
+
+        RetryObserver(Observer<T> downstream, SerialDisposable serial, Observable<T> upstream, long times,
+                      Predicate<Throwable> predicate, Backoff backoff, Scheduler scheduler) {
+            this.downstream = downstream;
+            this.serial = serial;
+            this.upstream = upstream;
+            this.times = times;
+            this.predicate = predicate;
+            this.backoff = backoff;
+            this.scheduler = scheduler;
+            this.remaining = times;
+        }
+
+        void subscribeNext() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                CompositeDisposable resources = new CompositeDisposable();
+                if (!serial.setDisposable(resources)) {
+                    return;
+                }
+                upstream.subscribe(this, resources);
+            } while (decrementAndGet() != 0);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (backoff != null) {
+                attempt = 0;
+                remaining = times;
+            }
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            long r = remaining;
+            if (r == 0L) {
+                downstream.onError(t);
+                return;
+            }
+            try {
+                if (predicate != null && !predicate.test(t)) {
+                    downstream.onError(t);
+                    return;
+                }
+            } catch (Exception e) {
+                downstream.onError(e);
+                return;
+            }
+            if (r != Long.MAX_VALUE) {
+                remaining = r - 1;
+            }
+            if (backoff == null) {
+                subscribeNext();
+            } else {
+                // The holder goes into serial before scheduling: a zero delay may run subscribeNext inline,
+                // and the new attempt's resources then replace the holder instead of being disposed by it.
+                SerialDisposable timer = new SerialDisposable();
+                if (!serial.setDisposable(timer)) {
+                    return;
+                }
+                long delay = backoff.delayNanos(attempt++);
+                timer.setDisposable(scheduler.schedule(this::subscribeNext, delay, TimeUnit.NANOSECONDS));
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.TimeUnit;
+
+final class ObservableSample<T> implements ObservableOnSubscribe<T> {
+
+    private final Observable<T> upstream;
+    private final long period;
+    private final TimeUnit unit;
+    private final Scheduler scheduler;
+
+    ObservableSample(Observable<T> upstream, long period, TimeUnit unit, Scheduler scheduler) {
+        this.upstream = upstream;
+        this.period = period;
+        this.unit = unit;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<T> emitter) {
+        CompositeDisposable resources = new CompositeDisposable();
+        emitter.setDisposable(resources);
+        SampleObserver<T> sampleObserver = new SampleObserver<>(emitter);
+        resources.add(sampleObserver.start(scheduler, period, unit));
+        upstream.subscribe(sampleObserver, resources);
+    }
+
+    static final class SampleObserver<T> implements Observer<T> {
+
+        private final Observer<T> downstream;
+        private T latest;
+        private Disposable timer;
+        private boolean done;
+
+        SampleObserver(Observer<T> downstream) {
+            this.downstream = downstream;
+        }
+
+        synchronized Disposable start(Scheduler scheduler, long period, TimeUnit unit) {
+            timer = scheduler.schedulePeriodically(this::emitLatest, period, period, unit);
+            return timer;
+        }
+
+        private synchronized void emitLatest() {
+            if (done) {
+                return;
+            }
+            T item = latest;
+            latest = null;
+            if (item != null) {
+                downstream.onNext(item);
+            }
+        }
+
+        @Override
+        public synchronized void onNext(T item) {
+            if (!done) {
+                if (latest != null) {
+                    RxPlugins.onDropped("sample");
+                }
+                latest = item;
+            }
+        }
+
+        @Override
+        public synchronized void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            latest = null;
+            cancelTimer();
+            downstream.onError(t);
+        }
+
+        @Override
+        public synchronized void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            latest = null;
+            cancelTimer();
+            downstream.onComplete();
+        }
+
+        private void cancelTimer() {
+            if (timer != null) {
+                timer.dispose();
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package ru.mephi.rxjava;
+
+// just(value).flatMap(mapper): there is only one inner source, so it is subscribed straight to the
+// downstream without the merge machinery, and a scalar inner source is emitted without subscribing at all.
+final class ObservableScalarFlatMap<T, R> implements ObservableOnSubscribe<R> {
+
+    private final T value;
+    private final Function<T, Observable<R>> mapper;
+
+    ObservableScalarFlatMap(T value, Function<T, Observable<R>> mapper) {
+        this.value = value;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<R> emitter) throws Exception {
+        Observable<R> inner = mapper.apply(value);
+        if (inner == null) {
+            throw new NullPointerException("The mapper returned a null Observable");
+        }
+        ObservableJust<R> scalar = inner.scalarSource();
+        if (scalar != null) {
+            emitter.onNext(scalar.value);
+            emitter.onComplete();
+            return;
+        }
+        CompositeDisposable resources = new CompositeDisposable();
+        emitter.setDisposable(resources);
+        inner.subscribe(emitter, resources);
+    }
+}
@@ -0,0 +1,34 @@
+package ru.mephi.rxjava;
+
+// just(value) followed by map/filter: the stages run once per subscription on the one value,
+// and the result is emitted, or the source completes empty if a filter rejects it.
+final class ObservableScalarMapFilter<T, R> implements FuseableOnSubscribe<R> {
+
+    private final T value;
+    private final FusedStages stages;
+
+    ObservableScalarMapFilter(T value, FusedStages stages) {
+        this.value = value;
+        this.stages = stages;
+    }
+
+    @Override
+    public <V> ObservableOnSubscribe<V> withMap(Function<R, V> mapper) {
+        return new ObservableScalarMapFilter<>(value, stages.withMap(mapper));
+    }
+
+    @Override
+    public ObservableOnSubscribe<R> withFilter(Predicate<R> predicate) {
+        return new ObservableScalarMapFilter<>(value, stages.withFilter(predicate));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void subscribe(ObservableEmitter<R> emitter) throws Exception {
+        Object result = stages.apply(value);
+        if (result != FusedStages.SKIP) {
+            emitter.onNext((R) result);
+        }
+        emitter.onComplete();
+    }
+}
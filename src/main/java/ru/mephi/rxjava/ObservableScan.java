@@ -0,0 +1,96 @@
+package ru.mephi.rxjava;
+
+import java.util.function.Supplier;
+
+// Emits every intermediate accumulation: the seed first, if there is one, then one value per item.
+final class ObservableScan<T, R> implements ObservableOnSubscribe<R> {
+
+    private final Observable<T> upstream;
+    private final Supplier<R> seed;
+    private final BiFunction<R, T, R> accumulator;
+
+    ObservableScan(Observable<T> upstream, Supplier<R> seed, BiFunction<R, T, R> accumulator) {
+        this.upstream = upstream;
+        this.seed = seed;
+        this.accumulator = accumulator;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<R> emitter) {
+        R initial = null;
+        if (seed != null) {
+            initial = seed.get();
+            if (initial == null) {
+                throw new NullPointerException("The seed is null");
+            }
+            emitter.onNext(initial);
+        }
+        CompositeDisposable resources = new CompositeDisposable();
+        emitter.setDisposable(resources);
+        upstream.subscribe(new ScanObserver<>(emitter, resources, accumulator, initial), resources);
+    }
+
+    static final class ScanObserver<T, R> implements Observer<T> {
+
+        private final Observer<R> downstream;
+        private final CompositeDisposable resources;
+        private final BiFunction<R, T, R> accumulator;
+        private R value;
+        private boolean done;
+
+        ScanObserver(Observer<R> downstream, CompositeDisposable resources, BiFunction<R, T, R> accumulator, R seed) {
+            this.downstream = downstream;
+            this.resources = resources;
+            this.accumulator = accumulator;
+            this.value = seed;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            R current = value;
+            R next;
+            if (current == null) {
+                next = (R) item;
+            } else {
+                try {
+                    next = accumulator.apply(current, item);
+                } catch (Exception e) {
+                    resources.dispose();
+                    onError(e);
+                    return;
+                }
+                if (next == null) {
+                    resources.dispose();
+                    onError(new NullPointerException("The accumulator returned null"));
+                    return;
+                }
+            }
+            value = next;
+            downstream.onNext(next);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            value = null;
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            value = null;
+            downstream.onComplete();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+final class ObservableSwitchMap<T, R> implements ObservableOnSubscribe<R> {
+
+    private final Observable<T> upstream;
+    private final Function<T, Observable<R>> mapper;
+    private final int prefetch;
+
+    ObservableSwitchMap(Observable<T> upstream, Function<T, Observable<R>> mapper, int prefetch) {
+        this.upstream = upstream;
+        this.mapper = mapper;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<R> emitter) {
+        CompositeDisposable resources = new CompositeDisposable();
+        emitter.setDisposable(resources);
+        upstream.subscribe(new SwitchObserver<>(emitter, resources, mapper, prefetch), resources);
+    }
+
+    static final class SwitchObserver<T, R> extends AtomicInteger implements Observer<T> {
+
+        private final ObservableEmitter<R> downstream;
+        private final CompositeDisposable resources;
+        private final Function<T, Observable<R>> mapper;
+        private final int prefetch;
+        private final AtomicReference<SwitchInner<R>> active = new AtomicReference<>();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        private volatile boolean done;
+        private boolean terminated;
+
+        SwitchObserver(ObservableEmitter<R> downstream, CompositeDisposable resources,
+                       Function<T, Observable<R>> mapper, int prefetch) {
+            this.downstream = downstream;
+            this.resources = resources;
+            this.mapper = mapper;
+            this.prefetch = prefetch;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            Observable<R> source;
+            try {
+                source = mapper.apply(item);
+            } catch (Exception e) {
+                onError(e);
+                return;
+            }
+
+            SwitchInner<R> inner = new SwitchInner<>(this, prefetch);
+            SwitchInner<R> previous = active.getAndSet(inner);
+            if (previous != null) {
+                resources.delete(previous.upstream);
+                previous.upstream.dispose();
+            }
+            if (resources.add(inner.upstream)) {
+                source.subscribe(inner, inner.upstream);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            error.compareAndSet(null, t);
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        void innerError(SwitchInner<R> inner, Throwable t) {
+            // An inner that has already been switched away from can no longer fail the stream.
+            if (active.get() == inner) {
+                error.compareAndSet(null, t);
+            }
+            drain();
+        }
+
+        void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+
+            for (;;) {
+                if (checkTerminated()) {
+                    return;
+                }
+
+                boolean isDone = done;
+                SwitchInner<R> inner = active.get();
+
+                if (inner != null) {
+                    for (;;) {
+                        if (checkTerminated()) {
+                            return;
+                        }
+                        if (active.get() != inner) {
+                            // Switched while draining: whatever the old inner still has queued is stale.
+                            break;
+                        }
+                        boolean innerDone = inner.done;
+                        R item = inner.queue.poll();
+                        if (item == null) {
+                            if (innerDone && active.compareAndSet(inner, null)) {
+                                resources.delete(inner.upstream);
+                                inner = null;
+                            }
+                            break;
+                        }
+                        downstream.onNext(item);
+                    }
+                }
+
+                if (isDone && inner == null && active.get() == null) {
+                    terminated = true;
+                    downstream.onComplete();
+                    return;
+                }
+
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        private boolean checkTerminated() {
+            if (terminated) {
+                return true;
+            }
+            if (downstream.isDisposed()) {
+                terminated = true;
+                resources.dispose();
+                return true;
+            }
+            Throwable t = error.get();
+            if (t != null) {
+                terminated = true;
+                resources.dispose();
+                downstream.onError(t);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    static final class SwitchInner<R> implements Observer<R> {
+
+        private final SwitchObserver<?, R> parent;
+        final CompositeDisposable upstream = new CompositeDisposable();
+        final SpscLinkedArrayQueue<R> queue;
+        volatile boolean done;
+
+        SwitchInner(SwitchObserver<?, R> parent, int prefetch) {
+            this.parent = parent;
+            this.queue = new SpscLinkedArrayQueue<>(prefetch);
+        }
+
+        @Override
+        public void onNext(R item) {
+            if (!done) {
+                queue.offer(item);
+                parent.drain();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            parent.innerError(this, t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            parent.drain();
+        }
+    }
+}
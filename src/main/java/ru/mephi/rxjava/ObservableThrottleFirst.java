@@ -0,0 +1,51 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.TimeUnit;
+
+final class ObservableThrottleFirst<T> implements ObservableOnSubscribe<T> {
+
+    private final Observable<T> upstream;
+    private final long windowDuration;
+    private final TimeUnit unit;
+    private final Scheduler scheduler;
+
+    ObservableThrottleFirst(Observable<T> upstream, long windowDuration, TimeUnit unit, Scheduler scheduler) {
+        this.upstream = upstream;
+        this.windowDuration = windowDuration;
+        this.unit = unit;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<T> observer) {
+        CompositeDisposable resources = new CompositeDisposable();
+        observer.setDisposable(resources);
+        long windowNanos = unit.toNanos(windowDuration);
+        upstream.subscribe(new Observer<>() {
+            private boolean emitted;
+            private long windowStart;
+
+            @Override
+            public void onNext(T item) {
+                long now = scheduler.now(TimeUnit.NANOSECONDS);
+                if (!emitted || now - windowStart >= windowNanos) {
+                    emitted = true;
+                    windowStart = now;
+                    observer.onNext(item);
+                } else {
+                    RxPlugins.onDropped("throttleFirst");
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                observer.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                observer.onComplete();
+            }
+        }, resources);
+    }
+}
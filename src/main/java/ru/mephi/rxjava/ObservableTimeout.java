@@ -0,0 +1,99 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+final class ObservableTimeout<T> implements ObservableOnSubscribe<T> {
+
+    private final Observable<T> upstream;
+    private final long timeout;
+    private final TimeUnit unit;
+    private final Scheduler scheduler;
+
+    ObservableTimeout(Observable<T> upstream, long timeout, TimeUnit unit, Scheduler scheduler) {
+        this.upstream = upstream;
+        this.timeout = timeout;
+        this.unit = unit;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<T> emitter) {
+        CompositeDisposable resources = new CompositeDisposable();
+        emitter.setDisposable(resources);
+        TimeoutObserver<T> timeoutObserver = new TimeoutObserver<>(emitter, timeout, unit, scheduler);
+        resources.add(timeoutObserver.worker);
+        timeoutObserver.start();
+        upstream.subscribe(timeoutObserver, resources);
+    }
+
+    static final class TimeoutObserver<T> implements Observer<T> {
+
+        private final Observer<T> downstream;
+        private final long timeout;
+        private final TimeUnit unit;
+        private final long timeoutNanos;
+        private final Scheduler scheduler;
+        final Scheduler.Worker worker;
+        private long lastEventTime;
+        private boolean done;
+
+        TimeoutObserver(Observer<T> downstream, long timeout, TimeUnit unit, Scheduler scheduler) {
+            this.downstream = downstream;
+            this.timeout = timeout;
+            this.unit = unit;
+            this.timeoutNanos = unit.toNanos(timeout);
+            this.scheduler = scheduler;
+            this.worker = scheduler.createWorker();
+        }
+
+        synchronized void start() {
+            lastEventTime = scheduler.now(TimeUnit.NANOSECONDS);
+            worker.schedule(this::onTimer, timeoutNanos, TimeUnit.NANOSECONDS);
+        }
+
+        // The single timer re-arms itself from the time of the last item rather than being replaced per item.
+        private synchronized void onTimer() {
+            if (done) {
+                return;
+            }
+            long remaining = timeoutNanos - (scheduler.now(TimeUnit.NANOSECONDS) - lastEventTime);
+            if (remaining > 0L) {
+                worker.schedule(this::onTimer, remaining, TimeUnit.NANOSECONDS);
+                return;
+            }
+            done = true;
+            worker.dispose();
+            downstream.onError(new TimeoutException("No item within " + timeout + " " + unit.name().toLowerCase()));
+        }
+
+        @Override
+        public synchronized void onNext(T item) {
+            if (done) {
+                return;
+            }
+            lastEventTime = scheduler.now(TimeUnit.NANOSECONDS);
+            downstream.onNext(item);
+        }
+
+        @Override
+        public synchronized void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            worker.dispose();
+            downstream.onError(t);
+        }
+
+        @Override
+        public synchronized void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            worker.dispose();
+            downstream.onComplete();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package ru.mephi.rxjava;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+final class ObservableWindow<T> implements ObservableOnSubscribe<Observable<T>> {
+
+    private final Observable<T> upstream;
+    private final long timespan;
+    private final TimeUnit unit;
+    private final int count;
+    private final Scheduler scheduler;
+
+    ObservableWindow(Observable<T> upstream, long timespan, TimeUnit unit, int count, Scheduler scheduler) {
+        this.upstream = upstream;
+        this.timespan = timespan;
+        this.unit = unit;
+        this.count = count;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<Observable<T>> emitter) {
+        CompositeDisposable resources = new CompositeDisposable();
+        emitter.setDisposable(resources);
+        WindowObserver<T> windowObserver = new WindowObserver<>(emitter, count);
+        if (scheduler != null) {
+            resources.add(windowObserver.start(scheduler, timespan, unit));
+        }
+        upstream.subscribe(windowObserver, resources);
+    }
+
+    static final class WindowObserver<T> implements Observer<T> {
+
+        private final Observer<Observable<T>> downstream;
+        private final int count;
+        private UnicastWindow<T> window;
+        private int size;
+        private Disposable timer;
+        private boolean done;
+
+        WindowObserver(Observer<Observable<T>> downstream, int count) {
+            this.downstream = downstream;
+            this.count = count;
+        }
+
+        synchronized Disposable start(Scheduler scheduler, long timespan, TimeUnit unit) {
+            if (window == null) {
+                openWindow();
+            }
+            timer = scheduler.schedulePeriodically(this::rollOver, timespan, timespan, unit);
+            return timer;
+        }
+
+        private synchronized void rollOver() {
+            if (done) {
+                return;
+            }
+            closeWindow();
+            openWindow();
+        }
+
+        private void openWindow() {
+            window = new UnicastWindow<>();
+            size = 0;
+            downstream.onNext(Observable.create(window));
+        }
+
+        private void closeWindow() {
+            if (window != null) {
+                window.onComplete();
+                window = null;
+            }
+        }
+
+        @Override
+        public synchronized void onNext(T item) {
+            if (done) {
+                return;
+            }
+            if (window == null) {
+                openWindow();
+            }
+            window.onNext(item);
+            if (++size == count) {
+                closeWindow();
+            }
+        }
+
+        @Override
+        public synchronized void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            cancelTimer();
+            if (window != null) {
+                window.onError(t);
+                window = null;
+            }
+            downstream.onError(t);
+        }
+
+        @Override
+        public synchronized void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            cancelTimer();
+            closeWindow();
+            downstream.onComplete();
+        }
+
+        private void cancelTimer() {
+            if (timer != null) {
+                timer.dispose();
+            }
+        }
+    }
+
+    // Buffers the items of one window until its single observer subscribes.
+    static final class UnicastWindow<T> implements ObservableOnSubscribe<T>, Observer<T> {
+
+        private List<T> buffered = new ArrayList<>();
+        private Observer<T> observer;
+        private boolean done;
+        private Throwable error;
+
+        @Override
+        public synchronized void subscribe(ObservableEmitter<T> newObserver) {
+            if (observer != null) {
+                newObserver.onError(new IllegalStateException("A window allows only one observer"));
+                return;
+            }
+            observer = newObserver;
+            List<T> items = buffered;
+            buffered = null;
+            for (T item : items) {
+                newObserver.onNext(item);
+            }
+            if (done) {
+                if (error != null) {
+                    newObserver.onError(error);
+                } else {
+                    newObserver.onComplete();
+                }
+            }
+        }
+
+        @Override
+        public synchronized void onNext(T item) {
+            if (observer != null) {
+                observer.onNext(item);
+            } else {
+                buffered.add(item);
+            }
+        }
+
+        @Override
+        public synchronized void onError(Throwable t) {
+            done = true;
+            error = t;
+            if (observer != null) {
+                observer.onError(t);
+            }
+        }
+
+        @Override
+        public synchronized void onComplete() {
+            done = true;
+            if (observer != null) {
+                observer.onComplete();
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+// The other source only publishes its latest value; the main source combines with it on its own
+// thread. The only cross-thread signal left is an error from the other source, which a tiny
+// work-in-progress handshake keeps from overlapping a main item.
+final class ObservableWithLatestFrom<T, U, R> implements ObservableOnSubscribe<R> {
+
+    private final Observable<T> upstream;
+    private final Observable<U> other;
+    private final BiFunction<T, U, R> combiner;
+
+    ObservableWithLatestFrom(Observable<T> upstream, Observable<U> other, BiFunction<T, U, R> combiner) {
+        this.upstream = upstream;
+        this.other = other;
+        this.combiner = combiner;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<R> emitter) {
+        CompositeDisposable resources = new CompositeDisposable();
+        emitter.setDisposable(resources);
+        WithLatestObserver<T, U, R> observer = new WithLatestObserver<>(emitter, resources, combiner);
+        other.subscribe(observer.otherObserver(), resources);
+        if (!observer.isTerminated()) {
+            upstream.subscribe(observer, resources);
+        }
+    }
+
+    static final class WithLatestObserver<T, U, R> extends AtomicInteger implements Observer<T> {
+
+        private final ObservableEmitter<R> downstream;
+        private final CompositeDisposable resources;
+        private final BiFunction<T, U, R> combiner;
+        private final AtomicReference<U> latest = new AtomicReference<>();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private volatile boolean terminated;
+
+        WithLatestObserver(ObservableEmitter<R> downstream, CompositeDisposable resources, BiFunction<T, U, R> combiner) {
+            this.downstream = downstream;
+            this.resources = resources;
+            this.combiner = combiner;
+        }
+
+        boolean isTerminated() {
+            return terminated;
+        }
+
+        Observer<U> otherObserver() {
+            return new Observer<>() {
+                @Override
+                public void onNext(U item) {
+                    latest.lazySet(item);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    otherError(t);
+                }
+
+                @Override
+                public void onComplete() {
+                    // The last value stays in use until the main source ends.
+                }
+            };
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (terminated) {
+                return;
+            }
+            U other = latest.get();
+            if (other == null) {
+                return;
+            }
+            R result;
+            try {
+                result = combiner.apply(item, other);
+            } catch (Exception e) {
+                onError(e);
+                return;
+            }
+            if (compareAndSet(0, 1)) {
+                downstream.onNext(result);
+                if (decrementAndGet() != 0) {
+                    // The other source failed while we were emitting.
+                    terminate(error.get());
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error.compareAndSet(null, t);
+            if (getAndIncrement() == 0) {
+                terminate(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (getAndIncrement() == 0) {
+                terminate(null);
+            }
+        }
+
+        private void otherError(Throwable t) {
+            if (error.compareAndSet(null, t) && getAndIncrement() == 0) {
+                terminate(t);
+            }
+        }
+
+        private void terminate(Throwable t) {
+            if (terminated) {
+                return;
+            }
+            terminated = true;
+            resources.dispose();
+            if (t != null) {
+                downstream.onError(t);
+            } else {
+                downstream.onComplete();
+            }
+        }
+    }
+}
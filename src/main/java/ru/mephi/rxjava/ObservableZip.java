@@ -0,0 +1,187 @@
+package ru.mephi.rxjava;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Every source fills its own SPSC queue from its own thread; a single drain takes one item from
+// each queue per row, so the sources never contend with each other and no lock is held.
+final class ObservableZip<R> implements ObservableOnSubscribe<R> {
+
+    private final Observable<?>[] sources;
+    private final Function<Object[], R> zipper;
+    private final int prefetch;
+
+    ObservableZip(Observable<?>[] sources, Function<Object[], R> zipper, int prefetch) {
+        this.sources = sources;
+        this.zipper = zipper;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void subscribe(ObservableEmitter<R> emitter) {
+        int n = sources.length;
+        if (n == 0) {
+            emitter.onComplete();
+            return;
+        }
+        CompositeDisposable resources = new CompositeDisposable();
+        emitter.setDisposable(resources);
+        ZipCoordinator<R> coordinator = new ZipCoordinator<>(emitter, resources, zipper, n, prefetch);
+        for (int i = 0; i < n; i++) {
+            if (coordinator.cancelled) {
+                return;
+            }
+            ((Observable<Object>) sources[i]).subscribe(coordinator.inners[i], resources);
+        }
+    }
+
+    static final class ZipCoordinator<R> extends AtomicInteger {
+
+        private final ObservableEmitter<R> downstream;
+        private final CompositeDisposable resources;
+        private final Function<Object[], R> zipper;
+        final ZipInner[] inners;
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        // The row being assembled; only the drain touches it.
+        private final Object[] row;
+        volatile boolean cancelled;
+
+        ZipCoordinator(ObservableEmitter<R> downstream, CompositeDisposable resources,
+                       Function<Object[], R> zipper, int n, int prefetch) {
+            this.downstream = downstream;
+            this.resources = resources;
+            this.zipper = zipper;
+            this.row = new Object[n];
+            this.inners = new ZipInner[n];
+            for (int i = 0; i < n; i++) {
+                inners[i] = new ZipInner(this, prefetch);
+            }
+        }
+
+        void innerError(Throwable t) {
+            error.compareAndSet(null, t);
+            drain();
+        }
+
+        void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+
+            for (;;) {
+                for (;;) {
+                    if (checkTerminated()) {
+                        return;
+                    }
+
+                    boolean rowReady = true;
+                    for (int i = 0; i < row.length; i++) {
+                        if (row[i] != null) {
+                            continue;
+                        }
+                        ZipInner inner = inners[i];
+                        boolean innerDone = inner.done;
+                        Object item = inner.queue.poll();
+                        if (item == null) {
+                            if (innerDone) {
+                                // This source can never fill its column again.
+                                cancel();
+                                downstream.onComplete();
+                                return;
+                            }
+                            rowReady = false;
+                        } else {
+                            row[i] = item;
+                        }
+                    }
+                    if (!rowReady) {
+                        break;
+                    }
+
+                    R result;
+                    try {
+                        result = zipper.apply(row.clone());
+                    } catch (Exception e) {
+                        cancel();
+                        downstream.onError(e);
+                        return;
+                    }
+                    Arrays.fill(row, null);
+                    downstream.onNext(result);
+                }
+
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        private boolean checkTerminated() {
+            if (cancelled) {
+                return true;
+            }
+            if (downstream.isDisposed()) {
+                cancel();
+                return true;
+            }
+            Throwable t = error.get();
+            if (t != null) {
+                cancel();
+                downstream.onError(t);
+                return true;
+            }
+            return false;
+        }
+
+        private void cancel() {
+            cancelled = true;
+            resources.dispose();
+            Arrays.fill(row, null);
+            for (ZipInner inner : inners) {
+                inner.queue.clear();
+            }
+        }
+    }
+
+    static final class ZipInner implements Observer<Object> {
+
+        private final ZipCoordinator<?> parent;
+        final SpscLinkedArrayQueue<Object> queue;
+        volatile boolean done;
+
+        ZipInner(ZipCoordinator<?> parent, int prefetch) {
+            this.parent = parent;
+            this.queue = new SpscLinkedArrayQueue<>(prefetch);
+        }
+
+        @Override
+        public void onNext(Object item) {
+            if (!done) {
+                queue.offer(item);
+                parent.drain();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            parent.innerError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            parent.drain();
+        }
+    }
+}
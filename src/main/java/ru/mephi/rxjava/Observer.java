@@ -1,9 +1,20 @@
 package ru.mephi.rxjava;
 
+import java.util.List;
+
 public interface Observer<T> {
 
     void onNext(T item);
 
+    // Several items in one call, for sinks that write in bulk; Arrays.asList gives a view over an array.
+    // The caller hands the list over and must not change it afterwards, the receiver must not modify it.
+    // map, filter and observeOn pass batches on as batches; every other Observer gets them one by one.
+    default void onNextBatch(List<T> items) {
+        for (T item : items) {
+            onNext(item);
+        }
+    }
+
     void onError(Throwable t);
 
     void onComplete();
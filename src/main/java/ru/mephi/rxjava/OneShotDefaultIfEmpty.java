@@ -0,0 +1,50 @@
+package ru.mephi.rxjava;
+
+import java.util.NoSuchElementException;
+
+// Turns an empty completion into the default value, or into NoSuchElementException without one.
+final class OneShotDefaultIfEmpty<T> implements OneShotSource<T> {
+
+    private final OneShotSource<T> upstream;
+    private final T defaultValue;
+
+    OneShotDefaultIfEmpty(OneShotSource<T> upstream, T defaultValue) {
+        this.upstream = upstream;
+        this.defaultValue = defaultValue;
+    }
+
+    @Override
+    public void subscribe(MaybeObserver<T> observer, SerialDisposable parent) {
+        upstream.subscribe(new DefaultObserver<>(observer, defaultValue), parent);
+    }
+
+    static final class DefaultObserver<T> implements MaybeObserver<T> {
+
+        private final MaybeObserver<T> downstream;
+        private final T defaultValue;
+
+        DefaultObserver(MaybeObserver<T> downstream, T defaultValue) {
+            this.downstream = downstream;
+            this.defaultValue = defaultValue;
+        }
+
+        @Override
+        public void onSuccess(T item) {
+            downstream.onSuccess(item);
+        }
+
+        @Override
+        public void onComplete() {
+            if (defaultValue == null) {
+                downstream.onError(new NoSuchElementException("The source completed without a value"));
+            } else {
+                downstream.onSuccess(defaultValue);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            downstream.onError(t);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+// The emitter of Single.create, Maybe.create and Completable.create. One getAndSet decides the only
+// terminal event, after which the resource is disposed; no further per-call checks are needed.
+final class OneShotEmitter<T> extends AtomicReference<Disposable>
+        implements SingleEmitter<T>, MaybeEmitter<T>, CompletableEmitter, Disposable {
+
+    private final MaybeObserver<T> downstream;
+
+    OneShotEmitter(MaybeObserver<T> downstream) {
+        this.downstream = downstream;
+    }
+
+    static <T> OneShotSource<T> source(OnSubscribe<T> onSubscribe) {
+        return (observer, parent) -> {
+            OneShotEmitter<T> emitter = new OneShotEmitter<>(observer);
+            parent.setDisposable(emitter);
+            try {
+                onSubscribe.subscribe(emitter);
+            } catch (Exception e) {
+                emitter.onError(e);
+            }
+        };
+    }
+
+    @Override
+    public void onSuccess(T item) {
+        if (item == null) {
+            onError(new NullPointerException("onSuccess called with null"));
+            return;
+        }
+        Disposable resource = terminate();
+        if (resource != DisposableHelper.DISPOSED) {
+            try {
+                downstream.onSuccess(item);
+            } finally {
+                release(resource);
+            }
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        Disposable resource = terminate();
+        if (resource != DisposableHelper.DISPOSED) {
+            try {
+                downstream.onComplete();
+            } finally {
+                release(resource);
+            }
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        Disposable resource = terminate();
+        if (resource != DisposableHelper.DISPOSED) {
+            try {
+                downstream.onError(t);
+            } finally {
+                release(resource);
+            }
+        }
+    }
+
+    @Override
+    public void setDisposable(Disposable disposable) {
+        DisposableHelper.set(this, disposable);
+    }
+
+    @Override
+    public void setCancellable(Cancellable cancellable) {
+        setDisposable(new CancellableDisposable(cancellable));
+    }
+
+    @Override
+    public void dispose() {
+        DisposableHelper.dispose(this);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return get() == DisposableHelper.DISPOSED;
+    }
+
+    private Disposable terminate() {
+        Disposable current = get();
+        return current == DisposableHelper.DISPOSED ? current : getAndSet(DisposableHelper.DISPOSED);
+    }
+
+    private static void release(Disposable resource) {
+        if (resource != null) {
+            resource.dispose();
+        }
+    }
+
+    // Single.create, Maybe.create and Completable.create all hand this emitter to their callback.
+    interface OnSubscribe<T> {
+
+        void subscribe(OneShotEmitter<T> emitter) throws Exception;
+    }
+}
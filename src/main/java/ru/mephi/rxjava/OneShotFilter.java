@@ -0,0 +1,54 @@
+package ru.mephi.rxjava;
+
+final class OneShotFilter<T> implements OneShotSource<T> {
+
+    private final OneShotSource<T> upstream;
+    private final Predicate<T> predicate;
+
+    OneShotFilter(OneShotSource<T> upstream, Predicate<T> predicate) {
+        this.upstream = upstream;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public void subscribe(MaybeObserver<T> observer, SerialDisposable parent) {
+        upstream.subscribe(new FilterObserver<>(observer, predicate), parent);
+    }
+
+    static final class FilterObserver<T> implements MaybeObserver<T> {
+
+        private final MaybeObserver<T> downstream;
+        private final Predicate<T> predicate;
+
+        FilterObserver(MaybeObserver<T> downstream, Predicate<T> predicate) {
+            this.downstream = downstream;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public void onSuccess(T item) {
+            boolean accepted;
+            try {
+                accepted = predicate.test(item);
+            } catch (Exception e) {
+                downstream.onError(e);
+                return;
+            }
+            if (accepted) {
+                downstream.onSuccess(item);
+            } else {
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            downstream.onError(t);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package ru.mephi.rxjava;
+
+// Subscribes to the source produced from the success value, or to the fallback when the upstream
+// completes empty (which is how Completable.andThen is built). The next subscription takes over the
+// parent's slot, so disposing the downstream always reaches whichever source is current.
+final class OneShotFlatMap<T, R> implements OneShotSource<R> {
+
+    private final OneShotSource<T> upstream;
+    private final Function<T, OneShotSource<R>> mapper;
+    private final OneShotSource<R> onEmpty;
+
+    OneShotFlatMap(OneShotSource<T> upstream, Function<T, OneShotSource<R>> mapper, OneShotSource<R> onEmpty) {
+        this.upstream = upstream;
+        this.mapper = mapper;
+        this.onEmpty = onEmpty;
+    }
+
+    @Override
+    public void subscribe(MaybeObserver<R> observer, SerialDisposable parent) {
+        upstream.subscribe(new FlatMapObserver<>(observer, parent, mapper, onEmpty), parent);
+    }
+
+    static final class FlatMapObserver<T, R> implements MaybeObserver<T> {
+
+        private final MaybeObserver<R> downstream;
+        private final SerialDisposable parent;
+        private final Function<T, OneShotSource<R>> mapper;
+        private final OneShotSource<R> onEmpty;
+
+        FlatMapObserver(MaybeObserver<R> downstream, SerialDisposable parent,
+                        Function<T, OneShotSource<R>> mapper, OneShotSource<R> onEmpty) {
+            this.downstream = downstream;
+            this.parent = parent;
+            this.mapper = mapper;
+            this.onEmpty = onEmpty;
+        }
+
+        @Override
+        public void onSuccess(T item) {
+            OneShotSource<R> next;
+            try {
+                next = mapper.apply(item);
+            } catch (Exception e) {
+                downstream.onError(e);
+                return;
+            }
+            if (next == null) {
+                downstream.onError(new NullPointerException("The mapper returned null"));
+                return;
+            }
+            next.subscribe(downstream, parent);
+        }
+
+        @Override
+        public void onComplete() {
+            if (onEmpty == null) {
+                downstream.onComplete();
+            } else {
+                onEmpty.subscribe(downstream, parent);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            downstream.onError(t);
+        }
+    }
+}
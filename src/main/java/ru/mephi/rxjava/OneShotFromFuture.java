@@ -0,0 +1,58 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiConsumer;
+
+// Disposing only detaches the observer: the future may be shared, so it is never cancelled from here.
+final class OneShotFromFuture<T> implements OneShotSource<T> {
+
+    private final CompletionStage<T> stage;
+
+    OneShotFromFuture(CompletionStage<T> stage) {
+        this.stage = stage;
+    }
+
+    @Override
+    public void subscribe(MaybeObserver<T> observer, SerialDisposable parent) {
+        FutureObserver<T> futureObserver = new FutureObserver<>(observer);
+        parent.setDisposable(futureObserver);
+        stage.whenComplete(futureObserver);
+    }
+
+    static final class FutureObserver<T> implements BiConsumer<T, Throwable>, Disposable {
+
+        private final MaybeObserver<T> downstream;
+        private volatile boolean disposed;
+
+        FutureObserver(MaybeObserver<T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void accept(T value, Throwable error) {
+            if (disposed) {
+                return;
+            }
+            if (error != null) {
+                downstream.onError(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error);
+            } else if (value == null) {
+                downstream.onComplete();
+            } else {
+                downstream.onSuccess(value);
+            }
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
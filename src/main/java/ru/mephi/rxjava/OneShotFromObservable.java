@@ -0,0 +1,61 @@
+package ru.mephi.rxjava;
+
+// Takes the first item of an Observable and disposes the rest of it, or with ignoreItems waits
+// for its completion only (Observable.ignoreElements).
+final class OneShotFromObservable<T> implements OneShotSource<T> {
+
+    private final Observable<T> observable;
+    private final boolean ignoreItems;
+
+    OneShotFromObservable(Observable<T> observable, boolean ignoreItems) {
+        this.observable = observable;
+        this.ignoreItems = ignoreItems;
+    }
+
+    @Override
+    public void subscribe(MaybeObserver<T> observer, SerialDisposable parent) {
+        CompositeDisposable resources = new CompositeDisposable();
+        parent.setDisposable(resources);
+        observable.subscribe(new FirstObserver<>(observer, resources, ignoreItems), resources);
+    }
+
+    static final class FirstObserver<T> implements Observer<T> {
+
+        private final MaybeObserver<T> downstream;
+        private final CompositeDisposable resources;
+        private final boolean ignoreItems;
+        private boolean done;
+
+        FirstObserver(MaybeObserver<T> downstream, CompositeDisposable resources, boolean ignoreItems) {
+            this.downstream = downstream;
+            this.resources = resources;
+            this.ignoreItems = ignoreItems;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done || ignoreItems) {
+                return;
+            }
+            done = true;
+            resources.dispose();
+            downstream.onSuccess(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!done) {
+                done = true;
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+    }
+}
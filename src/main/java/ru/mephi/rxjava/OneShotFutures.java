@@ -0,0 +1,60 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+final class OneShotFutures {
+
+    private OneShotFutures() {
+    }
+
+    // Cancelling the returned future disposes the subscription. An empty result completes it with null.
+    static <T> CompletableFuture<T> toFuture(OneShotSource<T> source) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        SerialDisposable upstream = new SerialDisposable();
+        future.whenComplete((value, error) -> {
+            if (error instanceof CancellationException) {
+                upstream.dispose();
+            }
+        });
+        source.subscribe(new MaybeObserver<>() {
+            @Override
+            public void onSuccess(T item) {
+                future.complete(item);
+            }
+
+            @Override
+            public void onComplete() {
+                future.complete(null);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }, upstream);
+        return future;
+    }
+
+    // Rethrows runtime errors as they are and wraps checked ones, like a failed Callable would be reported.
+    static <T> T blockingGet(OneShotSource<T> source) {
+        CompletableFuture<T> future = toFuture(source);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the result", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package ru.mephi.rxjava;
+
+// Drops the success value and completes instead: the bridge from Single and Maybe to Completable.
+final class OneShotIgnore<T> implements OneShotSource<Object> {
+
+    private final OneShotSource<T> upstream;
+
+    OneShotIgnore(OneShotSource<T> upstream) {
+        this.upstream = upstream;
+    }
+
+    @Override
+    public void subscribe(MaybeObserver<Object> observer, SerialDisposable parent) {
+        upstream.subscribe(new IgnoreObserver<>(observer), parent);
+    }
+
+    static final class IgnoreObserver<T> implements MaybeObserver<T> {
+
+        private final MaybeObserver<Object> downstream;
+
+        IgnoreObserver(MaybeObserver<Object> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSuccess(T item) {
+            downstream.onComplete();
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            downstream.onError(t);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package ru.mephi.rxjava;
+
+final class OneShotMap<T, R> implements OneShotSource<R> {
+
+    private final OneShotSource<T> upstream;
+    private final Function<T, R> mapper;
+
+    OneShotMap(OneShotSource<T> upstream, Function<T, R> mapper) {
+        this.upstream = upstream;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public void subscribe(MaybeObserver<R> observer, SerialDisposable parent) {
+        upstream.subscribe(new MapObserver<>(observer, mapper), parent);
+    }
+
+    static final class MapObserver<T, R> implements MaybeObserver<T> {
+
+        private final MaybeObserver<R> downstream;
+        private final Function<T, R> mapper;
+
+        MapObserver(MaybeObserver<R> downstream, Function<T, R> mapper) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void onSuccess(T item) {
+            R result;
+            try {
+                result = mapper.apply(item);
+            } catch (Exception e) {
+                downstream.onError(e);
+                return;
+            }
+            if (result == null) {
+                downstream.onError(new NullPointerException("The mapper returned null"));
+                return;
+            }
+            downstream.onSuccess(result);
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            downstream.onError(t);
+        }
+    }
+}
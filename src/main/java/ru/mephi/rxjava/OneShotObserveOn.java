@@ -0,0 +1,69 @@
+package ru.mephi.rxjava;
+
+// Keeps the single result and delivers it with one task on the scheduler.
+final class OneShotObserveOn<T> implements OneShotSource<T> {
+
+    private final OneShotSource<T> upstream;
+    private final Scheduler scheduler;
+
+    OneShotObserveOn(OneShotSource<T> upstream, Scheduler scheduler) {
+        this.upstream = upstream;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(MaybeObserver<T> observer, SerialDisposable parent) {
+        ObserveOnObserver<T> observeOnObserver = new ObserveOnObserver<>(observer, scheduler);
+        parent.setDisposable(observeOnObserver);
+        upstream.subscribe(observeOnObserver, observeOnObserver);
+    }
+
+    static final class ObserveOnObserver<T> extends SerialDisposable implements MaybeObserver<T>, Runnable {
+
+        private final MaybeObserver<T> downstream;
+        private final Scheduler scheduler;
+        // Written before the task is submitted, which publishes them to the scheduler thread.
+        private T value;
+        private Throwable error;
+
+        ObserveOnObserver(MaybeObserver<T> downstream, Scheduler scheduler) {
+            this.downstream = downstream;
+            this.scheduler = scheduler;
+        }
+
+        @Override
+        public void onSuccess(T item) {
+            value = item;
+            scheduler.execute(this);
+        }
+
+        @Override
+        public void onComplete() {
+            scheduler.execute(this);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+            scheduler.execute(this);
+        }
+
+        @Override
+        public void run() {
+            if (isDisposed()) {
+                return;
+            }
+            Throwable t = error;
+            if (t != null) {
+                downstream.onError(t);
+                return;
+            }
+            T item = value;
+            if (item != null) {
+                downstream.onSuccess(item);
+            } else {
+                downstream.onComplete();
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Resubscribes after an error, at most `times` times. A source that fails synchronously is retried
+// in a loop instead of recursively, so a long retry chain does not grow the stack.
+final class OneShotRetry<T> implements OneShotSource<T> {
+
+    private final OneShotSource<T> upstream;
+    private final long times;
+
+    OneShotRetry(OneShotSource<T> upstream, long times) {
+        this.upstream = upstream;
+        this.times = times;
+    }
+
+    @Override
+    public void subscribe(MaybeObserver<T> observer, SerialDisposable parent) {
+        RetryObserver<T> retryObserver = new RetryObserver<>(observer, upstream, times);
+        parent.setDisposable(retryObserver);
+        retryObserver.subscribeNext();
+    }
+
+    static final class RetryObserver<T> extends SerialDisposable implements MaybeObserver<T> {
+
+        private final MaybeObserver<T> downstream;
+        private final OneShotSource<T> upstream;
+        private final AtomicInteger wip = new AtomicInteger();
+        // Only touched between two subscriptions, which the wip counter orders.
+        private long remaining;
+
+        RetryObserver(MaybeObserver<T> downstream, OneShotSource<T> upstream, long times) {
+            this.downstream = downstream;
+            this.upstream = upstream;
+            this.remaining = times;
+        }
+
+        void subscribeNext() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                if (isDisposed()) {
+                    return;
+                }
+                upstream.subscribe(this, this);
+            } while (wip.decrementAndGet() != 0);
+        }
+
+        @Override
+        public void onSuccess(T item) {
+            downstream.onSuccess(item);
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            long r = remaining;
+            if (r == 0L) {
+                downstream.onError(t);
+                return;
+            }
+            if (r != Long.MAX_VALUE) {
+                remaining = r - 1;
+            }
+            subscribeNext();
+        }
+    }
+}
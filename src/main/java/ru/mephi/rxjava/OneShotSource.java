@@ -0,0 +1,9 @@
+package ru.mephi.rxjava;
+
+// The common source behind Single, Maybe and Completable. All three deliver through a MaybeObserver
+// (a Single never completes empty, a Completable never succeeds), so every operator is written once.
+// The subscription is linked into the parent before the source runs, like Observable's resources.
+interface OneShotSource<T> {
+
+    void subscribe(MaybeObserver<T> observer, SerialDisposable parent);
+}
@@ -0,0 +1,54 @@
+package ru.mephi.rxjava;
+
+final class OneShotSubscribeOn<T> implements OneShotSource<T> {
+
+    private final OneShotSource<T> upstream;
+    private final Scheduler scheduler;
+
+    OneShotSubscribeOn(OneShotSource<T> upstream, Scheduler scheduler) {
+        this.upstream = upstream;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(MaybeObserver<T> observer, SerialDisposable parent) {
+        SubscribeTask<T> task = new SubscribeTask<>(upstream, observer);
+        parent.setDisposable(task);
+        task.setTask(scheduler.schedule(task));
+    }
+
+    // Its own slot holds the upstream subscription; the scheduled task is kept beside it so that an
+    // early dispose() can still skip or interrupt the subscription.
+    static final class SubscribeTask<T> extends SerialDisposable implements Runnable {
+
+        private final OneShotSource<T> upstream;
+        private final MaybeObserver<T> downstream;
+        private volatile Disposable task;
+
+        SubscribeTask(OneShotSource<T> upstream, MaybeObserver<T> downstream) {
+            this.upstream = upstream;
+            this.downstream = downstream;
+        }
+
+        void setTask(Disposable task) {
+            this.task = task;
+            if (isDisposed()) {
+                task.dispose();
+            }
+        }
+
+        @Override
+        public void run() {
+            upstream.subscribe(downstream, this);
+        }
+
+        @Override
+        public void dispose() {
+            Disposable current = task;
+            if (current != null) {
+                current.dispose();
+            }
+            super.dispose();
+        }
+    }
+}
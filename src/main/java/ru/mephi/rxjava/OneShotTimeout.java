@@ -0,0 +1,89 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+final class OneShotTimeout<T> implements OneShotSource<T> {
+
+    private final OneShotSource<T> upstream;
+    private final long timeout;
+    private final TimeUnit unit;
+    private final Scheduler scheduler;
+
+    OneShotTimeout(OneShotSource<T> upstream, long timeout, TimeUnit unit, Scheduler scheduler) {
+        this.upstream = upstream;
+        this.timeout = timeout;
+        this.unit = unit;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(MaybeObserver<T> observer, SerialDisposable parent) {
+        TimeoutObserver<T> timeoutObserver = new TimeoutObserver<>(observer, timeout, unit);
+        parent.setDisposable(timeoutObserver);
+        timeoutObserver.timer = scheduler.schedule(timeoutObserver, timeout, unit);
+        upstream.subscribe(timeoutObserver, timeoutObserver);
+    }
+
+    // Holds the upstream in its own slot; the timer and the result race for the once flag.
+    static final class TimeoutObserver<T> extends SerialDisposable implements MaybeObserver<T>, Runnable {
+
+        private final MaybeObserver<T> downstream;
+        private final long timeout;
+        private final TimeUnit unit;
+        private final AtomicBoolean once = new AtomicBoolean();
+        volatile Disposable timer;
+
+        TimeoutObserver(MaybeObserver<T> downstream, long timeout, TimeUnit unit) {
+            this.downstream = downstream;
+            this.timeout = timeout;
+            this.unit = unit;
+        }
+
+        @Override
+        public void run() {
+            if (once.compareAndSet(false, true)) {
+                super.dispose();
+                downstream.onError(new TimeoutException("No result within " + timeout + " " + unit.name().toLowerCase()));
+            }
+        }
+
+        @Override
+        public void onSuccess(T item) {
+            if (once.compareAndSet(false, true)) {
+                cancelTimer();
+                downstream.onSuccess(item);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (once.compareAndSet(false, true)) {
+                cancelTimer();
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (once.compareAndSet(false, true)) {
+                cancelTimer();
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void dispose() {
+            cancelTimer();
+            super.dispose();
+        }
+
+        private void cancelTimer() {
+            Disposable current = timer;
+            if (current != null) {
+                current.dispose();
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package ru.mephi.rxjava;
+
+final class OneShotToObservable<T> implements ObservableOnSubscribe<T> {
+
+    private final OneShotSource<T> source;
+
+    OneShotToObservable(OneShotSource<T> source) {
+        this.source = source;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<T> emitter) {
+        SerialDisposable upstream = new SerialDisposable();
+        emitter.setDisposable(upstream);
+        source.subscribe(new MaybeObserver<>() {
+            @Override
+            public void onSuccess(T item) {
+                emitter.onNext(item);
+                emitter.onComplete();
+            }
+
+            @Override
+            public void onComplete() {
+                emitter.onComplete();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                emitter.onError(t);
+            }
+        }, upstream);
+    }
+}
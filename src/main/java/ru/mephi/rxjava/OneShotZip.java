@@ -0,0 +1,138 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Waits for every source and combines their values. An error, or an empty Maybe, ends the zip at
+// once and disposes the rest. Without a zipper this is Completable.merge: completions are counted.
+final class OneShotZip<R> implements OneShotSource<R> {
+
+    private final OneShotSource<?>[] sources;
+    private final Function<Object[], R> zipper;
+
+    OneShotZip(OneShotSource<?>[] sources, Function<Object[], R> zipper) {
+        this.sources = sources;
+        this.zipper = zipper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void subscribe(MaybeObserver<R> observer, SerialDisposable parent) {
+        int n = sources.length;
+        if (n == 0) {
+            observer.onComplete();
+            return;
+        }
+        ZipCoordinator<R> coordinator = new ZipCoordinator<>(observer, zipper, n);
+        parent.setDisposable(coordinator);
+        for (int i = 0; i < n; i++) {
+            if (coordinator.isDisposed()) {
+                return;
+            }
+            ((OneShotSource<Object>) sources[i]).subscribe(coordinator.inners[i], coordinator.inners[i]);
+        }
+    }
+
+    // Counts down the sources still outstanding; whoever takes it to zero emits, and an early
+    // error or empty result sets it to zero so that nothing else can.
+    static final class ZipCoordinator<R> extends AtomicInteger implements Disposable {
+
+        private final MaybeObserver<R> downstream;
+        private final Function<Object[], R> zipper;
+        private final Object[] values;
+        final ZipInner[] inners;
+        private volatile boolean disposed;
+
+        ZipCoordinator(MaybeObserver<R> downstream, Function<Object[], R> zipper, int n) {
+            super(n);
+            this.downstream = downstream;
+            this.zipper = zipper;
+            this.values = zipper == null ? null : new Object[n];
+            this.inners = new ZipInner[n];
+            for (int i = 0; i < n; i++) {
+                inners[i] = new ZipInner(this, i);
+            }
+        }
+
+        void innerSuccess(int index, Object value) {
+            if (values != null) {
+                values[index] = value;
+            }
+            if (decrementAndGet() != 0) {
+                return;
+            }
+            if (zipper == null) {
+                downstream.onComplete();
+                return;
+            }
+            R result;
+            try {
+                result = zipper.apply(values);
+            } catch (Exception e) {
+                downstream.onError(e);
+                return;
+            }
+            if (result == null) {
+                downstream.onError(new NullPointerException("The zipper returned null"));
+                return;
+            }
+            downstream.onSuccess(result);
+        }
+
+        void innerEmpty(int index) {
+            if (zipper == null) {
+                innerSuccess(index, null);
+            } else if (getAndSet(0) > 0) {
+                dispose();
+                downstream.onComplete();
+            }
+        }
+
+        void innerError(Throwable t) {
+            if (getAndSet(0) > 0) {
+                dispose();
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (!disposed) {
+                disposed = true;
+                for (ZipInner inner : inners) {
+                    inner.dispose();
+                }
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+
+    static final class ZipInner extends SerialDisposable implements MaybeObserver<Object> {
+
+        private final ZipCoordinator<?> parent;
+        private final int index;
+
+        ZipInner(ZipCoordinator<?> parent, int index) {
+            this.parent = parent;
+            this.index = index;
+        }
+
+        @Override
+        public void onSuccess(Object item) {
+            parent.innerSuccess(index, item);
+        }
+
+        @Override
+        public void onComplete() {
+            parent.innerEmpty(index);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            parent.innerError(t);
+        }
+    }
+}
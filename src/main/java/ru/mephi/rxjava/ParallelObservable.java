@@ -0,0 +1,74 @@
+package ru.mephi.rxjava;
+
+// Items of one Observable dealt round-robin into N rails; map/filter of each rail run on their own
+// worker and the rails are joined back into a single Observable.
+public final class ParallelObservable<T> {
+
+    private final Observable<?> source;
+    private final int parallelism;
+    private final Scheduler scheduler;
+    private final int prefetch;
+    private final FusedStages stages;
+
+    ParallelObservable(Observable<?> source, int parallelism, Scheduler scheduler, int prefetch, FusedStages stages) {
+        this.source = source;
+        this.parallelism = parallelism;
+        this.scheduler = scheduler;
+        this.prefetch = prefetch;
+        this.stages = stages;
+    }
+
+    public int parallelism() {
+        return parallelism;
+    }
+
+    public ParallelObservable<T> runOn(Scheduler scheduler) {
+        return runOn(scheduler, Observable.DEFAULT_BATCH_SIZE);
+    }
+
+    public ParallelObservable<T> runOn(Scheduler scheduler, int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+        }
+        return new ParallelObservable<>(source, parallelism, scheduler, prefetch, stages);
+    }
+
+    public <R> ParallelObservable<R> map(Function<T, R> mapper) {
+        return new ParallelObservable<>(source, parallelism, scheduler, prefetch, stages.withMap(mapper));
+    }
+
+    public ParallelObservable<T> filter(Predicate<T> predicate) {
+        return new ParallelObservable<>(source, parallelism, scheduler, prefetch, stages.withFilter(predicate));
+    }
+
+    // Every rail folds its own items, then the partial results are folded in rail order.
+    public Observable<T> reduce(BiFunction<T, T, T> reducer) {
+        return Observable.create(new ObservableParallelJoin<>(this, ObservableParallelJoin.Mode.REDUCE, reducer));
+    }
+
+    // Merges the rails in the order their results become available.
+    public Observable<T> sequential() {
+        return Observable.create(new ObservableParallelJoin<>(this, ObservableParallelJoin.Mode.SEQUENTIAL, null));
+    }
+
+    // Merges the rails back in the order of the source items.
+    public Observable<T> sorted() {
+        return Observable.create(new ObservableParallelJoin<>(this, ObservableParallelJoin.Mode.SORTED, null));
+    }
+
+    Observable<?> source() {
+        return source;
+    }
+
+    Scheduler scheduler() {
+        return scheduler;
+    }
+
+    int prefetch() {
+        return prefetch;
+    }
+
+    FusedStages stages() {
+        return stages;
+    }
+}
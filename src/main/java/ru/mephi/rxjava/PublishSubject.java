@@ -0,0 +1,99 @@
+package ru.mephi.rxjava;
+
+// Emits to each subscriber only the items that arrive after it subscribed.
+public final class PublishSubject<T> extends Subject<T> {
+
+    private final State<T> state;
+
+    private PublishSubject(State<T> state) {
+        super(state);
+        this.state = state;
+    }
+
+    public static <T> PublishSubject<T> create() {
+        return new PublishSubject<>(new State<>());
+    }
+
+    @Override
+    public void onNext(T item) {
+        state.onNext(item);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        state.onError(t);
+    }
+
+    @Override
+    public void onComplete() {
+        state.onComplete();
+    }
+
+    @Override
+    public boolean hasObservers() {
+        return state.subscribers.size() != 0;
+    }
+
+    @Override
+    public boolean hasComplete() {
+        return state.subscribers.isTerminated() && state.error == null;
+    }
+
+    @Override
+    public boolean hasThrowable() {
+        return state.subscribers.isTerminated() && state.error != null;
+    }
+
+    @Override
+    public Throwable getThrowable() {
+        return state.subscribers.isTerminated() ? state.error : null;
+    }
+
+    static final class State<T> implements ObservableOnSubscribe<T>, Observer<T> {
+
+        final SubscriberArray<ObservableEmitter<T>> subscribers = new SubscriberArray<>();
+        volatile Throwable error;
+
+        @Override
+        public void subscribe(ObservableEmitter<T> emitter) {
+            if (subscribers.add(emitter)) {
+                emitter.setCancellable(() -> subscribers.remove(emitter));
+                return;
+            }
+            Throwable t = error;
+            if (t != null) {
+                emitter.onError(t);
+            } else {
+                emitter.onComplete();
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onNext(T item) {
+            for (Object subscriber : subscribers.get()) {
+                ((ObservableEmitter<T>) subscriber).onNext(item);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onError(Throwable t) {
+            if (subscribers.isTerminated()) {
+                return;
+            }
+            error = t;
+            for (Object subscriber : subscribers.terminate()) {
+                ((ObservableEmitter<T>) subscriber).onError(t);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onComplete() {
+            for (Object subscriber : subscribers.terminate()) {
+                ((ObservableEmitter<T>) subscriber).onComplete();
+            }
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Replays the buffered items to every new subscriber, then continues with the live ones.
+// The buffer is a singly linked list appended by the emitting thread; each subscriber walks it
+// at its own pace, so neither side takes a lock and trimmed nodes are collected once no
+// subscriber points at them anymore.
+public final class ReplaySubject<T> extends Subject<T> {
+
+    private final State<T> state;
+
+    private ReplaySubject(State<T> state) {
+        super(state);
+        this.state = state;
+    }
+
+    public static <T> ReplaySubject<T> create() {
+        return new ReplaySubject<>(new State<>(Integer.MAX_VALUE, Long.MAX_VALUE, null));
+    }
+
+    public static <T> ReplaySubject<T> createWithSize(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize > 0 required but it was " + maxSize);
+        }
+        return new ReplaySubject<>(new State<>(maxSize, Long.MAX_VALUE, null));
+    }
+
+    public static <T> ReplaySubject<T> createWithTime(long maxAge, TimeUnit unit, Scheduler scheduler) {
+        return createWithTimeAndSize(maxAge, unit, scheduler, Integer.MAX_VALUE);
+    }
+
+    public static <T> ReplaySubject<T> createWithTimeAndSize(long maxAge, TimeUnit unit, Scheduler scheduler, int maxSize) {
+        if (maxAge <= 0L) {
+            throw new IllegalArgumentException("maxAge > 0 required but it was " + maxAge);
+        }
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize > 0 required but it was " + maxSize);
+        }
+        return new ReplaySubject<>(new State<>(maxSize, unit.toNanos(maxAge), scheduler));
+    }
+
+    @Override
+    public void onNext(T item) {
+        state.onNext(item);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        state.onError(t);
+    }
+
+    @Override
+    public void onComplete() {
+        state.onComplete();
+    }
+
+    @Override
+    public boolean hasObservers() {
+        return state.subscribers.size() != 0;
+    }
+
+    @Override
+    public boolean hasComplete() {
+        return state.terminal == State.COMPLETE;
+    }
+
+    @Override
+    public boolean hasThrowable() {
+        return state.terminal instanceof ErrorSignal;
+    }
+
+    @Override
+    public Throwable getThrowable() {
+        Object terminal = state.terminal;
+        return terminal instanceof ErrorSignal ? ((ErrorSignal) terminal).error : null;
+    }
+
+    // Wraps the error in the buffer so that a subject of Throwable items can still tell them apart.
+    static final class ErrorSignal {
+
+        final Throwable error;
+
+        ErrorSignal(Throwable error) {
+            this.error = error;
+        }
+    }
+
+    static final class Node extends AtomicReference<Node> {
+
+        final Object value;
+        final long time;
+
+        Node(Object value, long time) {
+            this.value = value;
+            this.time = time;
+        }
+    }
+
+    static final class State<T> implements ObservableOnSubscribe<T>, Observer<T> {
+
+        static final Object COMPLETE = new Object();
+
+        final SubscriberArray<ReplayInner<T>> subscribers = new SubscriberArray<>();
+        private final int maxSize;
+        private final long maxAgeNanos;
+        private final Scheduler scheduler;
+
+        // head is a sentinel: replay starts with head.get(). Only the emitting thread moves it.
+        private volatile Node head;
+        private Node tail;
+        private int size;
+        // Null while live, COMPLETE or an ErrorSignal once terminated.
+        volatile Object terminal;
+
+        State(int maxSize, long maxAgeNanos, Scheduler scheduler) {
+            this.maxSize = maxSize;
+            this.maxAgeNanos = maxAgeNanos;
+            this.scheduler = scheduler;
+            Node sentinel = new Node(null, 0L);
+            this.head = sentinel;
+            this.tail = sentinel;
+        }
+
+        @Override
+        public void subscribe(ObservableEmitter<T> emitter) {
+            ReplayInner<T> inner = new ReplayInner<>(emitter, this);
+            if (subscribers.add(inner)) {
+                emitter.setCancellable(() -> subscribers.remove(inner));
+            }
+            inner.replay();
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (terminal != null) {
+                return;
+            }
+            append(item);
+            trim();
+            replayAll(subscribers.get());
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            terminate(new ErrorSignal(t));
+        }
+
+        @Override
+        public void onComplete() {
+            terminate(COMPLETE);
+        }
+
+        private void terminate(Object signal) {
+            if (terminal != null) {
+                return;
+            }
+            append(signal);
+            terminal = signal;
+            replayAll(subscribers.terminate());
+        }
+
+        private void append(Object value) {
+            Node node = new Node(value, now());
+            tail.set(node);
+            tail = node;
+            size++;
+        }
+
+        private void trim() {
+            Node h = head;
+            while (size > maxSize) {
+                h = h.get();
+                size--;
+            }
+            if (maxAgeNanos != Long.MAX_VALUE) {
+                long limit = now() - maxAgeNanos;
+                Node next;
+                while ((next = h.get()) != null && next.time <= limit && next != tail) {
+                    h = next;
+                    size--;
+                }
+            }
+            head = h;
+        }
+
+        // Where a new subscriber starts: items that aged out since the last append are skipped too.
+        Node start() {
+            Node h = head;
+            if (maxAgeNanos != Long.MAX_VALUE) {
+                long limit = now() - maxAgeNanos;
+                Node next;
+                while ((next = h.get()) != null && next.time <= limit && !isTerminal(next.value)) {
+                    h = next;
+                }
+            }
+            return h;
+        }
+
+        private long now() {
+            return scheduler == null ? 0L : scheduler.now(TimeUnit.NANOSECONDS);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void replayAll(Object[] inners) {
+            for (Object inner : inners) {
+                ((ReplayInner<T>) inner).replay();
+            }
+        }
+
+        static boolean isTerminal(Object value) {
+            return value == COMPLETE || value instanceof ErrorSignal;
+        }
+    }
+
+    static final class ReplayInner<T> extends AtomicInteger {
+
+        private final ObservableEmitter<T> downstream;
+        private final State<T> state;
+        // The last node this subscriber has seen; null until the first replay.
+        private Node node;
+        private boolean done;
+
+        ReplayInner(ObservableEmitter<T> downstream, State<T> state) {
+            this.downstream = downstream;
+            this.state = state;
+        }
+
+        @SuppressWarnings("unchecked")
+        void replay() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                if (done) {
+                    return;
+                }
+                Node current = node;
+                if (current == null) {
+                    current = state.start();
+                }
+                for (;;) {
+                    if (downstream.isDisposed()) {
+                        node = null;
+                        done = true;
+                        return;
+                    }
+                    Node next = current.get();
+                    if (next == null) {
+                        break;
+                    }
+                    Object value = next.value;
+                    if (value == State.COMPLETE) {
+                        done = true;
+                        downstream.onComplete();
+                        return;
+                    }
+                    if (value instanceof ErrorSignal) {
+                        done = true;
+                        downstream.onError(((ErrorSignal) value).error);
+                        return;
+                    }
+                    downstream.onNext((T) value);
+                    current = next;
+                }
+                node = current;
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,441 @@
+package ru.mephi.rxjava;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// Instrumentation that collects per-scheduler and per-operator counters and latencies.
+// Read it in-process with getSchedulers()/getOperators() or remotely over JMX after registerMBean().
+public final class RxMetrics implements Instrumentation, RxMetricsMXBean {
+
+    public static final String OBJECT_NAME = "ru.mephi.rxjava:type=RxMetrics";
+
+    // Keyed by name rather than by instance, so schedulers created on the fly (Schedulers.from) do not
+    // add an entry each.
+    private final ConcurrentHashMap<String, SchedulerMetrics> schedulers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, OperatorMetrics> operators = new ConcurrentHashMap<>();
+
+    // Creates the collector and installs it as the current instrumentation.
+    public static RxMetrics install() {
+        RxMetrics metrics = new RxMetrics();
+        RxPlugins.setInstrumentation(metrics);
+        return metrics;
+    }
+
+    public void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(this, name);
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register " + OBJECT_NAME, e);
+        }
+    }
+
+    public void unregisterMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not unregister " + OBJECT_NAME, e);
+        }
+    }
+
+    @Override
+    public Runnable onSchedule(Scheduler scheduler, Runnable task) {
+        String name = schedulerName(scheduler);
+        SchedulerMetrics metrics = schedulers.get(name);
+        if (metrics == null) {
+            metrics = schedulers.computeIfAbsent(name, SchedulerMetrics::new);
+        }
+        metrics.submitted.increment();
+        return new TimedTask(metrics, task, System.nanoTime());
+    }
+
+    @Override
+    public <T> Observable<T> onAssembly(String operator, Observable<T> observable) {
+        operator(operator).assembled.increment();
+        return observable;
+    }
+
+    @Override
+    public <T> Observer<T> onSubscribe(String operator, Observable<T> observable, Observer<T> observer) {
+        OperatorMetrics metrics = operator(operator);
+        metrics.subscribed.increment();
+        return new CountingObserver<>(metrics, observer);
+    }
+
+    @Override
+    public void onDropped(String operator) {
+        operator(operator).dropped.increment();
+    }
+
+    @Override
+    public List<SchedulerStats> getSchedulers() {
+        List<SchedulerStats> result = new ArrayList<>();
+        for (SchedulerMetrics metrics : schedulers.values()) {
+            result.add(metrics.snapshot());
+        }
+        result.sort((a, b) -> a.getName().compareTo(b.getName()));
+        return result;
+    }
+
+    @Override
+    public List<OperatorStats> getOperators() {
+        List<OperatorStats> result = new ArrayList<>();
+        for (OperatorMetrics metrics : operators.values()) {
+            result.add(metrics.snapshot());
+        }
+        result.sort((a, b) -> a.getName().compareTo(b.getName()));
+        return result;
+    }
+
+    public SchedulerStats getScheduler(String name) {
+        for (SchedulerStats stats : getSchedulers()) {
+            if (stats.getName().equals(name)) {
+                return stats;
+            }
+        }
+        return null;
+    }
+
+    public OperatorStats getOperator(String name) {
+        OperatorMetrics metrics = operators.get(name);
+        return metrics == null ? null : metrics.snapshot();
+    }
+
+    @Override
+    public void reset() {
+        schedulers.clear();
+        operators.clear();
+    }
+
+    private OperatorMetrics operator(String name) {
+        OperatorMetrics metrics = operators.get(name);
+        return metrics != null ? metrics : operators.computeIfAbsent(name, OperatorMetrics::new);
+    }
+
+    // Asks Schedulers for the names it has given out instead of comparing with computation() and the
+    // others, which would create every shared pool on the first instrumented task. Any other scheduler
+    // is counted under its class name.
+    private static String schedulerName(Scheduler scheduler) {
+        String name = Schedulers.nameOf(scheduler);
+        return name != null ? name : scheduler.getClass().getSimpleName();
+    }
+
+    static final class SchedulerMetrics {
+
+        final String name;
+        final LongAdder submitted = new LongAdder();
+        final LongAdder started = new LongAdder();
+        final LongAdder completed = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LongAdder active = new LongAdder();
+        final LatencyHistogram delay = new LatencyHistogram();
+        final LatencyHistogram duration = new LatencyHistogram();
+
+        SchedulerMetrics(String name) {
+            this.name = name;
+        }
+
+        SchedulerStats snapshot() {
+            long startedCount = started.sum();
+            // Read after started, so a task counted as started is always counted as submitted.
+            long submittedCount = submitted.sum();
+            return new SchedulerStats(name, submittedCount, completed.sum(), failed.sum(), active.sum(),
+                    Math.max(0L, submittedCount - startedCount), delay.snapshot(), duration.snapshot());
+        }
+    }
+
+    static final class TimedTask implements Runnable {
+
+        private final SchedulerMetrics metrics;
+        private final Runnable task;
+        private final long submitTime;
+
+        TimedTask(SchedulerMetrics metrics, Runnable task, long submitTime) {
+            this.metrics = metrics;
+            this.task = task;
+            this.submitTime = submitTime;
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            metrics.delay.record(start - submitTime);
+            metrics.started.increment();
+            metrics.active.increment();
+            try {
+                task.run();
+                metrics.completed.increment();
+            } catch (RuntimeException | Error e) {
+                metrics.failed.increment();
+                throw e;
+            } finally {
+                metrics.active.decrement();
+                metrics.duration.record(System.nanoTime() - start);
+            }
+        }
+    }
+
+    static final class OperatorMetrics {
+
+        final String name;
+        final LongAdder assembled = new LongAdder();
+        final LongAdder subscribed = new LongAdder();
+        final LongAdder items = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder completions = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+        // The rate is measured between two consecutive snapshots.
+        private long lastItems;
+        private long lastTime = System.nanoTime();
+
+        OperatorMetrics(String name) {
+            this.name = name;
+        }
+
+        synchronized OperatorStats snapshot() {
+            long now = System.nanoTime();
+            long count = items.sum();
+            long elapsed = now - lastTime;
+            double rate = elapsed <= 0L ? 0.0 : (count - lastItems) * 1_000_000_000.0 / elapsed;
+            lastItems = count;
+            lastTime = now;
+            return new OperatorStats(name, assembled.sum(), subscribed.sum(), count, rate,
+                    errors.sum(), completions.sum(), dropped.sum());
+        }
+    }
+
+    static final class CountingObserver<T> implements Observer<T> {
+
+        private final OperatorMetrics metrics;
+        private final Observer<T> downstream;
+
+        CountingObserver(OperatorMetrics metrics, Observer<T> downstream) {
+            this.metrics = metrics;
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onNext(T item) {
+            metrics.items.increment();
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onNextBatch(List<T> items) {
+            metrics.items.add(items.size());
+            downstream.onNextBatch(items);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            metrics.errors.increment();
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            metrics.completions.increment();
+            downstream.onComplete();
+        }
+    }
+
+    public static final class SchedulerStats {
+
+        private final String name;
+        private final long submitted;
+        private final long completed;
+        private final long failed;
+        private final long active;
+        private final long queued;
+        private final LatencyStats delay;
+        private final LatencyStats duration;
+
+        SchedulerStats(String name, long submitted, long completed, long failed, long active, long queued,
+                       LatencyStats delay, LatencyStats duration) {
+            this.name = name;
+            this.submitted = submitted;
+            this.completed = completed;
+            this.failed = failed;
+            this.active = active;
+            this.queued = queued;
+            this.delay = delay;
+            this.duration = duration;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getSubmitted() {
+            return submitted;
+        }
+
+        public long getCompleted() {
+            return completed;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        // Tasks running right now.
+        public long getActive() {
+            return active;
+        }
+
+        // Tasks submitted but not started yet, i.e. the depth of the scheduler's queues.
+        public long getQueued() {
+            return queued;
+        }
+
+        // Time from submission to the start of execution, in nanoseconds.
+        public LatencyStats getDelay() {
+            return delay;
+        }
+
+        // Execution time, in nanoseconds.
+        public LatencyStats getDuration() {
+            return duration;
+        }
+
+        @Override
+        public String toString() {
+            return name + "{submitted=" + submitted + ", completed=" + completed + ", failed=" + failed
+                    + ", active=" + active + ", queued=" + queued + ", delay=" + delay + ", duration=" + duration + "}";
+        }
+    }
+
+    public static final class LatencyStats {
+
+        private final long count;
+        private final long mean;
+        private final long p50;
+        private final long p90;
+        private final long p99;
+        private final long p999;
+        private final long max;
+
+        LatencyStats(long count, long mean, long p50, long p90, long p99, long p999, long max) {
+            this.count = count;
+            this.mean = mean;
+            this.p50 = p50;
+            this.p90 = p90;
+            this.p99 = p99;
+            this.p999 = p999;
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMean() {
+            return mean;
+        }
+
+        public long getP50() {
+            return p50;
+        }
+
+        public long getP90() {
+            return p90;
+        }
+
+        public long getP99() {
+            return p99;
+        }
+
+        public long getP999() {
+            return p999;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return "{count=" + count + ", mean=" + mean + ", p50=" + p50 + ", p90=" + p90 + ", p99=" + p99
+                    + ", p999=" + p999 + ", max=" + max + "}";
+        }
+    }
+
+    public static final class OperatorStats {
+
+        private final String name;
+        private final long assembled;
+        private final long subscribed;
+        private final long items;
+        private final double itemsPerSecond;
+        private final long errors;
+        private final long completions;
+        private final long dropped;
+
+        OperatorStats(String name, long assembled, long subscribed, long items, double itemsPerSecond,
+                      long errors, long completions, long dropped) {
+            this.name = name;
+            this.assembled = assembled;
+            this.subscribed = subscribed;
+            this.items = items;
+            this.itemsPerSecond = itemsPerSecond;
+            this.errors = errors;
+            this.completions = completions;
+            this.dropped = dropped;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getAssembled() {
+            return assembled;
+        }
+
+        public long getSubscribed() {
+            return subscribed;
+        }
+
+        // Items the operator emitted to its subscribers.
+        public long getItems() {
+            return items;
+        }
+
+        // Emission rate since the previous snapshot of this operator.
+        public double getItemsPerSecond() {
+            return itemsPerSecond;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public long getCompletions() {
+            return completions;
+        }
+
+        public long getDropped() {
+            return dropped;
+        }
+
+        @Override
+        public String toString() {
+            return name + "{assembled=" + assembled + ", subscribed=" + subscribed + ", items=" + items
+                    + ", itemsPerSecond=" + itemsPerSecond + ", errors=" + errors + ", completions=" + completions
+                    + ", dropped=" + dropped + "}";
+        }
+    }
+}
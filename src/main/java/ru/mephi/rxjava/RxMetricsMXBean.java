@@ -0,0 +1,13 @@
+package ru.mephi.rxjava;
+
+import java.util.List;
+
+// The JMX view of RxMetrics, registered as ru.mephi.rxjava:type=RxMetrics.
+public interface RxMetricsMXBean {
+
+    List<RxMetrics.SchedulerStats> getSchedulers();
+
+    List<RxMetrics.OperatorStats> getOperators();
+
+    void reset();
+}
@@ -0,0 +1,58 @@
+package ru.mephi.rxjava;
+
+public final class RxPlugins {
+
+    // A single volatile read per hook point is all it costs while no instrumentation is installed.
+    private static volatile Instrumentation instrumentation;
+
+    private RxPlugins() {
+    }
+
+    public static void setInstrumentation(Instrumentation instrumentation) {
+        RxPlugins.instrumentation = instrumentation;
+    }
+
+    public static Instrumentation getInstrumentation() {
+        return instrumentation;
+    }
+
+    public static void reset() {
+        instrumentation = null;
+    }
+
+    static Runnable onSchedule(Scheduler scheduler, Runnable task) {
+        Instrumentation current = instrumentation;
+        return current == null ? task : current.onSchedule(scheduler, task);
+    }
+
+    static <T> Observable<T> onAssembly(Observable<T> observable, Object source) {
+        Instrumentation current = instrumentation;
+        return current == null ? observable : current.onAssembly(operatorName(source), observable);
+    }
+
+    static <T> Observer<T> onSubscribe(Observable<T> observable, Object source, Observer<T> observer) {
+        Instrumentation current = instrumentation;
+        return current == null ? observer : current.onSubscribe(operatorName(source), observable, observer);
+    }
+
+    static void onDropped(String operator) {
+        Instrumentation current = instrumentation;
+        if (current != null) {
+            current.onDropped(operator);
+        }
+    }
+
+    static String operatorName(Object source) {
+        Class<?> type = source.getClass();
+        if (type.isSynthetic() || type.isAnonymousClass()) {
+            return "create";
+        }
+        Class<?> enclosing = type.getEnclosingClass();
+        String name = (enclosing != null ? enclosing : type).getSimpleName();
+        String prefix = "Observable";
+        if (name.startsWith(prefix) && name.length() > prefix.length()) {
+            return Character.toLowerCase(name.charAt(prefix.length())) + name.substring(prefix.length() + 1);
+        }
+        return name;
+    }
+}
@@ -0,0 +1,35 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Names threads "<prefix>-1", "<prefix>-2", ... so that thread dumps show which pool a thread belongs to.
+public final class RxThreadFactory implements ThreadFactory {
+
+    private final String prefix;
+    private final boolean daemon;
+    private final int priority;
+    private final AtomicInteger counter = new AtomicInteger();
+
+    public RxThreadFactory(String prefix) {
+        this(prefix, true, Thread.NORM_PRIORITY);
+    }
+
+    public RxThreadFactory(String prefix, boolean daemon, int priority) {
+        if (priority < Thread.MIN_PRIORITY || priority > Thread.MAX_PRIORITY) {
+            throw new IllegalArgumentException("priority must be between " + Thread.MIN_PRIORITY
+                    + " and " + Thread.MAX_PRIORITY + " but it was " + priority);
+        }
+        this.prefix = prefix;
+        this.daemon = daemon;
+        this.priority = priority;
+    }
+
+    @Override
+    public Thread newThread(Runnable task) {
+        Thread thread = new Thread(task, prefix + "-" + counter.incrementAndGet());
+        thread.setDaemon(daemon);
+        thread.setPriority(priority);
+        return thread;
+    }
+}
@@ -1,6 +1,46 @@
 package ru.mephi.rxjava;
 
+import java.util.concurrent.TimeUnit;
+
 public interface Scheduler {
 
     void execute(Runnable task);
+
+    // Disposing the result skips the task if it is still pending or interrupts it while it runs.
+    default Disposable schedule(Runnable task) {
+        InterruptibleTask interruptibleTask = new InterruptibleTask(task);
+        execute(interruptibleTask);
+        return interruptibleTask;
+    }
+
+    default Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+        return SchedulerTimer.schedule(this::execute, task, delay, unit);
+    }
+
+    default Disposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        return SchedulerTimer.schedulePeriodically(this::execute, task, initialDelay, period, unit);
+    }
+
+    default long now(TimeUnit unit) {
+        return unit.convert(System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    // Lets a scheduler that was shut down accept tasks again; its threads are created on demand.
+    default void start() {
+    }
+
+    // Stops the scheduler's threads; tasks submitted until the next start() are dropped.
+    default void shutdown() {
+    }
+
+    default Worker createWorker() {
+        return new SerialWorker(this);
+    }
+
+    interface Worker extends Disposable {
+
+        void execute(Runnable task);
+
+        Disposable schedule(Runnable task, long delay, TimeUnit unit);
+    }
 }
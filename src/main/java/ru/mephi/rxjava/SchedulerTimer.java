@@ -0,0 +1,86 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// A single heap-based timer shared by all schedulers: it only hands due tasks over to their target,
+// so a slow task never delays the other timeouts.
+final class SchedulerTimer {
+
+    private static final ScheduledThreadPoolExecutor TIMER = createTimer();
+
+    private SchedulerTimer() {
+    }
+
+    private static ScheduledThreadPoolExecutor createTimer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = new Thread(task, "rx-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Cancelled timeouts leave the heap right away instead of waiting for their deadline.
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    static Disposable schedule(Executor target, Runnable task, long delay, TimeUnit unit) {
+        TimedTask timedTask = new TimedTask(task);
+        if (delay <= 0L) {
+            target.execute(timedTask);
+            return timedTask;
+        }
+        timedTask.setFuture(TIMER.schedule(() -> target.execute(timedTask), delay, unit));
+        return timedTask;
+    }
+
+    static Disposable schedulePeriodically(Executor target, Runnable task, long initialDelay, long period, TimeUnit unit) {
+        if (period <= 0L) {
+            throw new IllegalArgumentException("period > 0 required but it was " + period);
+        }
+        TimedTask timedTask = new TimedTask(task);
+        timedTask.setFuture(TIMER.scheduleAtFixedRate(() -> target.execute(timedTask), Math.max(0L, initialDelay), period, unit));
+        return timedTask;
+    }
+
+    static final class TimedTask extends AtomicBoolean implements Runnable, Disposable {
+
+        private final Runnable task;
+        private volatile Future<?> future;
+
+        TimedTask(Runnable task) {
+            this.task = task;
+        }
+
+        void setFuture(Future<?> future) {
+            this.future = future;
+            if (get()) {
+                future.cancel(false);
+            }
+        }
+
+        @Override
+        public void run() {
+            if (!get()) {
+                task.run();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (compareAndSet(false, true)) {
+                Future<?> f = future;
+                if (f != null) {
+                    f.cancel(false);
+                }
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return get();
+        }
+    }
+}
@@ -1,20 +1,118 @@
 package ru.mephi.rxjava;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+// The shared schedulers are created on first use, each by its own holder class, and run daemon threads.
+// Their size and thread priority can be set with system properties:
+//   ru.mephi.rxjava.computation.threads   - number of event loops (default: available processors)
+//   ru.mephi.rxjava.io.keepAliveSeconds   - how long an idle io() thread lives (default: 60)
+//   ru.mephi.rxjava.computation.priority, ru.mephi.rxjava.io.priority, ru.mephi.rxjava.single.priority
+//   ru.mephi.rxjava.io.virtual            - run io() on virtual threads when the runtime supports them
 public class Schedulers {
 
-    private static final Scheduler IO_SCHEDULER = new IOThreadScheduler();
-    private static final Scheduler COMPUTATION_SCHEDULER = new ComputationScheduler();
-    private static final Scheduler SINGLE_THREAD_SCHEDULER = new SingleThreadScheduler();
+    static final String IO_VIRTUAL_PROPERTY = "ru.mephi.rxjava.io.virtual";
+    static final String COMPUTATION_THREADS_PROPERTY = "ru.mephi.rxjava.computation.threads";
+    static final String IO_KEEP_ALIVE_PROPERTY = "ru.mephi.rxjava.io.keepAliveSeconds";
+    static final String COMPUTATION_PRIORITY_PROPERTY = "ru.mephi.rxjava.computation.priority";
+    static final String IO_PRIORITY_PROPERTY = "ru.mephi.rxjava.io.priority";
+    static final String SINGLE_PRIORITY_PROPERTY = "ru.mephi.rxjava.single.priority";
+
+    // The shared schedulers created so far with their names, filled in by each holder as it runs.
+    // RxMetrics names schedulers and shutdown()/start() find them here without running the initializer
+    // of a holder nobody has used.
+    private static final Map<Scheduler, String> NAMES = new ConcurrentHashMap<>();
+
+    private static final Scheduler TRAMPOLINE = named("trampoline", new TrampolineScheduler());
+    private static final Scheduler IMMEDIATE = named("immediate", new ImmediateScheduler());
+
+    private static final class VirtualHolder {
+        static final Scheduler INSTANCE = VirtualThreadScheduler.isSupported()
+                ? named("virtual", new VirtualThreadScheduler())
+                : null;
+    }
+
+    private static final class IoHolder {
+        static final Scheduler INSTANCE = named("io", Boolean.getBoolean(IO_VIRTUAL_PROPERTY) && VirtualHolder.INSTANCE != null
+                ? VirtualHolder.INSTANCE
+                : new IOThreadScheduler(
+                        new RxThreadFactory("rx-io-pool", true, Integer.getInteger(IO_PRIORITY_PROPERTY, Thread.NORM_PRIORITY)),
+                        Long.getLong(IO_KEEP_ALIVE_PROPERTY, 60L)));
+    }
+
+    private static final class ComputationHolder {
+        static final Scheduler INSTANCE = named("computation", new ComputationScheduler(
+                Integer.getInteger(COMPUTATION_THREADS_PROPERTY, Runtime.getRuntime().availableProcessors()),
+                new RxThreadFactory("rx-computation-pool", true,
+                        Integer.getInteger(COMPUTATION_PRIORITY_PROPERTY, Thread.NORM_PRIORITY))));
+    }
+
+    private static final class SingleHolder {
+        static final Scheduler INSTANCE = named("single", new SingleThreadScheduler(
+                new RxThreadFactory("rx-single-pool", true, Integer.getInteger(SINGLE_PRIORITY_PROPERTY, Thread.NORM_PRIORITY))));
+    }
+
+    private static Scheduler named(String name, Scheduler scheduler) {
+        NAMES.put(scheduler, name);
+        return scheduler;
+    }
+
+    // The name of a shared scheduler that has been created, or null.
+    static String nameOf(Scheduler scheduler) {
+        return NAMES.get(scheduler);
+    }
 
     public static Scheduler io() {
-        return IO_SCHEDULER;
+        return IoHolder.INSTANCE;
+    }
+
+    // Falls back to io() on runtimes without virtual threads.
+    public static Scheduler virtual() {
+        return VirtualHolder.INSTANCE != null ? VirtualHolder.INSTANCE : io();
     }
 
     public static Scheduler computation() {
-        return COMPUTATION_SCHEDULER;
+        return ComputationHolder.INSTANCE;
     }
 
     public static Scheduler single() {
-        return SINGLE_THREAD_SCHEDULER;
+        return SingleHolder.INSTANCE;
+    }
+
+    // Runs tasks on the calling thread; a task scheduled from inside another one waits in a per-thread
+    // queue until that one returns, so deep synchronous chains run as a loop instead of recursing.
+    public static Scheduler trampoline() {
+        return TRAMPOLINE;
+    }
+
+    // Runs tasks on the calling thread right away, nested calls included.
+    public static Scheduler immediate() {
+        return IMMEDIATE;
+    }
+
+    // Tasks run on the given executor; its lifecycle stays with the caller.
+    public static Scheduler from(Executor executor) {
+        return new ExecutorScheduler(executor);
+    }
+
+    // Stops the threads of the shared schedulers; tasks submitted to them are dropped until start().
+    public static void shutdown() {
+        for (Scheduler scheduler : created()) {
+            scheduler.shutdown();
+        }
+    }
+
+    // Lets the shared schedulers accept tasks again; their threads are started on demand.
+    public static void start() {
+        for (Scheduler scheduler : created()) {
+            scheduler.start();
+        }
+    }
+
+    private static List<Scheduler> created() {
+        return new ArrayList<>(NAMES.keySet());
     }
 }
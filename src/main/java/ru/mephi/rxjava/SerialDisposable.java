@@ -0,0 +1,22 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+// Holds one resource at a time: setDisposable() disposes the previous one, and anything set after dispose()
+// is disposed right away. The one-slot counterpart of CompositeDisposable.
+class SerialDisposable extends AtomicReference<Disposable> implements Disposable {
+
+    boolean setDisposable(Disposable disposable) {
+        return DisposableHelper.set(this, disposable);
+    }
+
+    @Override
+    public void dispose() {
+        DisposableHelper.dispose(this);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return get() == DisposableHelper.DISPOSED;
+    }
+}
@@ -0,0 +1,117 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+final class SerialWorker extends AtomicInteger implements Scheduler.Worker, Runnable {
+
+    private final Scheduler scheduler;
+    private final ConcurrentLinkedQueue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final CompositeDisposable timers = new CompositeDisposable();
+    private volatile boolean disposed;
+
+    SerialWorker(Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (disposed) {
+            return;
+        }
+        queue.offer(task);
+        if (getAndIncrement() == 0) {
+            scheduler.execute(this);
+        }
+    }
+
+    @Override
+    public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+        if (disposed) {
+            return DisposableHelper.DISPOSED;
+        }
+        DelayedTask delayedTask = new DelayedTask(this, timers, task);
+        if (timers.add(delayedTask)) {
+            delayedTask.setTimer(scheduler.schedule(delayedTask, delay, unit));
+        }
+        return delayedTask;
+    }
+
+    @Override
+    public void run() {
+        int missed = 1;
+        for (;;) {
+            Runnable task;
+            while ((task = queue.poll()) != null) {
+                if (disposed) {
+                    queue.clear();
+                    return;
+                }
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    Thread current = Thread.currentThread();
+                    current.getUncaughtExceptionHandler().uncaughtException(current, t);
+                }
+            }
+            missed = addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+        timers.dispose();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    // A delayed task of a worker: it stays tracked until it fires, so disposing the worker
+    // also cancels timers that are still pending instead of leaving them until their deadline.
+    static final class DelayedTask extends AtomicReference<Disposable> implements Runnable, Disposable {
+
+        private final Scheduler.Worker worker;
+        private final CompositeDisposable timers;
+        private final Runnable task;
+
+        DelayedTask(Scheduler.Worker worker, CompositeDisposable timers, Runnable task) {
+            this.worker = worker;
+            this.timers = timers;
+            this.task = task;
+        }
+
+        void setTimer(Disposable timer) {
+            if (!compareAndSet(null, timer)) {
+                timer.dispose();
+            }
+        }
+
+        @Override
+        public void run() {
+            if (get() != DisposableHelper.DISPOSED) {
+                timers.delete(this);
+                worker.execute(task);
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (DisposableHelper.dispose(this)) {
+                timers.delete(this);
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return get() == DisposableHelper.DISPOSED;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package ru.mephi.rxjava;
+
+public interface SingleObserver<T> {
+
+    void onSuccess(T item);
+
+    void onError(Throwable t);
+}
@@ -0,0 +1,6 @@
+package ru.mephi.rxjava;
+
+public interface SingleOnSubscribe<T> {
+
+    void subscribe(SingleEmitter<T> emitter) throws Exception;
+}
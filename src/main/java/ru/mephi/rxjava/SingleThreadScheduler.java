@@ -2,13 +2,22 @@ package ru.mephi.rxjava;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
-public class SingleThreadScheduler implements Scheduler {
+public class SingleThreadScheduler extends ExecutorServiceScheduler {
 
-    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final ThreadFactory threadFactory;
+
+    public SingleThreadScheduler() {
+        this(new RxThreadFactory("rx-single-pool"));
+    }
+
+    public SingleThreadScheduler(ThreadFactory threadFactory) {
+        this.threadFactory = threadFactory;
+    }
 
     @Override
-    public void execute(Runnable task) {
-        executor.execute(task);
+    ExecutorService createExecutor() {
+        return Executors.newSingleThreadExecutor(threadFactory);
     }
 }
@@ -0,0 +1,55 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+final class SpscArrayQueue<T> {
+
+    private final AtomicReferenceArray<T> buffer;
+    private final int mask;
+
+    private long producerIndex;
+    private long consumerIndex;
+
+    SpscArrayQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity > 0 required but it was " + capacity);
+        }
+        int size = 1 << (32 - Integer.numberOfLeadingZeros(capacity - 1));
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    public boolean offer(T item) {
+        if (item == null) {
+            throw new NullPointerException("Queue does not accept null items");
+        }
+        int offset = (int) producerIndex & mask;
+        if (buffer.get(offset) != null) {
+            return false;
+        }
+        buffer.lazySet(offset, item);
+        producerIndex++;
+        return true;
+    }
+
+    public T poll() {
+        int offset = (int) consumerIndex & mask;
+        T item = buffer.get(offset);
+        if (item == null) {
+            return null;
+        }
+        buffer.lazySet(offset, null);
+        consumerIndex++;
+        return item;
+    }
+
+    public boolean isEmpty() {
+        return buffer.get((int) consumerIndex & mask) == null;
+    }
+
+    public void clear() {
+        while (poll() != null) {
+            // drop the remaining items
+        }
+    }
+}
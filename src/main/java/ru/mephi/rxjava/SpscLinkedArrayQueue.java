@@ -0,0 +1,73 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+final class SpscLinkedArrayQueue<T> {
+
+    private final int chunkSize;
+
+    private AtomicReferenceArray<Object> producerChunk;
+    private int producerOffset;
+
+    private AtomicReferenceArray<Object> consumerChunk;
+    private int consumerOffset;
+
+    SpscLinkedArrayQueue(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize > 0 required but it was " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+        // The extra last slot of every chunk holds the link to the next chunk.
+        AtomicReferenceArray<Object> chunk = new AtomicReferenceArray<>(chunkSize + 1);
+        this.producerChunk = chunk;
+        this.consumerChunk = chunk;
+    }
+
+    public void offer(T item) {
+        if (item == null) {
+            throw new NullPointerException("Queue does not accept null items");
+        }
+        if (producerOffset == chunkSize) {
+            AtomicReferenceArray<Object> next = new AtomicReferenceArray<>(chunkSize + 1);
+            next.lazySet(0, item);
+            producerChunk.lazySet(chunkSize, next);
+            producerChunk = next;
+            producerOffset = 1;
+        } else {
+            producerChunk.lazySet(producerOffset++, item);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        if (consumerOffset == chunkSize) {
+            Object next = consumerChunk.get(chunkSize);
+            if (next == null) {
+                return null;
+            }
+            consumerChunk = (AtomicReferenceArray<Object>) next;
+            consumerOffset = 0;
+        }
+        Object item = consumerChunk.get(consumerOffset);
+        if (item == null) {
+            return null;
+        }
+        consumerChunk.lazySet(consumerOffset++, null);
+        return (T) item;
+    }
+
+    @SuppressWarnings("unchecked")
+    public boolean isEmpty() {
+        if (consumerOffset == chunkSize) {
+            Object next = consumerChunk.get(chunkSize);
+            return next == null || ((AtomicReferenceArray<Object>) next).get(0) == null;
+        }
+        return consumerChunk.get(consumerOffset) == null;
+    }
+
+    public void clear() {
+        while (poll() != null) {
+            // drop the remaining items
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package ru.mephi.rxjava;
+
+// Both an Observer and a hot Observable: every item it receives goes to all current subscribers.
+// Like any Observer, its onNext/onError/onComplete must not be called concurrently.
+public abstract class Subject<T> extends Observable<T> implements Observer<T> {
+
+    Subject(ObservableOnSubscribe<T> source) {
+        super(source);
+    }
+
+    public abstract boolean hasObservers();
+
+    public abstract boolean hasComplete();
+
+    public abstract boolean hasThrowable();
+
+    public abstract Throwable getThrowable();
+}
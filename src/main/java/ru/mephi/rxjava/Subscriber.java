@@ -0,0 +1,12 @@
+package ru.mephi.rxjava;
+
+public interface Subscriber<T> {
+
+    void onSubscribe(Subscription subscription);
+
+    void onNext(T item);
+
+    void onError(Throwable t);
+
+    void onComplete();
+}
@@ -0,0 +1,71 @@
+package ru.mephi.rxjava;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+// Copy-on-write array of the current subscribers of a hot source: subscribe and dispose copy the
+// array, the emitting thread only reads it and never takes a lock.
+final class SubscriberArray<E> extends AtomicReference<Object[]> {
+
+    private static final Object[] EMPTY = new Object[0];
+    private static final Object[] TERMINATED = new Object[0];
+
+    SubscriberArray() {
+        super(EMPTY);
+    }
+
+    boolean add(E subscriber) {
+        for (;;) {
+            Object[] current = get();
+            if (current == TERMINATED) {
+                return false;
+            }
+            Object[] next = new Object[current.length + 1];
+            System.arraycopy(current, 0, next, 0, current.length);
+            next[current.length] = subscriber;
+            if (compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    void remove(E subscriber) {
+        for (;;) {
+            Object[] current = get();
+            int index = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == subscriber) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return;
+            }
+            Object[] next;
+            if (current.length == 1) {
+                next = EMPTY;
+            } else {
+                next = new Object[current.length - 1];
+                System.arraycopy(current, 0, next, 0, index);
+                System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+            }
+            if (compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    // Returns the subscribers to notify about the terminal event; empty if already terminated.
+    Object[] terminate() {
+        Object[] current = get();
+        return current == TERMINATED ? TERMINATED : getAndSet(TERMINATED);
+    }
+
+    boolean isTerminated() {
+        return get() == TERMINATED;
+    }
+
+    int size() {
+        return get().length;
+    }
+}
@@ -0,0 +1,8 @@
+package ru.mephi.rxjava;
+
+public interface Subscription {
+
+    void request(long n);
+
+    void cancel();
+}
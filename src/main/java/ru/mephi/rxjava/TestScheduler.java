@@ -0,0 +1,120 @@
+package ru.mephi.rxjava;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+public class TestScheduler implements Scheduler {
+
+    private final PriorityQueue<TimedAction> queue = new PriorityQueue<>();
+    private long time;
+    private long counter;
+
+    @Override
+    public void execute(Runnable task) {
+        schedule(task, 0L, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public synchronized Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+        TimedAction action = new TimedAction(task, time + Math.max(0L, unit.toNanos(delay)), 0L, counter++);
+        queue.add(action);
+        return action;
+    }
+
+    @Override
+    public synchronized Disposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        if (period <= 0L) {
+            throw new IllegalArgumentException("period > 0 required but it was " + period);
+        }
+        TimedAction action = new TimedAction(task, time + Math.max(0L, unit.toNanos(initialDelay)), unit.toNanos(period), counter++);
+        queue.add(action);
+        return action;
+    }
+
+    @Override
+    public synchronized long now(TimeUnit unit) {
+        return unit.convert(time, TimeUnit.NANOSECONDS);
+    }
+
+    public void advanceTimeBy(long delay, TimeUnit unit) {
+        long target;
+        synchronized (this) {
+            target = time + unit.toNanos(delay);
+        }
+        triggerActions(target);
+    }
+
+    public void advanceTimeTo(long delayTime, TimeUnit unit) {
+        triggerActions(unit.toNanos(delayTime));
+    }
+
+    public void triggerActions() {
+        long target;
+        synchronized (this) {
+            target = time;
+        }
+        triggerActions(target);
+    }
+
+    private void triggerActions(long targetTime) {
+        for (;;) {
+            TimedAction action;
+            synchronized (this) {
+                action = queue.peek();
+                if (action == null || action.time > targetTime) {
+                    time = Math.max(time, targetTime);
+                    return;
+                }
+                queue.poll();
+                time = action.time;
+            }
+
+            if (action.disposed) {
+                continue;
+            }
+            action.task.run();
+
+            if (action.period > 0L && !action.disposed) {
+                synchronized (this) {
+                    action.time += action.period;
+                    action.order = counter++;
+                    queue.add(action);
+                }
+            }
+        }
+    }
+
+    static final class TimedAction implements Comparable<TimedAction>, Disposable {
+
+        private final Runnable task;
+        private final long period;
+        private long time;
+        private long order;
+        private volatile boolean disposed;
+
+        TimedAction(Runnable task, long time, long period, long order) {
+            this.task = task;
+            this.time = time;
+            this.period = period;
+            this.order = order;
+        }
+
+        @Override
+        public int compareTo(TimedAction other) {
+            if (time != other.time) {
+                return Long.compare(time, other.time);
+            }
+            return Long.compare(order, other.order);
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package ru.mephi.rxjava;
+
+import java.util.ArrayDeque;
+
+// Runs tasks on the calling thread, one after another. A task scheduled while another one is running on
+// the same thread is queued behind it instead of being called recursively, so a chain that keeps
+// subscribing or emitting from inside its own callbacks runs as a loop of any depth on one stack,
+// without a thread switch. Delayed tasks wait on the shared timer and are then trampolined on its thread.
+final class TrampolineScheduler implements Scheduler {
+
+    private static final ThreadLocal<TrampolineQueue> QUEUE = ThreadLocal.withInitial(TrampolineQueue::new);
+
+    @Override
+    public void execute(Runnable task) {
+        QUEUE.get().run(RxPlugins.onSchedule(this, task));
+    }
+
+    // Disposing skips the task if it has not started; a running task is never interrupted, since it runs on the caller's thread.
+    @Override
+    public Disposable schedule(Runnable task) {
+        SchedulerTimer.TimedTask trampolined = new SchedulerTimer.TimedTask(task);
+        execute(trampolined);
+        return trampolined;
+    }
+
+    static final class TrampolineQueue {
+
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+        private boolean running;
+
+        void run(Runnable task) {
+            tasks.offer(task);
+            if (running) {
+                return;
+            }
+            running = true;
+            try {
+                Runnable next;
+                while ((next = tasks.poll()) != null) {
+                    try {
+                        next.run();
+                    } catch (Throwable t) {
+                        Thread current = Thread.currentThread();
+                        current.getUncaughtExceptionHandler().uncaughtException(current, t);
+                    }
+                }
+            } finally {
+                running = false;
+            }
+        }
+    }
+}
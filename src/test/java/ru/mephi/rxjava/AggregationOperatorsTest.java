@@ -0,0 +1,239 @@
+package ru.mephi.rxjava;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AggregationOperatorsTest {
+
+    @Test
+    public void testReduceCountCollectAndToList() {
+        assertEquals(45, range(0, 10).reduce(Integer::sum).blockingGet());
+        assertEquals("x0123", range(0, 4).reduce("x", (acc, i) -> acc + i).blockingGet());
+        assertEquals(10L, range(0, 10).count().blockingGet());
+        assertEquals(0L, range(0, 0).count().blockingGet());
+        assertEquals(List.of(0, 1, 2), range(0, 3).toList().blockingGet());
+        assertEquals(List.of(0, 1, 2), range(0, 3).toList().blockingGet());
+        assertEquals("012", range(0, 3).collect(StringBuilder::new, StringBuilder::append).blockingGet().toString());
+
+        AtomicBoolean completedEmpty = new AtomicBoolean();
+        range(0, 0).reduce(Integer::sum).subscribe(new MaybeObserver<>() {
+            @Override
+            public void onSuccess(Integer item) {
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+
+            @Override
+            public void onComplete() {
+                completedEmpty.set(true);
+            }
+        });
+        assertTrue(completedEmpty.get());
+    }
+
+    @Test
+    public void testScanEmitsRunningValues() {
+        RecordingObserver<Integer> withoutSeed = new RecordingObserver<>();
+        range(1, 4).scan(Integer::sum).subscribe(withoutSeed);
+        assertEquals(List.of(1, 3, 6, 10), withoutSeed.items);
+        assertTrue(withoutSeed.completed);
+
+        RecordingObserver<Integer> withSeed = new RecordingObserver<>();
+        range(1, 3).scan(100, (acc, i) -> Math.max(acc, i * 60)).subscribe(withSeed);
+        assertEquals(List.of(100, 100, 120, 180), withSeed.items);
+    }
+
+    @Test
+    public void testReducerErrorDisposesUpstream() {
+        AtomicBoolean disposed = new AtomicBoolean();
+        Observable<Integer> source = Observable.create(emitter -> {
+            emitter.setCancellable(() -> disposed.set(true));
+            for (int i = 0; i < 10 && !emitter.isDisposed(); i++) {
+                emitter.onNext(i);
+            }
+        });
+        RuntimeException failure = new RuntimeException("boom");
+
+        RuntimeException error = assertThrows(RuntimeException.class, () -> source.reduce((a, b) -> {
+            throw failure;
+        }).blockingGet());
+        assertSame(failure, error);
+        assertTrue(disposed.get());
+    }
+
+    @Test
+    public void testDistinctAndDistinctUntilChanged() {
+        RecordingObserver<Integer> distinct = new RecordingObserver<>();
+        Observable.concat(range(0, 5), range(3, 5)).distinct().subscribe(distinct);
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7), distinct.items);
+
+        RecordingObserver<String> byKey = new RecordingObserver<>();
+        Observable.concat(range(0, 3), range(0, 3)).map(i -> "v" + i).distinct(s -> s.length()).subscribe(byKey);
+        assertEquals(List.of("v0"), byKey.items);
+
+        RecordingObserver<Integer> untilChanged = new RecordingObserver<>();
+        Observable.<Integer>create(emitter -> {
+            for (int i : new int[]{1, 1, 2, 2, 2, 1, 3, 3}) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        }).distinctUntilChanged().subscribe(untilChanged);
+        assertEquals(List.of(1, 2, 1, 3), untilChanged.items);
+    }
+
+    @Test
+    public void testDistinctWithLruKeySetForgetsOldKeys() {
+        RecordingObserver<Integer> observer = new RecordingObserver<>();
+
+        Observable.<Integer>create(emitter -> {
+            for (int i : new int[]{1, 2, 1, 3, 4, 1, 2}) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        }).distinct(i -> i, () -> DistinctKeySet.lru(2)).subscribe(observer);
+
+        // 1 is refreshed by its second occurrence; 2 falls out when 3 and 4 arrive.
+        assertEquals(List.of(1, 2, 3, 4, 1, 2), observer.items);
+    }
+
+    @Test
+    public void testBloomFilterKeySetNeverPassesAKeyTwice() {
+        DistinctKeySet<Integer> keys = DistinctKeySet.bloomFilter(10_000, 0.01);
+        int added = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (keys.add(i)) {
+                added++;
+            }
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertFalse(keys.add(i));
+        }
+        // Roughly 1% of the new keys may be taken for seen ones.
+        assertTrue(added > 9_700, "added " + added);
+
+        keys.clear();
+        assertTrue(keys.add(42));
+    }
+
+    @Test
+    public void testGroupByCountsPerKey() {
+        RecordingObserver<String> observer = new RecordingObserver<>();
+
+        range(0, 10).groupBy(i -> i % 3)
+                .flatMap(group -> group.count().toObservable().map(count -> group.getKey() + "=" + count))
+                .subscribe(observer);
+
+        assertEquals(Set.of("0=4", "1=3", "2=3"), new HashSet<>(observer.items));
+        assertTrue(observer.completed);
+    }
+
+    @Test
+    public void testGroupByCompletesLeastRecentlyActiveGroupAtLimit() {
+        PublishSubject<String> source = PublishSubject.create();
+        List<String> finished = new ArrayList<>();
+        List<String> opened = new ArrayList<>();
+
+        source.groupBy(s -> s.substring(0, 1), 2)
+                .subscribe(new RecordingObserver<>() {
+                    @Override
+                    public void onNext(GroupedObservable<String, String> group) {
+                        opened.add(group.getKey());
+                        group.toList().subscribe(new SingleObserver<>() {
+                            @Override
+                            public void onSuccess(List<String> items) {
+                                finished.add(group.getKey() + items);
+                            }
+
+                            @Override
+                            public void onError(Throwable t) {
+                            }
+                        });
+                    }
+                });
+
+        source.onNext("a1");
+        source.onNext("b1");
+        source.onNext("a2");
+        source.onNext("c1");
+        assertEquals(List.of("a", "b", "c"), opened);
+        assertEquals(List.of("b[b1]"), finished);
+
+        source.onNext("b2");
+        assertEquals(List.of("a", "b", "c", "b"), opened);
+        assertEquals(List.of("b[b1]", "a[a1, a2]"), finished);
+    }
+
+    @Test
+    public void testGroupByEvictsIdleGroups() {
+        TestScheduler scheduler = new TestScheduler();
+        PublishSubject<Integer> source = PublishSubject.create();
+        List<Integer> opened = new ArrayList<>();
+        List<Integer> completedKeys = new ArrayList<>();
+
+        source.groupBy(i -> i % 2, 16, 100, TimeUnit.MILLISECONDS, scheduler)
+                .subscribe(new RecordingObserver<>() {
+                    @Override
+                    public void onNext(GroupedObservable<Integer, Integer> group) {
+                        opened.add(group.getKey());
+                        group.subscribe(new RecordingObserver<>() {
+                            @Override
+                            public void onComplete() {
+                                completedKeys.add(group.getKey());
+                            }
+                        });
+                    }
+                });
+
+        source.onNext(0);
+        source.onNext(1);
+        scheduler.advanceTimeBy(60, TimeUnit.MILLISECONDS);
+        source.onNext(3);
+        scheduler.advanceTimeBy(40, TimeUnit.MILLISECONDS);
+        assertEquals(List.of(0), completedKeys);
+
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        assertEquals(List.of(0, 1), completedKeys);
+
+        source.onNext(2);
+        assertEquals(List.of(0, 1, 0), opened);
+    }
+
+    @Test
+    public void testGroupRejectsSecondObserver() {
+        RecordingObserver<Integer> second = new RecordingObserver<>();
+
+        range(0, 3).groupBy(i -> 0).subscribe(new RecordingObserver<>() {
+            @Override
+            public void onNext(GroupedObservable<Integer, Integer> group) {
+                group.subscribe(new RecordingObserver<>());
+                group.subscribe(second);
+            }
+        });
+
+        assertTrue(second.error instanceof IllegalStateException);
+        assertTrue(second.items.isEmpty());
+    }
+
+    private static Observable<Integer> range(int start, int count) {
+        return Observable.create(emitter -> {
+            for (int i = start; i < start + count && !emitter.isDisposed(); i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        });
+    }
+}
@@ -0,0 +1,167 @@
+package ru.mephi.rxjava;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BlockingOperatorsTest {
+
+    @Test
+    public void testBlockingIterableSubscribesPerIterator() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        Iterable<Integer> iterable = Observable.<Integer>create(emitter -> {
+            subscriptions.incrementAndGet();
+            for (int i = 0; i < 1_000; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        }).blockingIterable(16);
+
+        for (int round = 0; round < 2; round++) {
+            List<Integer> items = new ArrayList<>();
+            for (int item : iterable) {
+                items.add(item);
+            }
+            assertEquals(1_000, items.size());
+            assertEquals(999, items.get(999));
+        }
+        assertEquals(2, subscriptions.get());
+    }
+
+    @Test
+    public void testBreakingOutOfIterableDoesNotHoldSchedulerThreads() throws InterruptedException {
+        Scheduler scheduler = new ComputationScheduler(2);
+        // More abandoned iterables than threads, each with far more items than prefetch.
+        for (int round = 0; round < 4; round++) {
+            for (int item : Observable.range(0, 10_000).subscribeOn(scheduler).blockingIterable(16)) {
+                if (item == 3) {
+                    break;
+                }
+            }
+        }
+
+        CountDownLatch latch = new CountDownLatch(1);
+        Observable.just(1).observeOn(scheduler).subscribe(new Observer<>() {
+            @Override
+            public void onNext(Integer item) {
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+
+            @Override
+            public void onComplete() {
+                latch.countDown();
+            }
+        });
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(1_000, Observable.range(0, 1_000).subscribeOn(scheduler).blockingLast() + 1);
+    }
+
+    @Test
+    public void testClosingStreamEarlyDisposesUpstream() throws InterruptedException {
+        Scheduler scheduler = new ComputationScheduler(4);
+        AtomicBoolean cancelled = new AtomicBoolean();
+        AtomicBoolean producerExited = new AtomicBoolean();
+        Observable<Integer> endless = Observable.<Integer>create(emitter -> {
+            emitter.setCancellable(() -> cancelled.set(true));
+            for (int i = 0; !emitter.isDisposed(); i++) {
+                emitter.onNext(i);
+            }
+            producerExited.set(true);
+        }).subscribeOn(scheduler);
+
+        List<Integer> first;
+        try (Stream<Integer> stream = endless.blockingStream(8)) {
+            first = stream.limit(5).collect(Collectors.toList());
+        }
+
+        assertEquals(List.of(0, 1, 2, 3, 4), first);
+        assertTrue(cancelled.get());
+        // The close disposes the emitter, so the endless loop sees isDisposed() and ends.
+        for (int i = 0; i < 500 && !producerExited.get(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(producerExited.get());
+    }
+
+    @Test
+    public void testIteratorRethrowsErrorsAfterItems() {
+        IllegalStateException failure = new IllegalStateException("boom");
+        CloseableIterator<Integer> iterator = Observable.just(1)
+                .concatWith(Observable.error(failure))
+                .blockingIterator();
+
+        assertEquals(1, iterator.next());
+        assertSame(failure, assertThrows(IllegalStateException.class, iterator::hasNext));
+        assertFalse(iterator.hasNext());
+
+        RuntimeException wrapped = assertThrows(RuntimeException.class,
+                () -> Observable.error(new IOException("io")).blockingIterator().hasNext());
+        assertTrue(wrapped.getCause() instanceof IOException);
+    }
+
+    @Test
+    public void testBlockingFirstAndLast() {
+        Observable<Integer> items = Observable.range(1, 5);
+
+        assertEquals(1, items.blockingFirst());
+        assertEquals(5, items.blockingLast());
+        assertEquals(7, Observable.<Integer>empty().blockingFirst(7));
+        assertEquals(8, Observable.<Integer>empty().blockingLast(8));
+        assertThrows(NoSuchElementException.class, () -> Observable.empty().blockingFirst());
+        assertThrows(NoSuchElementException.class, () -> Observable.empty().blockingLast());
+    }
+
+    @Test
+    public void testToCompletableFutureCompletesWithLastItem() throws Exception {
+        Scheduler scheduler = new ComputationScheduler(4);
+
+        CompletableFuture<Integer> future = Observable.range(0, 100).subscribeOn(scheduler).toCompletableFuture();
+        assertEquals(99, future.get(5, TimeUnit.SECONDS));
+
+        assertEquals(null, Observable.empty().toCompletableFuture().get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testBlockingForEachStopsOnActionError() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        List<Integer> seen = new ArrayList<>();
+        Observable<Integer> source = Observable.<Integer>create(emitter -> {
+            emitter.setCancellable(() -> cancelled.set(true));
+            for (int i = 0; !emitter.isDisposed(); i++) {
+                emitter.onNext(i);
+            }
+        }).subscribeOn(new ComputationScheduler(4));
+
+        assertThrows(IllegalArgumentException.class, () -> source.blockingForEach(item -> {
+            if (item == 3) {
+                throw new IllegalArgumentException("three");
+            }
+            seen.add(item);
+        }));
+        assertEquals(List.of(0, 1, 2), seen);
+        assertTrue(cancelled.get());
+
+        AtomicInteger sum = new AtomicInteger();
+        Observable.range(1, 100).blockingForEach(sum::addAndGet);
+        assertEquals(5_050, sum.get());
+    }
+}
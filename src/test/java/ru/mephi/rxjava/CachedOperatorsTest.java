@@ -0,0 +1,167 @@
+package ru.mephi.rxjava;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CachedOperatorsTest {
+
+    @Test
+    public void testConcurrentLookupsShareOneLoad() {
+        AsyncCache<Integer, String> cache = AsyncCache.create(16, 1, TimeUnit.MINUTES);
+        Map<Integer, PublishSubject<String>> loads = new HashMap<>();
+        PublishSubject<Integer> requests = PublishSubject.create();
+        RecordingObserver<String> observer = new RecordingObserver<>();
+
+        requests.mapAsyncCached(i -> i, key -> {
+            PublishSubject<String> load = PublishSubject.create();
+            loads.put(key, load);
+            return load.firstOrError();
+        }, cache).subscribe(observer);
+
+        requests.onNext(1);
+        requests.onNext(1);
+        requests.onNext(2);
+        requests.onNext(1);
+        assertEquals(2, loads.size());
+        assertTrue(observer.items.isEmpty());
+
+        loads.get(1).onNext("one");
+        assertEquals(List.of("one", "one", "one"), observer.items);
+        loads.get(2).onNext("two");
+        requests.onNext(2);
+        requests.onComplete();
+
+        assertEquals(List.of("one", "one", "one", "two", "two"), observer.items);
+        assertTrue(observer.completed);
+        assertEquals(2, cache.missCount());
+        assertEquals(2, cache.coalescedCount());
+        assertEquals(1, cache.hitCount());
+    }
+
+    @Test
+    public void testEntriesExpireAfterTtl() {
+        TestScheduler clock = new TestScheduler();
+        AsyncCache<String, Integer> cache = AsyncCache.create(16, 100, TimeUnit.MILLISECONDS, clock);
+        AtomicInteger loads = new AtomicInteger();
+        Observable<Integer> lookups = Observable.fromArray("a", "a")
+                .mapAsyncCached(s -> s, key -> Single.<Integer>create(emitter -> emitter.onSuccess(loads.incrementAndGet())), cache);
+
+        assertEquals(List.of(1, 1), lookups.toList().blockingGet());
+        clock.advanceTimeBy(99, TimeUnit.MILLISECONDS);
+        assertEquals(List.of(1, 1), lookups.toList().blockingGet());
+        clock.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        assertEquals(List.of(2, 2), lookups.toList().blockingGet());
+
+        assertEquals(2, cache.missCount());
+        assertEquals(4, cache.hitCount());
+        assertEquals(1, cache.evictionCount());
+    }
+
+    @Test
+    public void testWriteSweepsExpiredEntriesOfOtherKeys() {
+        TestScheduler clock = new TestScheduler();
+        AsyncCache<Integer, Integer> cache = AsyncCache.create(100, 100, TimeUnit.MILLISECONDS, clock);
+        Function<Integer, Observable<Integer>> loader = Observable::just;
+
+        Observable.range(1, 3).flatMapCached(i -> i, loader, cache).toList().blockingGet();
+        assertEquals(3, cache.size());
+
+        clock.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        Observable.just(4).flatMapCached(i -> i, loader, cache).toList().blockingGet();
+
+        assertEquals(1, cache.size());
+        assertEquals(3, cache.evictionCount());
+    }
+
+    @Test
+    public void testConcurrentLookupsStayWithinMaxSize() throws InterruptedException {
+        AsyncCache<Integer, Integer> cache = AsyncCache.create(64, 1, TimeUnit.MINUTES);
+        Scheduler scheduler = new ComputationScheduler(4);
+        List<Observable<Integer>> workers = new ArrayList<>();
+        for (int w = 0; w < 4; w++) {
+            int seed = w;
+            workers.add(Observable.range(0, 20_000)
+                    .map(i -> (i * 7 + seed * 13) % 200)
+                    .flatMapCached(i -> i, key -> Observable.just(key * 2), cache)
+                    .subscribeOn(scheduler));
+        }
+
+        List<Integer> results = Observable.merge(workers).toList().blockingGet();
+
+        assertEquals(80_000, results.size());
+        for (int result : results) {
+            assertTrue(result % 2 == 0 && result < 400);
+        }
+        assertTrue(cache.size() <= 64, "size " + cache.size());
+        assertEquals(80_000, cache.hitCount() + cache.missCount() + cache.coalescedCount());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsDroppedAtMaxSize() {
+        AsyncCache<Integer, Integer> cache = AsyncCache.create(2, 1, TimeUnit.MINUTES);
+        List<Integer> loaded = new ArrayList<>();
+
+        Observable.fromArray(1, 2, 1, 3, 1, 2)
+                .flatMapCached(i -> i, key -> {
+                    loaded.add(key);
+                    return Observable.just(key);
+                }, cache)
+                .toList().blockingGet();
+
+        // 2 is the least recently used when 3 arrives, so only 2 is loaded twice.
+        assertEquals(List.of(1, 2, 3, 2), loaded);
+        assertEquals(2, cache.size());
+        assertEquals(2, cache.evictionCount());
+    }
+
+    @Test
+    public void testErrorsAreNotCached() {
+        AsyncCache<Integer, Integer> cache = AsyncCache.create(16, 1, TimeUnit.MINUTES);
+        AtomicInteger attempts = new AtomicInteger();
+        IOException failure = new IOException("down");
+        Observable<Integer> lookup = Observable.just(7).flatMapCached(i -> i, key -> attempts.incrementAndGet() == 1
+                ? Observable.error(failure)
+                : Observable.just(key * 2), cache);
+
+        RecordingObserver<Integer> failed = new RecordingObserver<>();
+        lookup.subscribe(failed);
+        assertSame(failure, failed.error);
+        assertEquals(0, cache.size());
+
+        assertEquals(14, lookup.blockingFirst());
+        assertEquals(14, lookup.blockingFirst());
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    public void testMultiItemResultsAreReplayedFromCache() {
+        AsyncCache<String, String> cache = AsyncCache.create(16, 1, TimeUnit.MINUTES);
+        AtomicInteger loads = new AtomicInteger();
+
+        List<String> items = Observable.fromArray("ab", "cd", "ab")
+                .flatMapCached(s -> s, key -> {
+                    loads.incrementAndGet();
+                    return Observable.fromArray(key.substring(0, 1), key.substring(1));
+                }, cache)
+                .toList().blockingGet();
+
+        assertEquals(List.of("a", "b", "c", "d", "a", "b"), items);
+        assertEquals(2, loads.get());
+
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+        assertThrows(IllegalArgumentException.class, () -> AsyncCache.create(0, 1, TimeUnit.SECONDS));
+    }
+}
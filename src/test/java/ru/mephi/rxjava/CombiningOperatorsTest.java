@@ -0,0 +1,180 @@
+package ru.mephi.rxjava;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CombiningOperatorsTest {
+
+    @Test
+    public void testConcatAndStartWithKeepOrder() {
+        RecordingObserver<Integer> observer = new RecordingObserver<>();
+
+        Observable.concat(range(0, 3), range(3, 3))
+                .concatWith(range(6, 2))
+                .startWith(-1)
+                .subscribe(observer);
+
+        assertEquals(List.of(-1, 0, 1, 2, 3, 4, 5, 6, 7), observer.items);
+        assertTrue(observer.completed);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testMergeAndConcatIgnoreChangesToTheArrayAfterAssembly() {
+        Observable<Integer>[] sources = new Observable[]{range(0, 2), range(2, 2)};
+        Observable<Integer> merged = Observable.merge(sources);
+        Observable<Integer> concatenated = Observable.concat(sources);
+        sources[0] = range(10, 2);
+        sources[1] = range(12, 2);
+
+        RecordingObserver<Integer> mergeObserver = new RecordingObserver<>();
+        merged.subscribe(mergeObserver);
+        RecordingObserver<Integer> concatObserver = new RecordingObserver<>();
+        concatenated.subscribe(concatObserver);
+
+        assertEquals(List.of(0, 1, 2, 3), mergeObserver.items);
+        assertEquals(List.of(0, 1, 2, 3), concatObserver.items);
+    }
+
+    @Test
+    public void testMergeFromComputationThreads() throws InterruptedException {
+        Scheduler scheduler = new ComputationScheduler(4);
+        List<Observable<Integer>> sources = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            sources.add(range(i * 10_000, 10_000).subscribeOn(scheduler));
+        }
+        RecordingObserver<Integer> observer = new RecordingObserver<>();
+
+        Observable.merge(sources).subscribe(observer);
+
+        assertTrue(observer.await());
+        assertNull(observer.error);
+        List<Integer> sorted = new ArrayList<>(observer.items);
+        Collections.sort(sorted);
+        assertEquals(40_000, sorted.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            assertEquals(i, sorted.get(i));
+        }
+    }
+
+    @Test
+    public void testZipPairsItemsAndStopsAtShortestSource() {
+        AtomicBoolean longerDisposed = new AtomicBoolean();
+        Observable<Integer> longer = Observable.create(emitter -> {
+            emitter.setCancellable(() -> longerDisposed.set(true));
+            for (int i = 0; i < 100 && !emitter.isDisposed(); i++) {
+                emitter.onNext(i);
+            }
+        });
+        RecordingObserver<String> observer = new RecordingObserver<>();
+
+        range(0, 3).zipWith(longer, (a, b) -> a + ":" + b).subscribe(observer);
+
+        assertEquals(List.of("0:0", "1:1", "2:2"), observer.items);
+        assertTrue(observer.completed);
+        assertTrue(longerDisposed.get());
+    }
+
+    @Test
+    public void testZipAcrossComputationThreads() throws InterruptedException {
+        Scheduler scheduler = new ComputationScheduler(4);
+        List<Observable<Integer>> sources = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            sources.add(range(0, 5_000).subscribeOn(scheduler));
+        }
+        RecordingObserver<Integer> observer = new RecordingObserver<>();
+
+        Observable.zip(sources, row -> row.get(0) + row.get(1) + row.get(2)).subscribe(observer);
+
+        assertTrue(observer.await());
+        assertNull(observer.error);
+        assertEquals(5_000, observer.items.size());
+        for (int i = 0; i < 5_000; i++) {
+            assertEquals(i * 3, observer.items.get(i));
+        }
+    }
+
+    @Test
+    public void testCombineLatestEmitsOnceAllSourcesHaveItems() {
+        PublishSubject<String> letters = PublishSubject.create();
+        PublishSubject<Integer> numbers = PublishSubject.create();
+        RecordingObserver<String> observer = new RecordingObserver<>();
+
+        Observable.combineLatest(letters, numbers, (l, n) -> l + n).subscribe(observer);
+
+        letters.onNext("a");
+        letters.onNext("b");
+        numbers.onNext(1);
+        numbers.onNext(2);
+        letters.onNext("c");
+        letters.onComplete();
+        numbers.onNext(3);
+        numbers.onComplete();
+
+        assertEquals(List.of("b1", "b2", "c2", "c3"), observer.items);
+        assertTrue(observer.completed);
+    }
+
+    @Test
+    public void testCombineLatestCompletesWhenSourceIsEmpty() {
+        PublishSubject<Integer> numbers = PublishSubject.create();
+        RecordingObserver<List<Integer>> observer = new RecordingObserver<>();
+
+        Observable.combineLatest(List.of(numbers, range(0, 0)), row -> row).subscribe(observer);
+
+        assertTrue(observer.completed);
+        assertTrue(observer.items.isEmpty());
+        assertTrue(!numbers.hasObservers());
+    }
+
+    @Test
+    public void testWithLatestFromDropsItemsBeforeOtherEmits() {
+        PublishSubject<Integer> main = PublishSubject.create();
+        PublishSubject<String> other = PublishSubject.create();
+        RecordingObserver<String> observer = new RecordingObserver<>();
+
+        main.withLatestFrom(other, (m, o) -> o + m).subscribe(observer);
+
+        main.onNext(1);
+        other.onNext("x");
+        main.onNext(2);
+        other.onNext("y");
+        other.onComplete();
+        main.onNext(3);
+        main.onComplete();
+
+        assertEquals(List.of("x2", "y3"), observer.items);
+        assertTrue(observer.completed);
+    }
+
+    @Test
+    public void testErrorInOneSourceCancelsTheOthers() {
+        PublishSubject<Integer> first = PublishSubject.create();
+        RuntimeException failure = new RuntimeException("boom");
+        RecordingObserver<Integer> observer = new RecordingObserver<>();
+
+        Observable.zip(first, Observable.<Integer>create(emitter -> emitter.onError(failure)), Integer::sum)
+                .subscribe(observer);
+
+        assertSame(failure, observer.error);
+        assertTrue(!first.hasObservers());
+    }
+
+    private static Observable<Integer> range(int start, int count) {
+        return Observable.create(emitter -> {
+            for (int i = start; i < start + count && !emitter.isDisposed(); i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        });
+    }
+}
@@ -0,0 +1,356 @@
+package ru.mephi.rxjava;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlowableTest {
+
+    @Test
+    public void testRangeHonorsRequest() {
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>(3);
+
+        Flowable.range(1, 10).subscribe(subscriber);
+
+        assertEquals(List.of(1, 2, 3), subscriber.items);
+        assertFalse(subscriber.completed);
+
+        subscriber.subscription.request(100);
+
+        assertEquals(10, subscriber.items.size());
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    public void testMapAndFilter() {
+        RecordingSubscriber<String> subscriber = new RecordingSubscriber<>(2);
+
+        Flowable.range(1, 10)
+                .filter(i -> i % 2 == 0)
+                .map(i -> "Value: " + i)
+                .subscribe(subscriber);
+
+        assertEquals(List.of("Value: 2", "Value: 4"), subscriber.items);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(5, subscriber.items.size());
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    public void testObserveOnBoundsUpstream() throws InterruptedException {
+        AtomicInteger produced = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(5);
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>(5) {
+            @Override
+            public void onNext(Integer item) {
+                super.onNext(item);
+                latch.countDown();
+            }
+        };
+
+        Flowable.range(1, 1_000_000)
+                .map(i -> {
+                    produced.incrementAndGet();
+                    return i;
+                })
+                .subscribeOn(Schedulers.io())
+                .observeOn(Schedulers.computation(), 16)
+                .subscribe(subscriber);
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        Thread.sleep(100);
+
+        assertEquals(List.of(1, 2, 3, 4, 5), subscriber.items);
+        assertTrue(produced.get() <= 16 + 12);
+    }
+
+    @Test
+    public void testFlatMapMaxConcurrency() throws InterruptedException {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        List<Integer> results = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Flowable.range(0, 20)
+                .flatMap(i -> Flowable.<Integer>create(subscriber -> {
+                    maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                    Flowable.range(i * 10, 3)
+                            .subscribeOn(Schedulers.io())
+                            .subscribe(new Subscriber<>() {
+                                @Override
+                                public void onSubscribe(Subscription subscription) {
+                                    subscriber.onSubscribe(subscription);
+                                }
+
+                                @Override
+                                public void onNext(Integer item) {
+                                    subscriber.onNext(item);
+                                }
+
+                                @Override
+                                public void onError(Throwable t) {
+                                    subscriber.onError(t);
+                                }
+
+                                @Override
+                                public void onComplete() {
+                                    active.decrementAndGet();
+                                    subscriber.onComplete();
+                                }
+                            });
+                }), 2)
+                .subscribe(new RecordingSubscriber<>(Long.MAX_VALUE) {
+                    @Override
+                    public void onNext(Integer item) {
+                        results.add(item);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        latch.countDown();
+                    }
+                });
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertEquals(60, results.size());
+        assertTrue(maxActive.get() <= 2);
+    }
+
+    @Test
+    public void testBackpressureDrop() {
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>(5);
+
+        Observable.<Integer>create(observer -> {
+                    for (int i = 0; i < 100; i++) {
+                        observer.onNext(i);
+                    }
+                    observer.onComplete();
+                })
+                .toFlowable(BackpressureStrategy.DROP)
+                .subscribe(subscriber);
+
+        assertEquals(List.of(0, 1, 2, 3, 4), subscriber.items);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    public void testBackpressureLatest() {
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>(1);
+
+        Observable.<Integer>create(observer -> {
+                    for (int i = 0; i < 100; i++) {
+                        observer.onNext(i);
+                    }
+                    observer.onComplete();
+                })
+                .toFlowable(BackpressureStrategy.LATEST)
+                .subscribe(subscriber);
+
+        assertEquals(List.of(0), subscriber.items);
+        assertFalse(subscriber.completed);
+
+        subscriber.subscription.request(10);
+
+        assertEquals(List.of(0, 99), subscriber.items);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    public void testBackpressureBuffer() {
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>(1);
+
+        Observable.<Integer>create(observer -> {
+                    for (int i = 0; i < 100; i++) {
+                        observer.onNext(i);
+                    }
+                    observer.onComplete();
+                })
+                .toFlowable(BackpressureStrategy.BUFFER)
+                .subscribe(subscriber);
+
+        assertEquals(List.of(0), subscriber.items);
+        assertFalse(subscriber.completed);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(100, subscriber.items.size());
+        assertEquals(99, subscriber.items.get(99));
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    public void testBoundedBufferOverflow() {
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>(1);
+
+        Flowable.<Integer>create(downstream -> {
+                    downstream.onSubscribe(new Subscription() {
+                        @Override
+                        public void request(long n) {
+                        }
+
+                        @Override
+                        public void cancel() {
+                        }
+                    });
+                    for (int i = 0; i < 100; i++) {
+                        downstream.onNext(i);
+                    }
+                    downstream.onComplete();
+                })
+                .onBackpressureBuffer(8)
+                .subscribe(subscriber);
+
+        assertEquals(List.of(0), subscriber.items);
+        assertTrue(subscriber.error.get() instanceof MissingBackpressureException);
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    public void testToObservable() throws InterruptedException {
+        List<Integer> results = new ArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Flowable.fromIterable(List.of(1, 2, 3))
+                .toObservable()
+                .subscribe(new Observer<>() {
+                    @Override
+                    public void onNext(Integer item) {
+                        results.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        latch.countDown();
+                    }
+                });
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertEquals(List.of(1, 2, 3), results);
+    }
+
+    @Test
+    public void testSubscribeOnKeepsEmittingOnItsSchedulerAfterLaterRequests() throws InterruptedException {
+        Scheduler subscribeScheduler = new SingleThreadScheduler(task -> new Thread(task, "subscribe-on-test"));
+        List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Flowable.range(0, 200)
+                .map(i -> {
+                    threads.add(Thread.currentThread().getName());
+                    return i;
+                })
+                .subscribeOn(subscribeScheduler)
+                .observeOn(new ComputationScheduler(4), 8)
+                .subscribe(new RecordingSubscriber<>(Long.MAX_VALUE) {
+                    @Override
+                    public void onComplete() {
+                        latch.countDown();
+                    }
+                });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(200, threads.size());
+        for (String thread : threads) {
+            assertEquals("subscribe-on-test", thread);
+        }
+    }
+
+    @Test
+    public void testSubscribeOnCancelledBeforeTheTaskRuns() {
+        TestScheduler scheduler = new TestScheduler();
+        AtomicInteger subscriptions = new AtomicInteger();
+
+        Flowable.<Integer>create(subscriber -> subscriptions.incrementAndGet())
+                .subscribeOn(scheduler)
+                .subscribe(new RecordingSubscriber<>(1) {
+                    @Override
+                    public void onSubscribe(Subscription subscription) {
+                        subscription.cancel();
+                    }
+                });
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        assertEquals(0, subscriptions.get());
+    }
+
+    @Test
+    public void testSourceErrorComesAfterOnSubscribe() {
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>(1) {
+            @Override
+            public void onError(Throwable t) {
+                assertNotNull(subscription);
+                super.onError(t);
+            }
+        };
+
+        Flowable.<Integer>create(s -> {
+            throw new IllegalStateException("boom");
+        }).subscribe(subscriber);
+
+        assertNotNull(subscriber.subscription);
+        assertEquals("boom", subscriber.error.get().getMessage());
+    }
+
+    @Test
+    public void testObserveOnIgnoresInvalidRequestAfterUpstreamCompleted() {
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>(1);
+
+        Flowable.range(0, 3).observeOn(Schedulers.immediate()).subscribe(subscriber);
+        assertEquals(List.of(0), subscriber.items);
+
+        subscriber.subscription.request(0);
+        subscriber.subscription.request(5);
+
+        assertEquals(List.of(0, 1, 2), subscriber.items);
+        assertTrue(subscriber.completed);
+        assertNull(subscriber.error.get());
+    }
+
+    private static class RecordingSubscriber<T> implements Subscriber<T> {
+
+        final List<T> items = new ArrayList<>();
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final long initialRequest;
+        volatile boolean completed;
+        Subscription subscription;
+
+        RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(initialRequest);
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error.set(t);
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package ru.mephi.rxjava;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InstrumentationTest {
+
+    @AfterEach
+    public void tearDown() {
+        RxPlugins.reset();
+    }
+
+    @Test
+    public void testLatencyHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        RxMetrics.LatencyStats stats = histogram.snapshot();
+        assertEquals(1000, stats.getCount());
+        assertEquals(500_500, stats.getMean());
+        assertEquals(1_000_000, stats.getMax());
+        // Every bucket is at most 1/16 wide, so the reported values stay within that of the exact ones.
+        assertEquals(500_000, stats.getP50(), 500_000 / 16.0);
+        assertEquals(990_000, stats.getP99(), 990_000 / 16.0);
+        assertTrue(stats.getP50() >= 500_000);
+
+        for (long value = 0; value < 100_000; value += 7) {
+            long highest = LatencyHistogram.highestEquivalentValue(LatencyHistogram.index(value));
+            assertTrue(highest >= value && highest - value <= Math.max(1L, value / 16), "value " + value);
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.highestEquivalentValue(LatencyHistogram.index(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void testSchedulerMetrics() throws InterruptedException {
+        RxMetrics metrics = RxMetrics.install();
+        int tasks = 100;
+        CountDownLatch latch = new CountDownLatch(tasks);
+        for (int i = 0; i < tasks; i++) {
+            Schedulers.single().execute(latch::countDown);
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        RxMetrics.SchedulerStats stats = awaitCompleted(metrics, "single", tasks);
+        assertEquals(tasks, stats.getSubmitted());
+        assertEquals(0, stats.getFailed());
+        assertEquals(0, stats.getQueued());
+        assertEquals(tasks, stats.getDelay().getCount());
+        assertEquals(tasks, stats.getDuration().getCount());
+    }
+
+    @Test
+    public void testSchedulersOfOneClassShareAnEntry() {
+        RxMetrics metrics = RxMetrics.install();
+        for (int i = 0; i < 100; i++) {
+            Schedulers.from(Runnable::run).execute(() -> { });
+        }
+
+        assertEquals(1, metrics.getSchedulers().size());
+        assertEquals(100, metrics.getScheduler("ExecutorScheduler").getSubmitted());
+    }
+
+    @Test
+    public void testOperatorMetrics() {
+        RxMetrics metrics = RxMetrics.install();
+        List<Integer> received = new ArrayList<>();
+
+        Observable.<Integer>create(emitter -> {
+                    for (int i = 1; i <= 10; i++) {
+                        emitter.onNext(i);
+                    }
+                    emitter.onComplete();
+                })
+                .map(x -> x * 2)
+                .filter(x -> x % 4 == 0)
+                .subscribe(new Observer<>() {
+                    @Override
+                    public void onNext(Integer item) {
+                        received.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onComplete() {
+                    }
+                });
+
+        assertEquals(List.of(4, 8, 12, 16, 20), received);
+        RxMetrics.OperatorStats create = metrics.getOperator("create");
+        assertEquals(10, create.getItems());
+        assertEquals(1, create.getCompletions());
+        RxMetrics.OperatorStats mapFilter = metrics.getOperator("mapFilter");
+        assertEquals(5, mapFilter.getItems());
+        assertEquals(1, mapFilter.getSubscribed());
+        assertTrue(mapFilter.getItemsPerSecond() > 0.0);
+    }
+
+    @Test
+    public void testDroppedItems() {
+        RxMetrics metrics = RxMetrics.install();
+        TestScheduler scheduler = new TestScheduler();
+        AtomicReference<ObservableEmitter<Integer>> source = new AtomicReference<>();
+
+        Observable.create(source::set)
+                .throttleFirst(100, TimeUnit.MILLISECONDS, scheduler)
+                .subscribe(new Observer<>() {
+                    @Override
+                    public void onNext(Integer item) {
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onComplete() {
+                    }
+                });
+        for (int i = 1; i <= 6; i++) {
+            source.get().onNext(i);
+            scheduler.advanceTimeBy(40, TimeUnit.MILLISECONDS);
+        }
+
+        assertEquals(4, metrics.getOperator("throttleFirst").getDropped());
+    }
+
+    @Test
+    public void testJmxRegistration() throws Exception {
+        RxMetrics metrics = RxMetrics.install();
+        metrics.registerMBean();
+        try {
+            Observable.<Integer>create(emitter -> {
+                emitter.onNext(1);
+                emitter.onComplete();
+            }).subscribe(new Observer<>() {
+                @Override
+                public void onNext(Integer item) {
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                }
+
+                @Override
+                public void onComplete() {
+                }
+            });
+
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            CompositeData[] operators = (CompositeData[]) server.getAttribute(new ObjectName(RxMetrics.OBJECT_NAME), "Operators");
+            boolean found = false;
+            for (CompositeData operator : operators) {
+                if ("create".equals(operator.get("name"))) {
+                    found = true;
+                    assertEquals(1L, operator.get("items"));
+                }
+            }
+            assertTrue(found);
+        } finally {
+            metrics.unregisterMBean();
+        }
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        assertNull(RxPlugins.getInstrumentation());
+        Runnable task = () -> { };
+        assertSame(task, RxPlugins.onSchedule(Schedulers.single(), task));
+    }
+
+    private static RxMetrics.SchedulerStats awaitCompleted(RxMetrics metrics, String name, long expected)
+            throws InterruptedException {
+        // The latch opens inside the last task, a moment before the wrapper records its completion.
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        RxMetrics.SchedulerStats stats = metrics.getScheduler(name);
+        while (stats.getCompleted() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+            stats = metrics.getScheduler(name);
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,296 @@
+package ru.mephi.rxjava;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousByteChannel;
+import java.nio.channels.AsynchronousServerSocketChannel;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NioSourcesTest {
+
+    @Test
+    public void testLinesAcrossRegionBoundaries() throws IOException {
+        List<String> expected = new ArrayList<>();
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            String line = "line-" + i + "-" + "x".repeat(i % 37) + " \u00e9";
+            expected.add(line);
+            content.append(line).append(i % 2 == 0 ? "\n" : "\r\n");
+        }
+        content.append("no newline at the end");
+        expected.add("no newline at the end");
+        Path file = write(content.toString().getBytes(StandardCharsets.UTF_8));
+
+        // A 16-byte region is shorter than most lines, so regions are both cut and grown.
+        RecordingObserver<String> small = new RecordingObserver<>();
+        Observable.create(new ObservableMappedLines(file, StandardCharsets.UTF_8, 16)).subscribe(small);
+        assertEquals(expected, small.items);
+        assertTrue(small.completed);
+
+        assertEquals(expected, NioSources.lines(file).toList().blockingGet());
+    }
+
+    @Test
+    public void testLinesStopWhenDisposed() throws IOException {
+        Path file = write("a\nb\nc\nd\n".getBytes(StandardCharsets.US_ASCII));
+        AtomicInteger read = new AtomicInteger();
+        RecordingObserver<String> observer = new RecordingObserver<>();
+
+        // The error of map disposes the chain, and the source must not read the remaining lines.
+        NioSources.lines(file)
+                .map(line -> {
+                    if (read.incrementAndGet() == 2) {
+                        throw new IOException("stop");
+                    }
+                    return line;
+                })
+                .subscribe(observer);
+
+        assertEquals(2, read.get());
+        assertEquals(List.of("a"), observer.items);
+        assertTrue(observer.error instanceof IOException);
+    }
+
+    @Test
+    public void testLinesRejectMultiByteNewlineCharset() throws IOException {
+        Path file = write(new byte[0]);
+        assertThrows(IllegalArgumentException.class, () -> NioSources.lines(file, StandardCharsets.UTF_16));
+    }
+
+    @Test
+    public void testRecordsAreSlicesOfTheMappedFile() throws IOException {
+        byte[] bytes = new byte[1_000];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        Path file = write(bytes);
+
+        List<ByteBuffer> records = Observable.create(new ObservableMappedRecords(file, 64, 200)).toList().blockingGet();
+
+        assertEquals(16, records.size());
+        assertEquals(40, records.get(15).remaining());
+        int offset = 0;
+        for (ByteBuffer record : records) {
+            assertTrue(record.isReadOnly());
+            while (record.hasRemaining()) {
+                assertEquals(bytes[offset++], record.get());
+            }
+        }
+        assertEquals(bytes.length, offset);
+    }
+
+    @Test
+    public void testChunksReadFileIntoPooledBuffers() throws IOException, InterruptedException {
+        byte[] bytes = new byte[100_000];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (i * 31);
+        }
+        Path file = write(bytes);
+        ByteBufferPool pool = new ByteBufferPool(4096, 4);
+        ByteCollector collector = new ByteCollector(pool);
+
+        NioSources.chunks(file, pool).subscribe(collector);
+
+        assertTrue(collector.await());
+        assertNull(collector.error);
+        assertArrayEquals(bytes, collector.bytes());
+        // Every chunk was handed back, and the pool reused them instead of allocating one per read.
+        ByteBuffer reused = pool.acquire();
+        assertTrue(collector.buffers.contains(System.identityHashCode(reused)));
+        assertTrue(collector.buffers.size() <= 2);
+    }
+
+    @Test
+    public void testReadCompletingAfterDisposeReturnsItsBuffer() {
+        ByteBufferPool pool = new ByteBufferPool(64, 4);
+        PendingReadChannel channel = new PendingReadChannel();
+        RecordingObserver<ByteBuffer> observer = new RecordingObserver<>();
+
+        Disposable disposable = Observable.create(new ObservableAsyncRead(() -> channel, null, pool)).subscribe(observer);
+        disposable.dispose();
+        // The read was already done when the channel got closed; its completion arrives afterwards.
+        channel.buffer.put(new byte[5]);
+        channel.handler.completed(5, channel.buffer);
+
+        assertTrue(observer.items.isEmpty());
+        assertEquals(1, channel.reads);
+        assertFalse(channel.isOpen());
+        assertSame(channel.buffer, pool.acquire());
+    }
+
+    @Test
+    public void testConnectReadsSocketUntilPeerCloses() throws Exception {
+        byte[] payload = "hello over the wire ".repeat(1_000).getBytes(StandardCharsets.US_ASCII);
+        try (AsynchronousServerSocketChannel server = AsynchronousServerSocketChannel.open()
+                .bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            Thread writer = new Thread(() -> {
+                try (AsynchronousSocketChannel client = server.accept().get(5, TimeUnit.SECONDS)) {
+                    ByteBuffer buffer = ByteBuffer.wrap(payload);
+                    while (buffer.hasRemaining()) {
+                        client.write(buffer).get(5, TimeUnit.SECONDS);
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            writer.start();
+
+            ByteBufferPool pool = new ByteBufferPool(1024, 8, false);
+            ByteCollector collector = new ByteCollector(pool);
+            NioSources.connect(server.getLocalAddress(), pool).subscribe(collector);
+
+            assertTrue(collector.await());
+            assertNull(collector.error);
+            assertArrayEquals(payload, collector.bytes());
+            writer.join(5_000);
+        }
+    }
+
+    @Test
+    public void testConnectFailureIsReported() throws Exception {
+        InetSocketAddress unused;
+        try (AsynchronousServerSocketChannel server = AsynchronousServerSocketChannel.open()
+                .bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            unused = (InetSocketAddress) server.getLocalAddress();
+        }
+        ByteCollector collector = new ByteCollector(new ByteBufferPool(64, 1));
+
+        NioSources.connect(unused, new ByteBufferPool(64, 1)).subscribe(collector);
+
+        assertTrue(collector.await());
+        assertTrue(collector.error instanceof IOException);
+    }
+
+    @Test
+    public void testPoolIgnoresForeignBuffersAndKeepsAtMostMaxPooled() {
+        ByteBufferPool pool = new ByteBufferPool(16, 1, false);
+        ByteBuffer first = pool.acquire();
+        ByteBuffer second = pool.acquire();
+
+        pool.release(ByteBuffer.allocate(32));
+        pool.release(first);
+        pool.release(second);
+
+        assertSame(first, pool.acquire());
+        assertTrue(pool.acquire() != second);
+    }
+
+    private static Path write(byte[] bytes) throws IOException {
+        Path file = Files.createTempFile("nio-sources", ".bin");
+        file.toFile().deleteOnExit();
+        try (OutputStream out = Files.newOutputStream(file)) {
+            out.write(bytes);
+        }
+        return file;
+    }
+
+    private static final class ByteCollector implements Observer<ByteBuffer> {
+
+        private final ByteBufferPool pool;
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final List<Integer> buffers = new ArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(1);
+        volatile Throwable error;
+
+        ByteCollector(ByteBufferPool pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public void onNext(ByteBuffer chunk) {
+            int id = System.identityHashCode(chunk);
+            if (!buffers.contains(id)) {
+                buffers.add(id);
+            }
+            while (chunk.hasRemaining()) {
+                out.write(chunk.get());
+            }
+            pool.release(chunk);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+            latch.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            latch.countDown();
+        }
+
+        boolean await() throws InterruptedException {
+            return latch.await(5, TimeUnit.SECONDS);
+        }
+
+        byte[] bytes() {
+            return out.toByteArray();
+        }
+    }
+
+    // Keeps the single read it is given pending until the test completes it.
+    private static final class PendingReadChannel implements AsynchronousByteChannel {
+
+        ByteBuffer buffer;
+        CompletionHandler<Integer, ByteBuffer> handler;
+        int reads;
+        private boolean open = true;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <A> void read(ByteBuffer dst, A attachment, CompletionHandler<Integer, ? super A> handler) {
+            reads++;
+            this.buffer = dst;
+            this.handler = (CompletionHandler<Integer, ByteBuffer>) handler;
+        }
+
+        @Override
+        public Future<Integer> read(ByteBuffer dst) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <A> void write(ByteBuffer src, A attachment, CompletionHandler<Integer, ? super A> handler) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Future<Integer> write(ByteBuffer src) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+    }
+}
@@ -133,4 +133,109 @@ public class ObservableTest {
         assertTrue(disposable.isDisposed());
         assertTrue(results.size() < 10);
     }
+
+    @Test
+    public void testDisposePropagatesUpstreamThroughOperators() throws InterruptedException {
+        CountDownLatch firstItem = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        CountDownLatch sourceStopped = new CountDownLatch(1);
+
+        Observable<Integer> source = Observable.create(emitter -> {
+            emitter.setCancellable(cancelled::countDown);
+            int i = 0;
+            while (!emitter.isDisposed()) {
+                emitter.onNext(i++);
+            }
+            sourceStopped.countDown();
+        });
+
+        Disposable disposable = source.subscribeOn(Schedulers.io())
+                .map(i -> i * 2)
+                .filter(i -> i % 3 == 0)
+                .observeOn(Schedulers.computation())
+                .subscribe(new Observer<>() {
+                    @Override
+                    public void onNext(Integer item) {
+                        firstItem.countDown();
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onComplete() {
+                    }
+                });
+
+        assertTrue(firstItem.await(1, TimeUnit.SECONDS));
+        disposable.dispose();
+
+        assertTrue(cancelled.await(1, TimeUnit.SECONDS));
+        assertTrue(sourceStopped.await(1, TimeUnit.SECONDS));
+        assertTrue(disposable.isDisposed());
+    }
+
+    @Test
+    public void testDisposeInterruptsSubscribeOnTask() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        Disposable disposable = Observable.<Integer>create(emitter -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        }).subscribeOn(Schedulers.io()).subscribe(new Observer<>() {
+            @Override
+            public void onNext(Integer item) {
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        disposable.dispose();
+
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testCompositeDisposable() {
+        AtomicBoolean first = new AtomicBoolean(false);
+        AtomicBoolean late = new AtomicBoolean(false);
+        CompositeDisposable composite = new CompositeDisposable();
+
+        composite.add(flagDisposable(first));
+        assertEquals(1, composite.size());
+
+        composite.dispose();
+        assertTrue(first.get());
+        assertTrue(composite.isDisposed());
+
+        assertFalse(composite.add(flagDisposable(late)));
+        assertTrue(late.get());
+    }
+
+    private static Disposable flagDisposable(AtomicBoolean flag) {
+        return new Disposable() {
+            @Override
+            public void dispose() {
+                flag.set(true);
+            }
+
+            @Override
+            public boolean isDisposed() {
+                return flag.get();
+            }
+        };
+    }
 }
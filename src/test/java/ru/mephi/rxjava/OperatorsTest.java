@@ -2,14 +2,19 @@ package ru.mephi.rxjava;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class OperatorsTest {
@@ -188,4 +193,423 @@ public class OperatorsTest {
         assertEquals("Value: 20", results.get(0));
         assertEquals("Value: 40", results.get(1));
     }
+
+    @Test
+    public void testLongMapFilterChain() throws InterruptedException {
+        List<Integer> results = new ArrayList<>();
+        AtomicBoolean completed = new AtomicBoolean(false);
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable<Integer> observable = Observable.create(observer -> {
+            for (int i = 1; i <= 10; i++) {
+                observer.onNext(i);
+            }
+            observer.onComplete();
+        });
+
+        for (int stage = 0; stage < 5; stage++) {
+            observable = observable.map(i -> i + 1).filter(i -> i % 7 != 0);
+        }
+
+        observable.subscribe(new Observer<>() {
+            @Override
+            public void onNext(Integer item) {
+                results.add(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                latch.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                completed.set(true);
+                latch.countDown();
+            }
+        });
+
+        latch.await(1, TimeUnit.SECONDS);
+
+        assertTrue(completed.get());
+        assertEquals(List.of(6, 12, 13), results);
+    }
+
+    @Test
+    public void testMapErrorStopsStream() throws InterruptedException {
+        List<Integer> results = new ArrayList<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        AtomicBoolean completed = new AtomicBoolean(false);
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable<Integer> source = Observable.create(observer -> {
+            observer.onNext(1);
+            observer.onNext(2);
+            observer.onNext(3);
+            observer.onComplete();
+        });
+
+        source.map(i -> {
+                    if (i == 2) {
+                        throw new IllegalStateException("Map error");
+                    }
+                    return i;
+                })
+                .filter(i -> i > 0)
+                .subscribe(new Observer<>() {
+                    @Override
+                    public void onNext(Integer item) {
+                        results.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        error.set(t);
+                        latch.countDown();
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        completed.set(true);
+                        latch.countDown();
+                    }
+                });
+
+        latch.await(1, TimeUnit.SECONDS);
+
+        assertEquals(List.of(1), results);
+        assertEquals("Map error", error.get().getMessage());
+        assertFalse(completed.get());
+    }
+
+    @Test
+    public void testMapFilterFusedIntoObserveOn() throws InterruptedException {
+        List<String> results = new ArrayList<>();
+        AtomicReference<String> mapperThreadName = new AtomicReference<>();
+        AtomicReference<String> observerThreadName = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable<Integer> source = Observable.create(observer -> {
+            for (int i = 1; i <= 100; i++) {
+                observer.onNext(i);
+            }
+            observer.onComplete();
+        });
+
+        source.observeOn(Schedulers.single())
+                .filter(i -> i % 10 == 0)
+                .map(i -> {
+                    mapperThreadName.set(Thread.currentThread().getName());
+                    return "Value: " + i;
+                })
+                .subscribe(new Observer<>() {
+                    @Override
+                    public void onNext(String item) {
+                        observerThreadName.set(Thread.currentThread().getName());
+                        results.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        latch.countDown();
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        latch.countDown();
+                    }
+                });
+
+        latch.await(1, TimeUnit.SECONDS);
+
+        assertEquals(10, results.size());
+        assertEquals("Value: 10", results.get(0));
+        assertEquals("Value: 100", results.get(9));
+        assertNotEquals(Thread.currentThread().getName(), mapperThreadName.get());
+        assertEquals(mapperThreadName.get(), observerThreadName.get());
+    }
+
+    @Test
+    public void testFlatMapBoundedConcurrency() throws InterruptedException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Integer> results = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable.<Integer>create(observer -> {
+            for (int i = 0; i < 20; i++) {
+                observer.onNext(i);
+            }
+            observer.onComplete();
+        }).flatMap(i -> Observable.<Integer>create(inner -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(10);
+            running.decrementAndGet();
+            inner.onNext(i);
+            inner.onComplete();
+        }).subscribeOn(Schedulers.io()), 3).subscribe(new Observer<>() {
+            @Override
+            public void onNext(Integer item) {
+                results.add(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                latch.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                latch.countDown();
+            }
+        });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(20, results.size());
+        assertTrue(maxRunning.get() <= 3);
+    }
+
+    @Test
+    public void testFlatMapSerializesEmissionsAndCompletesLast() throws InterruptedException {
+        AtomicInteger inOnNext = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean(false);
+        AtomicInteger count = new AtomicInteger();
+        AtomicInteger countAtCompletion = new AtomicInteger(-1);
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable.<Integer>create(observer -> {
+            for (int i = 0; i < 8; i++) {
+                observer.onNext(i);
+            }
+            observer.onComplete();
+        }).flatMap(i -> Observable.<Integer>create(inner -> {
+            for (int j = 0; j < 10_000; j++) {
+                inner.onNext(j);
+            }
+            inner.onComplete();
+        }).subscribeOn(Schedulers.computation())).subscribe(new Observer<>() {
+            @Override
+            public void onNext(Integer item) {
+                if (inOnNext.getAndIncrement() != 0) {
+                    overlapped.set(true);
+                }
+                count.incrementAndGet();
+                inOnNext.decrementAndGet();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                latch.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                countAtCompletion.set(count.get());
+                latch.countDown();
+            }
+        });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertFalse(overlapped.get());
+        assertEquals(80_000, countAtCompletion.get());
+    }
+
+    @Test
+    public void testFlatMapDrainsItemsQueuedBeyondPrefetch() {
+        AtomicReference<ObservableEmitter<Integer>> first = new AtomicReference<>();
+        AtomicReference<ObservableEmitter<Integer>> second = new AtomicReference<>();
+        List<Integer> results = new ArrayList<>();
+
+        Observable.<Integer>create(observer -> {
+            observer.onNext(0);
+            observer.onNext(1);
+        }).flatMap(i -> Observable.<Integer>create(inner -> (i == 0 ? first : second).set(inner)),
+                Integer.MAX_VALUE, 2).subscribe(new Observer<>() {
+            @Override
+            public void onNext(Integer item) {
+                results.add(item);
+                // The second inner emits while the first one is being delivered, so its items are
+                // queued: more of them than one drain pass takes from an inner.
+                if (item == 0) {
+                    for (int i = 1; i <= 5; i++) {
+                        second.get().onNext(i);
+                    }
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        first.get().onNext(0);
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), results);
+    }
+
+    @Test
+    public void testConcatMapPreservesOrder() throws InterruptedException {
+        List<Integer> results = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable.<Integer>create(observer -> {
+            for (int i = 0; i < 5; i++) {
+                observer.onNext(i);
+            }
+            observer.onComplete();
+        }).concatMap(i -> Observable.<Integer>create(inner -> {
+            // Earlier inners are slower, so any overlap would reorder the output.
+            Thread.sleep(5L * (5 - i));
+            inner.onNext(i * 10);
+            inner.onNext(i * 10 + 1);
+            inner.onComplete();
+        }).subscribeOn(Schedulers.io())).subscribe(new Observer<>() {
+            @Override
+            public void onNext(Integer item) {
+                results.add(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                latch.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                latch.countDown();
+            }
+        });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(0, 1, 10, 11, 20, 21, 30, 31, 40, 41), results);
+    }
+
+    @Test
+    public void testSwitchMapIgnoresStaleInner() {
+        AtomicReference<Observer<Integer>> source = new AtomicReference<>();
+        List<Observer<String>> inners = new ArrayList<>();
+        List<String> results = new ArrayList<>();
+        AtomicBoolean completed = new AtomicBoolean(false);
+
+        Observable.<Integer>create(source::set)
+                .switchMap(i -> Observable.<String>create(inners::add))
+                .subscribe(new Observer<>() {
+                    @Override
+                    public void onNext(String item) {
+                        results.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        completed.set(true);
+                    }
+                });
+
+        source.get().onNext(1);
+        inners.get(0).onNext("first");
+        source.get().onNext(2);
+        inners.get(0).onNext("stale");
+        inners.get(1).onNext("second");
+        source.get().onComplete();
+        assertFalse(completed.get());
+
+        inners.get(1).onComplete();
+        assertEquals(List.of("first", "second"), results);
+        assertTrue(completed.get());
+    }
+
+    @Test
+    public void testBatchesPassMapFilterAndObserveOnWhole() throws InterruptedException {
+        Scheduler scheduler = new ComputationScheduler(4);
+        List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+        List<String> singles = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable.<Integer>create(emitter -> {
+                    for (int batch = 0; batch < 3; batch++) {
+                        List<Integer> items = new ArrayList<>();
+                        for (int i = 0; i < 1_000; i++) {
+                            items.add(batch * 1_000 + i);
+                        }
+                        emitter.onNextBatch(items);
+                    }
+                    emitter.onNext(-1);
+                    emitter.onComplete();
+                })
+                .filter(i -> i % 2 == 0)
+                .observeOn(scheduler)
+                .map(i -> "v" + i)
+                .subscribe(new Observer<>() {
+                    @Override
+                    public void onNext(String item) {
+                        singles.add(item);
+                    }
+
+                    @Override
+                    public void onNextBatch(List<String> items) {
+                        batches.add(items);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        latch.countDown();
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        latch.countDown();
+                    }
+                });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(3, batches.size());
+        for (int batch = 0; batch < 3; batch++) {
+            assertEquals(500, batches.get(batch).size());
+            assertEquals("v" + batch * 1_000, batches.get(batch).get(0));
+        }
+        assertEquals(List.of(), singles);
+    }
+
+    @Test
+    public void testBatchFallsBackToOnNextAndStopsAtMapError() {
+        List<Integer> results = new ArrayList<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        Observable.<Integer>create(emitter -> {
+                    emitter.onNextBatch(List.of(1, 2, 3, 4));
+                    emitter.onNextBatch(List.of(5, 6));
+                    emitter.onComplete();
+                })
+                .map(i -> {
+                    if (i == 3) {
+                        throw new IOException("three");
+                    }
+                    return i * 10;
+                })
+                .subscribe(new Observer<>() {
+                    @Override
+                    public void onNext(Integer item) {
+                        results.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        error.set(t);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                    }
+                });
+
+        assertEquals(List.of(10, 20), results);
+        assertTrue(error.get() instanceof IOException);
+    }
 }
@@ -0,0 +1,120 @@
+package ru.mephi.rxjava;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParallelObservableTest {
+
+    @Test
+    public void testSequentialRunsRailsOnSeveralThreads() throws InterruptedException {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        RecordingObserver<Integer> observer = new RecordingObserver<>();
+
+        range(10_000).parallel(4)
+                .runOn(new ComputationScheduler(4))
+                .map(i -> {
+                    threads.add(Thread.currentThread().getName());
+                    return i * 2;
+                })
+                .filter(i -> i % 3 == 0)
+                .sequential()
+                .subscribe(observer);
+
+        assertTrue(observer.await());
+        assertNull(observer.error);
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            if (i * 2 % 3 == 0) {
+                expected.add(i * 2);
+            }
+        }
+        List<Integer> actual = new ArrayList<>(observer.items);
+        Collections.sort(actual);
+        assertEquals(expected, actual);
+        assertTrue(threads.size() > 1);
+    }
+
+    @Test
+    public void testSortedKeepsSourceOrder() throws InterruptedException {
+        RecordingObserver<String> observer = new RecordingObserver<>();
+
+        range(1_000).parallel(3)
+                .runOn(Schedulers.computation())
+                .filter(i -> i % 7 != 0)
+                .map(i -> "item-" + i)
+                .sorted()
+                .subscribe(observer);
+
+        assertTrue(observer.await());
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            if (i % 7 != 0) {
+                expected.add("item-" + i);
+            }
+        }
+        assertEquals(expected, observer.items);
+    }
+
+    @Test
+    public void testReduceCombinesRails() throws InterruptedException {
+        RecordingObserver<Long> observer = new RecordingObserver<>();
+
+        range(100_000).parallel()
+                .runOn(Schedulers.computation())
+                .map(i -> (long) i)
+                .reduce(Long::sum)
+                .subscribe(observer);
+
+        assertTrue(observer.await());
+        assertEquals(List.of(99_999L * 100_000L / 2), observer.items);
+    }
+
+    @Test
+    public void testRailErrorTerminatesStream() throws InterruptedException {
+        RecordingObserver<Integer> observer = new RecordingObserver<>();
+
+        range(1_000).parallel(2)
+                .runOn(Schedulers.computation())
+                .map(i -> {
+                    if (i == 500) {
+                        throw new IllegalStateException("bad item");
+                    }
+                    return i;
+                })
+                .sequential()
+                .subscribe(observer);
+
+        assertTrue(observer.await());
+        assertEquals("bad item", observer.error.getMessage());
+    }
+
+    @Test
+    public void testWithoutRunOnRailsRunOnCallerThread() {
+        RecordingObserver<Integer> observer = new RecordingObserver<>();
+
+        range(10).parallel(3).map(i -> i + 1).sorted().subscribe(observer);
+
+        assertTrue(observer.completed);
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), observer.items);
+    }
+
+    private static Observable<Integer> range(int count) {
+        return Observable.create(emitter -> {
+            for (int i = 0; i < count && !emitter.isDisposed(); i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        });
+    }
+}
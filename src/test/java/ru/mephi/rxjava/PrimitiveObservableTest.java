@@ -0,0 +1,284 @@
+package ru.mephi.rxjava;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrimitiveObservableTest {
+
+    @Test
+    public void testIntMapFilterSum() {
+        List<Long> results = new ArrayList<>();
+        AtomicBoolean completed = new AtomicBoolean(false);
+
+        IntObservable.range(1, 10)
+                .map(i -> i * 2)
+                .filter(i -> i % 4 == 0)
+                .sum()
+                .subscribe(new LongObserver() {
+                    @Override
+                    public void onNext(long item) {
+                        results.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        completed.set(true);
+                    }
+                });
+
+        assertTrue(completed.get());
+        assertEquals(List.of(60L), results);
+    }
+
+    @Test
+    public void testIntSumDoesNotOverflow() {
+        AtomicReference<Long> sum = new AtomicReference<>();
+
+        IntObservable.fromArray(Integer.MAX_VALUE, Integer.MAX_VALUE)
+                .sum()
+                .subscribe(new LongObserver() {
+                    @Override
+                    public void onNext(long item) {
+                        sum.set(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onComplete() {
+                    }
+                });
+
+        assertEquals(2L * Integer.MAX_VALUE, sum.get());
+    }
+
+    @Test
+    public void testLongReduceAndWindow() {
+        List<Long> reduced = new ArrayList<>();
+        List<long[]> windows = new ArrayList<>();
+
+        LongObservable.range(1, 5)
+                .reduce(1, (left, right) -> left * right)
+                .subscribe(new LongObserver() {
+                    @Override
+                    public void onNext(long item) {
+                        reduced.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onComplete() {
+                    }
+                });
+
+        LongObservable.range(0, 5)
+                .window(2)
+                .subscribe(new Observer<>() {
+                    @Override
+                    public void onNext(long[] item) {
+                        windows.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onComplete() {
+                    }
+                });
+
+        assertEquals(List.of(120L), reduced);
+        assertEquals(3, windows.size());
+        assertArrayEquals(new long[]{0, 1}, windows.get(0));
+        assertArrayEquals(new long[]{2, 3}, windows.get(1));
+        assertArrayEquals(new long[]{4}, windows.get(2));
+    }
+
+    @Test
+    public void testDoubleBoxedAndMapToObj() {
+        List<Double> boxed = new ArrayList<>();
+        List<String> mapped = new ArrayList<>();
+
+        DoubleObservable readings = DoubleObservable.fromArray(1.5, 2.5, 3.5);
+
+        readings.map(d -> d * 2)
+                .boxed()
+                .subscribe(new Observer<>() {
+                    @Override
+                    public void onNext(Double item) {
+                        boxed.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onComplete() {
+                    }
+                });
+
+        readings.mapToObj(d -> "Reading: " + d)
+                .subscribe(new Observer<>() {
+                    @Override
+                    public void onNext(String item) {
+                        mapped.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onComplete() {
+                    }
+                });
+
+        assertEquals(List.of(3.0, 5.0, 7.0), boxed);
+        assertEquals(List.of("Reading: 1.5", "Reading: 2.5", "Reading: 3.5"), mapped);
+    }
+
+    @Test
+    public void testPrimitiveErrorHandling() {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        List<Integer> results = new ArrayList<>();
+
+        IntObservable.range(1, 5)
+                .map(i -> {
+                    if (i == 3) {
+                        throw new IllegalStateException("Map error");
+                    }
+                    return i;
+                })
+                .subscribe(new IntObserver() {
+                    @Override
+                    public void onNext(int item) {
+                        results.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        error.set(t);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                    }
+                });
+
+        assertEquals(List.of(1, 2), results);
+        assertEquals("Map error", error.get().getMessage());
+    }
+
+    @Test
+    public void testSumIgnoresSignalsAfterTerminalEvent() {
+        List<Long> results = new ArrayList<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        AtomicBoolean completed = new AtomicBoolean(false);
+
+        IntObservable.create(observer -> {
+                    observer.onNext(1);
+                    observer.onError(new IllegalStateException("boom"));
+                    observer.onNext(2);
+                    observer.onComplete();
+                })
+                .sum()
+                .subscribe(new LongObserver() {
+                    @Override
+                    public void onNext(long item) {
+                        results.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        error.set(t);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        completed.set(true);
+                    }
+                });
+
+        assertEquals("boom", error.get().getMessage());
+        assertTrue(results.isEmpty());
+        assertFalse(completed.get());
+    }
+
+    @Test
+    public void testRangeRejectsOverflow() {
+        assertThrows(IllegalArgumentException.class, () -> IntObservable.range(Integer.MAX_VALUE, 2));
+        assertThrows(IllegalArgumentException.class, () -> LongObservable.range(Long.MAX_VALUE, 2));
+        IntObservable.range(Integer.MAX_VALUE, 1);
+        LongObservable.range(Long.MAX_VALUE, 1);
+    }
+
+    @Test
+    public void testDisposingDownstreamStopsThePrimitiveSource() {
+        AtomicInteger longsProduced = new AtomicInteger();
+        AtomicInteger intsProduced = new AtomicInteger();
+        AtomicInteger doublesProduced = new AtomicInteger();
+
+        long first = LongObservable.range(0, 1_000_000)
+                .map(i -> {
+                    longsProduced.incrementAndGet();
+                    return i;
+                })
+                .boxed()
+                .blockingFirst();
+        int firstInt = IntObservable.range(0, 1_000_000)
+                .filter(i -> intsProduced.incrementAndGet() > 0)
+                .mapToObj(i -> i)
+                .blockingFirst();
+        double firstDouble = DoubleObservable.fromArray(new double[1_000])
+                .map(d -> {
+                    doublesProduced.incrementAndGet();
+                    return d;
+                })
+                .boxed()
+                .blockingFirst();
+
+        assertEquals(0L, first);
+        assertEquals(0, firstInt);
+        assertEquals(0.0, firstDouble);
+        assertEquals(1, longsProduced.get());
+        assertEquals(1, intsProduced.get());
+        assertEquals(1, doublesProduced.get());
+    }
+
+    @Test
+    public void testWindowIgnoresSignalsAfterTerminalEvent() {
+        RecordingObserver<long[]> observer = new RecordingObserver<>();
+
+        LongObservable.create(emitter -> {
+                    emitter.onNext(1);
+                    emitter.onComplete();
+                    emitter.onNext(2);
+                    emitter.onError(new IllegalStateException("late"));
+                })
+                .window(2)
+                .subscribe(observer);
+
+        assertEquals(1, observer.items.size());
+        assertArrayEquals(new long[]{1}, observer.items.get(0));
+        assertTrue(observer.completed);
+        assertNull(observer.error);
+    }
+}
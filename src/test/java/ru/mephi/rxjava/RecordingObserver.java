@@ -0,0 +1,38 @@
+package ru.mephi.rxjava;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+// Records what an observer receives. Safe to feed from scheduler threads: the items go into a
+// synchronized list and await() waits for the terminal event.
+class RecordingObserver<T> implements Observer<T> {
+
+    final List<T> items = Collections.synchronizedList(new ArrayList<>());
+    final CountDownLatch latch = new CountDownLatch(1);
+    volatile Throwable error;
+    volatile boolean completed;
+
+    @Override
+    public void onNext(T item) {
+        items.add(item);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        error = t;
+        latch.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+        completed = true;
+        latch.countDown();
+    }
+
+    boolean await() throws InterruptedException {
+        return latch.await(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,301 @@
+package ru.mephi.rxjava;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ResilienceOperatorsTest {
+
+    @Test
+    public void testRetryResubscribesUpToLimit() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        RecordingObserver<Integer> observer = new RecordingObserver<>();
+
+        failingTimes(subscriptions, 2).retry(2).subscribe(observer);
+
+        assertEquals(3, subscriptions.get());
+        assertEquals(List.of(0, 1, 2, 42), observer.items);
+        assertTrue(observer.completed);
+
+        RecordingObserver<Integer> exhausted = new RecordingObserver<>();
+        failingTimes(new AtomicInteger(), 5).retry(2).subscribe(exhausted);
+        assertTrue(exhausted.error instanceof IOException);
+    }
+
+    @Test
+    public void testRetryOfSynchronousFailureDoesNotGrowTheStack() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        RecordingObserver<Integer> observer = new RecordingObserver<>();
+
+        failingTimes(subscriptions, 100_000).retry().subscribe(observer);
+
+        assertEquals(100_001, subscriptions.get());
+        assertTrue(observer.completed);
+    }
+
+    @Test
+    public void testRetryPredicateStopsOnOtherErrors() {
+        IllegalStateException fatal = new IllegalStateException("fatal");
+        AtomicInteger subscriptions = new AtomicInteger();
+        RecordingObserver<Integer> observer = new RecordingObserver<>();
+
+        Observable.<Integer>create(emitter -> {
+            subscriptions.incrementAndGet();
+            emitter.onError(fatal);
+        }).retry(10, error -> error instanceof IOException).subscribe(observer);
+
+        assertEquals(1, subscriptions.get());
+        assertSame(fatal, observer.error);
+    }
+
+    @Test
+    public void testRetryWhenWaitsExponentialBackoffOnScheduler() {
+        TestScheduler scheduler = new TestScheduler();
+        AtomicInteger subscriptions = new AtomicInteger();
+        RecordingObserver<Integer> observer = new RecordingObserver<>();
+
+        failingTimes(subscriptions, 3)
+                .retryWhen(Backoff.exponential(100, 10_000, TimeUnit.MILLISECONDS), scheduler)
+                .subscribe(observer);
+
+        assertEquals(1, subscriptions.get());
+        scheduler.advanceTimeBy(99, TimeUnit.MILLISECONDS);
+        assertEquals(1, subscriptions.get());
+        scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        assertEquals(2, subscriptions.get());
+        scheduler.advanceTimeBy(199, TimeUnit.MILLISECONDS);
+        assertEquals(2, subscriptions.get());
+        scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        assertEquals(3, subscriptions.get());
+        scheduler.advanceTimeBy(400, TimeUnit.MILLISECONDS);
+        assertEquals(4, subscriptions.get());
+        assertTrue(observer.completed);
+    }
+
+    @Test
+    public void testRetryWhenGivesUpAfterMaxRetriesAndCanBeDisposed() {
+        TestScheduler scheduler = new TestScheduler();
+        RecordingObserver<Integer> observer = new RecordingObserver<>();
+
+        failingTimes(new AtomicInteger(), 10)
+                .retryWhen(Backoff.fixed(10, TimeUnit.MILLISECONDS).withMaxRetries(2), scheduler)
+                .subscribe(observer);
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        assertTrue(observer.error instanceof IOException);
+
+        AtomicInteger subscriptions = new AtomicInteger();
+        Disposable disposable = failingTimes(subscriptions, 10)
+                .retryWhen(Backoff.fixed(10, TimeUnit.MILLISECONDS), scheduler)
+                .subscribe(new RecordingObserver<>());
+        disposable.dispose();
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        assertEquals(1, subscriptions.get());
+    }
+
+    @Test
+    public void testRetryWhenWithZeroDelayKeepsTheNewAttempt() throws InterruptedException {
+        Scheduler[] schedulers = {Schedulers.immediate(), Schedulers.trampoline(), new ComputationScheduler(4)};
+        for (Scheduler scheduler : schedulers) {
+            AtomicInteger subscriptions = new AtomicInteger();
+            CountDownLatch latch = new CountDownLatch(1);
+            List<Integer> items = new CopyOnWriteArrayList<>();
+            // Both attempts signal from their own thread, so each is still live when the retry logic returns.
+            Observable.<Integer>create(emitter -> {
+                boolean first = subscriptions.getAndIncrement() == 0;
+                new Thread(() -> {
+                    if (first) {
+                        emitter.onError(new IOException("first"));
+                        return;
+                    }
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    emitter.onNext(42);
+                    emitter.onComplete();
+                }).start();
+            }).retryWhen(Backoff.fixed(0, TimeUnit.MILLISECONDS), scheduler).subscribe(new Observer<>() {
+                @Override
+                public void onNext(Integer item) {
+                    items.add(item);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    latch.countDown();
+                }
+
+                @Override
+                public void onComplete() {
+                    latch.countDown();
+                }
+            });
+
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertEquals(List.of(42), items);
+            assertEquals(2, subscriptions.get());
+        }
+    }
+
+    @Test
+    public void testBackoffJitterStaysWithinBounds() {
+        Backoff backoff = Backoff.exponential(100, 1_000, TimeUnit.MILLISECONDS).withJitter(0.5);
+        for (int i = 0; i < 1_000; i++) {
+            long delay = backoff.delayNanos(2);
+            assertTrue(delay >= TimeUnit.MILLISECONDS.toNanos(200) && delay <= TimeUnit.MILLISECONDS.toNanos(400));
+            long capped = backoff.delayNanos(20);
+            assertTrue(capped >= TimeUnit.MILLISECONDS.toNanos(500) && capped <= TimeUnit.MILLISECONDS.toNanos(1_000));
+        }
+    }
+
+    @Test
+    public void testOnErrorReturnAndResumeNext() {
+        RecordingObserver<Integer> returned = new RecordingObserver<>();
+        failingTimes(new AtomicInteger(), 1).onErrorReturn(error -> -1).subscribe(returned);
+        assertEquals(List.of(0, 1, 2, -1), returned.items);
+        assertTrue(returned.completed);
+
+        RecordingObserver<Integer> resumed = new RecordingObserver<>();
+        failingTimes(new AtomicInteger(), 1)
+                .onErrorResumeNext(error -> Observable.create(emitter -> {
+                    emitter.onNext(7);
+                    emitter.onNext(8);
+                    emitter.onComplete();
+                }))
+                .subscribe(resumed);
+        assertEquals(List.of(0, 1, 2, 7, 8), resumed.items);
+        assertTrue(resumed.completed);
+    }
+
+    @Test
+    public void testRepeat() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        RecordingObserver<Integer> observer = new RecordingObserver<>();
+
+        Observable.<Integer>create(emitter -> {
+            emitter.onNext(subscriptions.incrementAndGet());
+            emitter.onComplete();
+        }).repeat(3).subscribe(observer);
+
+        assertEquals(List.of(1, 2, 3), observer.items);
+        assertTrue(observer.completed);
+
+        // A synchronous source repeated in a loop, stopped by its own error after 100 000 runs.
+        AtomicInteger runs = new AtomicInteger();
+        RecordingObserver<Integer> forever = new RecordingObserver<>();
+        Observable.<Integer>create(emitter -> {
+            if (runs.incrementAndGet() > 100_000) {
+                emitter.onError(new IOException("stop"));
+                return;
+            }
+            emitter.onNext(1);
+            emitter.onComplete();
+        }).repeat().subscribe(forever);
+        assertEquals(100_000, forever.items.size());
+        assertTrue(forever.error instanceof IOException);
+    }
+
+    @Test
+    public void testCircuitBreakerOpensAndRecovers() {
+        TestScheduler clock = new TestScheduler();
+        CircuitBreaker breaker = CircuitBreaker.create(2, 1, TimeUnit.SECONDS, clock);
+        AtomicInteger subscriptions = new AtomicInteger();
+        AtomicInteger failuresLeft = new AtomicInteger(3);
+        Observable<Integer> guarded = Observable.<Integer>create(emitter -> {
+            subscriptions.incrementAndGet();
+            if (failuresLeft.getAndDecrement() > 0) {
+                emitter.onError(new IOException("down"));
+            } else {
+                emitter.onNext(1);
+                emitter.onComplete();
+            }
+        }).circuitBreaker(breaker);
+
+        guarded.subscribe(new RecordingObserver<>());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        guarded.subscribe(new RecordingObserver<>());
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        RecordingObserver<Integer> rejected = new RecordingObserver<>();
+        guarded.subscribe(rejected);
+        assertTrue(rejected.error instanceof CircuitBreakerOpenException);
+        assertEquals(2, subscriptions.get());
+
+        // The trial after openDuration fails and opens the breaker again.
+        clock.advanceTimeBy(1, TimeUnit.SECONDS);
+        guarded.subscribe(new RecordingObserver<>());
+        assertEquals(3, subscriptions.get());
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        clock.advanceTimeBy(1, TimeUnit.SECONDS);
+        RecordingObserver<Integer> recovered = new RecordingObserver<>();
+        guarded.subscribe(recovered);
+        assertEquals(List.of(1), recovered.items);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertNull(recovered.error);
+    }
+
+    @Test
+    public void testOnlyTheTrialDecidesTheHalfOpenBreaker() {
+        TestScheduler clock = new TestScheduler();
+        CircuitBreaker breaker = CircuitBreaker.create(1, 1, TimeUnit.SECONDS, clock);
+        PublishSubject<Integer> slow = PublishSubject.create();
+        PublishSubject<Integer> failsLate = PublishSubject.create();
+        PublishSubject<Integer> trial = PublishSubject.create();
+
+        // Subscribed while closed, they only answer after the breaker has opened.
+        slow.circuitBreaker(breaker).subscribe(new RecordingObserver<>());
+        failsLate.circuitBreaker(breaker).subscribe(new RecordingObserver<>());
+        Observable.<Integer>error(new IOException("down")).circuitBreaker(breaker).subscribe(new RecordingObserver<>());
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        slow.onNext(1);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        clock.advanceTimeBy(1, TimeUnit.SECONDS);
+        Disposable trialSubscription = trial.circuitBreaker(breaker).subscribe(new RecordingObserver<>());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        RecordingObserver<Integer> second = new RecordingObserver<>();
+        Disposable other = PublishSubject.<Integer>create().circuitBreaker(breaker).subscribe(second);
+        assertTrue(second.error instanceof CircuitBreakerOpenException);
+        other.dispose();
+        failsLate.onError(new IOException("late"));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        trialSubscription.dispose();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        RecordingObserver<Integer> next = new RecordingObserver<>();
+        Observable.just(5).circuitBreaker(breaker).subscribe(next);
+        assertEquals(List.of(5), next.items);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    // Emits 0, 1, 2 and then fails `failures` times before it emits 42 and completes.
+    private static Observable<Integer> failingTimes(AtomicInteger subscriptions, int failures) {
+        return Observable.create(emitter -> {
+            int attempt = subscriptions.getAndIncrement();
+            if (attempt == 0) {
+                for (int i = 0; i < 3; i++) {
+                    emitter.onNext(i);
+                }
+            }
+            if (attempt < failures) {
+                emitter.onError(new IOException("attempt " + attempt));
+                return;
+            }
+            emitter.onNext(42);
+            emitter.onComplete();
+        });
+    }
+}
@@ -2,14 +2,22 @@ package ru.mephi.rxjava;
 
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 public class SchedulersTest {
 
@@ -172,4 +180,349 @@ public class SchedulersTest {
         assertTrue(threadNames.stream().allMatch(name -> name.equals(firstThreadName)));
         assertTrue(firstThreadName.contains("pool"));
     }
+
+    @Test
+    public void testObserveOnPreservesOrder() throws InterruptedException {
+        List<Integer> results = new ArrayList<>();
+        AtomicBoolean completedAfterItems = new AtomicBoolean(false);
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable<Integer> observable = Observable.create(observer -> {
+            for (int i = 0; i < 10_000; i++) {
+                observer.onNext(i);
+            }
+            observer.onComplete();
+        });
+
+        observable.observeOn(Schedulers.computation(), 16)
+                .subscribe(new Observer<>() {
+                    @Override
+                    public void onNext(Integer item) {
+                        results.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        latch.countDown();
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        completedAfterItems.set(results.size() == 10_000);
+                        latch.countDown();
+                    }
+                });
+
+        latch.await(5, TimeUnit.SECONDS);
+
+        assertTrue(completedAfterItems.get());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, results.get(i));
+        }
+    }
+
+    @Test
+    public void testVirtualSchedulerRunsBlockingSubscriptionsOnFewCarriers() throws InterruptedException {
+        assumeTrue(VirtualThreadScheduler.isSupported());
+
+        int subscriptions = 100_000;
+        CountDownLatch latch = new CountDownLatch(subscriptions);
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+
+        Observable<Integer> blocking = Observable.create(observer -> {
+            Thread.sleep(100);
+            observer.onNext(1);
+            observer.onComplete();
+        });
+
+        for (int i = 0; i < subscriptions; i++) {
+            blocking.subscribeOn(Schedulers.virtual())
+                    .subscribe(new Observer<>() {
+                        @Override
+                        public void onNext(Integer item) {
+                        }
+
+                        @Override
+                        public void onError(Throwable t) {
+                        }
+
+                        @Override
+                        public void onComplete() {
+                            latch.countDown();
+                        }
+                    });
+        }
+
+        assertTrue(latch.await(30, TimeUnit.SECONDS));
+        assertTrue(threads.getPeakThreadCount() < 1_000);
+    }
+
+    @Test
+    public void testComputationWorkerKeepsOrderOnOneThread() throws InterruptedException {
+        List<Integer> results = new ArrayList<>();
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        CountDownLatch latch = new CountDownLatch(1);
+        Scheduler.Worker worker = Schedulers.computation().createWorker();
+
+        for (int i = 0; i < 1_000; i++) {
+            int value = i;
+            worker.execute(() -> {
+                threadNames.add(Thread.currentThread().getName());
+                results.add(value);
+            });
+        }
+        worker.execute(latch::countDown);
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        worker.dispose();
+
+        assertEquals(1, threadNames.size());
+        assertEquals(1_000, results.size());
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(i, results.get(i));
+        }
+    }
+
+    @Test
+    public void testComputationSchedulerStealsWork() throws InterruptedException {
+        ComputationScheduler scheduler = new ComputationScheduler(4);
+        CountDownLatch allRunning = new CountDownLatch(4);
+        CountDownLatch latch = new CountDownLatch(4);
+
+        // All four tasks land on the submitting loop; they can only meet if idle loops steal them.
+        scheduler.execute(() -> {
+            for (int i = 0; i < 4; i++) {
+                scheduler.execute(() -> {
+                    allRunning.countDown();
+                    try {
+                        if (allRunning.await(2, TimeUnit.SECONDS)) {
+                            latch.countDown();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+        });
+
+        assertTrue(latch.await(3, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testScheduleWithDelay() throws InterruptedException {
+        AtomicReference<String> threadName = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        Schedulers.computation().schedule(() -> {
+            threadName.set(Thread.currentThread().getName());
+            latch.countDown();
+        }, 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertTrue(threadName.get().contains("pool"));
+    }
+
+    @Test
+    public void testSchedulePeriodicallyAndDispose() throws InterruptedException {
+        AtomicInteger ticks = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(3);
+
+        Disposable disposable = Schedulers.single().schedulePeriodically(() -> {
+            ticks.incrementAndGet();
+            latch.countDown();
+        }, 0, 10, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        disposable.dispose();
+        Thread.sleep(30);
+        int ticksAfterDispose = ticks.get();
+        Thread.sleep(50);
+
+        assertTrue(disposable.isDisposed());
+        assertEquals(ticksAfterDispose, ticks.get());
+    }
+
+    @Test
+    public void testTestSchedulerVirtualTime() {
+        TestScheduler scheduler = new TestScheduler();
+        List<String> events = new ArrayList<>();
+
+        scheduler.schedule(() -> events.add("delayed"), 10, TimeUnit.SECONDS);
+        Disposable periodic = scheduler.schedulePeriodically(
+                () -> events.add("tick " + scheduler.now(TimeUnit.SECONDS)), 3, 3, TimeUnit.SECONDS);
+        scheduler.execute(() -> events.add("immediate"));
+
+        assertTrue(events.isEmpty());
+
+        scheduler.triggerActions();
+        assertEquals(List.of("immediate"), events);
+
+        scheduler.advanceTimeBy(9, TimeUnit.SECONDS);
+        assertEquals(List.of("immediate", "tick 3", "tick 6", "tick 9"), events);
+
+        periodic.dispose();
+        scheduler.advanceTimeBy(10, TimeUnit.SECONDS);
+        assertEquals(List.of("immediate", "tick 3", "tick 6", "tick 9", "delayed"), events);
+        assertEquals(19, scheduler.now(TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testSchedulerThreadsAreNamedDaemons() throws InterruptedException {
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Schedulers.computation().execute(() -> {
+            thread.set(Thread.currentThread());
+            latch.countDown();
+        });
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertTrue(thread.get().getName().startsWith("rx-computation-pool-"));
+        assertTrue(thread.get().isDaemon());
+    }
+
+    @Test
+    public void testSchedulerFromExecutor() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor(new RxThreadFactory("custom", false, Thread.MAX_PRIORITY));
+        try {
+            AtomicReference<Thread> thread = new AtomicReference<>();
+            CountDownLatch latch = new CountDownLatch(1);
+
+            Observable.<Integer>create(emitter -> {
+                        emitter.onNext(1);
+                        emitter.onComplete();
+                    })
+                    .subscribeOn(Schedulers.from(executor))
+                    .subscribe(new Observer<>() {
+                        @Override
+                        public void onNext(Integer item) {
+                            thread.set(Thread.currentThread());
+                        }
+
+                        @Override
+                        public void onError(Throwable t) {
+                        }
+
+                        @Override
+                        public void onComplete() {
+                            latch.countDown();
+                        }
+                    });
+
+            assertTrue(latch.await(1, TimeUnit.SECONDS));
+            assertEquals("custom-1", thread.get().getName());
+            assertFalse(thread.get().isDaemon());
+            assertEquals(Thread.MAX_PRIORITY, thread.get().getPriority());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSchedulerShutdownAndStart() throws InterruptedException {
+        AtomicInteger threadsCreated = new AtomicInteger();
+        RxThreadFactory factory = new RxThreadFactory("lifecycle");
+        ComputationScheduler scheduler = new ComputationScheduler(2, task -> {
+            threadsCreated.incrementAndGet();
+            return factory.newThread(task);
+        });
+        assertEquals(0, threadsCreated.get());
+
+        CountDownLatch first = new CountDownLatch(1);
+        scheduler.execute(first::countDown);
+        assertTrue(first.await(1, TimeUnit.SECONDS));
+        assertEquals(2, threadsCreated.get());
+
+        scheduler.shutdown();
+        AtomicBoolean ranAfterShutdown = new AtomicBoolean();
+        scheduler.execute(() -> ranAfterShutdown.set(true));
+        Scheduler.Worker worker = scheduler.createWorker();
+        assertTrue(worker.isDisposed());
+
+        scheduler.start();
+        CountDownLatch second = new CountDownLatch(1);
+        scheduler.execute(second::countDown);
+        assertTrue(second.await(1, TimeUnit.SECONDS));
+        assertFalse(ranAfterShutdown.get());
+        assertEquals(4, threadsCreated.get());
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void testExecutorSchedulerShutdownStopsThreads() throws InterruptedException {
+        SingleThreadScheduler scheduler = new SingleThreadScheduler(new RxThreadFactory("single-lifecycle"));
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        scheduler.execute(() -> {
+            thread.set(Thread.currentThread());
+            latch.countDown();
+        });
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+
+        scheduler.shutdown();
+        thread.get().join(1000);
+        assertFalse(thread.get().isAlive());
+
+        scheduler.start();
+        CountDownLatch restarted = new CountDownLatch(1);
+        scheduler.execute(restarted::countDown);
+        assertTrue(restarted.await(1, TimeUnit.SECONDS));
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void testTrampolineQueuesNestedTasksAndImmediateRunsThemInline() {
+        List<String> trampolined = new ArrayList<>();
+        Scheduler trampoline = Schedulers.trampoline();
+        trampoline.execute(() -> {
+            trampolined.add("outer start");
+            trampoline.execute(() -> trampolined.add("inner"));
+            trampolined.add("outer end");
+        });
+        assertEquals(List.of("outer start", "outer end", "inner"), trampolined);
+
+        List<String> immediate = new ArrayList<>();
+        Scheduler scheduler = Schedulers.immediate();
+        scheduler.execute(() -> {
+            immediate.add("outer start");
+            scheduler.execute(() -> immediate.add("inner"));
+            immediate.add("outer end");
+        });
+        assertEquals(List.of("outer start", "inner", "outer end"), immediate);
+    }
+
+    @Test
+    public void testTrampolineTaskDisposedBeforeItRunsIsSkipped() {
+        AtomicBoolean ran = new AtomicBoolean();
+        Scheduler trampoline = Schedulers.trampoline();
+        trampoline.execute(() -> trampoline.schedule(() -> ran.set(true)).dispose());
+        assertFalse(ran.get());
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    public void testTrampolineRunsDeepChainOnOneStack() {
+        String caller = Thread.currentThread().getName();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        Observable<Integer> chain = Observable.create(emitter -> {
+            emitter.onNext(0);
+            emitter.onComplete();
+        });
+        // Deep enough to overflow the stack when every level subscribes and emits recursively.
+        for (int i = 0; i < 10_000; i++) {
+            chain = chain.flatMap(x -> Observable.<Integer>create(emitter -> {
+                        threads.add(Thread.currentThread().getName());
+                        emitter.onNext(x + 1);
+                        emitter.onComplete();
+                    }))
+                    .observeOn(Schedulers.trampoline())
+                    .subscribeOn(Schedulers.trampoline());
+        }
+
+        assertEquals(List.of(10_000), chain.toList().blockingGet());
+        assertEquals(Set.of(caller), threads);
+    }
 }
@@ -0,0 +1,222 @@
+package ru.mephi.rxjava;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleMaybeCompletableTest {
+
+    @Test
+    public void testSingleMapAndFlatMap() {
+        RecordingSingleObserver<String> observer = new RecordingSingleObserver<>();
+
+        Single.just(20)
+                .map(x -> x + 1)
+                .flatMap(x -> Single.fromCallable(() -> "value " + (x * 2)))
+                .subscribe(observer);
+
+        assertEquals("value 42", observer.value.get());
+        assertNull(observer.error.get());
+    }
+
+    @Test
+    public void testSingleZipOnDifferentSchedulers() {
+        Single<Integer> first = Single.fromCallable(() -> 2).subscribeOn(Schedulers.io());
+        Single<Integer> second = Single.fromCallable(() -> 3).subscribeOn(Schedulers.computation());
+
+        assertEquals(6, Single.zip(first, second, (a, b) -> a * b).blockingGet());
+        assertEquals(List.of(1, 2, 3), Single.zip(List.of(Single.just(1), Single.just(2), Single.just(3)), list -> list).blockingGet());
+    }
+
+    @Test
+    public void testSingleTimeoutDisposesUpstream() {
+        TestScheduler scheduler = new TestScheduler();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        RecordingSingleObserver<Integer> observer = new RecordingSingleObserver<>();
+
+        Single.<Integer>create(emitter -> emitter.setCancellable(() -> cancelled.set(true)))
+                .timeout(100, TimeUnit.MILLISECONDS, scheduler)
+                .subscribe(observer);
+
+        scheduler.advanceTimeBy(99, TimeUnit.MILLISECONDS);
+        assertNull(observer.error.get());
+        scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        assertTrue(observer.error.get() instanceof TimeoutException);
+        assertTrue(cancelled.get());
+    }
+
+    @Test
+    public void testSingleRetry() {
+        AtomicInteger attempts = new AtomicInteger();
+        Single<Integer> flaky = Single.fromCallable(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException("attempt " + attempts.get());
+            }
+            return attempts.get();
+        });
+
+        assertEquals(3, flaky.retry(5).blockingGet());
+
+        attempts.set(0);
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> flaky.retry(1).blockingGet());
+        assertEquals("attempt 2", error.getMessage());
+    }
+
+    @Test
+    public void testDisposeBeforeSuccess() {
+        AtomicReference<SingleEmitter<Integer>> emitter = new AtomicReference<>();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        RecordingSingleObserver<Integer> observer = new RecordingSingleObserver<>();
+
+        Disposable disposable = Single.<Integer>create(e -> {
+                    emitter.set(e);
+                    e.setCancellable(() -> cancelled.set(true));
+                })
+                .map(x -> x * 2)
+                .subscribe(observer);
+        disposable.dispose();
+
+        assertTrue(cancelled.get());
+        assertTrue(emitter.get().isDisposed());
+        emitter.get().onSuccess(1);
+        assertNull(observer.value.get());
+    }
+
+    @Test
+    public void testFutureConversions() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        RecordingSingleObserver<Integer> observer = new RecordingSingleObserver<>();
+        Single.fromFuture(future).map(String::length).subscribe(observer);
+        assertNull(observer.value.get());
+        future.complete("four");
+        assertEquals(4, observer.value.get());
+
+        AtomicBoolean cancelled = new AtomicBoolean();
+        CompletableFuture<Integer> result = Single.<Integer>create(e -> e.setCancellable(() -> cancelled.set(true)))
+                .toCompletableFuture();
+        result.cancel(false);
+        assertTrue(cancelled.get());
+
+        assertNull(Maybe.fromFuture(CompletableFuture.completedFuture(null)).blockingGet());
+        assertThrows(IllegalArgumentException.class,
+                () -> Completable.fromFuture(CompletableFuture.failedFuture(new IllegalArgumentException())).blockingAwait());
+    }
+
+    @Test
+    public void testSubscribeOnAndObserveOn() {
+        AtomicReference<String> subscribeThread = new AtomicReference<>();
+
+        String observeThread = Single.fromCallable(() -> {
+                    subscribeThread.set(Thread.currentThread().getName());
+                    return 1;
+                })
+                .subscribeOn(Schedulers.io())
+                .observeOn(Schedulers.single())
+                .map(x -> Thread.currentThread().getName())
+                .blockingGet();
+
+        assertTrue(subscribeThread.get().startsWith("rx-io-pool"));
+        assertTrue(observeThread.startsWith("rx-single-pool"));
+    }
+
+    @Test
+    public void testMaybe() {
+        assertNull(Single.just(1).filter(x -> x > 1).blockingGet());
+        assertEquals(2, Maybe.just(1).map(x -> x + 1).blockingGet());
+        assertEquals(7, Maybe.<Integer>empty().defaultIfEmpty(7).blockingGet());
+        assertThrows(NoSuchElementException.class, () -> Maybe.empty().toSingle().blockingGet());
+        assertNull(Maybe.zip(Maybe.just(1), Maybe.<Integer>empty(), Integer::sum).blockingGet());
+        assertEquals(5, Maybe.zip(Maybe.just(2), Maybe.just(3), Integer::sum).blockingGet());
+    }
+
+    @Test
+    public void testCompletable() {
+        List<String> events = new ArrayList<>();
+
+        String result = Completable.fromCallable(() -> events.add("first"))
+                .andThen(Completable.merge(
+                        Completable.fromCallable(() -> events.add("second")),
+                        Completable.complete()))
+                .andThen(Single.fromCallable(() -> {
+                    events.add("third");
+                    return "done";
+                }))
+                .blockingGet();
+
+        assertEquals("done", result);
+        assertEquals(List.of("first", "second", "third"), events);
+
+        AtomicBoolean subscribed = new AtomicBoolean();
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> Completable.error(new RuntimeException("boom"))
+                        .andThen(Completable.fromCallable(() -> subscribed.getAndSet(true)))
+                        .blockingAwait());
+        assertEquals("boom", error.getMessage());
+        assertFalse(subscribed.get());
+    }
+
+    @Test
+    public void testObservableConversions() {
+        AtomicInteger emitted = new AtomicInteger();
+        Observable<Integer> source = Observable.create(emitter -> {
+            for (int i = 1; i <= 100 && !emitter.isDisposed(); i++) {
+                emitted.incrementAndGet();
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        });
+
+        assertEquals(1, source.firstOrError().blockingGet());
+        assertEquals(1, emitted.get());
+        assertThrows(NoSuchElementException.class,
+                () -> Observable.<Integer>create(ObservableEmitter::onComplete).firstOrError().blockingGet());
+        source.ignoreElements().blockingAwait();
+        assertEquals(101, emitted.get());
+
+        List<Integer> items = new ArrayList<>();
+        AtomicBoolean completed = new AtomicBoolean();
+        Single.just(5).toObservable().subscribe(new Observer<>() {
+            @Override
+            public void onNext(Integer item) {
+                items.add(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+
+            @Override
+            public void onComplete() {
+                completed.set(true);
+            }
+        });
+        assertEquals(List.of(5), items);
+        assertTrue(completed.get());
+    }
+
+    static final class RecordingSingleObserver<T> implements SingleObserver<T> {
+
+        final AtomicReference<T> value = new AtomicReference<>();
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        @Override
+        public void onSuccess(T item) {
+            value.set(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error.set(t);
+        }
+    }
+}
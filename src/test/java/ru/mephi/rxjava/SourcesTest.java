@@ -0,0 +1,145 @@
+package ru.mephi.rxjava;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SourcesTest {
+
+    @Test
+    public void testFactoriesEmitTheirItems() {
+        assertEquals(List.of(1), Observable.just(1).toList().blockingGet());
+        assertEquals(List.of("a", "b", "c"), Observable.fromArray("a", "b", "c").toList().blockingGet());
+        assertEquals(List.of(3, 4), Observable.fromIterable(List.of(3, 4)).toList().blockingGet());
+        assertEquals(List.of(5, 6, 7), Observable.range(5, 3).toList().blockingGet());
+        assertEquals(List.of(Long.MAX_VALUE - 1, Long.MAX_VALUE),
+                Observable.rangeLong(Long.MAX_VALUE - 1, 2).toList().blockingGet());
+        assertEquals(List.of(Integer.MAX_VALUE), Observable.range(Integer.MAX_VALUE, 1).toList().blockingGet());
+        assertEquals(0L, Observable.empty().count().blockingGet());
+        assertEquals(0L, Observable.range(0, 0).count().blockingGet());
+    }
+
+    @Test
+    public void testFactoriesRejectInvalidArguments() {
+        assertThrows(NullPointerException.class, () -> Observable.just(null));
+        assertThrows(IllegalArgumentException.class, () -> Observable.range(0, -1));
+        assertThrows(IllegalArgumentException.class, () -> Observable.range(Integer.MAX_VALUE, 2));
+        assertThrows(IllegalArgumentException.class, () -> Observable.rangeLong(Long.MAX_VALUE, 2));
+
+        RecordingObserver<String> observer = new RecordingObserver<>();
+        Observable.fromArray("a", null, "c").subscribe(observer);
+        assertEquals(List.of("a"), observer.items);
+        assertTrue(observer.error instanceof NullPointerException);
+
+        RecordingObserver<String> single = new RecordingObserver<>();
+        Observable.fromArray((String) null).subscribe(single);
+        assertTrue(single.items.isEmpty());
+        assertTrue(single.error instanceof NullPointerException);
+    }
+
+    @Test
+    public void testRangeStopsWhenDisposed() {
+        AtomicInteger seen = new AtomicInteger();
+        RecordingObserver<Integer> observer = new RecordingObserver<>();
+
+        Observable.range(0, 1_000_000)
+                .map(i -> {
+                    if (seen.incrementAndGet() == 3) {
+                        throw new IOException("stop");
+                    }
+                    return i;
+                })
+                .subscribe(observer);
+
+        assertEquals(3, seen.get());
+        assertEquals(List.of(0, 1), observer.items);
+        assertTrue(observer.error instanceof IOException);
+    }
+
+    @Test
+    public void testErrorAndFromCallable() {
+        IOException failure = new IOException("boom");
+        RecordingObserver<Integer> failed = new RecordingObserver<>();
+        Observable.<Integer>error(failure).subscribe(failed);
+        assertSame(failure, failed.error);
+
+        AtomicInteger calls = new AtomicInteger();
+        Observable<Integer> callable = Observable.fromCallable(calls::incrementAndGet);
+        assertEquals(0, calls.get());
+        assertEquals(List.of(1), callable.toList().blockingGet());
+        assertEquals(List.of(2), callable.toList().blockingGet());
+
+        RecordingObserver<Integer> thrown = new RecordingObserver<>();
+        Observable.<Integer>fromCallable(() -> {
+            throw failure;
+        }).subscribe(thrown);
+        assertSame(failure, thrown.error);
+
+        RecordingObserver<Integer> nullResult = new RecordingObserver<>();
+        Observable.<Integer>fromCallable(() -> null).subscribe(nullResult);
+        assertTrue(nullResult.error instanceof NullPointerException);
+    }
+
+    @Test
+    public void testMapAndFilterOverJustRunPerSubscription() {
+        AtomicInteger calls = new AtomicInteger();
+        Observable<String> mapped = Observable.just(20)
+                .map(i -> i + calls.incrementAndGet())
+                .filter(i -> i % 2 == 1)
+                .map(i -> "v" + i);
+
+        assertEquals(0, calls.get());
+        assertEquals(List.of("v21"), mapped.toList().blockingGet());
+        assertEquals(List.of(), mapped.toList().blockingGet());
+        assertEquals(2, calls.get());
+
+        RecordingObserver<Integer> failed = new RecordingObserver<>();
+        Observable.just(1).<Integer>map(i -> {
+            throw new IOException("map");
+        }).subscribe(failed);
+        assertTrue(failed.error instanceof IOException);
+        assertTrue(!failed.completed);
+    }
+
+    @Test
+    public void testFlatMapOverJustSubscribesInnerDirectly() {
+        assertEquals(List.of(7), Observable.just(3).flatMap(i -> Observable.just(i + 4)).toList().blockingGet());
+        assertEquals(List.of(3, 4, 5), Observable.just(3).concatMap(i -> Observable.range(i, 3)).toList().blockingGet());
+
+        RecordingObserver<Integer> observer = new RecordingObserver<>();
+        Observable.just(1).<Integer>flatMap(i -> null).subscribe(observer);
+        assertTrue(observer.error instanceof NullPointerException);
+    }
+
+    @Test
+    public void testFlatMapOfScalarInnersKeepsAllItems() {
+        RecordingObserver<Integer> observer = new RecordingObserver<>();
+
+        Observable.range(0, 10_000).flatMap(i -> i % 3 == 0 ? Observable.<Integer>empty() : Observable.just(i))
+                .subscribe(observer);
+
+        assertEquals(6_666, observer.items.size());
+        assertTrue(observer.completed);
+    }
+
+    @Test
+    public void testJustSubscribedOnSchedulerIsNotFusedAway() throws InterruptedException {
+        Scheduler scheduler = new ComputationScheduler(4);
+        RecordingObserver<String> observer = new RecordingObserver<>();
+
+        Observable.just(1).subscribeOn(scheduler).map(i -> Thread.currentThread().getName()).subscribe(observer);
+
+        assertTrue(observer.await());
+        assertNull(observer.error);
+        assertEquals(1, observer.items.size());
+        assertTrue(!observer.items.get(0).equals(Thread.currentThread().getName()));
+    }
+}
@@ -0,0 +1,213 @@
+package ru.mephi.rxjava;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SubjectsTest {
+
+    @Test
+    public void testPublishSubjectEmitsOnlyLaterItems() {
+        PublishSubject<Integer> subject = PublishSubject.create();
+        RecordingObserver<Integer> early = new RecordingObserver<>();
+        RecordingObserver<Integer> late = new RecordingObserver<>();
+
+        subject.subscribe(early);
+        subject.onNext(1);
+        Disposable lateSubscription = subject.subscribe(late);
+        subject.onNext(2);
+        lateSubscription.dispose();
+        subject.onNext(3);
+        subject.onComplete();
+
+        assertEquals(List.of(1, 2, 3), early.items);
+        assertTrue(early.completed);
+        assertEquals(List.of(2), late.items);
+        assertFalse(late.completed);
+        assertTrue(subject.hasComplete());
+        assertFalse(subject.hasObservers());
+    }
+
+    @Test
+    public void testBehaviorSubjectStartsWithLatest() {
+        BehaviorSubject<String> subject = BehaviorSubject.createDefault("default");
+        RecordingObserver<String> first = new RecordingObserver<>();
+        RecordingObserver<String> second = new RecordingObserver<>();
+
+        subject.subscribe(first);
+        subject.onNext("a");
+        subject.onNext("b");
+        subject.subscribe(second);
+        subject.onNext("c");
+
+        assertEquals(List.of("default", "a", "b", "c"), first.items);
+        assertEquals(List.of("b", "c"), second.items);
+        assertEquals("c", subject.getValue());
+    }
+
+    @Test
+    public void testBehaviorSubjectConcurrentSubscribersSeeIncreasingValues() throws InterruptedException {
+        BehaviorSubject<Integer> subject = BehaviorSubject.createDefault(0);
+        int last = 200_000;
+        List<RecordingObserver<Integer>> observers = new ArrayList<>();
+        AtomicBoolean outOfOrder = new AtomicBoolean(false);
+
+        Thread emitter = new Thread(() -> {
+            for (int i = 1; i <= last; i++) {
+                subject.onNext(i);
+            }
+            subject.onComplete();
+        });
+        emitter.start();
+        for (int i = 0; i < 50; i++) {
+            RecordingObserver<Integer> observer = new RecordingObserver<>() {
+                private int previous = -1;
+
+                @Override
+                public void onNext(Integer item) {
+                    if (item <= previous) {
+                        outOfOrder.set(true);
+                    }
+                    previous = item;
+                    super.onNext(item);
+                }
+            };
+            observers.add(observer);
+            subject.subscribe(observer);
+        }
+        emitter.join();
+
+        assertFalse(outOfOrder.get());
+        for (RecordingObserver<Integer> observer : observers) {
+            assertTrue(observer.completed);
+            if (!observer.items.isEmpty()) {
+                assertEquals(last, observer.items.get(observer.items.size() - 1));
+            }
+        }
+    }
+
+    @Test
+    public void testReplaySubjectSizeBound() {
+        ReplaySubject<Integer> subject = ReplaySubject.createWithSize(2);
+        for (int i = 1; i <= 5; i++) {
+            subject.onNext(i);
+        }
+        subject.onComplete();
+
+        RecordingObserver<Integer> observer = new RecordingObserver<>();
+        subject.subscribe(observer);
+
+        assertEquals(List.of(4, 5), observer.items);
+        assertTrue(observer.completed);
+    }
+
+    @Test
+    public void testReplaySubjectTimeBound() {
+        TestScheduler scheduler = new TestScheduler();
+        ReplaySubject<Integer> subject = ReplaySubject.createWithTime(100, TimeUnit.MILLISECONDS, scheduler);
+
+        subject.onNext(1);
+        scheduler.advanceTimeBy(60, TimeUnit.MILLISECONDS);
+        subject.onNext(2);
+        scheduler.advanceTimeBy(60, TimeUnit.MILLISECONDS);
+        subject.onNext(3);
+
+        RecordingObserver<Integer> observer = new RecordingObserver<>();
+        subject.subscribe(observer);
+        subject.onNext(4);
+
+        assertEquals(List.of(2, 3, 4), observer.items);
+    }
+
+    @Test
+    public void testReplaySubjectDeliversThrowableItemsAsItems() {
+        ReplaySubject<Throwable> subject = ReplaySubject.create();
+        IllegalStateException item = new IllegalStateException("item");
+        subject.onNext(item);
+        subject.onComplete();
+
+        RecordingObserver<Throwable> observer = new RecordingObserver<>();
+        subject.subscribe(observer);
+
+        assertEquals(List.of(item), observer.items);
+        assertNull(observer.error);
+        assertTrue(observer.completed);
+    }
+
+    @Test
+    public void testShareRunsSourceOnceAndDisconnects() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        AtomicBoolean cancelled = new AtomicBoolean(false);
+        List<Observer<Integer>> emitters = new ArrayList<>();
+
+        Observable<Integer> shared = Observable.<Integer>create(emitter -> {
+            subscriptions.incrementAndGet();
+            emitter.setCancellable(() -> cancelled.set(true));
+            emitters.add(emitter);
+        }).share();
+
+        RecordingObserver<Integer> first = new RecordingObserver<>();
+        RecordingObserver<Integer> second = new RecordingObserver<>();
+        Disposable firstSubscription = shared.subscribe(first);
+        Disposable secondSubscription = shared.subscribe(second);
+        emitters.get(0).onNext(1);
+
+        assertEquals(1, subscriptions.get());
+        assertEquals(List.of(1), first.items);
+        assertEquals(List.of(1), second.items);
+
+        firstSubscription.dispose();
+        assertFalse(cancelled.get());
+        secondSubscription.dispose();
+        assertTrue(cancelled.get());
+
+        shared.subscribe(new RecordingObserver<>());
+        assertEquals(2, subscriptions.get());
+    }
+
+    @Test
+    public void testReplayConnect() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        ConnectableObservable<Integer> replayed = Observable.<Integer>create(emitter -> {
+            subscriptions.incrementAndGet();
+            for (int i = 1; i <= 5; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        }).replay(3);
+
+        RecordingObserver<Integer> beforeConnect = new RecordingObserver<>();
+        replayed.subscribe(beforeConnect);
+        replayed.connect();
+        RecordingObserver<Integer> afterConnect = new RecordingObserver<>();
+        replayed.subscribe(afterConnect);
+
+        assertEquals(1, subscriptions.get());
+        assertEquals(List.of(1, 2, 3, 4, 5), beforeConnect.items);
+        assertEquals(List.of(3, 4, 5), afterConnect.items);
+        assertTrue(afterConnect.completed);
+    }
+
+    @Test
+    public void testSubjectWithObserveOn() throws InterruptedException {
+        PublishSubject<Integer> subject = PublishSubject.create();
+        RecordingObserver<Integer> observer = new RecordingObserver<>();
+
+        subject.map(i -> i * 10).observeOn(Schedulers.computation()).subscribe(observer);
+        subject.onNext(1);
+        subject.onNext(2);
+        subject.onComplete();
+
+        assertTrue(observer.await());
+        assertEquals(List.of(10, 20), observer.items);
+    }
+}
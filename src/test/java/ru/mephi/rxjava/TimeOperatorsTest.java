@@ -0,0 +1,182 @@
+package ru.mephi.rxjava;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimeOperatorsTest {
+
+    @Test
+    public void testBufferByCount() {
+        RecordingObserver<List<Integer>> observer = new RecordingObserver<>();
+
+        Observable.<Integer>create(emitter -> {
+                    for (int i = 1; i <= 5; i++) {
+                        emitter.onNext(i);
+                    }
+                    emitter.onComplete();
+                })
+                .buffer(2)
+                .subscribe(observer);
+
+        assertEquals(List.of(List.of(1, 2), List.of(3, 4), List.of(5)), observer.items);
+        assertTrue(observer.completed);
+    }
+
+    @Test
+    public void testBufferByTimeAndCount() {
+        TestScheduler scheduler = new TestScheduler();
+        AtomicReference<Observer<Integer>> source = new AtomicReference<>();
+        RecordingObserver<List<Integer>> observer = new RecordingObserver<>();
+
+        Observable.<Integer>create(source::set)
+                .buffer(1, TimeUnit.SECONDS, 3, scheduler)
+                .subscribe(observer);
+
+        source.get().onNext(1);
+        source.get().onNext(2);
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        assertEquals(List.of(List.of(1, 2)), observer.items);
+
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        assertEquals(1, observer.items.size());
+
+        for (int i = 3; i <= 7; i++) {
+            source.get().onNext(i);
+        }
+        assertEquals(List.of(List.of(1, 2), List.of(3, 4, 5)), observer.items);
+
+        source.get().onComplete();
+        assertEquals(List.of(List.of(1, 2), List.of(3, 4, 5), List.of(6, 7)), observer.items);
+        assertTrue(observer.completed);
+    }
+
+    @Test
+    public void testBufferRestartsTimespanAfterCountFlush() {
+        TestScheduler scheduler = new TestScheduler();
+        AtomicReference<Observer<Integer>> source = new AtomicReference<>();
+        RecordingObserver<List<Integer>> observer = new RecordingObserver<>();
+
+        Observable.<Integer>create(source::set)
+                .buffer(1000, TimeUnit.MILLISECONDS, 2, scheduler)
+                .subscribe(observer);
+
+        scheduler.advanceTimeBy(900, TimeUnit.MILLISECONDS);
+        source.get().onNext(1);
+        source.get().onNext(2);
+        source.get().onNext(3);
+        assertEquals(List.of(List.of(1, 2)), observer.items);
+
+        // The old timer would have fired at 1000 ms; the new timespan runs to 1900 ms.
+        scheduler.advanceTimeBy(500, TimeUnit.MILLISECONDS);
+        assertEquals(List.of(List.of(1, 2)), observer.items);
+
+        scheduler.advanceTimeBy(500, TimeUnit.MILLISECONDS);
+        assertEquals(List.of(List.of(1, 2), List.of(3)), observer.items);
+
+        source.get().onNext(4);
+        scheduler.advanceTimeBy(1000, TimeUnit.MILLISECONDS);
+        assertEquals(List.of(List.of(1, 2), List.of(3), List.of(4)), observer.items);
+    }
+
+    @Test
+    public void testWindowByCount() {
+        List<List<Integer>> windows = new ArrayList<>();
+        RecordingObserver<Observable<Integer>> observer = new RecordingObserver<>() {
+            @Override
+            public void onNext(Observable<Integer> window) {
+                RecordingObserver<Integer> windowObserver = new RecordingObserver<>();
+                windows.add(windowObserver.items);
+                window.subscribe(windowObserver);
+            }
+        };
+
+        Observable.<Integer>create(emitter -> {
+                    for (int i = 1; i <= 5; i++) {
+                        emitter.onNext(i);
+                    }
+                    emitter.onComplete();
+                })
+                .window(2)
+                .subscribe(observer);
+
+        assertEquals(List.of(List.of(1, 2), List.of(3, 4), List.of(5)), windows);
+        assertTrue(observer.completed);
+    }
+
+    @Test
+    public void testDebounce() {
+        TestScheduler scheduler = new TestScheduler();
+        AtomicReference<Observer<String>> source = new AtomicReference<>();
+        RecordingObserver<String> observer = new RecordingObserver<>();
+
+        Observable.<String>create(source::set)
+                .debounce(100, TimeUnit.MILLISECONDS, scheduler)
+                .subscribe(observer);
+
+        source.get().onNext("a");
+        scheduler.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+        source.get().onNext("b");
+        scheduler.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+        assertTrue(observer.items.isEmpty());
+
+        scheduler.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+        assertEquals(List.of("b"), observer.items);
+
+        source.get().onNext("c");
+        source.get().onComplete();
+        assertEquals(List.of("b", "c"), observer.items);
+        assertTrue(observer.completed);
+    }
+
+    @Test
+    public void testThrottleFirstAndSample() {
+        TestScheduler scheduler = new TestScheduler();
+        AtomicReference<Observer<Integer>> source = new AtomicReference<>();
+        RecordingObserver<Integer> first = new RecordingObserver<>();
+        RecordingObserver<Integer> sampled = new RecordingObserver<>();
+
+        Observable<Integer> observable = Observable.create(source::set);
+        observable.throttleFirst(100, TimeUnit.MILLISECONDS, scheduler).subscribe(first);
+        Observer<Integer> throttleFirstSource = source.get();
+        observable.sample(100, TimeUnit.MILLISECONDS, scheduler).subscribe(sampled);
+        Observer<Integer> sampleSource = source.get();
+
+        for (int i = 1; i <= 6; i++) {
+            throttleFirstSource.onNext(i);
+            sampleSource.onNext(i);
+            scheduler.advanceTimeBy(40, TimeUnit.MILLISECONDS);
+        }
+
+        assertEquals(List.of(1, 4), first.items);
+        assertEquals(List.of(3, 5), sampled.items);
+    }
+
+    @Test
+    public void testTimeout() {
+        TestScheduler scheduler = new TestScheduler();
+        AtomicReference<Observer<Integer>> source = new AtomicReference<>();
+        RecordingObserver<Integer> observer = new RecordingObserver<>();
+
+        Observable.<Integer>create(source::set)
+                .timeout(1, TimeUnit.SECONDS, scheduler)
+                .subscribe(observer);
+
+        scheduler.advanceTimeBy(800, TimeUnit.MILLISECONDS);
+        source.get().onNext(1);
+        scheduler.advanceTimeBy(800, TimeUnit.MILLISECONDS);
+        assertNull(observer.error);
+
+        scheduler.advanceTimeBy(200, TimeUnit.MILLISECONDS);
+        source.get().onNext(2);
+
+        assertEquals(List.of(1), observer.items);
+        assertTrue(observer.error instanceof TimeoutException);
+    }
+}